@@ -0,0 +1,124 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import java.util.LinkedHashMap;
+
+/**
+ * Specs shaped like the ones of a production cluster, shared by the benchmarks.
+ */
+public final class BenchmarkSpecs {
+
+    public static final String NAMESPACE = "ns";
+
+    private BenchmarkSpecs() {
+    }
+
+    public static GlobalSpec globalSpec() {
+        final GlobalSpec global = SerializationUtil.readYaml("""
+                name: pulsar
+                image: apachepulsar/pulsar:2.10.2
+                storage:
+                    existingStorageClassName: default
+                """, GlobalSpec.class);
+        global.applyDefaults(null);
+        return global;
+    }
+
+    /**
+     * Broker spec with the given number of sets. A single set means no sets, the default set is used.
+     */
+    public static BrokerSpec brokerSpec(GlobalSpec global, int sets) {
+        final BrokerSpec spec = SerializationUtil.readYaml("""
+                replicas: 3
+                config:
+                    managedLedgerDefaultEnsembleSize: "2"
+                    managedLedgerDefaultWriteQuorum: "2"
+                    managedLedgerDefaultAckQuorum: "2"
+                    loadBalancerLoadSheddingStrategy: org.apache.pulsar.broker.loadbalance.impl.ThresholdShedder
+                    brokerDeleteInactiveTopicsEnabled: "false"
+                resources:
+                    requests:
+                        cpu: 1
+                        memory: 2Gi
+                podAnnotations:
+                    prometheus.io/scrape: "true"
+                    prometheus.io/port: "8080"
+                autoscaler:
+                    enabled: true
+                    min: 3
+                    max: 10
+                """, BrokerSpec.class);
+        if (sets > 1) {
+            final LinkedHashMap<String, BrokerSetSpec> brokerSets = new LinkedHashMap<>();
+            for (int i = 0; i < sets; i++) {
+                brokerSets.put("set-" + i, SerializationUtil.readYaml("""
+                        replicas: 2
+                        config:
+                            loadBalancerBrokerOverloadedThresholdPercentage: "%d"
+                        podLabels:
+                            set-index: "%d"
+                        """.formatted(80 + i % 10, i), BrokerSetSpec.class));
+            }
+            spec.setSets(brokerSets);
+        }
+        spec.applyDefaults(global);
+        return spec;
+    }
+
+    /**
+     * BookKeeper spec with the given number of sets. A single set means no sets, the default set is used.
+     */
+    public static BookKeeperSpec bookKeeperSpec(GlobalSpec global, int sets) {
+        final BookKeeperSpec spec = SerializationUtil.readYaml("""
+                replicas: 3
+                config:
+                    journalMaxGroupWaitMSec: "1"
+                    dbStorage_writeCacheMaxSizeMb: "256"
+                    dbStorage_readAheadCacheMaxSizeMb: "256"
+                resources:
+                    requests:
+                        cpu: 1
+                        memory: 4Gi
+                volumes:
+                    journal:
+                        size: 20Gi
+                    ledgers:
+                        size: 100Gi
+                autoscaler:
+                    enabled: true
+                """, BookKeeperSpec.class);
+        if (sets > 1) {
+            final LinkedHashMap<String, BookKeeperSetSpec> bkSets = new LinkedHashMap<>();
+            for (int i = 0; i < sets; i++) {
+                bkSets.put("set-" + i, SerializationUtil.readYaml("""
+                        replicas: 3
+                        podLabels:
+                            rack: "rack-%d"
+                        """.formatted(i), BookKeeperSetSpec.class));
+            }
+            spec.setSets(bkSets);
+        }
+        spec.applyDefaults(global);
+        return spec;
+    }
+}
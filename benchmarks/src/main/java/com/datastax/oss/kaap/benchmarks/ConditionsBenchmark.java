@@ -0,0 +1,74 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.controllers.AbstractController;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import io.fabric8.kubernetes.api.model.Condition;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The status conditions are merged at the end of every reconciliation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionsBenchmark {
+
+    private List<Condition> previous;
+    private List<Condition> ready;
+    private List<Condition> notReady;
+    private Instant now;
+
+    @Setup
+    public void setup() {
+        previous = List.of(AbstractController.createReadyCondition(1L));
+        ready = List.of(AbstractController.createReadyCondition(2L));
+        notReady = List.of(AbstractController.createNotReadyCondition(2L,
+                CRDConstants.CONDITIONS_TYPE_READY_REASON_INITIALIZING, "waiting for the pods"));
+        now = Instant.now();
+    }
+
+    @Benchmark
+    public List<Condition> mergeUnchanged() {
+        return AbstractController.mergeConditions(previous, ready, now);
+    }
+
+    @Benchmark
+    public List<Condition> mergeTransition() {
+        return AbstractController.mergeConditions(previous, notReady, now);
+    }
+
+    @Benchmark
+    public List<Condition> mergeFirst() {
+        return AbstractController.mergeConditions(List.of(), ready, now);
+    }
+}
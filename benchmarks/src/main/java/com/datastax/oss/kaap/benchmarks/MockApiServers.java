@@ -0,0 +1,112 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.mockwebserver.Context;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+import javax.net.ServerSocketFactory;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * The fabric8 mock API server in CRUD mode, to run the operator code without a Kubernetes cluster.
+ */
+public final class MockApiServers {
+
+    private static final String KUBERNETES_VERSION = "{\"major\": \"1\", \"minor\": \"25\"}";
+
+    private MockApiServers() {
+    }
+
+    /**
+     * Start a new server. The status subresource is enabled for the given custom resources.
+     */
+    public static KubernetesMockServer start(List<Class<? extends CustomResource>> customResources) {
+        final MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.setServerSocketFactory(new NoDelayServerSocketFactory());
+        final KubernetesMockServer server = new KubernetesMockServer(new Context(), mockWebServer,
+                new HashMap<>(), new Dispatcher(customResources), false);
+        server.init();
+        return server;
+    }
+
+    /**
+     * The expectations of the mock server, like the one for the version endpoint, are ignored in CRUD mode.
+     */
+    private static class Dispatcher extends KubernetesCrudDispatcher {
+
+        Dispatcher(List<Class<? extends CustomResource>> customResources) {
+            super(customResources.stream()
+                    .map(CustomResourceDefinitionContext::fromCustomResourceType)
+                    .toList());
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            if ("/version".equals(request.getPath())) {
+                return new MockResponse().setResponseCode(200).setBody(KUBERNETES_VERSION);
+            }
+            return super.dispatch(request);
+        }
+    }
+
+    /**
+     * Without TCP_NODELAY the delayed ACKs add ~40ms to every request.
+     */
+    private static class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    final Socket socket = new Socket();
+                    implAccept(socket);
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            return createServerSocket(port, 0, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            return createServerSocket(port, backlog, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress ifAddress) throws IOException {
+            final ServerSocket serverSocket = createServerSocket();
+            serverSocket.bind(new InetSocketAddress(ifAddress, port), backlog);
+            return serverSocket;
+        }
+    }
+}
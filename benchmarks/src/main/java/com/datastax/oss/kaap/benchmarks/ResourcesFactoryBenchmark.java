@@ -0,0 +1,83 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.controllers.GeneratedResourcesCache;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation of the statefulsets, the biggest resources generated at each reconciliation.
+ * The Kubernetes client is mocked, only the generation is measured.
+ * The cached variant measures the copy returned by {@link GeneratedResourcesCache} when the inputs didn't change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourcesFactoryBenchmark {
+
+    private BrokerResourcesFactory brokerResourcesFactory;
+    private BookKeeperResourcesFactory bookKeeperResourcesFactory;
+
+    @Setup
+    public void setup() {
+        final KubernetesClient client = new MockKubernetesClient(BenchmarkSpecs.NAMESPACE).getClient();
+        final GlobalSpec global = BenchmarkSpecs.globalSpec();
+        brokerResourcesFactory = new BrokerResourcesFactory(client, BenchmarkSpecs.NAMESPACE,
+                BrokerResourcesFactory.BROKER_DEFAULT_SET, BenchmarkSpecs.brokerSpec(global, 1), global, null);
+        // the statefulset pod annotations depend on the configmap
+        brokerResourcesFactory.patchConfigMap();
+        bookKeeperResourcesFactory = new BookKeeperResourcesFactory(client, BenchmarkSpecs.NAMESPACE,
+                BookKeeperResourcesFactory.BOOKKEEPER_DEFAULT_SET, BenchmarkSpecs.bookKeeperSpec(global, 1), global,
+                null);
+        bookKeeperResourcesFactory.patchConfigMap();
+    }
+
+    @Benchmark
+    public StatefulSet brokerStatefulSet() {
+        return brokerResourcesFactory.generateStatefulSet();
+    }
+
+    @Benchmark
+    public StatefulSet bookKeeperStatefulSet() {
+        return bookKeeperResourcesFactory.generateStatefulSet();
+    }
+
+    @Benchmark
+    public StatefulSet brokerStatefulSetCached() {
+        return GeneratedResourcesCache.get(BenchmarkSpecs.NAMESPACE, StatefulSet.class, "broker", "fingerprint",
+                brokerResourcesFactory::generateStatefulSet, sts -> new StatefulSetBuilder(sts).build());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.SpecDiffer;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Diff between the last applied spec and the current one, computed at every reconciliation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecDifferBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int sets;
+
+    private BrokerSpec broker;
+    private BrokerSpec brokerChanged;
+    private BookKeeperSpec bookKeeper;
+    private BookKeeperSpec bookKeeperChanged;
+
+    @Setup
+    public void setup() {
+        final GlobalSpec global = BenchmarkSpecs.globalSpec();
+        broker = BenchmarkSpecs.brokerSpec(global, sets);
+        brokerChanged = SerializationUtil.deepCloneObject(broker);
+        brokerChanged.getConfig().put("brokerDeleteInactiveTopicsEnabled", "true");
+        bookKeeper = BenchmarkSpecs.bookKeeperSpec(global, sets);
+        bookKeeperChanged = SerializationUtil.deepCloneObject(bookKeeper);
+        bookKeeperChanged.getConfig().put("journalMaxGroupWaitMSec", "2");
+    }
+
+    @Benchmark
+    public JSONComparator.Result brokerEquals() {
+        return SpecDiffer.generateDiff(broker, broker);
+    }
+
+    @Benchmark
+    public JSONComparator.Result brokerChanged() {
+        return SpecDiffer.generateDiff(broker, brokerChanged);
+    }
+
+    @Benchmark
+    public JSONComparator.Result bookKeeperEquals() {
+        return SpecDiffer.generateDiff(bookKeeper, bookKeeper);
+    }
+
+    @Benchmark
+    public JSONComparator.Result bookKeeperChanged() {
+        return SpecDiffer.generateDiff(bookKeeper, bookKeeperChanged);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import com.datastax.oss.kaap.benchmarks.MockApiServers;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoscalerSpec;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replay a load trace through the broker or the bookkeeper autoscaler, once for each autoscaler policy, and compare
+ * the replicas timelines, the minutes with the SLO breached and the over-provisioned pod-hours.
+ * The autoscalers decision logic is the operator one, only the load metrics, the bookies admin API and the clock are
+ * simulated. See {@link BrokerSimulation} and {@link BookKeeperSimulation} for the load models.
+ * <p>
+ * A policy is a YAML file with the autoscaler section of the component spec, e.g. for the brokers:
+ * <pre>
+ * higherCpuThreshold: 0.7
+ * stabilizationWindowMs: 120000
+ * </pre>
+ * The trace is a CSV file (see {@link LoadTrace#fromCsv(Path)}) or a synthetic shape between a min and a max load.
+ */
+public class AutoscalerSimulator {
+
+    private static final String COMPONENT_BROKER = "broker";
+    private static final String COMPONENT_BOOKKEEPER = "bookkeeper";
+    private static final String USAGE = """
+            Usage: AutoscalerSimulator [options]
+              --component broker|bookkeeper    component to simulate (default broker)
+              --policy <file.yaml>             autoscaler policy, can be repeated (default: the default policy)
+              --trace <file.csv>               recorded load, "seconds,load" or "seconds,pod,load" lines
+              --synthetic diurnal|ramp|spike   synthetic load, between --min and --max (default diurnal)
+              --min <load> --max <load>        synthetic load bounds, e.g. 1.5 (brokers) or 200Gi (bookies)
+              --duration <duration>            synthetic load duration (default 24h)
+              --step <duration>                simulation step (default 10s)
+              --pod-start-delay <duration>     time for a new pod to be ready (default 60s)
+              --replicas <n>                   initial replicas (default 3)
+              --slo-cpu <ratio>                brokers: max CPU usage per broker (default 0.9)
+              --bookie-disk-size <quantity>    bookies: ledgers disk size (default: the bookkeeper spec one)
+              --bookie-readonly-threshold <r>  bookies: disk usage turning a bookie read-only (default 0.95)
+              --slo-writable-bookies <n>       bookies: min writable bookies (default 3)
+              --timeline-dir <dir>             write the timeline of each policy in <dir>/<policy>.csv
+            """;
+
+    public static void main(String[] args) throws Exception {
+        String component = COMPONENT_BROKER;
+        final List<Path> policies = new ArrayList<>();
+        Path traceFile = null;
+        String shape = LoadTrace.SHAPE_DIURNAL;
+        String min = null;
+        String max = null;
+        Duration duration = Duration.ofDays(1);
+        Path timelineDir = null;
+        final SimulationOptions.SimulationOptionsBuilder options = SimulationOptions.builder();
+        for (int i = 0; i < args.length; i++) {
+            final String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--component":
+                    component = value;
+                    break;
+                case "--policy":
+                    policies.add(Path.of(value));
+                    break;
+                case "--trace":
+                    traceFile = Path.of(value);
+                    break;
+                case "--synthetic":
+                    shape = value;
+                    break;
+                case "--min":
+                    min = value;
+                    break;
+                case "--max":
+                    max = value;
+                    break;
+                case "--duration":
+                    duration = parseDuration(value);
+                    break;
+                case "--step":
+                    options.step(parseDuration(value));
+                    break;
+                case "--pod-start-delay":
+                    options.podStartDelay(parseDuration(value));
+                    break;
+                case "--replicas":
+                    options.initialReplicas(Integer.parseInt(value));
+                    break;
+                case "--slo-cpu":
+                    options.sloCpu(Double.parseDouble(value));
+                    break;
+                case "--bookie-disk-size":
+                    options.bookieDiskBytes(LoadTrace.parseAmount(value));
+                    break;
+                case "--bookie-readonly-threshold":
+                    options.bookieReadOnlyThreshold(Double.parseDouble(value));
+                    break;
+                case "--slo-writable-bookies":
+                    options.sloWritableBookies(Integer.parseInt(value));
+                    break;
+                case "--timeline-dir":
+                    timelineDir = Path.of(value);
+                    break;
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.print(USAGE);
+                    System.exit(1);
+                    return;
+            }
+            i++;
+        }
+        if (!COMPONENT_BROKER.equals(component) && !COMPONENT_BOOKKEEPER.equals(component)) {
+            throw new IllegalArgumentException("Unknown component " + component);
+        }
+        if (traceFile != null) {
+            options.trace(LoadTrace.fromCsv(traceFile));
+        } else {
+            if (min == null || max == null) {
+                System.err.println("--min and --max are required for a synthetic load");
+                System.err.print(USAGE);
+                System.exit(1);
+                return;
+            }
+            options.trace(LoadTrace.synthetic(shape, LoadTrace.parseAmount(min), LoadTrace.parseAmount(max),
+                    duration));
+        }
+
+        // the autoscalers log every decision
+        Logger.getLogger("").setLevel(Level.WARNING);
+        final Map<String, String> policyYamls = new LinkedHashMap<>();
+        if (policies.isEmpty()) {
+            policyYamls.put("default", "{}");
+        }
+        for (Path policy : policies) {
+            final Path fileName = policy.getFileName();
+            if (fileName == null) {
+                throw new IllegalArgumentException("Invalid policy file " + policy);
+            }
+            policyYamls.put(fileName.toString().replaceFirst("\\.ya?ml$", ""), Files.readString(policy));
+        }
+
+        final List<SimulationResult> results = new ArrayList<>();
+        for (Map.Entry<String, String> policy : policyYamls.entrySet()) {
+            final SimulationResult result;
+            final KubernetesMockServer server = MockApiServers.start(List.of(Broker.class, BookKeeper.class));
+            try (KubernetesClient client = server.createClient()) {
+                result = newSimulation(component, client, options.build(), policy.getValue())
+                        .run(policy.getKey());
+            } finally {
+                server.destroy();
+            }
+            results.add(result);
+            System.out.println("Policy " + result.getPolicy() + " replicas changes:");
+            result.getScaleEvents().forEach(e -> System.out.println("  " + e));
+            if (timelineDir != null) {
+                Files.createDirectories(timelineDir);
+                result.writeTimeline(timelineDir.resolve(result.getPolicy() + ".csv"));
+            }
+        }
+        System.out.println();
+        System.out.println(SimulationResult.formatHeader());
+        results.forEach(r -> System.out.println(r.formatSummary()));
+    }
+
+    private static Simulation newSimulation(String component, KubernetesClient client, SimulationOptions options,
+                                            String policyYaml) {
+        if (COMPONENT_BROKER.equals(component)) {
+            return new BrokerSimulation(client, options,
+                    SerializationUtil.readYaml(policyYaml, BrokerAutoscalerSpec.class));
+        }
+        return new BookKeeperSimulation(client, options,
+                SerializationUtil.readYaml(policyYaml, BookKeeperAutoscalerSpec.class));
+    }
+
+    /**
+     * Parse durations like "90s", "15m", "24h" or "2d".
+     */
+    static Duration parseDuration(String value) {
+        final long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            case 'd':
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("Invalid duration " + value + ", expected e.g. 90s, 15m, 24h");
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import com.datastax.oss.kaap.autoscaler.BookKeeperSetAutoscaler;
+import com.datastax.oss.kaap.autoscaler.bookkeeper.BookieAdminClient;
+import com.datastax.oss.kaap.benchmarks.autoscaler.SimulatedStatefulSet.SimulatedPod;
+import com.datastax.oss.kaap.controllers.PulsarClusterController;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoscalerSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Clock;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The load is the bytes stored in all the bookies. The new data is evenly written to the writable bookies and the
+ * deleted data is removed from all the bookies, proportionally to their usage. When bookies are removed, their data is
+ * replicated to the remaining ones. A bookie turns read-only when its disk usage reaches the read-only threshold.
+ * The SLO is breached when there are not enough writable bookies to accept the writes.
+ */
+class BookKeeperSimulation extends Simulation {
+
+    private static final String LEDGERS_PATH = "/pulsar/data/bookkeeper/ledgers";
+
+    private final BookKeeperAutoscalerSpec policy;
+    private PulsarClusterSpec clusterSpec;
+    private String customResourceName;
+    private double diskBytes;
+    private Double previousLoad;
+    private final Set<String> readOnlyBookies = new HashSet<>();
+
+    BookKeeperSimulation(KubernetesClient client, SimulationOptions options, BookKeeperAutoscalerSpec policy) {
+        super(client, options);
+        this.policy = policy;
+    }
+
+    @Override
+    protected SimulatedStatefulSet init() {
+        policy.setEnabled(true);
+        clusterSpec = PulsarClusterSpec.builder()
+                .global(GlobalSpec.builder()
+                        .name("pulsar")
+                        .image("apachepulsar/pulsar:2.10.2")
+                        .build())
+                .bookkeeper(BookKeeperSpec.builder()
+                        .replicas(options.getInitialReplicas())
+                        .autoscaler(policy)
+                        .build())
+                .build();
+        clusterSpec.getGlobal().applyDefaults(null);
+        clusterSpec.getBookkeeper().applyDefaults(clusterSpec.getGlobalSpec());
+        diskBytes = options.getBookieDiskBytes() != null
+                ? options.getBookieDiskBytes()
+                : LoadTrace.parseAmount(clusterSpec.getBookkeeper().getVolumes().getLedgers().getSize());
+        customResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
+                PulsarClusterController.CUSTOM_RESOURCE_BOOKKEEPER);
+        final BookKeeper bookKeeper = new BookKeeper();
+        bookKeeper.setMetadata(new ObjectMetaBuilder()
+                .withName(customResourceName)
+                .withNamespace(NAMESPACE)
+                .build());
+        bookKeeper.setSpec(new BookKeeperFullSpec(clusterSpec.getGlobal(), clusterSpec.getBookkeeper()));
+        client.resource(bookKeeper).create();
+
+        final GlobalSpec global = clusterSpec.getGlobal();
+        final String set = BookKeeperResourcesFactory.BOOKKEEPER_DEFAULT_SET;
+        return new SimulatedStatefulSet(client, clock, NAMESPACE,
+                BookKeeperResourcesFactory.getResourceName(global.getName(),
+                        global.getComponents().getBookkeeperBaseName(), set, null),
+                Map.of(CRDConstants.LABEL_CLUSTER, global.getName(),
+                        CRDConstants.LABEL_COMPONENT, BookKeeperResourcesFactory.getComponentBaseName(global),
+                        CRDConstants.LABEL_RESOURCESET, set),
+                options.getPodStartDelay());
+    }
+
+    @Override
+    protected Runnable newAutoscaler() {
+        final BookieAdminClient adminClient = new SimulatedBookieAdminClient();
+        return new BookKeeperSetAutoscaler(client, NAMESPACE, BookKeeperResourcesFactory.BOOKKEEPER_DEFAULT_SET,
+                clusterSpec) {
+            @Override
+            protected Clock getClock() {
+                return clock;
+            }
+
+            @Override
+            protected BookieAdminClient newBookieAdminClient(GlobalSpec currentGlobalSpec,
+                                                             BookKeeperSetSpec currentBookKeeperSetSpec) {
+                return adminClient;
+            }
+        };
+    }
+
+    @Override
+    protected long getPeriodMs() {
+        return clusterSpec.getBookkeeper().getAutoscaler().getPeriodMs();
+    }
+
+    @Override
+    protected int readDesiredReplicas() {
+        return client.resources(BookKeeper.class)
+                .inNamespace(NAMESPACE)
+                .withName(customResourceName)
+                .get()
+                .getSpec()
+                .getBookkeeper()
+                .getReplicas();
+    }
+
+    @Override
+    protected void applyLoad(double load) {
+        final List<SimulatedPod> pods = statefulSet.getPods();
+        if (previousLoad == null) {
+            pods.forEach(pod -> pod.setUsage(load / pods.size()));
+        } else if (load > previousLoad) {
+            final List<SimulatedPod> writable = getWritableBookies();
+            // with no writable bookies the writes are rejected
+            writable.forEach(pod -> pod.setUsage(pod.getUsage() + (load - previousLoad) / writable.size()));
+        } else if (load < previousLoad) {
+            final double stored = pods.stream().mapToDouble(SimulatedPod::getUsage).sum();
+            if (stored > 0) {
+                final double ratio = Math.max(0, 1 - (previousLoad - load) / stored);
+                pods.forEach(pod -> pod.setUsage(pod.getUsage() * ratio));
+            }
+        }
+        previousLoad = load;
+    }
+
+    @Override
+    protected void onScaleDown(List<SimulatedPod> removed) {
+        removed.forEach(pod -> readOnlyBookies.remove(pod.getName()));
+        final List<SimulatedPod> pods = statefulSet.getPods();
+        final double moved = removed.stream().mapToDouble(SimulatedPod::getUsage).sum();
+        pods.forEach(pod -> pod.setUsage(pod.getUsage() + moved / pods.size()));
+    }
+
+    @Override
+    protected boolean isSloBreached(double load) {
+        return getWritableBookies().size() < options.getSloWritableBookies();
+    }
+
+    @Override
+    protected String formatLoad(double load) {
+        return "%.1fGi".formatted(load / (1024 * 1024 * 1024));
+    }
+
+    @Override
+    protected int getNeededReplicas(double load) {
+        return Math.max(options.getSloWritableBookies(),
+                (int) Math.ceil(load / (diskBytes * options.getBookieReadOnlyThreshold())));
+    }
+
+    private List<SimulatedPod> getWritableBookies() {
+        return statefulSet.getReadyPods().stream()
+                .filter(this::isWritable)
+                .toList();
+    }
+
+    private boolean isWritable(SimulatedPod pod) {
+        return !readOnlyBookies.contains(pod.getName())
+                && pod.getUsage() / diskBytes < options.getBookieReadOnlyThreshold();
+    }
+
+    private SimulatedPod getPod(BookieAdminClient.BookieInfo bookieInfo) {
+        return statefulSet.getPods().stream()
+                .filter(pod -> pod.getName().equals(bookieInfo.getBookieId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Bookies admin operations applied to the simulated bookies. The autoscaler only reads the bookies, the
+     * decommission operations are simulated for the same behavior as the operator.
+     */
+    private class SimulatedBookieAdminClient implements BookieAdminClient {
+
+        @Override
+        public List<BookieInfo> collectBookieInfos() {
+            return statefulSet.getReadyPods().stream()
+                    .map(pod -> BookieInfo.builder()
+                            .podResource(client.pods().inNamespace(NAMESPACE).withName(pod.getName()))
+                            .bookieId(pod.getName())
+                            .build())
+                    .toList();
+        }
+
+        @Override
+        public BookieStats collectBookieStats(BookieInfo bookieInfo) {
+            final SimulatedPod pod = getPod(bookieInfo);
+            return BookieStats.builder()
+                    .isWritable(BookKeeperSimulation.this.isWritable(pod))
+                    .ledgerDiskInfos(List.of(BookieLedgerDiskInfo.builder()
+                            .path(LEDGERS_PATH)
+                            .maxBytes((long) diskBytes)
+                            .usedBytes((long) pod.getUsage())
+                            .build()))
+                    .build();
+        }
+
+        @Override
+        public boolean isWritable(BookieInfo bookieInfo) {
+            return BookKeeperSimulation.this.isWritable(getPod(bookieInfo));
+        }
+
+        @Override
+        public boolean doesNotHaveUnderReplicatedLedgers() {
+            return true;
+        }
+
+        @Override
+        public void setReadOnly(BookieInfo bookieInfo, boolean readonly) {
+            if (readonly) {
+                readOnlyBookies.add(bookieInfo.getBookieId());
+            } else {
+                readOnlyBookies.remove(bookieInfo.getBookieId());
+            }
+        }
+
+        /**
+         * The data of the bookie is replicated to the other bookies.
+         */
+        @Override
+        public void recoverAndDeleteCookieInZk(BookieInfo bookieInfo, boolean deleteCookie) {
+            final SimulatedPod recovered = getPod(bookieInfo);
+            final List<SimulatedPod> others = statefulSet.getPods().stream()
+                    .filter(pod -> pod != recovered)
+                    .toList();
+            if (others.isEmpty()) {
+                return;
+            }
+            others.forEach(pod -> pod.setUsage(pod.getUsage() + recovered.getUsage() / others.size()));
+            recovered.setUsage(0);
+        }
+
+        @Override
+        public BookieLedgersOwnership checkLedgersOwnership(BookieInfo bookieInfo) {
+            final boolean hasLedgers = getPod(bookieInfo).getUsage() > 0;
+            return BookieLedgersOwnership.builder()
+                    .hasLedgers(hasLedgers)
+                    .ledgersCount(hasLedgers ? 1 : 0)
+                    .complete(true)
+                    .build();
+        }
+
+        /**
+         * The ledgers are never under-replicated in the simulation.
+         */
+        @Override
+        public void triggerAudit() {
+        }
+
+        @Override
+        public void deleteCookieOnDisk(BookieInfo bookieInfo) {
+            readOnlyBookies.remove(bookieInfo.getBookieId());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import com.datastax.oss.kaap.autoscaler.BrokerSetAutoscaler;
+import com.datastax.oss.kaap.autoscaler.broker.BrokerResourceUsageSource;
+import com.datastax.oss.kaap.benchmarks.autoscaler.SimulatedStatefulSet.SimulatedPod;
+import com.datastax.oss.kaap.controllers.PulsarClusterController;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The load is the CPU used by all the brokers, where 1 is one broker fully busy. It's evenly spread over the ready
+ * brokers. The SLO is breached when the brokers CPU usage is higher than the SLO CPU threshold.
+ */
+class BrokerSimulation extends Simulation {
+
+    private final BrokerAutoscalerSpec policy;
+    private PulsarClusterSpec clusterSpec;
+    private String customResourceName;
+
+    BrokerSimulation(KubernetesClient client, SimulationOptions options, BrokerAutoscalerSpec policy) {
+        super(client, options);
+        this.policy = policy;
+    }
+
+    @Override
+    protected SimulatedStatefulSet init() {
+        policy.setEnabled(true);
+        clusterSpec = PulsarClusterSpec.builder()
+                .global(GlobalSpec.builder()
+                        .name("pulsar")
+                        .image("apachepulsar/pulsar:2.10.2")
+                        .build())
+                .broker(BrokerSpec.builder()
+                        .replicas(options.getInitialReplicas())
+                        .autoscaler(policy)
+                        .build())
+                .build();
+        clusterSpec.getGlobal().applyDefaults(null);
+        clusterSpec.getBroker().applyDefaults(clusterSpec.getGlobalSpec());
+        customResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
+                PulsarClusterController.CUSTOM_RESOURCE_BROKER);
+        final Broker broker = new Broker();
+        broker.setMetadata(new ObjectMetaBuilder()
+                .withName(customResourceName)
+                .withNamespace(NAMESPACE)
+                .build());
+        broker.setSpec(new BrokerFullSpec(clusterSpec.getGlobal(), clusterSpec.getBroker()));
+        client.resource(broker).create();
+
+        final GlobalSpec global = clusterSpec.getGlobal();
+        final String set = BrokerResourcesFactory.BROKER_DEFAULT_SET;
+        return new SimulatedStatefulSet(client, clock, NAMESPACE,
+                BrokerResourcesFactory.getResourceName(global.getName(),
+                        global.getComponents().getBrokerBaseName(), set, null),
+                Map.of(CRDConstants.LABEL_CLUSTER, global.getName(),
+                        CRDConstants.LABEL_COMPONENT, BrokerResourcesFactory.getComponentBaseName(global),
+                        CRDConstants.LABEL_RESOURCESET, set),
+                options.getPodStartDelay());
+    }
+
+    @Override
+    protected Runnable newAutoscaler() {
+        return new BrokerSetAutoscaler(client, NAMESPACE, BrokerResourcesFactory.BROKER_DEFAULT_SET, clusterSpec) {
+            @Override
+            protected Clock getClock() {
+                return clock;
+            }
+
+            @Override
+            protected BrokerResourceUsageSource newBrokerResourceUsageSource(BrokerAutoscalerSpec spec,
+                                                                             Map<String, String> podSelector) {
+                return () -> statefulSet.getReadyPods().stream()
+                        .map(pod -> new BrokerResourceUsageSource.ResourceUsage(pod.getName(),
+                                (float) pod.getUsage()))
+                        .toList();
+            }
+        };
+    }
+
+    @Override
+    protected long getPeriodMs() {
+        return clusterSpec.getBroker().getAutoscaler().getPeriodMs();
+    }
+
+    @Override
+    protected int readDesiredReplicas() {
+        return client.resources(Broker.class)
+                .inNamespace(NAMESPACE)
+                .withName(customResourceName)
+                .get()
+                .getSpec()
+                .getBroker()
+                .getReplicas();
+    }
+
+    @Override
+    protected void applyLoad(double load) {
+        final List<SimulatedPod> ready = statefulSet.getReadyPods();
+        for (SimulatedPod pod : ready) {
+            // a broker can't use more than its CPU
+            pod.setUsage(Math.min(1, load / ready.size()));
+        }
+    }
+
+    @Override
+    protected boolean isSloBreached(double load) {
+        final int ready = statefulSet.getReadyPods().size();
+        return ready == 0 || load / ready > options.getSloCpu();
+    }
+
+    @Override
+    protected String formatLoad(double load) {
+        return "%.2f".formatted(load);
+    }
+
+    @Override
+    protected int getNeededReplicas(double load) {
+        return Math.max(1, (int) Math.ceil(load / options.getSloCpu()));
+    }
+}
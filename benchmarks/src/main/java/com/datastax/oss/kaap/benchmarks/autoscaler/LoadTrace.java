@@ -0,0 +1,121 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Load of the whole component over time, linearly interpolated between the samples.
+ * For brokers the load is the CPU used, where 1 is one broker fully busy. For bookies it's the bytes stored.
+ */
+class LoadTrace {
+
+    static final String SHAPE_DIURNAL = "diurnal";
+    static final String SHAPE_RAMP = "ramp";
+    static final String SHAPE_SPIKE = "spike";
+
+    private final long[] seconds;
+    private final double[] values;
+
+    private LoadTrace(TreeMap<Long, Double> samples) {
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("The load trace is empty");
+        }
+        seconds = samples.keySet().stream().mapToLong(Long::longValue).toArray();
+        values = samples.values().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Read a CSV file with either the "seconds,value" columns or the "seconds,pod,value" columns.
+     * In the latter case the values of all the pods at the same second are summed, e.g. a per-pod CPU usage
+     * recorded from the metrics server. The values can be quantities, e.g. "20Gi".
+     * Lines starting with '#' and the lines not starting with a number (headers) are skipped.
+     */
+    static LoadTrace fromCsv(Path path) throws IOException {
+        final TreeMap<Long, Double> samples = new TreeMap<>();
+        for (String line : Files.readAllLines(path)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || !Character.isDigit(line.charAt(0))) {
+                continue;
+            }
+            final String[] columns = line.split(",");
+            if (columns.length != 2 && columns.length != 3) {
+                throw new IllegalArgumentException("Invalid line in " + path + ": " + line);
+            }
+            samples.merge(Long.parseLong(columns[0].trim()), parseAmount(columns[columns.length - 1]), Double::sum);
+        }
+        return new LoadTrace(samples);
+    }
+
+    static LoadTrace synthetic(String shape, double min, double max, Duration duration) {
+        final long end = duration.toSeconds();
+        final TreeMap<Long, Double> samples = new TreeMap<>();
+        switch (shape) {
+            case SHAPE_DIURNAL:
+                final long day = Duration.ofDays(1).toSeconds();
+                for (long t = 0; t <= end; t += 60) {
+                    samples.put(t, min + (max - min) * (1 - Math.cos(2 * Math.PI * t / day)) / 2);
+                }
+                break;
+            case SHAPE_RAMP:
+                samples.put(0L, min);
+                samples.put(end, max);
+                break;
+            case SHAPE_SPIKE:
+                samples.put(0L, min);
+                samples.put(end / 3, min);
+                samples.put(end / 3 + 1, max);
+                samples.put(end / 2, max);
+                samples.put(end / 2 + 1, min);
+                samples.put(end, min);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown trace shape " + shape + ", expected one of "
+                        + SHAPE_DIURNAL + ", " + SHAPE_RAMP + ", " + SHAPE_SPIKE);
+        }
+        return new LoadTrace(samples);
+    }
+
+    static double parseAmount(String value) {
+        return Quantity.getAmountInBytes(new Quantity(value.trim())).doubleValue();
+    }
+
+    long getDurationSeconds() {
+        return seconds[seconds.length - 1];
+    }
+
+    double valueAt(long second) {
+        int index = Arrays.binarySearch(seconds, second);
+        if (index >= 0) {
+            return values[index];
+        }
+        index = -index - 1;
+        if (index == 0) {
+            return values[0];
+        }
+        if (index == seconds.length) {
+            return values[values.length - 1];
+        }
+        final double ratio = (double) (second - seconds[index - 1]) / (seconds[index] - seconds[index - 1]);
+        return values[index - 1] + ratio * (values[index] - values[index - 1]);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * Statefulset and pods as seen by the autoscaler. The pods are started right away and become ready after the start
+ * delay. Only the changes are written to the API server.
+ */
+class SimulatedStatefulSet {
+
+    private static final String REVISION = "rev";
+
+    @Data
+    static class SimulatedPod {
+        final String name;
+        final Instant readyTime;
+        boolean ready;
+        /**
+         * CPU usage for the brokers, bytes stored for the bookies.
+         */
+        double usage;
+    }
+
+    private final KubernetesClient client;
+    private final VirtualClock clock;
+    private final String namespace;
+    private final String name;
+    private final Map<String, String> labels;
+    private final Duration startDelay;
+    private final List<SimulatedPod> pods = new ArrayList<>();
+
+    SimulatedStatefulSet(KubernetesClient client, VirtualClock clock, String namespace, String name,
+                         Map<String, String> labels, Duration startDelay) {
+        this.client = client;
+        this.clock = clock;
+        this.namespace = namespace;
+        this.name = name;
+        this.labels = labels;
+        this.startDelay = startDelay;
+    }
+
+    /**
+     * Create the initial pods, already ready and out of the stabilization window.
+     */
+    void init(int replicas) {
+        for (int i = 0; i < replicas; i++) {
+            final SimulatedPod pod = new SimulatedPod(podName(i), clock.instant().minus(Duration.ofDays(1)));
+            pod.setReady(true);
+            pods.add(pod);
+            writePod(pod);
+        }
+        writeStatefulSet();
+    }
+
+    /**
+     * @return the pods removed
+     */
+    List<SimulatedPod> scaleTo(int replicas) {
+        final int current = pods.size();
+        final List<SimulatedPod> removed = new ArrayList<>();
+        while (pods.size() > replicas) {
+            final SimulatedPod pod = pods.remove(pods.size() - 1);
+            client.pods().inNamespace(namespace).withName(pod.getName()).delete();
+            removed.add(pod);
+        }
+        while (pods.size() < replicas) {
+            final SimulatedPod pod = new SimulatedPod(podName(pods.size()), clock.instant().plus(startDelay));
+            pods.add(pod);
+            writePod(pod);
+        }
+        if (pods.size() != current) {
+            writeStatefulSet();
+        }
+        return removed;
+    }
+
+    /**
+     * Mark as ready the pods whose start delay elapsed.
+     */
+    void tick() {
+        boolean changed = false;
+        for (SimulatedPod pod : pods) {
+            if (!pod.isReady() && !pod.getReadyTime().isAfter(clock.instant())) {
+                pod.setReady(true);
+                writePod(pod);
+                changed = true;
+            }
+        }
+        if (changed) {
+            writeStatefulSet();
+        }
+    }
+
+    List<SimulatedPod> getPods() {
+        return pods;
+    }
+
+    List<SimulatedPod> getReadyPods() {
+        return pods.stream().filter(SimulatedPod::isReady).toList();
+    }
+
+    private String podName(int ordinal) {
+        return "%s-%d".formatted(name, ordinal);
+    }
+
+    private void writePod(SimulatedPod simulatedPod) {
+        final Pod pod = new PodBuilder()
+                .withNewMetadata()
+                .withName(simulatedPod.getName())
+                .withNamespace(namespace)
+                .withLabels(labels)
+                .endMetadata()
+                .withNewStatus()
+                .withPhase("Running")
+                // the pod starts when it's scheduled, the readiness comes after the start delay
+                .withStartTime(simulatedPod.getReadyTime().minus(startDelay).toString())
+                .withContainerStatuses(new ContainerStatusBuilder()
+                        .withName(name)
+                        .withReady(simulatedPod.isReady())
+                        .build())
+                .endStatus()
+                .build();
+        client.resource(pod).createOrReplace();
+    }
+
+    private void writeStatefulSet() {
+        final int ready = getReadyPods().size();
+        final StatefulSet statefulSet = new StatefulSetBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .endMetadata()
+                .withNewSpec()
+                .withReplicas(pods.size())
+                .endSpec()
+                .withNewStatus()
+                .withReplicas(pods.size())
+                .withReadyReplicas(ready)
+                .withUpdatedReplicas(pods.size())
+                .withCurrentRevision(REVISION)
+                .withUpdateRevision(REVISION)
+                .endStatus()
+                .build();
+        client.resource(statefulSet).createOrReplace();
+    }
+}
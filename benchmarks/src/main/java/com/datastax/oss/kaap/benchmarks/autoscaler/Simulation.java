@@ -0,0 +1,95 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import com.datastax.oss.kaap.benchmarks.autoscaler.SimulatedStatefulSet.SimulatedPod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Replay a load trace through an autoscaler, with a virtual clock.
+ * At every step the pods whose start delay elapsed become ready, then the load is spread over the ready pods.
+ * The autoscaler runs every period and the replicas it sets in the custom resource are applied right away, as the
+ * operator would do.
+ */
+abstract class Simulation {
+
+    static final String NAMESPACE = "sim";
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+    protected final KubernetesClient client;
+    protected final SimulationOptions options;
+    protected final VirtualClock clock = new VirtualClock(START);
+    protected SimulatedStatefulSet statefulSet;
+
+    Simulation(KubernetesClient client, SimulationOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    /**
+     * Create the custom resource and return the statefulset of the component.
+     */
+    protected abstract SimulatedStatefulSet init();
+
+    protected abstract Runnable newAutoscaler();
+
+    protected abstract long getPeriodMs();
+
+    protected abstract int readDesiredReplicas();
+
+    protected abstract void applyLoad(double load);
+
+    protected void onScaleDown(List<SimulatedPod> removed) {
+    }
+
+    protected abstract boolean isSloBreached(double load);
+
+    protected abstract String formatLoad(double load);
+
+    /**
+     * Min replicas to handle the load without breaching the SLO.
+     */
+    protected abstract int getNeededReplicas(double load);
+
+    SimulationResult run(String policy) {
+        statefulSet = init();
+        statefulSet.init(options.getInitialReplicas());
+        final Runnable autoscaler = newAutoscaler();
+        final long stepSeconds = options.getStep().toSeconds();
+        final long periodSeconds = Math.max(1, getPeriodMs() / 1000);
+        final SimulationResult result = new SimulationResult(policy, this::formatLoad);
+        final LoadTrace trace = options.getTrace();
+        long nextRun = periodSeconds;
+        for (long t = 0; t <= trace.getDurationSeconds(); t += stepSeconds) {
+            if (t > 0) {
+                clock.advance(options.getStep());
+            }
+            statefulSet.tick();
+            final double load = trace.valueAt(t);
+            applyLoad(load);
+            if (t >= nextRun) {
+                autoscaler.run();
+                onScaleDown(statefulSet.scaleTo(readDesiredReplicas()));
+                nextRun += periodSeconds;
+            }
+            result.record(new SimulationResult.TimelinePoint(t, load, statefulSet.getPods().size(),
+                    statefulSet.getReadyPods().size(), isSloBreached(load)), stepSeconds, getNeededReplicas(load));
+        }
+        return result;
+    }
+}
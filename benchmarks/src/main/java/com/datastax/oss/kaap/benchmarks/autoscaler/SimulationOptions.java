@@ -0,0 +1,51 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+class SimulationOptions {
+    LoadTrace trace;
+    @Builder.Default
+    Duration step = Duration.ofSeconds(10);
+    @Builder.Default
+    Duration podStartDelay = Duration.ofSeconds(60);
+    @Builder.Default
+    int initialReplicas = 3;
+    /**
+     * Brokers: max CPU usage per broker before the latency degrades.
+     */
+    @Builder.Default
+    double sloCpu = 0.9;
+    /**
+     * Bookies: ledgers disk size, the bookkeeper spec one if not set.
+     */
+    Double bookieDiskBytes;
+    /**
+     * Bookies: disk usage at which the bookie turns read-only (bookkeeper diskUsageThreshold).
+     */
+    @Builder.Default
+    double bookieReadOnlyThreshold = 0.95;
+    /**
+     * Bookies: min writable bookies to accept the writes, usually the ensemble size.
+     */
+    @Builder.Default
+    int sloWritableBookies = 3;
+}
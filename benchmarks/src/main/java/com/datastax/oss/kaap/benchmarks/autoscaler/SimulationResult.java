@@ -0,0 +1,120 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleFunction;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+
+/**
+ * Replicas timeline and cost/SLO figures of one simulation.
+ */
+class SimulationResult {
+
+    @Data
+    @AllArgsConstructor
+    static class TimelinePoint {
+        long second;
+        double load;
+        int desiredReplicas;
+        int readyReplicas;
+        boolean sloBreached;
+    }
+
+    @Getter
+    private final String policy;
+    private final DoubleFunction<String> loadFormatter;
+    private final List<TimelinePoint> timeline = new ArrayList<>();
+    private final List<String> scaleEvents = new ArrayList<>();
+    @Getter(AccessLevel.PACKAGE)
+    private int scaleUps;
+    @Getter(AccessLevel.PACKAGE)
+    private int scaleDowns;
+    private int minReplicas = Integer.MAX_VALUE;
+    private int maxReplicas;
+    @Getter(AccessLevel.PACKAGE)
+    private long sloBreachSeconds;
+    @Getter(AccessLevel.PACKAGE)
+    private long podSeconds;
+    @Getter(AccessLevel.PACKAGE)
+    private long overProvisionedPodSeconds;
+
+    SimulationResult(String policy, DoubleFunction<String> loadFormatter) {
+        this.policy = policy;
+        this.loadFormatter = loadFormatter;
+    }
+
+    void record(TimelinePoint point, long stepSeconds, int neededReplicas) {
+        if (!timeline.isEmpty()) {
+            final int previous = timeline.get(timeline.size() - 1).getDesiredReplicas();
+            if (point.getDesiredReplicas() != previous) {
+                if (point.getDesiredReplicas() > previous) {
+                    scaleUps++;
+                } else {
+                    scaleDowns++;
+                }
+                scaleEvents.add("%s %d -> %d (load %s)".formatted(formatTime(point.getSecond()), previous,
+                        point.getDesiredReplicas(), loadFormatter.apply(point.getLoad())));
+            }
+        }
+        timeline.add(point);
+        minReplicas = Math.min(minReplicas, point.getDesiredReplicas());
+        maxReplicas = Math.max(maxReplicas, point.getDesiredReplicas());
+        if (point.isSloBreached()) {
+            sloBreachSeconds += stepSeconds;
+        }
+        // the starting pods cost as much as the ready ones
+        podSeconds += point.getDesiredReplicas() * stepSeconds;
+        overProvisionedPodSeconds += Math.max(0, point.getDesiredReplicas() - neededReplicas) * stepSeconds;
+    }
+
+    static String formatHeader() {
+        return "%-20s %6s %6s %9s %12s %10s %18s".formatted("policy", "ups", "downs", "replicas",
+                "SLO breach m", "pod-hours", "over-prov. pod-h");
+    }
+
+    String formatSummary() {
+        return "%-20s %6d %6d %4d-%-4d %12.1f %10.1f %18.1f".formatted(policy, scaleUps, scaleDowns,
+                minReplicas, maxReplicas, sloBreachSeconds / 60d, podSeconds / 3600d,
+                overProvisionedPodSeconds / 3600d);
+    }
+
+    List<String> getScaleEvents() {
+        return scaleEvents;
+    }
+
+    void writeTimeline(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("seconds,load,desiredReplicas,readyReplicas,sloBreached");
+            for (TimelinePoint point : timeline) {
+                writer.println("%d,%s,%d,%d,%s".formatted(point.getSecond(), point.getLoad(),
+                        point.getDesiredReplicas(), point.getReadyReplicas(), point.isSloBreached()));
+            }
+        }
+    }
+
+    private static String formatTime(long seconds) {
+        return "%02d:%02d:%02d".formatted(seconds / 3600, (seconds % 3600) / 60, seconds % 60);
+    }
+}
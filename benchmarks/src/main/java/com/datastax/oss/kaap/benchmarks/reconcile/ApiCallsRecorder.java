@@ -0,0 +1,120 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.reconcile;
+
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Count the requests received by the mock API server, by verb and kind.
+ * The requests are recorded by the server in a queue: the ones not issued by the controllers (e.g. the fake
+ * kubelet) are discarded before invoking the controller.
+ */
+class ApiCallsRecorder {
+
+    private final KubernetesMockServer server;
+    private final Map<String, Long> calls = new TreeMap<>();
+
+    ApiCallsRecorder(KubernetesMockServer server) {
+        this.server = server;
+    }
+
+    void discard() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    /**
+     * Record the requests received since the last call.
+     *
+     * @return the number of requests recorded
+     */
+    int record() {
+        int count = 0;
+        RecordedRequest request;
+        while ((request = poll()) != null) {
+            calls.merge(describe(request.getMethod(), request.getPath()), 1L, Long::sum);
+            count++;
+        }
+        return count;
+    }
+
+    Map<String, Long> getCalls() {
+        return calls;
+    }
+
+    void reset() {
+        calls.clear();
+    }
+
+    @SneakyThrows
+    private RecordedRequest poll() {
+        return server.takeRequest(0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Describe the request as "verb kind", e.g. "list replicasets" or "update status brokers".
+     */
+    static String describe(String method, String path) {
+        final int queryIndex = path.indexOf('?');
+        final String query = queryIndex >= 0 ? path.substring(queryIndex + 1) : "";
+        final String resourcePath = queryIndex >= 0 ? path.substring(0, queryIndex) : path;
+        final String[] segments = resourcePath.split("/");
+        if (segments.length < 2 || !(segments[1].equals("api") || segments[1].equals("apis"))) {
+            // e.g. /version
+            return "%s %s".formatted(method.toLowerCase(), resourcePath);
+        }
+        // /api/v1/... or /apis/group/version/...
+        int i = "apis".equals(segments[1]) ? 4 : 3;
+        if (segments.length > i + 1 && "namespaces".equals(segments[i])) {
+            i += 2;
+        }
+        final String kind = segments.length > i ? segments[i] : "unknown";
+        final boolean named = segments.length > i + 1;
+        final String subresource = segments.length > i + 2 ? segments[i + 2] + " " : "";
+        final String verb;
+        switch (method) {
+            case "GET":
+                if (query.contains("watch=true")) {
+                    verb = "watch";
+                } else {
+                    verb = named ? "get" : "list";
+                }
+                break;
+            case "POST":
+                verb = "create";
+                break;
+            case "PUT":
+                verb = "update";
+                break;
+            case "PATCH":
+                verb = "patch";
+                break;
+            case "DELETE":
+                verb = named ? "delete" : "deletecollection";
+                break;
+            default:
+                verb = method.toLowerCase();
+                break;
+        }
+        return "%s %s%s".formatted(verb, subresource, kind);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.reconcile;
+
+import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
+import io.fabric8.kubernetes.api.model.apps.ReplicaSetBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetStatus;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetStatusBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatusBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Play the role of the Kubernetes controllers and of the kubelet: every workload created by the operator becomes
+ * ready at the next sync.
+ */
+class FakeKubelet {
+
+    private final KubernetesClient client;
+
+    FakeKubelet(KubernetesClient client) {
+        this.client = client;
+    }
+
+    void sync(String namespace) {
+        for (StatefulSet sts : client.apps().statefulSets().inNamespace(namespace).list().getItems()) {
+            syncStatefulSet(sts);
+        }
+        for (Deployment deployment : client.apps().deployments().inNamespace(namespace).list().getItems()) {
+            syncDeployment(deployment);
+        }
+        for (Job job : client.batch().v1().jobs().inNamespace(namespace).list().getItems()) {
+            if (job.getStatus() == null || !BaseResourcesFactory.isJobCompleted(job)) {
+                job.setStatus(new JobStatusBuilder().withSucceeded(1).build());
+                client.resource(job).replaceStatus();
+            }
+        }
+    }
+
+    private void syncStatefulSet(StatefulSet sts) {
+        final int replicas = Objects.requireNonNullElse(sts.getSpec().getReplicas(), 1);
+        final String revision = revision(sts.getSpec().hashCode());
+        final StatefulSetStatus status = new StatefulSetStatusBuilder()
+                .withReplicas(replicas)
+                .withReadyReplicas(replicas)
+                .withAvailableReplicas(replicas)
+                .withCurrentReplicas(replicas)
+                .withUpdatedReplicas(replicas)
+                .withCurrentRevision(revision)
+                .withUpdateRevision(revision)
+                .withObservedGeneration(sts.getMetadata().getGeneration())
+                .build();
+        if (!status.equals(sts.getStatus())) {
+            sts.setStatus(status);
+            client.resource(sts).replaceStatus();
+        }
+    }
+
+    private void syncDeployment(Deployment deployment) {
+        final int replicas = Objects.requireNonNullElse(deployment.getSpec().getReplicas(), 1);
+        final String revision = revision(deployment.getSpec().hashCode());
+        final String namespace = deployment.getMetadata().getNamespace();
+        final Map<String, String> annotations = deployment.getMetadata().getAnnotations() == null
+                ? new HashMap<>() : new HashMap<>(deployment.getMetadata().getAnnotations());
+        if (!revision.equals(annotations.get(BaseResourcesFactory.DEPLOYMENT_REVISION_ANNOTATION))) {
+            annotations.put(BaseResourcesFactory.DEPLOYMENT_REVISION_ANNOTATION, revision);
+            deployment.getMetadata().setAnnotations(annotations);
+            deployment = client.resource(deployment).replace();
+        }
+        final String name = "%s-%s".formatted(deployment.getMetadata().getName(), revision);
+        for (ReplicaSet replicaSet : client.apps().replicaSets().inNamespace(namespace).list().getItems()) {
+            if (replicaSet.getMetadata().getName().startsWith(deployment.getMetadata().getName() + "-")
+                    && !replicaSet.getMetadata().getName().equals(name)) {
+                client.resource(replicaSet).delete();
+            }
+        }
+        final ReplicaSet current = client.apps().replicaSets().inNamespace(namespace).withName(name).get();
+        if (current != null
+                && current.getMetadata().getOwnerReferences().get(0).getUid()
+                .equals(deployment.getMetadata().getUid())
+                && current.getStatus() != null
+                && Objects.equals(current.getStatus().getReadyReplicas(), replicas)) {
+            return;
+        }
+        final ReplicaSet replicaSet = new ReplicaSetBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .withAnnotations(Map.of(BaseResourcesFactory.DEPLOYMENT_REVISION_ANNOTATION, revision))
+                .withOwnerReferences(new OwnerReferenceBuilder()
+                        .withApiVersion(deployment.getApiVersion())
+                        .withKind(deployment.getKind())
+                        .withName(deployment.getMetadata().getName())
+                        .withUid(deployment.getMetadata().getUid())
+                        .build())
+                .endMetadata()
+                .withNewStatus()
+                .withReplicas(replicas)
+                .withReadyReplicas(replicas)
+                .withAvailableReplicas(replicas)
+                .endStatus()
+                .build();
+        client.resource(replicaSet).createOrReplace();
+    }
+
+    private static String revision(int specHash) {
+        return Integer.toUnsignedString(specHash);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.reconcile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Reconciliations recorded during one phase of the load harness.
+ */
+class PhaseStats {
+
+    @Getter
+    private final String name;
+    private final Map<String, List<Long>> latenciesByKind = new TreeMap<>();
+    private final Map<String, Long> apiCalls = new TreeMap<>();
+    private long totalApiCalls;
+    @Getter
+    @Setter
+    private long heapUsedBytes;
+
+    PhaseStats(String name) {
+        this.name = name;
+    }
+
+    void record(String kind, long latencyNanos, int apiCallsCount) {
+        latenciesByKind.computeIfAbsent(kind, k -> new ArrayList<>()).add(latencyNanos);
+        totalApiCalls += apiCallsCount;
+    }
+
+    void addApiCalls(Map<String, Long> calls) {
+        calls.forEach((k, v) -> apiCalls.merge(k, v, Long::sum));
+    }
+
+    String format() {
+        final StringBuilder builder = new StringBuilder();
+        final long[] all = latenciesByKind.values().stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        final long totalNanos = Arrays.stream(all).sum();
+        builder.append("  %s: %d reconciles, %.1f reconciles/s, %.1f API calls/reconcile, heap used %d MB%n"
+                .formatted(name, all.length, all.length / Math.max(totalNanos / 1_000_000_000d, 1e-9),
+                        (double) totalApiCalls / Math.max(all.length, 1), heapUsedBytes / (1024 * 1024)));
+        builder.append("    %-16s %8s %10s %10s %10s%n".formatted("kind", "count", "p50 ms", "p99 ms", "max ms"));
+        builder.append(formatLatencies("all", all));
+        latenciesByKind.forEach((kind, latencies) ->
+                builder.append(formatLatencies(kind,
+                        latencies.stream().mapToLong(Long::longValue).sorted().toArray())));
+        builder.append("    API calls per reconcile:%n".formatted());
+        apiCalls.forEach((call, count) ->
+                builder.append("      %-40s %8.2f%n".formatted(call, (double) count / Math.max(all.length, 1))));
+        return builder.toString();
+    }
+
+    private static String formatLatencies(String kind, long[] sorted) {
+        return "    %-16s %8d %10.2f %10.2f %10.2f%n".formatted(kind, sorted.length,
+                percentile(sorted, 0.5) / 1_000_000d,
+                percentile(sorted, 0.99) / 1_000_000d,
+                percentile(sorted, 1) / 1_000_000d);
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.reconcile;
+
+import static org.mockito.Mockito.mock;
+import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
+import com.datastax.oss.kaap.benchmarks.MockApiServers;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.AbstractController;
+import com.datastax.oss.kaap.controllers.PulsarClusterController;
+import com.datastax.oss.kaap.controllers.autorecovery.AutorecoveryController;
+import com.datastax.oss.kaap.controllers.bastion.BastionController;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.controllers.function.FunctionsWorkerController;
+import com.datastax.oss.kaap.controllers.proxy.ProxyController;
+import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperController;
+import com.datastax.oss.kaap.crds.BaseComponentStatus;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
+import com.datastax.oss.kaap.crds.autorecovery.Autorecovery;
+import com.datastax.oss.kaap.crds.bastion.Bastion;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.cluster.PulsarCluster;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorker;
+import com.datastax.oss.kaap.crds.proxy.Proxy;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.SneakyThrows;
+import lombok.Value;
+
+/**
+ * Drive the operator controllers through the bring-up and the steady state of N PulsarClusters, each one in its
+ * own namespace, and report the reconciliation throughput and latency, the API calls per reconciliation and the
+ * heap used.
+ * <p>
+ * The API server is the fabric8 CRUD mock server, running in the same JVM: its storage is part of the heap
+ * reported. The workloads become ready as soon as they're created, see {@link FakeKubelet}.
+ * Like the operator, a custom resource is reconciled when its generation changes or when its reconciliation is
+ * rescheduled; the reschedule delay is not waited, all the rescheduled resources are reconciled in the next round.
+ * Once all the clusters are ready, the steady state reconciles every custom resource once per round, as the
+ * periodic resync does.
+ * <p>
+ * Usage: {@code ReconcileLoadHarness [--clusters 10,50,100] [--steady-rounds 3]}
+ */
+public class ReconcileLoadHarness {
+
+    private static final int MAX_BRING_UP_ROUNDS = 50;
+    private static final List<Class<? extends CustomResource>> CUSTOM_RESOURCES = List.of(
+            PulsarCluster.class,
+            ZooKeeper.class,
+            BookKeeper.class,
+            Broker.class,
+            Proxy.class,
+            Autorecovery.class,
+            Bastion.class,
+            FunctionsWorker.class
+    );
+
+    @Value
+    private static class ResourceKey {
+        Class<? extends CustomResource> type;
+        String namespace;
+        String name;
+    }
+
+    private final int clusters;
+    private final int steadyRounds;
+    private final Map<Class<? extends CustomResource>, AbstractController<?>> controllers = new HashMap<>();
+    private final Map<ResourceKey, Long> generations = new LinkedHashMap<>();
+    private final io.javaoperatorsdk.operator.api.reconciler.Context<?> context =
+            mock(io.javaoperatorsdk.operator.api.reconciler.Context.class);
+    private KubernetesClient client;
+    private FakeKubelet kubelet;
+    private ApiCallsRecorder recorder;
+
+    public ReconcileLoadHarness(int clusters, int steadyRounds) {
+        this.clusters = clusters;
+        this.steadyRounds = steadyRounds;
+    }
+
+    public static void main(String[] args) {
+        List<Integer> clusters = List.of(10, 50, 100);
+        int steadyRounds = 3;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--clusters":
+                    clusters = Arrays.stream(args[++i].split(","))
+                            .map(String::trim)
+                            .map(Integer::parseInt)
+                            .toList();
+                    break;
+                case "--steady-rounds":
+                    steadyRounds = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]
+                            + ", usage: ReconcileLoadHarness [--clusters 10,50,100] [--steady-rounds 3]");
+            }
+        }
+        // the mock server logs every request
+        Logger.getLogger("").setLevel(Level.WARNING);
+        for (int n : clusters) {
+            System.out.println(new ReconcileLoadHarness(n, steadyRounds).run());
+        }
+        // the controllers start non-daemon threads (autoscalers, racks) that are stopped only by the Quarkus shutdown
+        System.exit(0);
+    }
+
+    public String run() {
+        final KubernetesMockServer server = MockApiServers.start(CUSTOM_RESOURCES);
+        try (KubernetesClient client = server.createClient()) {
+            this.client = client;
+            this.kubelet = new FakeKubelet(client);
+            this.recorder = new ApiCallsRecorder(server);
+            createControllers();
+            final PhaseStats bringUp = new PhaseStats("bring-up");
+            final int rounds = bringUp(bringUp);
+            final PhaseStats steady = new PhaseStats("steady state");
+            for (int i = 0; i < steadyRounds; i++) {
+                for (ResourceKey key : List.copyOf(generations.keySet())) {
+                    reconcile(key, steady);
+                }
+            }
+            steady.setHeapUsedBytes(heapUsed());
+            return "%d clusters, %d custom resources, ready after %d rounds%n%s%s".formatted(clusters,
+                    generations.size(), rounds, bringUp.format(), steady.format());
+        } finally {
+            server.destroy();
+        }
+    }
+
+    private void createControllers() {
+        final OperatorRuntimeConfiguration runtimeConfiguration = new OperatorRuntimeConfiguration() {
+            @Override
+            public Integer reconciliationRescheduleSeconds() {
+                return 5;
+            }
+
+            @Override
+            public String lastAppliedStorage() {
+                return LAST_APPLIED_STORAGE_STATUS;
+            }
+
+            @Override
+            public Integer standbyWarmupIntervalSeconds() {
+                return 30;
+            }
+
+            /**
+             * The harness calls the controllers directly, without owning any shard.
+             */
+            @Override
+            public Sharding sharding() {
+                return null;
+            }
+
+            /**
+             * The rate limiter is not installed, the harness measures the controllers alone.
+             */
+            @Override
+            public RateLimit rateLimit() {
+                return null;
+            }
+        };
+        controllers.put(PulsarCluster.class, new PulsarClusterController(client));
+        controllers.put(ZooKeeper.class, new ZooKeeperController(client));
+        controllers.put(BookKeeper.class, new BookKeeperController(client));
+        controllers.put(Broker.class, new BrokerController(client));
+        controllers.put(Proxy.class, new ProxyController(client));
+        controllers.put(Autorecovery.class, new AutorecoveryController(client));
+        controllers.put(Bastion.class, new BastionController(client));
+        controllers.put(FunctionsWorker.class, new FunctionsWorkerController(client));
+        controllers.values().forEach(c -> c.setOperatorRuntimeConfiguration(runtimeConfiguration));
+    }
+
+    private int bringUp(PhaseStats stats) {
+        Set<ResourceKey> next = new LinkedHashSet<>();
+        for (int i = 0; i < clusters; i++) {
+            final String namespace = "pulsar-" + i;
+            final PulsarCluster cluster = new PulsarCluster();
+            cluster.setMetadata(new ObjectMetaBuilder()
+                    .withName("pulsar")
+                    .withNamespace(namespace)
+                    .build());
+            cluster.setSpec(clusterSpec());
+            client.resource(cluster).create();
+            final ResourceKey key = new ResourceKey(PulsarCluster.class, namespace, "pulsar");
+            generations.put(key, 1L);
+            next.add(key);
+        }
+        int rounds = 0;
+        while (!next.isEmpty()) {
+            if (++rounds > MAX_BRING_UP_ROUNDS) {
+                throw new IllegalStateException("Clusters not ready after %d rounds, still reconciling: %s"
+                        .formatted(MAX_BRING_UP_ROUNDS, next));
+            }
+            final LinkedHashSet<ResourceKey> current = new LinkedHashSet<>(next);
+            next = new LinkedHashSet<>();
+            while (!current.isEmpty()) {
+                final ResourceKey key = current.iterator().next();
+                current.remove(key);
+                if (reconcile(key, stats)) {
+                    next.add(key);
+                }
+                if (key.getType() == PulsarCluster.class) {
+                    current.addAll(childrenWithNewGeneration(key.getNamespace()));
+                }
+            }
+        }
+        for (ResourceKey key : generations.keySet()) {
+            if (key.getType() == PulsarCluster.class && !isReady(key)) {
+                throw new IllegalStateException("Cluster in namespace " + key.getNamespace() + " is not ready");
+            }
+        }
+        stats.setHeapUsedBytes(heapUsed());
+        return rounds;
+    }
+
+    /**
+     * Reconcile the resource as the operator would, then let the fake kubelet update the workloads.
+     *
+     * @return true if the reconciliation has been rescheduled
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private <T extends CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus>> boolean reconcile(
+            ResourceKey key, PhaseStats stats) {
+        final AbstractController<T> controller = (AbstractController<T>) controllers.get(key.getType());
+        final T resource = (T) client.resources(key.getType())
+                .inNamespace(key.getNamespace())
+                .withName(key.getName())
+                .get();
+        if (resource.getStatus() == null) {
+            resource.setStatus(new BaseComponentStatus());
+        }
+        recorder.discard();
+        final long start = System.nanoTime();
+        final UpdateControl<T> update = controller.reconcile(resource,
+                (io.javaoperatorsdk.operator.api.reconciler.Context<T>) context);
+        if (update.isUpdateStatus()) {
+            client.resource(update.getResource()).replaceStatus();
+        }
+        final long elapsed = System.nanoTime() - start;
+        recorder.reset();
+        stats.record(key.getType().getSimpleName(), elapsed, recorder.record());
+        stats.addApiCalls(recorder.getCalls());
+        kubelet.sync(key.getNamespace());
+        return update.getScheduleDelay().isPresent();
+    }
+
+    private List<ResourceKey> childrenWithNewGeneration(String namespace) {
+        final List<ResourceKey> changed = new ArrayList<>();
+        for (Class<? extends CustomResource> type : CUSTOM_RESOURCES) {
+            if (type == PulsarCluster.class) {
+                continue;
+            }
+            for (CustomResource<?, ?> resource : client.resources(type).inNamespace(namespace).list().getItems()) {
+                final ResourceKey key = new ResourceKey(type, namespace, resource.getMetadata().getName());
+                final Long generation = resource.getMetadata().getGeneration();
+                if (!generation.equals(generations.put(key, generation))) {
+                    changed.add(key);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private boolean isReady(ResourceKey key) {
+        final BaseComponentStatus status = (BaseComponentStatus) client.resources(key.getType())
+                .inNamespace(key.getNamespace())
+                .withName(key.getName())
+                .get()
+                .getStatus();
+        return status != null && status.getConditions().stream()
+                .anyMatch(c -> CRDConstants.CONDITIONS_TYPE_READY.equals(c.getType())
+                        && CRDConstants.CONDITIONS_STATUS_TRUE.equals(c.getStatus()));
+    }
+
+    private static long heapUsed() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static PulsarClusterSpec clusterSpec() {
+        return SerializationUtil.readYaml("""
+                global:
+                    name: pulsar
+                    image: apachepulsar/pulsar:2.10.2
+                    storage:
+                        existingStorageClassName: default
+                zookeeper:
+                    replicas: 3
+                    resources:
+                        requests:
+                            cpu: 500m
+                            memory: 1Gi
+                bookkeeper:
+                    replicas: 3
+                    config:
+                        journalMaxGroupWaitMSec: "1"
+                    volumes:
+                        journal:
+                            size: 20Gi
+                        ledgers:
+                            size: 100Gi
+                    autoscaler:
+                        enabled: false
+                    autoRackConfig:
+                        enabled: false
+                broker:
+                    replicas: 3
+                    config:
+                        managedLedgerDefaultEnsembleSize: "2"
+                        managedLedgerDefaultWriteQuorum: "2"
+                        managedLedgerDefaultAckQuorum: "2"
+                    podAnnotations:
+                        prometheus.io/scrape: "true"
+                    autoscaler:
+                        enabled: false
+                proxy:
+                    replicas: 2
+                    autoscaler:
+                        enabled: false
+                autorecovery:
+                    replicas: 1
+                bastion:
+                    replicas: 1
+                functionsWorker:
+                    replicas: 2
+                    autoscaler:
+                        enabled: false
+                """, PulsarClusterSpec.class);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LoadTraceTest {
+
+    @Test
+    public void testFromCsv() throws Exception {
+        final LoadTrace trace = LoadTrace.fromCsv(writeCsv("""
+                # recorded load
+                seconds,value
+                0,1
+                60, 3
+                120,2
+                """));
+        Assert.assertEquals(trace.getDurationSeconds(), 120);
+        Assert.assertEquals(trace.valueAt(0), 1d);
+        Assert.assertEquals(trace.valueAt(30), 2d);
+        Assert.assertEquals(trace.valueAt(60), 3d);
+        Assert.assertEquals(trace.valueAt(90), 2.5d);
+        Assert.assertEquals(trace.valueAt(500), 2d);
+    }
+
+    @Test
+    public void testFromCsvPerPod() throws Exception {
+        final LoadTrace trace = LoadTrace.fromCsv(writeCsv("""
+                seconds,pod,value
+                0,bookie-0,1Gi
+                0,bookie-1,1Gi
+                10,bookie-0,2Gi
+                10,bookie-1,500m
+                """));
+        Assert.assertEquals(trace.valueAt(0), 2d * 1024 * 1024 * 1024);
+        Assert.assertEquals(trace.valueAt(10), 2d * 1024 * 1024 * 1024 + 0.5d);
+    }
+
+    @Test
+    public void testFromCsvInvalid() throws Exception {
+        final Path invalid = writeCsv("0,1,2,3\n");
+        Assert.assertThrows(IllegalArgumentException.class, () -> LoadTrace.fromCsv(invalid));
+        final Path empty = writeCsv("seconds,value\n");
+        Assert.assertThrows(IllegalArgumentException.class, () -> LoadTrace.fromCsv(empty));
+    }
+
+    @Test
+    public void testParseAmount() {
+        Assert.assertEquals(LoadTrace.parseAmount("0.5"), 0.5d);
+        Assert.assertEquals(LoadTrace.parseAmount(" 250m "), 0.25d);
+        Assert.assertEquals(LoadTrace.parseAmount("20Gi"), 20d * 1024 * 1024 * 1024);
+    }
+
+    @Test
+    public void testSynthetic() {
+        final Duration duration = Duration.ofMinutes(30);
+        final LoadTrace ramp = LoadTrace.synthetic(LoadTrace.SHAPE_RAMP, 1, 4, duration);
+        Assert.assertEquals(ramp.getDurationSeconds(), 1800);
+        Assert.assertEquals(ramp.valueAt(0), 1d);
+        Assert.assertEquals(ramp.valueAt(600), 2d);
+        Assert.assertEquals(ramp.valueAt(1800), 4d);
+
+        final LoadTrace spike = LoadTrace.synthetic(LoadTrace.SHAPE_SPIKE, 1, 4, duration);
+        Assert.assertEquals(spike.valueAt(600), 1d);
+        Assert.assertEquals(spike.valueAt(700), 4d);
+        Assert.assertEquals(spike.valueAt(1000), 1d);
+
+        final LoadTrace diurnal = LoadTrace.synthetic(LoadTrace.SHAPE_DIURNAL, 1, 4, Duration.ofDays(1));
+        Assert.assertEquals(diurnal.valueAt(0), 1d);
+        Assert.assertEquals(diurnal.valueAt(Duration.ofHours(12).toSeconds()), 4d, 0.0001d);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> LoadTrace.synthetic("sawtooth", 1, 4, duration));
+    }
+
+    private static Path writeCsv(String content) throws Exception {
+        final Path file = Files.createTempFile("trace", ".csv");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SimulationResultTest {
+
+    @Test
+    public void testRecord() throws Exception {
+        final SimulationResult result = new SimulationResult("default", "%.1f"::formatted);
+        result.record(new SimulationResult.TimelinePoint(0, 1, 2, 2, false), 60, 2);
+        result.record(new SimulationResult.TimelinePoint(60, 3, 4, 2, true), 60, 4);
+        result.record(new SimulationResult.TimelinePoint(120, 3, 4, 4, false), 60, 4);
+        result.record(new SimulationResult.TimelinePoint(3720, 1, 3, 3, true), 3600, 1);
+
+        Assert.assertEquals(result.getScaleUps(), 1);
+        Assert.assertEquals(result.getScaleDowns(), 1);
+        Assert.assertEquals(result.getSloBreachSeconds(), 3660);
+        Assert.assertEquals(result.getPodSeconds(), 2 * 60 + 4 * 60 + 4 * 60 + 3 * 3600);
+        Assert.assertEquals(result.getOverProvisionedPodSeconds(), 2 * 3600);
+        Assert.assertEquals(result.getScaleEvents(), List.of(
+                "00:01:00 2 -> 4 (load 3.0)",
+                "01:02:00 4 -> 3 (load 1.0)"
+        ));
+        Assert.assertEquals(result.formatSummary(),
+                "default                   1      1    2-4            61.0        3.2                2.0");
+    }
+
+    @Test
+    public void testWriteTimeline() throws Exception {
+        final SimulationResult result = new SimulationResult("default", "%.1f"::formatted);
+        result.record(new SimulationResult.TimelinePoint(0, 1.5, 2, 1, true), 10, 2);
+        final Path file = Files.createTempFile("timeline", ".csv");
+        result.writeTimeline(file);
+        Assert.assertEquals(Files.readAllLines(file), List.of(
+                "seconds,load,desiredReplicas,readyReplicas,sloBreached",
+                "0,1.5,2,1,true"
+        ));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.benchmarks.autoscaler;
+
+import com.datastax.oss.kaap.benchmarks.MockApiServers;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoscalerSpec;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import java.time.Duration;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SimulationSloTest {
+
+    private static final double GB = 1024 * 1024 * 1024;
+
+    private KubernetesMockServer server;
+    private KubernetesClient client;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        server = MockApiServers.start(List.of(Broker.class, BookKeeper.class));
+        client = server.createClient();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        client.close();
+        server.destroy();
+    }
+
+    @Test
+    public void testBrokerSlo() {
+        final BrokerSimulation simulation = new BrokerSimulation(client, SimulationOptions.builder()
+                .sloCpu(0.8)
+                .initialReplicas(2)
+                .build(), new BrokerAutoscalerSpec());
+        simulation.statefulSet = simulation.init();
+        simulation.statefulSet.init(2);
+
+        simulation.applyLoad(1.6);
+        Assert.assertFalse(simulation.isSloBreached(1.6));
+        simulation.applyLoad(1.7);
+        Assert.assertTrue(simulation.isSloBreached(1.7));
+        Assert.assertEquals(simulation.getNeededReplicas(1.6), 2);
+        Assert.assertEquals(simulation.getNeededReplicas(1.7), 3);
+        Assert.assertEquals(simulation.getNeededReplicas(0), 1);
+
+        // the starting brokers don't serve the load
+        simulation.statefulSet.scaleTo(3);
+        simulation.statefulSet.tick();
+        Assert.assertTrue(simulation.isSloBreached(1.7));
+        simulation.clock.advance(simulation.options.getPodStartDelay());
+        simulation.statefulSet.tick();
+        simulation.applyLoad(1.7);
+        Assert.assertFalse(simulation.isSloBreached(1.7));
+
+        simulation.statefulSet.scaleTo(0);
+        Assert.assertTrue(simulation.isSloBreached(0));
+    }
+
+    @Test
+    public void testBookKeeperSlo() {
+        final BookKeeperSimulation simulation = new BookKeeperSimulation(client, SimulationOptions.builder()
+                .bookieDiskBytes(10 * GB)
+                .bookieReadOnlyThreshold(0.9)
+                .sloWritableBookies(2)
+                .initialReplicas(3)
+                .build(), new BookKeeperAutoscalerSpec());
+        simulation.statefulSet = simulation.init();
+        simulation.statefulSet.init(3);
+
+        simulation.applyLoad(24 * GB);
+        Assert.assertFalse(simulation.isSloBreached(24 * GB));
+        Assert.assertEquals(simulation.getNeededReplicas(24 * GB), 3);
+        Assert.assertEquals(simulation.getNeededReplicas(0), 2);
+
+        // one bookie turns read-only, the other two still accept the writes
+        simulation.statefulSet.getPods().get(0).setUsage(9 * GB);
+        Assert.assertFalse(simulation.isSloBreached(25 * GB));
+        simulation.applyLoad(25 * GB);
+        simulation.applyLoad(28 * GB);
+        Assert.assertTrue(simulation.isSloBreached(28 * GB));
+        Assert.assertEquals(simulation.getNeededReplicas(28 * GB), 4);
+
+        // the deleted data frees space on all the bookies
+        simulation.applyLoad(14 * GB);
+        Assert.assertFalse(simulation.isSloBreached(14 * GB));
+    }
+
+    @Test
+    public void testBookKeeperSimulationRun() {
+        final SimulationResult result = new BookKeeperSimulation(client, SimulationOptions.builder()
+                .trace(LoadTrace.synthetic(LoadTrace.SHAPE_RAMP, 0, 60 * GB, Duration.ofHours(2)))
+                .bookieDiskBytes(10 * GB)
+                .step(Duration.ofSeconds(30))
+                .build(), new BookKeeperAutoscalerSpec()).run("default");
+        Assert.assertTrue(result.getScaleUps() > 0);
+        Assert.assertTrue(result.getPodSeconds() > 3 * Duration.ofHours(2).toSeconds());
+    }
+}
@@ -52,6 +52,9 @@ public class InputClusterSpecs {
 
     @Builder.Default
     FunctionsWorkerSpecs functionsWorker = new FunctionsWorkerSpecs();
+
+    @Builder.Default
+    DumpSpecs dump = new DumpSpecs();
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -124,4 +127,14 @@ public class InputClusterSpecs {
     public static class FunctionsWorkerSpecs {
         String baseName = "function";
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DumpSpecs {
+        // e.g. release=pulsar, applied by the API server to every list call
+        String labelSelector;
+        int pageSize = 500;
+        int parallelism = 4;
+    }
 }
@@ -117,10 +117,13 @@ public class Main {
         @Parameter(names = {"-d", "--dir"}, required = true, description = "Output directory of the generate command.")
         String outputDir;
 
+        @Parameter(names = {"-p", "--parallelism"}, description = "Number of resources compared at the same time.")
+        int parallelism = DiffChecker.DEFAULT_PARALLELISM;
+
         @Override
         @SneakyThrows
         public void run() {
-            DiffChecker.diffFromDirectory(new File(outputDir));
+            DiffChecker.diffFromDirectory(new File(outputDir), parallelism);
         }
     }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.migrationtool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import java.io.File;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Dump the existing resources of the namespace, one file for each resource.
+ * Every kind is listed page by page in its own thread and each page is written to disk before fetching the next one.
+ * The progress is tracked in a manifest: if the dump is interrupted, the next run continues from the last page
+ * written. The manifest is removed once all the kinds have been dumped.
+ */
+@Slf4j
+public class OriginalResourcesDumper {
+
+    public static final String MANIFEST_FILE = "dump-manifest.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.INDENT_OUTPUT, true);
+
+    @Data
+    @NoArgsConstructor
+    public static class Manifest {
+        private String namespace;
+        private String labelSelector;
+        private Map<String, KindProgress> kinds = new TreeMap<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class KindProgress {
+        private boolean completed;
+        private String continueToken;
+        private long dumped;
+    }
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final InputClusterSpecs.DumpSpecs dumpSpecs;
+    private final File outputDirectory;
+    private final Path manifestFile;
+    private final Manifest manifest;
+
+    public OriginalResourcesDumper(KubernetesClient client, String namespace, InputClusterSpecs.DumpSpecs dumpSpecs,
+                                   File outputDirectory) {
+        this.client = client;
+        this.namespace = namespace;
+        this.dumpSpecs = dumpSpecs;
+        this.outputDirectory = outputDirectory;
+        this.manifestFile = outputDirectory.toPath().resolve(MANIFEST_FILE);
+        this.manifest = readManifest();
+    }
+
+    @SneakyThrows
+    public void dump() {
+        final Map<String, MixedOperation<? extends HasMetadata,
+                ? extends KubernetesResourceList<? extends HasMetadata>, ?>> kinds = getKinds();
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(dumpSpecs.getParallelism(), kinds.size())));
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            kinds.forEach((kind, op) -> futures.add(executor.submit(() -> dumpKind(kind, op))));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Files.deleteIfExists(manifestFile);
+        log.info("Dumped {} existing resources to {}", getTotalDumped(), outputDirectory.getAbsolutePath());
+    }
+
+    private synchronized long getTotalDumped() {
+        return manifest.getKinds().values().stream().mapToLong(KindProgress::getDumped).sum();
+    }
+
+    private Map<String, MixedOperation<? extends HasMetadata,
+            ? extends KubernetesResourceList<? extends HasMetadata>, ?>> getKinds() {
+        final Map<String, MixedOperation<? extends HasMetadata,
+                ? extends KubernetesResourceList<? extends HasMetadata>, ?>> kinds = new LinkedHashMap<>();
+        kinds.put("poddisruptionbudgets", client.policy().v1().podDisruptionBudget());
+        kinds.put("statefulsets", client.apps().statefulSets());
+        kinds.put("deployments", client.apps().deployments());
+        kinds.put("configmaps", client.configMaps());
+        kinds.put("services", client.services());
+        kinds.put("secrets", client.secrets());
+        kinds.put("jobs", client.batch().v1().jobs());
+        kinds.put("ingresses", client.network().v1().ingresses());
+        kinds.put("serviceaccounts", client.serviceAccounts());
+        kinds.put("roles", client.rbac().roles());
+        kinds.put("rolebindings", client.rbac().roleBindings());
+        return kinds;
+    }
+
+    private void dumpKind(String kind, MixedOperation<? extends HasMetadata,
+            ? extends KubernetesResourceList<? extends HasMetadata>, ?> op) {
+        final KindProgress progress = getProgress(kind);
+        if (progress.isCompleted()) {
+            log.info("Existing {} already dumped, skipping", kind);
+            return;
+        }
+        String continueToken = progress.getContinueToken();
+        long dumped = progress.getDumped();
+        if (continueToken != null) {
+            log.info("Resuming the dump of {} after {} resources", kind, dumped);
+        }
+        while (true) {
+            final KubernetesResourceList<? extends HasMetadata> page;
+            try {
+                page = op.inNamespace(namespace)
+                        .list(new ListOptionsBuilder()
+                                .withLabelSelector(dumpSpecs.getLabelSelector())
+                                .withLimit((long) dumpSpecs.getPageSize())
+                                .withContinue(continueToken)
+                                .build());
+            } catch (KubernetesClientException e) {
+                if (continueToken != null && e.getCode() == HttpURLConnection.HTTP_GONE) {
+                    log.warn("The list of {} expired, dumping them again from the start", kind);
+                    continueToken = null;
+                    dumped = 0;
+                    continue;
+                }
+                throw e;
+            }
+            for (HasMetadata resource : page.getItems()) {
+                SpecGenerator.dumpToFile(outputDirectory.getAbsolutePath(), SpecGenerator.ORIGINAL_PREFIX, resource);
+            }
+            dumped += page.getItems().size();
+            continueToken = page.getMetadata() == null ? null
+                    : StringUtils.trimToNull(page.getMetadata().getContinue());
+            final boolean completed = continueToken == null;
+            updateProgress(kind, new KindProgress(completed, continueToken, dumped));
+            if (completed) {
+                log.info("Dumped {} existing {}", dumped, kind);
+                return;
+            }
+        }
+    }
+
+    private synchronized KindProgress getProgress(String kind) {
+        final KindProgress progress = manifest.getKinds().get(kind);
+        return progress == null ? new KindProgress() : progress;
+    }
+
+    @SneakyThrows
+    private synchronized void updateProgress(String kind, KindProgress progress) {
+        manifest.getKinds().put(kind, progress);
+        final Path tmp = manifestFile.resolveSibling(MANIFEST_FILE + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), manifest);
+        Files.move(tmp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @SneakyThrows
+    private Manifest readManifest() {
+        if (Files.exists(manifestFile)) {
+            final Manifest existing = MAPPER.readValue(manifestFile.toFile(), Manifest.class);
+            if (Objects.equals(existing.getNamespace(), namespace)
+                    && Objects.equals(existing.getLabelSelector(), dumpSpecs.getLabelSelector())) {
+                log.info("Resuming the interrupted dump tracked in {}", manifestFile);
+                return existing;
+            }
+            log.info("Ignoring {}, it was created for another namespace or label selector", manifestFile);
+        }
+        final Manifest newManifest = new Manifest();
+        newManifest.setNamespace(namespace);
+        newManifest.setLabelSelector(dumpSpecs.getLabelSelector());
+        return newManifest;
+    }
+}
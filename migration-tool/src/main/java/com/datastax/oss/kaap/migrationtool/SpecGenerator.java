@@ -158,24 +158,8 @@ public class SpecGenerator {
     }
 
     private void dumpOriginalResources(KubernetesClient client, File fullOut) {
-        List.of(
-                        client.policy().v1().podDisruptionBudget(),
-                        client.apps().statefulSets(),
-                        client.apps().deployments(),
-                        client.configMaps(),
-                        client.services(),
-                        client.secrets(),
-                        client.batch().v1().jobs(),
-                        client.network().v1().ingresses(),
-                        client.serviceAccounts(),
-                        client.rbac().roles(),
-                        client.rbac().roleBindings()
-                ).stream()
-                .map(p -> p.inNamespace(inputSpecs.getNamespace())
-                        .list()
-                        .getItems())
-                .flatMap(List::stream)
-                .forEach(r -> dumpToFile(fullOut.getAbsolutePath(), ORIGINAL_PREFIX, r));
+        new OriginalResourcesDumper(client, inputSpecs.getNamespace(), inputSpecs.getDump(), fullOut)
+                .dump();
     }
 
     private void generateZkResources(PulsarCluster pulsarCluster, MockKubernetesClient local) {
@@ -279,7 +263,7 @@ public class SpecGenerator {
 
 
     @SneakyThrows
-    private static void dumpToFile(String directory, String prefix, HasMetadata hasMetadata) {
+    static void dumpToFile(String directory, String prefix, HasMetadata hasMetadata) {
         final Map<String, Object> asJson = MAPPER.convertValue(hasMetadata, Map.class);
         final File resultFile = new File(directory,
                 "%s-%s-%s.json".formatted(
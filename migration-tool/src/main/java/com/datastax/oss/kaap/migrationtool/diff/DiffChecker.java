@@ -28,14 +28,21 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
@@ -50,14 +57,15 @@ public class DiffChecker {
             .configure(SerializationFeature.INDENT_OUTPUT, true)
             .setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
-    @SneakyThrows
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
     public static void diffFromDirectory(File inputDirectory) {
-        log.info("checking files at {}", inputDirectory.getAbsolutePath());
-        Collection<Pair<File, Map<String, Object>>> originalResources =
-                readResourcesDirectory(SpecGenerator.getOriginalResourcesFileFromDir(inputDirectory));
-        Collection<Pair<File, Map<String, Object>>> generatedResources =
-                readResourcesDirectory(SpecGenerator.getGeneratedResourcesFileFromDir(inputDirectory));
+        diffFromDirectory(inputDirectory, DEFAULT_PARALLELISM);
+    }
 
+    @SneakyThrows
+    public static void diffFromDirectory(File inputDirectory, int parallelism) {
+        log.info("checking files at {}", inputDirectory.getAbsolutePath());
         File pulsarClusterCrd = SpecGenerator.getGeneratedPulsarClusterJSONFileFromDir(inputDirectory).toFile();
         DiffChecker diffChecker = new DiffChecker(new MultiDiffOutputWriters(
                 List.of(
@@ -66,8 +74,15 @@ public class DiffChecker {
                         new RawFileDiffOutputWriter(Path.of(inputDirectory.getAbsolutePath(), "diff.txt")),
                         new ConsoleDiffOutputWriter()
                 )
-        ));
-        diffChecker.checkDiffsFromMaps(originalResources, generatedResources);
+        ), parallelism);
+        diffChecker.checkDiffsFromFiles(SpecGenerator.getOriginalResourcesFileFromDir(inputDirectory),
+                SpecGenerator.getGeneratedResourcesFileFromDir(inputDirectory));
+    }
+
+    private static List<Resource> indexResourceFiles(List<Path> files) {
+        return files.stream()
+                .map(f -> fileToResource(f.toFile()))
+                .collect(Collectors.toList());
     }
 
     public static List<Pair<File, Map<String, Object>>> readResourcesDirectory(List<Path> inputDirectory) {
@@ -83,9 +98,18 @@ public class DiffChecker {
     }
 
     private final DiffOutputWriter diffOutputWriter;
+    private final int parallelism;
 
     public DiffChecker(DiffOutputWriter diffOutputWriter) {
+        this(diffOutputWriter, DEFAULT_PARALLELISM);
+    }
+
+    public DiffChecker(DiffOutputWriter diffOutputWriter, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, got " + parallelism);
+        }
         this.diffOutputWriter = diffOutputWriter;
+        this.parallelism = parallelism;
     }
 
     public void checkDiffsFromMaps(
@@ -104,6 +128,14 @@ public class DiffChecker {
     }
 
 
+    /**
+     * Only the name and the kind of the resources are kept in memory, the files are read again when the resources
+     * are compared.
+     */
+    public void checkDiffsFromFiles(List<Path> existingFiles, List<Path> generatedFiles) {
+        checkDiffs(indexResourceFiles(existingFiles), indexResourceFiles(generatedFiles));
+    }
+
     private void checkDiffsFromResources(
             Collection<HasMetadata> existingResources, Collection<HasMetadata> generatedResources) {
 
@@ -149,6 +181,38 @@ public class DiffChecker {
 
     }
 
+    private static Resource fileToResource(File file) {
+        final Map<String, Object> json = readJson(file);
+        final String name = ((Map<String, Object>) json.get("metadata")).get("name").toString();
+        final String kind = json.get("kind").toString();
+        return new Resource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getKind() {
+                return kind;
+            }
+
+            @Override
+            public String getFullQualifedName() {
+                return getName() + "/" + getKind();
+            }
+
+            @Override
+            public Map<String, Object> toMap() {
+                return readJson(file);
+            }
+
+            @Override
+            public File getFileReference() {
+                return file;
+            }
+        };
+    }
+
     private Resource mapToResource(Pair<File, Map<String, Object>> map) {
         return new Resource() {
             @Override
@@ -199,66 +263,104 @@ public class DiffChecker {
         final List<Resource> sortedGenResources = generatedResources.stream()
                 .sorted(Comparator.comparing(Resource::getName).thenComparing(Resource::getKind))
                 .collect(Collectors.toList());
+        final Map<String, Deque<Resource>> existingByKey = new HashMap<>();
+        for (Resource existing : existingResources) {
+            existingByKey.computeIfAbsent(existing.getFullQualifedName(), k -> new ArrayDeque<>())
+                    .add(existing);
+        }
+        final Set<Resource> matched = Collections.newSetFromMap(new IdentityHashMap<>());
         final List<Resource> newGenResources = new ArrayList<>();
+        final List<Pair<Resource, Resource>> toCompare = new ArrayList<>();
         for (Resource generatedResource : sortedGenResources) {
-            final Resource original = findEquivalent(generatedResource, existingResources);
+            final Deque<Resource> candidates = existingByKey.get(generatedResource.getFullQualifedName());
+            final Resource original = candidates == null ? null : candidates.poll();
             if (original == null) {
                 newGenResources.add(generatedResource);
                 continue;
             }
-            existingResources.remove(original);
-            compare(generatedResource, original);
+            matched.add(original);
+            toCompare.add(Pair.of(generatedResource, original));
         }
 
-        diffOutputWriter.missingResources(existingResources);
+        compareAll(toCompare);
+
+        diffOutputWriter.missingResources(existingResources
+                .stream()
+                .filter(r -> !matched.contains(r))
+                .collect(Collectors.toList()));
         diffOutputWriter.newResources(newGenResources);
         diffOutputWriter.flush();
     }
 
-    private void compare(Resource generated, Resource original)
+    /**
+     * The comparisons run in the pool, the results are passed to the output writer from this thread in the same
+     * order of the resources. At most a few comparisons for each thread are kept in memory.
+     */
+    private void compareAll(List<Pair<Resource, Resource>> toCompare) throws Exception {
+        final DiffProgressMeter progress = new DiffProgressMeter(toCompare.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final int maxPending = parallelism * 4;
+            final Deque<Future<Comparison>> pending = new ArrayDeque<>();
+            for (Pair<Resource, Resource> resources : toCompare) {
+                if (pending.size() >= maxPending) {
+                    write(pending.poll().get());
+                    progress.completed();
+                }
+                pending.add(executor.submit(() -> compare(resources.getLeft(), resources.getRight())));
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll().get());
+                progress.completed();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void write(Comparison comparison) {
+        if (comparison.failures() == null) {
+            diffOutputWriter.diffOk(comparison.resources());
+        } else {
+            diffOutputWriter.diffFailed(comparison.resources(), comparison.failures(), comparison.genJson(),
+                    comparison.existingJson());
+        }
+    }
+
+    private record Comparison(Pair<Resource, Resource> resources,
+                              List<JSONComparator.FieldComparisonDiff> failures,
+                              Map<String, Object> genJson,
+                              Map<String, Object> existingJson) {
+    }
+
+    private static Comparison compare(Resource generated, Resource original)
             throws JsonProcessingException {
         final String fqn = generated.getFullQualifedName();
-        log.info("converting generated resource {} to json", fqn);
+        log.debug("converting generated resource {} to json", fqn);
         final Map<String, Object> genJson = toJson(generated);
-        log.info("converting original resource {} to json", fqn);
+        log.debug("converting original resource {} to json", fqn);
         final Map<String, Object> existingJson = toJson(original);
-        log.info("checking diff for {}", fqn);
+        log.debug("checking diff for {}", fqn);
+        final Pair<Resource, Resource> resources = Pair.of(generated, original);
+        if (genJson.equals(existingJson)) {
+            return new Comparison(resources, null, genJson, existingJson);
+        }
         final String genStr = MAPPER.writeValueAsString(genJson);
         final String originalStr = MAPPER.writeValueAsString(existingJson);
 
-
-        final Pair<Resource, Resource> resources = Pair.of(generated, original);
-
         JSONComparator comparator = new JSONAssertComparator();
         final JSONComparator.Result result = comparator.compare(originalStr, genStr);
         if (result.areEquals()) {
-            diffOutputWriter.diffOk(resources);
-            return;
+            return new Comparison(resources, null, genJson, existingJson);
         }
 
         final List<JSONComparator.FieldComparisonDiff> failures = result.diffs()
                 .stream()
                 .sorted(Comparator.comparing(JSONComparator.FieldComparisonDiff::field))
                 .collect(Collectors.toList());
-
-        diffOutputWriter.diffFailed(resources, failures, genJson, existingJson);
-    }
-
-
-    private Resource findEquivalent(Resource as, Collection<Resource> from) {
-        for (Resource hasMetadata : from) {
-            if (!Objects.equals(as.getName(), hasMetadata.getName())) {
-                continue;
-            }
-
-            if (Objects.equals(as.getKind(), hasMetadata.getKind())) {
-                return hasMetadata;
-            }
-        }
-        return null;
+        return new Comparison(resources, failures, genJson, existingJson);
     }
 
-
     @SneakyThrows
     private static Map<String, Object> toJson(Resource resource) {
         final Map<String, Object> asJson = resource.toMap();
@@ -0,0 +1,51 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.migrationtool.diff;
+
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs how many resources have been compared and the throughput, at most once every few seconds.
+ */
+@Slf4j
+class DiffProgressMeter {
+
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final int total;
+    private final long start;
+    private long lastLog;
+    private int completed;
+
+    DiffProgressMeter(int total) {
+        this.total = total;
+        this.start = System.nanoTime();
+        this.lastLog = start;
+    }
+
+    void completed() {
+        completed++;
+        final long now = System.nanoTime();
+        if (completed < total && now - lastLog < LOG_INTERVAL_NANOS) {
+            return;
+        }
+        lastLog = now;
+        final double elapsedSeconds = Math.max(now - start, 1) / 1_000_000_000d;
+        log.info("compared {}/{} resources, {} resources/s", completed, total,
+                "%.1f".formatted(completed / elapsedSeconds));
+    }
+}
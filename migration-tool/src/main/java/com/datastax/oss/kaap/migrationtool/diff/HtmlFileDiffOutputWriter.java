@@ -21,6 +21,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,31 +32,85 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
+/**
+ * HTML report written while the results arrive.
+ * The index page has one line for each resource. The differences of a failed resource are written in its own page,
+ * in a directory next to the index, and the values longer than the limit are truncated.
+ */
 @Slf4j
 public class HtmlFileDiffOutputWriter extends BaseDiffOutputWriter {
 
+    public static final int DEFAULT_MAX_VALUE_LENGTH = 20_000;
+    public static final int DEFAULT_MAX_DIFFS_PER_RESOURCE = 500;
+
     private static final ObjectMapper MAPPER = new ObjectMapper()
             .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
             .configure(SerializationFeature.INDENT_OUTPUT, true)
             .setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
-    private final StringBuilder builder = new StringBuilder();
     private final Path outputFile;
+    private final String outputFileName;
+    private final Path detailsDirectory;
+    private final String detailsDirectoryName;
+    private final int maxValueLength;
+    private final int maxDiffsPerResource;
+    private final Writer index;
     private boolean ulOpen;
+    private int failedCount;
+    private Writer details;
+    private int detailsDiffs;
 
     public HtmlFileDiffOutputWriter(Path outputFile, File pulsarClusterCrd) {
+        this(outputFile, pulsarClusterCrd, DEFAULT_MAX_VALUE_LENGTH, DEFAULT_MAX_DIFFS_PER_RESOURCE);
+    }
+
+    @SneakyThrows
+    HtmlFileDiffOutputWriter(Path outputFile, File pulsarClusterCrd, int maxValueLength, int maxDiffsPerResource) {
         this.outputFile = outputFile;
-        builder.append("""
+        this.maxValueLength = maxValueLength;
+        this.maxDiffsPerResource = maxDiffsPerResource;
+        final Path fileName = outputFile.getFileName();
+        if (fileName == null) {
+            throw new IllegalArgumentException("The output file must not be a root directory: " + outputFile);
+        }
+        this.outputFileName = fileName.toString();
+        this.detailsDirectoryName = (outputFileName.endsWith(".html")
+                ? outputFileName.substring(0, outputFileName.length() - 5) : outputFileName) + "-details";
+        this.detailsDirectory = outputFile.resolveSibling(detailsDirectoryName);
+        cleanDetailsDirectory();
+        this.index = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+        index.write(header("Diff"));
+        if (pulsarClusterCrd != null) {
+            index.write(genResourceLink("Generated PulsarCluster CRD", pulsarClusterCrd));
+        }
+    }
+
+    private void cleanDetailsDirectory() throws IOException {
+        if (Files.isDirectory(detailsDirectory)) {
+            try (Stream<Path> files = Files.list(detailsDirectory)) {
+                for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".html"))
+                        .collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        } else {
+            Files.createDirectories(detailsDirectory);
+        }
+    }
+
+    private static String header(String title) {
+        return """
                 <!DOCTYPE html>
                 <html>
                 <head>
                     <meta charset='utf-8'>
                     <meta http-equiv='X-UA-Compatible' content='IE=edge'>
-                    <title>Diff</title>
+                    <title>%s</title>
                     <meta name='viewport' content='width=device-width, initial-scale=1'>
                     <style>
                     body {
@@ -75,6 +132,17 @@ public class HtmlFileDiffOutputWriter extends BaseDiffOutputWriter {
                         margin-top: 0.75em;
                         margin-bottom: 0.75em;
                     }
+                    .index li {
+                        margin-top: 0.3em;
+                        margin-bottom: 0.3em;
+                    }
+                    .index .resource-link {
+                        margin-left: 0.75em;
+                    }
+                    .truncated {
+                        font-style: italic;
+                        color: gray;
+                    }
                     details {
                         padding: 0.5em 0.5em 0;
                     }
@@ -93,75 +161,129 @@ public class HtmlFileDiffOutputWriter extends BaseDiffOutputWriter {
                     </style>
                 </head>
                 <body>
-                """);
-        if (pulsarClusterCrd != null) {
-            addResourceLink("Generated PulsarCluster CRD", pulsarClusterCrd);
-        }
+                """.formatted(escapeHtml(title));
+    }
+
+    private static String footer() {
+        return """
+                </body>
+                </html>
+                """;
     }
 
     @Override
+    @SneakyThrows
     public void diffOk(Pair<DiffChecker.Resource, DiffChecker.Resource> resources) {
         final String fqName = resources.getLeft().getFullQualifedName();
-        closeULIfOpen();
-        builder.append("<h3>%s: OK</h3>\n".formatted(fqName));
-        appendResourceLinks(resources);
+        openULIfClosed();
+        index.write("<li>%s: OK%s</li>\n".formatted(escapeHtml(fqName), genInlineResourceLinks(resources)));
+        index.flush();
     }
 
-    private void appendResourceLinks(Pair<DiffChecker.Resource, DiffChecker.Resource> resources) {
-        if (resources.getLeft().getFileReference() != null) {
-            addResourceLink("Generated resource", resources.getLeft().getFileReference());
-            addResourceLink("Original resource", resources.getRight().getFileReference());
+    private String genInlineResourceLinks(Pair<DiffChecker.Resource, DiffChecker.Resource> resources) {
+        if (resources.getLeft().getFileReference() == null) {
+            return "";
         }
+        return "<a class=\"resource-link\" href=\"%s\">generated</a><a class=\"resource-link\" href=\"%s\">original</a>"
+                .formatted(escapeHtml(resources.getLeft().getFileReference().getAbsolutePath()),
+                        escapeHtml(resources.getRight().getFileReference().getAbsolutePath()));
     }
 
-    private void addResourceLink(String text, File fileRef) {
-        builder.append(genResourceLink(text, fileRef));
+    private String genResourceLinks(Pair<DiffChecker.Resource, DiffChecker.Resource> resources) {
+        if (resources.getLeft().getFileReference() == null) {
+            return "";
+        }
+        return genResourceLink("Generated resource", resources.getLeft().getFileReference())
+                + genResourceLink("Original resource", resources.getRight().getFileReference());
     }
 
     private String genResourceLink(String text, File fileRef) {
         return "<p class=\"resource-link\"><a href=\"%s\">%s</a></p>".formatted(
-                fileRef.getAbsolutePath(), text);
+                escapeHtml(fileRef.getAbsolutePath()), escapeHtml(text));
     }
 
 
     @Override
+    @SneakyThrows
     public void diffFailed(Pair<DiffChecker.Resource, DiffChecker.Resource> resources,
                            List<JSONComparator.FieldComparisonDiff> failures,
                            Map<String, Object> genJson, Map<String, Object> originalJson) {
         final String fqName = resources.getLeft().getFullQualifedName();
-        closeULIfOpen();
-        builder.append("<h3>%s: FAILED</h3>\n".formatted(fqName));
-        appendResourceLinks(resources);
-        builder.append("<ul>");
-        ulOpen = true;
-        super.diffFailed(resources, failures, genJson, originalJson);
+        final String detailsFileName = "%05d-%s.html".formatted(++failedCount,
+                fqName.replaceAll("[^a-zA-Z0-9._-]", "_"));
+        openULIfClosed();
+        index.write("<li><a href=\"%s/%s\">%s</a>: FAILED, %d differences%s</li>\n".formatted(
+                escapeHtml(detailsDirectoryName), escapeHtml(detailsFileName),
+                escapeHtml(fqName), failures.size(), genInlineResourceLinks(resources)));
+
+        try (Writer detailsWriter = Files.newBufferedWriter(detailsDirectory.resolve(detailsFileName),
+                StandardCharsets.UTF_8)) {
+            details = detailsWriter;
+            detailsDiffs = 0;
+            details.write(header(fqName));
+            details.write("<p><a href=\"../%s\">Back to the report</a></p>\n".formatted(
+                    escapeHtml(outputFileName)));
+            details.write("<h3>%s: FAILED</h3>\n".formatted(escapeHtml(fqName)));
+            details.write(genResourceLinks(resources));
+            details.write("<ul>\n");
+            super.diffFailed(resources, failures, genJson, originalJson);
+            if (failures.size() > maxDiffsPerResource) {
+                details.write("<li class=\"truncated\">%d more differences not shown</li>\n".formatted(
+                        failures.size() - maxDiffsPerResource));
+            }
+            details.write("</ul>\n");
+            details.write(footer());
+        } finally {
+            details = null;
+        }
+        index.flush();
     }
 
 
     @Override
     protected void formatFailure(String completeField, String expectedValue, String actualValue) {
-
+        if (detailsDiffs++ >= maxDiffsPerResource) {
+            return;
+        }
+        final String html;
         if (actualValue == null) {
-            builder.append("""
+            html = """
                     <li>expected but none found: <b>%s</b> - <code>%s</code></li>
-                    """.formatted(completeField, prettifyValue(expectedValue)));
+                    """.formatted(escapeHtml(completeField), formatValue(expectedValue));
         } else if (expectedValue == null) {
-            builder.append("""
+            html = """
                     <li>unexpected: <b>%s</b> - <code>%s</code></li>
-                    """.formatted(completeField, prettifyValue(actualValue)));
+                    """.formatted(escapeHtml(completeField), formatValue(actualValue));
         } else {
-            builder.append("""
+            html = """
                     <li><b>%s</b> value differs:
                     <br>
                     <details><summary>Original</summary> <code>%s</code></details>
                     <details><summary>Generated</summary> <code>%s</code></details>
                     </li>
                     """.formatted(
-                    completeField,
-                    prettifyValue(expectedValue),
-                    prettifyValue(actualValue)
-            ));
+                    escapeHtml(completeField),
+                    formatValue(expectedValue),
+                    formatValue(actualValue)
+            );
+        }
+        try {
+            details.write(html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String formatValue(String value) {
+        final String pretty = prettifyValue(value);
+        if (pretty == null) {
+            return null;
+        }
+        if (pretty.length() <= maxValueLength) {
+            return escapeHtml(pretty);
         }
+        return "%s</code><br><span class=\"truncated\">truncated, %d more characters</span><code>".formatted(
+                escapeHtml(pretty.substring(0, maxValueLength)), pretty.length() - maxValueLength);
     }
 
     private static String prettifyValue(String value) {
@@ -183,40 +305,63 @@ public class HtmlFileDiffOutputWriter extends BaseDiffOutputWriter {
         }
     }
 
+    private static String escapeHtml(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
     @Override
+    @SneakyThrows
     public void missingResources(Collection<DiffChecker.Resource> missingResources) {
         closeULIfOpen();
         addResourcesRawList(missingResources, "Untouched resources");
     }
 
     @Override
+    @SneakyThrows
     public void newResources(Collection<DiffChecker.Resource> newResources) {
         closeULIfOpen();
         addResourcesRawList(newResources, "New resources");
     }
 
-    private void addResourcesRawList(Collection<DiffChecker.Resource> resources, String title) {
+    private void addResourcesRawList(Collection<DiffChecker.Resource> resources, String title) throws IOException {
         if (resources.isEmpty()) {
             return;
         }
-        builder.append("<h3>%s</h3>\n".formatted(title));
+        index.write("<h3>%s</h3>\n".formatted(title));
 
         final Map<String, List<DiffChecker.Resource>> byKind =
                 resources.stream().collect(Collectors.groupingBy(r -> r.getKind()));
 
         for (Map.Entry<String, List<DiffChecker.Resource>> kind : byKind.entrySet()) {
-            builder.append("<h4>%s</h4>\n".formatted(kind.getKey()));
+            index.write("<h4>%s</h4>\n".formatted(escapeHtml(kind.getKey())));
             for (DiffChecker.Resource resource : kind.getValue().stream().sorted(Comparator.comparing(s -> s.getName()))
                     .collect(Collectors.toList())) {
-                builder.append("%s\n".formatted(
-                        genResourceLink(resource.getName(), resource.getFileReference())));
+                if (resource.getFileReference() == null) {
+                    index.write("<p class=\"resource-link\">%s</p>\n".formatted(escapeHtml(resource.getName())));
+                } else {
+                    index.write("%s\n".formatted(genResourceLink(resource.getName(), resource.getFileReference())));
+                }
             }
         }
+        index.flush();
     }
 
-    private void closeULIfOpen() {
+    private void openULIfClosed() throws IOException {
+        if (!ulOpen) {
+            index.write("<h3>Resources</h3>\n<ul class=\"index\">\n");
+            ulOpen = true;
+        }
+    }
+
+    private void closeULIfOpen() throws IOException {
         if (ulOpen) {
-            builder.append("</ul>\n");
+            index.write("</ul>\n");
             ulOpen = false;
         }
     }
@@ -224,11 +369,9 @@ public class HtmlFileDiffOutputWriter extends BaseDiffOutputWriter {
     @Override
     @SneakyThrows
     public void flush() {
-        builder.append("""
-                </body>
-                </html>
-                """);
-        Files.write(outputFile, builder.toString().getBytes(StandardCharsets.UTF_8));
+        closeULIfOpen();
+        index.write(footer());
+        index.close();
         log.info("Exported HTML diff to {}", outputFile.toAbsolutePath());
     }
 }
@@ -16,6 +16,7 @@
 package com.datastax.oss.kaap.migrationtool.diff;
 
 import com.datastax.oss.kaap.common.json.JSONComparator;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,16 +30,18 @@ import org.apache.commons.lang3.tuple.Pair;
 @Slf4j
 public class RawFileDiffOutputWriter extends BaseDiffOutputWriter {
 
-    private final StringBuilder builder = new StringBuilder();
     private final Path outputFile;
+    private final Writer writer;
 
+    @SneakyThrows
     public RawFileDiffOutputWriter(Path outputFile) {
         this.outputFile = outputFile;
+        this.writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
     }
 
     @Override
     public void diffOk(Pair<DiffChecker.Resource, DiffChecker.Resource> resources) {
-        builder.append(resources.getLeft().getFullQualifedName() + ": OK\n");
+        write(resources.getLeft().getFullQualifedName() + ": OK\n");
 
     }
 
@@ -46,7 +49,7 @@ public class RawFileDiffOutputWriter extends BaseDiffOutputWriter {
     @Override
     public void diffFailed(Pair<DiffChecker.Resource, DiffChecker.Resource> resources, List<JSONComparator.FieldComparisonDiff> failures,
                            Map<String, Object> genJson, Map<String, Object> originalJson) {
-        builder.append(resources.getLeft().getFullQualifedName() + ": FAILED\n");
+        write(resources.getLeft().getFullQualifedName() + ": FAILED\n");
         super.diffFailed(resources, failures, genJson, originalJson);
     }
 
@@ -55,15 +58,15 @@ public class RawFileDiffOutputWriter extends BaseDiffOutputWriter {
     protected void formatFailure(String completeField, String expectedValue, String actualValue) {
 
         if (actualValue == null) {
-            builder.append("""
+            write("""
                         - expected: '%s=%s' but none found
                     """.formatted(completeField, expectedValue));
         } else if (expectedValue == null) {
-            builder.append("""
+            write("""
                         - unexpected: '%s=%s'
                     """.formatted(completeField, actualValue));
         } else {
-            builder.append("""
+            write("""
                         - '%s' value differs:
                             Original:  %s
                             Generated: %s
@@ -77,24 +80,29 @@ public class RawFileDiffOutputWriter extends BaseDiffOutputWriter {
 
     @Override
     public void missingResources(Collection<DiffChecker.Resource> missingResources) {
-        builder.append("Missing resources:");
+        write("Missing resources:");
         for (DiffChecker.Resource resource : missingResources) {
-            builder.append(" - %s".formatted(resource.getFullQualifedName()));
+            write(" - %s".formatted(resource.getFullQualifedName()));
         }
     }
 
     @Override
     public void newResources(Collection<DiffChecker.Resource> newResources) {
-        builder.append("New resources:");
+        write("New resources:");
         for (DiffChecker.Resource resource : newResources) {
-            builder.append(" - %s".formatted(resource.getFullQualifedName()));
+            write(" - %s".formatted(resource.getFullQualifedName()));
         }
     }
 
+    @SneakyThrows
+    private void write(String text) {
+        writer.write(text);
+    }
+
     @Override
     @SneakyThrows
     public void flush() {
-        Files.write(outputFile, builder.toString().getBytes(StandardCharsets.UTF_8));
+        writer.close();
         log.info("Exported diff to {}", outputFile.toAbsolutePath());
     }
 }
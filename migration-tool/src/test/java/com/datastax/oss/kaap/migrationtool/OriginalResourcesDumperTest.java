@@ -0,0 +1,102 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.migrationtool;
+
+import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import com.datastax.oss.kaap.mocks.MockResourcesResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class OriginalResourcesDumperTest {
+
+    private static final String NAMESPACE = "ns";
+
+    @Test
+    public void testDump() throws Exception {
+        final Path dir = Files.createTempDirectory("test");
+        dumper(new InputClusterSpecs.DumpSpecs(), dir).dump();
+
+        Assert.assertEquals(listOriginalFiles(dir).size(), 28);
+        Assert.assertTrue(listOriginalFiles(dir).contains("original-configmaps-pulsar-cluster-broker.json"));
+        Assert.assertFalse(Files.exists(dir.resolve(OriginalResourcesDumper.MANIFEST_FILE)));
+    }
+
+    @Test
+    public void testLabelSelector() throws Exception {
+        final Path dir = Files.createTempDirectory("test");
+        dumper(new InputClusterSpecs.DumpSpecs("component=zookeeper", 500, 4), dir).dump();
+
+        Assert.assertEquals(listOriginalFiles(dir), List.of(
+                "original-configmaps-pulsar-cluster-zookeeper.json",
+                "original-poddisruptionbudgets.policy-pulsar-cluster-zookeeper.json",
+                "original-services-pulsar-cluster-zookeeper-ca.json",
+                "original-services-pulsar-cluster-zookeeper.json",
+                "original-statefulsets.apps-pulsar-cluster-zookeeper.json"
+        ));
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        final Path dir = Files.createTempDirectory("test");
+        writeManifest(dir, NAMESPACE);
+        dumper(new InputClusterSpecs.DumpSpecs(), dir).dump();
+
+        final List<String> files = listOriginalFiles(dir);
+        Assert.assertEquals(files.size(), 19);
+        Assert.assertTrue(files.stream().noneMatch(f -> f.startsWith("original-configmaps-")));
+        Assert.assertFalse(Files.exists(dir.resolve(OriginalResourcesDumper.MANIFEST_FILE)));
+    }
+
+    @Test
+    public void testIgnoreManifestOfAnotherNamespace() throws Exception {
+        final Path dir = Files.createTempDirectory("test");
+        writeManifest(dir, "another-ns");
+        dumper(new InputClusterSpecs.DumpSpecs(), dir).dump();
+
+        Assert.assertEquals(listOriginalFiles(dir).size(), 28);
+    }
+
+    private static OriginalResourcesDumper dumper(InputClusterSpecs.DumpSpecs dumpSpecs, Path dir) {
+        final MockResourcesResolver mockResourcesResolver = new MockResourcesResolver();
+        TestResourcesLoader.importPathFromClasspath("/pulsar-helm-chart/base-release", mockResourcesResolver);
+        final MockKubernetesClient client = new MockKubernetesClient(NAMESPACE, mockResourcesResolver);
+        return new OriginalResourcesDumper(client.getClient(), NAMESPACE, dumpSpecs, dir.toFile());
+    }
+
+    @SneakyThrows
+    private static void writeManifest(Path dir, String namespace) {
+        final OriginalResourcesDumper.Manifest manifest = new OriginalResourcesDumper.Manifest();
+        manifest.setNamespace(namespace);
+        manifest.getKinds().put("configmaps", new OriginalResourcesDumper.KindProgress(true, null, 9));
+        new ObjectMapper().writeValue(dir.resolve(OriginalResourcesDumper.MANIFEST_FILE).toFile(), manifest);
+    }
+
+    private static List<String> listOriginalFiles(Path dir) {
+        return SpecGenerator.getOriginalResourcesFileFromDir(dir.toFile())
+                .stream()
+                .map(Path::toFile)
+                .map(File::getName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
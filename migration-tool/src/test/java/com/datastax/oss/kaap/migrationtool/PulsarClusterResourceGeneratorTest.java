@@ -174,6 +174,9 @@ public class PulsarClusterResourceGeneratorTest {
                               zone:
                                 enabled: false
                             zookeeperPlainSslStorePassword: false
+                            zookeeperObserverClients:
+                              broker: false
+                              bookkeeper: false
                           zookeeper:
                             image: pulsar:latest
                             imagePullPolicy: IfNotPresent
@@ -902,6 +905,15 @@ public class PulsarClusterResourceGeneratorTest {
                             kafka:
                               enabled: false
                               exposePorts: true
+                            autoscaler:
+                              enabled: false
+                              periodMs: 60000
+                              min: 1
+                              lowerCpuThreshold: 0.3
+                              higherCpuThreshold: 0.8
+                              scaleUpBy: 1
+                              scaleDownBy: 1
+                              stabilizationWindowMs: 300000
                             setsUpdateStrategy: RollingUpdate
                           autorecovery:
                             image: pulsar:latest
@@ -1180,6 +1192,16 @@ public class PulsarClusterResourceGeneratorTest {
                             rbac:
                               create: false
                               namespaced: true
+                            autoscaler:
+                              enabled: false
+                              periodMs: 60000
+                              min: 1
+                              lowerCpuThreshold: 0.3
+                              higherCpuThreshold: 0.8
+                              scaleUpBy: 1
+                              scaleDownBy: 1
+                              stabilizationWindowMs: 300000
+                              rebalanceAfterScaleUp: true
                         status:
                           conditions: []
                         """
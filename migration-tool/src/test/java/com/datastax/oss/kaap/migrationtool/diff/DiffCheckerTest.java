@@ -0,0 +1,160 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.migrationtool.diff;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.common.json.JSONComparator;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DiffCheckerTest {
+
+    @Test
+    public void testMatchByNameAndKind() {
+        final RecordingOutputWriter writer = new RecordingOutputWriter();
+        new DiffChecker(writer, 2).checkDiffsFromMaps(
+                List.of(
+                        resource("ConfigMap", "pulsar", "v1"),
+                        resource("Service", "pulsar", "v1"),
+                        resource("ConfigMap", "removed", "v1")
+                ),
+                List.of(
+                        resource("Service", "pulsar", "v1"),
+                        resource("ConfigMap", "pulsar", "v2"),
+                        resource("ConfigMap", "added", "v1")
+                ));
+        Assert.assertEquals(writer.events, List.of(
+                "failed pulsar/ConfigMap [data.PULSAR_PREFIX_key]",
+                "ok pulsar/Service",
+                "missing [removed/ConfigMap]",
+                "new [added/ConfigMap]"
+        ));
+    }
+
+    @Test
+    public void testParallelResultsInOrder() {
+        final List<Pair<File, Map<String, Object>>> existing = new ArrayList<>();
+        final List<Pair<File, Map<String, Object>>> generated = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final String name = "cm-%03d".formatted(i);
+            existing.add(resource("ConfigMap", name, "v1"));
+            if (i % 7 == 0) {
+                generated.add(resource("ConfigMap", name, "v2"));
+                expected.add("failed %s/ConfigMap [data.PULSAR_PREFIX_key]".formatted(name));
+            } else {
+                generated.add(resource("ConfigMap", name, "v1"));
+                expected.add("ok %s/ConfigMap".formatted(name));
+            }
+        }
+        expected.add("missing []");
+        expected.add("new []");
+
+        final RecordingOutputWriter writer = new RecordingOutputWriter();
+        new DiffChecker(writer, 8).checkDiffsFromMaps(existing, generated);
+        Assert.assertEquals(writer.events, expected);
+    }
+
+    @Test
+    public void testFromFiles() throws Exception {
+        final Path dir = Files.createTempDirectory("diff");
+        final Path existingCm = writeResource(dir, "original-cm.json", resource("ConfigMap", "pulsar", "v1"));
+        final Path generatedCm = writeResource(dir, "generated-cm.json", resource("ConfigMap", "pulsar", "v2"));
+        final Path generatedService = writeResource(dir, "generated-svc.json", resource("Service", "pulsar", "v1"));
+
+        final RecordingOutputWriter writer = new RecordingOutputWriter();
+        new DiffChecker(writer, 2).checkDiffsFromFiles(List.of(existingCm), List.of(generatedService, generatedCm));
+        Assert.assertEquals(writer.events, List.of(
+                "failed pulsar/ConfigMap [data.PULSAR_PREFIX_key]",
+                "missing []",
+                "new [pulsar/Service]"
+        ));
+        Assert.assertEquals(writer.files, List.of(generatedCm.toFile(), existingCm.toFile()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new DiffChecker(new RecordingOutputWriter(), 0);
+    }
+
+    private static Pair<File, Map<String, Object>> resource(String kind, String name, String value) {
+        final Map<String, Object> map = SerializationUtil.readYaml("""
+                apiVersion: v1
+                kind: %s
+                metadata:
+                  name: %s
+                data:
+                  key: %s
+                """.formatted(kind, name, value), Map.class);
+        return Pair.of(null, map);
+    }
+
+    private static Path writeResource(Path dir, String fileName, Pair<File, Map<String, Object>> resource)
+            throws Exception {
+        final Path file = dir.resolve(fileName);
+        Files.writeString(file, SerializationUtil.writeAsJson(resource.getRight()));
+        return file;
+    }
+
+    private static class RecordingOutputWriter implements DiffOutputWriter {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<File> files = new ArrayList<>();
+
+        @Override
+        public void diffOk(Pair<DiffChecker.Resource, DiffChecker.Resource> resources) {
+            events.add("ok " + resources.getLeft().getFullQualifedName());
+        }
+
+        @Override
+        public void diffFailed(Pair<DiffChecker.Resource, DiffChecker.Resource> resources,
+                               List<JSONComparator.FieldComparisonDiff> fieldFailures,
+                               Map<String, Object> genJson, Map<String, Object> originalJson) {
+            files.add(resources.getLeft().getFileReference());
+            files.add(resources.getRight().getFileReference());
+            events.add("failed %s %s".formatted(resources.getLeft().getFullQualifedName(),
+                    fieldFailures.stream().map(JSONComparator.FieldComparisonDiff::field)
+                            .collect(Collectors.toList())));
+        }
+
+        @Override
+        public void missingResources(Collection<DiffChecker.Resource> missingResources) {
+            events.add("missing " + names(missingResources));
+        }
+
+        @Override
+        public void newResources(Collection<DiffChecker.Resource> newResources) {
+            events.add("new " + names(newResources));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        private static List<String> names(Collection<DiffChecker.Resource> resources) {
+            return resources.stream().map(DiffChecker.Resource::getFullQualifedName).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.migrationtool.diff;
+
+import com.datastax.oss.kaap.common.json.JSONComparator;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class HtmlFileDiffOutputWriterTest {
+
+    @Test
+    public void testStreamingReport() throws Exception {
+        final Path dir = Files.createTempDirectory("test");
+        final Path indexFile = dir.resolve("diff.html");
+        final HtmlFileDiffOutputWriter writer = new HtmlFileDiffOutputWriter(indexFile, null, 10, 1);
+
+        writer.diffOk(Pair.of(resource("cm-ok", dir), resource("cm-ok", dir)));
+        writer.diffFailed(Pair.of(resource("cm-failed", dir), resource("cm-failed", dir)),
+                List.of(
+                        new JSONComparator.FieldComparisonDiff("data.key", "<original value>", "<generated value>"),
+                        new JSONComparator.FieldComparisonDiff("data.other", "a", null)
+                ), Map.of(), Map.of());
+        writer.missingResources(List.of(resource("cm-missing", dir)));
+        writer.newResources(List.of());
+        writer.flush();
+
+        final String index = Files.readString(indexFile);
+        Assert.assertTrue(index.contains("<li>cm-ok/ConfigMap: OK"));
+        Assert.assertTrue(index.contains(
+                "<li><a href=\"diff-details/00001-cm-failed_ConfigMap.html\">cm-failed/ConfigMap</a>: FAILED, "
+                        + "2 differences"));
+        Assert.assertTrue(index.contains("<h3>Untouched resources</h3>"));
+        Assert.assertFalse(index.contains("original value"));
+        Assert.assertTrue(index.endsWith("</html>\n"));
+
+        final String details = Files.readString(dir.resolve("diff-details/00001-cm-failed_ConfigMap.html"));
+        Assert.assertTrue(details.contains("<a href=\"../diff.html\">Back to the report</a>"));
+        Assert.assertTrue(details.contains("<code>&lt;original </code><br>"
+                + "<span class=\"truncated\">truncated, 6 more characters</span>"));
+        Assert.assertTrue(details.contains("1 more differences not shown"));
+        Assert.assertFalse(details.contains("data.other"));
+    }
+
+    @Test
+    public void testCleanPreviousDetails() throws Exception {
+        final Path dir = Files.createTempDirectory("test");
+        final Path stale = dir.resolve("diff-details/00001-stale.html");
+        Files.createDirectories(stale.getParent());
+        Files.writeString(stale, "stale");
+
+        final HtmlFileDiffOutputWriter writer = new HtmlFileDiffOutputWriter(dir.resolve("diff.html"), null);
+        writer.flush();
+        Assert.assertFalse(Files.exists(stale));
+    }
+
+    private static DiffChecker.Resource resource(String name, Path dir) {
+        return new DiffChecker.Resource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getKind() {
+                return "ConfigMap";
+            }
+
+            @Override
+            public String getFullQualifedName() {
+                return name + "/ConfigMap";
+            }
+
+            @Override
+            public Map<String, Object> toMap() {
+                return Map.of();
+            }
+
+            @Override
+            public File getFileReference() {
+                return dir.resolve(name + ".json").toFile();
+            }
+        };
+    }
+}
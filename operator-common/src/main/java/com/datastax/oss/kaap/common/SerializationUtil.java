@@ -16,6 +16,7 @@
 package com.datastax.oss.kaap.common;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -26,6 +27,10 @@ public class SerializationUtil {
 
     private static final ObjectMapper mapper = new ObjectMapper()
             .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+    private static final ObjectMapper canonicalMapper = new ObjectMapper()
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
     private static final ObjectMapper yamlMapper = new ObjectMapper(YAMLFactory.builder()
             .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
             .disable(YAMLGenerator.Feature.SPLIT_LINES)
@@ -67,6 +72,14 @@ public class SerializationUtil {
         return mapper.writeValueAsBytes(object);
     }
 
+    /**
+     * Serialize the object with all the object keys sorted, so that two equal objects always produce the same bytes.
+     */
+    @SneakyThrows
+    public static byte[] writeAsCanonicalJsonBytes(Object object) {
+        return canonicalMapper.writeValueAsBytes(canonicalMapper.convertValue(object, Object.class));
+    }
+
     @SneakyThrows
     public static String writeAsYaml(Object object) {
         return yamlMapper.writeValueAsString(object);
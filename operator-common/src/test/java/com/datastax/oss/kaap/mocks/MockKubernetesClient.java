@@ -25,6 +25,7 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ListOptions;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimList;
@@ -65,6 +66,7 @@ import io.fabric8.kubernetes.client.dsl.V1BatchAPIGroupDSL;
 import io.fabric8.kubernetes.client.dsl.V1PolicyAPIGroupDSL;
 import io.fabric8.kubernetes.client.dsl.V1StorageAPIGroupDSL;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -349,6 +351,12 @@ public class MockKubernetesClient {
         doAnswer(withNameAnswer).when(resourceOp).withName(any());
 
         class ListImpl implements KubernetesResourceList, KubernetesResource {
+            private final Map<String, String> selector;
+
+            ListImpl(Map<String, String> selector) {
+                this.selector = selector;
+            }
+
             @Override
             public ListMeta getMetadata() {
                 return null;
@@ -356,30 +364,46 @@ public class MockKubernetesClient {
 
             @Override
             public List getItems() {
-                return resourcesResolver.getResources(resourceClass, labels.get());
+                return resourcesResolver.getResources(resourceClass, selector);
             }
         }
-        if (resourceClass == ReplicaSet.class) {
-            doAnswer(
-                    get -> new ReplicaSetList(null, resourcesResolver.getResources(ReplicaSet.class, labels.get()),
-                            null, null)).when(nonNamespaceOperation).list();
-        } else if (resourceClass == Pod.class) {
-            doAnswer(
-                    get -> new PodList(null, resourcesResolver.getResources(Pod.class, labels.get()),
-                            null, null)).when(nonNamespaceOperation).list();
-        } else if (resourceClass == PersistentVolumeClaim.class) {
-            doAnswer(
-                    get -> new PersistentVolumeClaimList(null,
-                            resourcesResolver.getResources(PersistentVolumeClaim.class, labels.get()),
-                            null, null)).when(nonNamespaceOperation).list();
-        } else {
-            doAnswer(get -> new ListImpl()).when(nonNamespaceOperation).list();
-        }
+        final Answer listAnswer = list -> {
+            Map<String, String> selector = labels.get();
+            if (list.getArguments().length > 0 && list.getArgument(0) != null) {
+                final String labelSelector = ((ListOptions) list.getArgument(0)).getLabelSelector();
+                if (labelSelector != null) {
+                    selector = parseLabelSelector(labelSelector);
+                }
+            }
+            if (resourceClass == ReplicaSet.class) {
+                return new ReplicaSetList(null, resourcesResolver.getResources(ReplicaSet.class, selector),
+                        null, null);
+            } else if (resourceClass == Pod.class) {
+                return new PodList(null, resourcesResolver.getResources(Pod.class, selector), null, null);
+            } else if (resourceClass == PersistentVolumeClaim.class) {
+                return new PersistentVolumeClaimList(null,
+                        resourcesResolver.getResources(PersistentVolumeClaim.class, selector),
+                        null, null);
+            } else {
+                return new ListImpl(selector);
+            }
+        };
+        doAnswer(listAnswer).when(nonNamespaceOperation).list();
+        doAnswer(listAnswer).when(nonNamespaceOperation).list(any(ListOptions.class));
 
 
         return resourceOp;
     }
 
+    private static Map<String, String> parseLabelSelector(String labelSelector) {
+        final Map<String, String> selector = new HashMap<>();
+        for (String requirement : labelSelector.split(",")) {
+            final String[] keyValue = requirement.split("=", 2);
+            selector.put(keyValue[0].trim(), keyValue[1].trim());
+        }
+        return selector;
+    }
+
     public int countCreatedResources() {
         return createdResources.size();
     }
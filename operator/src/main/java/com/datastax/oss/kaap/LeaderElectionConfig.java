@@ -18,14 +18,24 @@ package com.datastax.oss.kaap;
 import io.javaoperatorsdk.operator.api.config.LeaderElectionConfiguration;
 import io.quarkus.arc.Unremovable;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Produces;
 
 @ApplicationScoped
-@Unremovable
-public class LeaderElectionConfig extends LeaderElectionConfiguration {
+public class LeaderElectionConfig {
 
     public static final String PULSAR_OPERATOR_LEASE_NAME = "kaap-lease";
 
-    public LeaderElectionConfig() {
-        super(PULSAR_OPERATOR_LEASE_NAME);
+    /**
+     * With the sharding enabled all the replicas are active, each one reconciling its own shards.
+     */
+    @Produces
+    @Dependent
+    @Unremovable
+    LeaderElectionConfiguration leaderElectionConfiguration(OperatorRuntimeConfiguration configuration) {
+        if (!OperatorRuntimeConfiguration.SHARDING_MODE_DISABLED.equals(configuration.sharding().mode())) {
+            return null;
+        }
+        return new LeaderElectionConfiguration(PULSAR_OPERATOR_LEASE_NAME);
     }
-}
\ No newline at end of file
+}
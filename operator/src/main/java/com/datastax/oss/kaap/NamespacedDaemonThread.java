@@ -18,10 +18,12 @@ package com.datastax.oss.kaap;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiPredicate;
 import lombok.Data;
 import lombok.extern.jbosslog.JBossLog;
 
@@ -29,11 +31,12 @@ import lombok.extern.jbosslog.JBossLog;
 public abstract class NamespacedDaemonThread<T> implements AutoCloseable {
 
     private final Map<String, NamespaceContext<T>> namespaces = new HashMap<>();
-    protected final List<ScheduledFuture<?>> tasks = new ArrayList<>();
 
     @Data
     private static class NamespaceContext<T> {
         private T current;
+        private String clusterName;
+        private final List<ScheduledFuture<?>> tasks = new ArrayList<>();
 
         boolean isChanged(T spec) {
             if (current != null
@@ -43,22 +46,33 @@ public abstract class NamespacedDaemonThread<T> implements AutoCloseable {
             }
             return true;
         }
+
+        void cancelTasks() {
+            tasks.forEach(f -> {
+                f.cancel(true);
+                try {
+                    f.get();
+                } catch (Throwable ignore) {
+                }
+            });
+            tasks.clear();
+        }
     }
 
-    public void onSpecChange(PulsarClusterSpec clusterSpec, String namespace) {
-        final NamespaceContext namespaceContext = namespaces.getOrDefault(namespace,
-                new NamespaceContext());
+    public synchronized void onSpecChange(PulsarClusterSpec clusterSpec, String namespace) {
+        final NamespaceContext<T> namespaceContext = namespaces.computeIfAbsent(namespace,
+                n -> new NamespaceContext<>());
         final T newSpec = getSpec(clusterSpec);
         final boolean isChanged = namespaceContext.isChanged(newSpec);
         if (isChanged) {
-            cancelTasks();
+            namespaceContext.cancelTasks();
             final List<ScheduledFuture<?>> newTasks = specChanged(namespace, newSpec, clusterSpec);
             if (newTasks != null) {
-                tasks.addAll(newTasks);
+                namespaceContext.getTasks().addAll(newTasks);
             }
         }
         namespaceContext.setCurrent(newSpec);
-        namespaces.put(namespace, namespaceContext);
+        namespaceContext.setClusterName(clusterSpec.getGlobal().getName());
     }
 
 
@@ -67,15 +81,35 @@ public abstract class NamespacedDaemonThread<T> implements AutoCloseable {
     protected abstract List<ScheduledFuture<?>> specChanged(String namespace, T newSpec, PulsarClusterSpec clusterSpec);
 
 
-    public void cancelTasks() {
-        tasks.forEach(f -> {
-            f.cancel(true);
-            try {
-                f.get();
-            } catch (Throwable ignore) {
+    /**
+     * Cancel the tasks of the namespace. They are scheduled again at the next spec change, even if the spec is the
+     * same.
+     */
+    public synchronized void cancelTasks(String namespace) {
+        final NamespaceContext<T> namespaceContext = namespaces.remove(namespace);
+        if (namespaceContext != null) {
+            namespaceContext.cancelTasks();
+        }
+    }
+
+    /**
+     * Cancel the tasks of the namespaces matching the predicate, tested with the namespace and the cluster name.
+     */
+    public synchronized void cancelTasks(BiPredicate<String, String> namespaceAndCluster) {
+        final Iterator<Map.Entry<String, NamespaceContext<T>>> iterator = namespaces.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, NamespaceContext<T>> entry = iterator.next();
+            if (namespaceAndCluster.test(entry.getKey(), entry.getValue().getClusterName())) {
+                log.infof("Stopping %s for namespace %s", getClass().getSimpleName(), entry.getKey());
+                entry.getValue().cancelTasks();
+                iterator.remove();
             }
-        });
-        tasks.clear();
+        }
+    }
+
+    public synchronized void cancelTasks() {
+        namespaces.values().forEach(NamespaceContext::cancelTasks);
+        namespaces.clear();
     }
 
     @Override
@@ -0,0 +1,76 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Operator metrics, registered in the global registry exposed by the Prometheus endpoint.
+ */
+public final class OperatorMetrics {
+
+    public static final String BROKER_DRAIN_DURATION = "kaap.broker.drain.duration";
+    public static final String FIRST_RECONCILE_AFTER_PROMOTION = "kaap.leader.first.reconcile.delay";
+    public static final String API_RATE_LIMIT_WAIT = "kaap.api.ratelimit.wait";
+    public static final String API_RATE_LIMIT_QUEUE_DEPTH = "kaap.api.ratelimit.queue.depth";
+
+    public static final String TAG_NAMESPACE = "namespace";
+    public static final String TAG_RESOURCE_SET = "resourceset";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_WARM = "warm";
+    public static final String TAG_PRIORITY = "priority";
+
+    public static void recordBrokerDrain(String namespace, String brokerSet, String outcome, Duration duration) {
+        Timer.builder(BROKER_DRAIN_DURATION)
+                .description("Time spent unloading the bundles of a broker before stopping it.")
+                .tag(TAG_NAMESPACE, namespace)
+                .tag(TAG_RESOURCE_SET, brokerSet)
+                .tag(TAG_OUTCOME, outcome)
+                .register(Metrics.globalRegistry)
+                .record(duration);
+    }
+
+    public static void recordFirstReconcileAfterPromotion(Duration delay, boolean warm) {
+        Timer.builder(FIRST_RECONCILE_AFTER_PROMOTION)
+                .description("Time from the acquisition of the leader lease to the end of the first reconciliation.")
+                .tag(TAG_WARM, String.valueOf(warm))
+                .register(Metrics.globalRegistry)
+                .record(delay);
+    }
+
+    public static void recordApiWait(String priority, Duration duration) {
+        Timer.builder(API_RATE_LIMIT_WAIT)
+                .description("Time spent by the Kubernetes API calls waiting for the client side rate limiter.")
+                .tag(TAG_PRIORITY, priority)
+                .register(Metrics.globalRegistry)
+                .record(duration);
+    }
+
+    public static void registerApiQueueDepth(String priority, Supplier<Number> depth) {
+        Gauge.builder(API_RATE_LIMIT_QUEUE_DEPTH, depth)
+                .description("Kubernetes API calls waiting for the client side rate limiter.")
+                .tag(TAG_PRIORITY, priority)
+                .strongReference(true)
+                .register(Metrics.globalRegistry);
+    }
+
+    private OperatorMetrics() {
+    }
+}
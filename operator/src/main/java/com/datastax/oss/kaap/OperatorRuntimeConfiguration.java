@@ -22,6 +22,64 @@ import io.smallrye.config.WithDefault;
 @ConfigMapping(prefix = "kaap")
 public interface OperatorRuntimeConfiguration {
 
+    String LAST_APPLIED_STORAGE_STATUS = "status";
+    String LAST_APPLIED_STORAGE_CONFIGMAP = "configmap";
+    String SHARDING_MODE_DISABLED = "disabled";
+    String SHARDING_MODE_NAMESPACE = "namespace";
+    String SHARDING_MODE_CLUSTER = "cluster";
+
     @WithDefault("5")
     Integer reconciliationRescheduleSeconds();
+
+    @WithDefault(LAST_APPLIED_STORAGE_STATUS)
+    String lastAppliedStorage();
+
+    @WithDefault("30")
+    Integer standbyWarmupIntervalSeconds();
+
+    Sharding sharding();
+
+    RateLimit rateLimit();
+
+    interface Sharding {
+
+        @WithDefault(SHARDING_MODE_DISABLED)
+        String mode();
+
+        @WithDefault("16")
+        Integer shards();
+
+        @WithDefault("15")
+        Integer leaseDurationSeconds();
+
+        @WithDefault("5")
+        Integer renewIntervalSeconds();
+    }
+
+    interface RateLimit {
+
+        @WithDefault("false")
+        Boolean enabled();
+
+        @WithDefault("50")
+        Integer qps();
+
+        @WithDefault("100")
+        Integer burst();
+
+        @WithDefault("30")
+        Integer patchQps();
+
+        @WithDefault("20")
+        Integer readinessQps();
+
+        @WithDefault("10")
+        Integer autoscalerQps();
+
+        @WithDefault("5")
+        Integer rackSyncQps();
+
+        @WithDefault("2")
+        Integer standbyWarmupQps();
+    }
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import com.datastax.oss.kaap.controllers.PulsarClusterController;
+import com.datastax.oss.kaap.controllers.autorecovery.AutorecoveryController;
+import com.datastax.oss.kaap.controllers.bastion.BastionController;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.controllers.function.FunctionsWorkerController;
+import com.datastax.oss.kaap.controllers.proxy.ProxyController;
+import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperController;
+import com.datastax.oss.kaap.crds.BaseComponentStatus;
+import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.autorecovery.Autorecovery;
+import com.datastax.oss.kaap.crds.bastion.Bastion;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarCluster;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorker;
+import com.datastax.oss.kaap.crds.proxy.Proxy;
+import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
+import com.datastax.oss.kaap.crds.validation.SpecValidator;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.client.CustomResource;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import lombok.extern.jbosslog.JBossLog;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Keeps a standby replica ready to take over.
+ * JOSDK starts the informers on every replica, only the event processing waits for the leader lease. While another
+ * replica is the leader, the custom resources are listed periodically and their specs defaulted, validated and
+ * resolved, so the shared caches are already populated when this replica is promoted.
+ * The lists are served by the API server cache and go through the {@link ApiRateLimiter} at the lowest priority,
+ * in the namespaces watched by the controller of each kind.
+ * The warm up stops at the first reconciliation, which only happens on the leader. The time between the lease
+ * acquisition and the end of that reconciliation is recorded.
+ */
+@JBossLog
+@ApplicationScoped
+public class StandbyWarmer implements AutoCloseable {
+
+    static final Map<Class<? extends CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus>>, Class<?>>
+            CONTROLLERS_BY_KIND = new LinkedHashMap<>();
+
+    static {
+        CONTROLLERS_BY_KIND.put(PulsarCluster.class, PulsarClusterController.class);
+        CONTROLLERS_BY_KIND.put(ZooKeeper.class, ZooKeeperController.class);
+        CONTROLLERS_BY_KIND.put(BookKeeper.class, BookKeeperController.class);
+        CONTROLLERS_BY_KIND.put(Broker.class, BrokerController.class);
+        CONTROLLERS_BY_KIND.put(Proxy.class, ProxyController.class);
+        CONTROLLERS_BY_KIND.put(Autorecovery.class, AutorecoveryController.class);
+        CONTROLLERS_BY_KIND.put(Bastion.class, BastionController.class);
+        CONTROLLERS_BY_KIND.put(FunctionsWorker.class, FunctionsWorkerController.class);
+    }
+
+    // the list is served by the API server cache instead of etcd
+    private static final ListOptions CACHED_LIST = new ListOptionsBuilder().withResourceVersion("0").build();
+
+    private final KubernetesClient client;
+    private final String leaseNamespace;
+    private final String identity;
+    // namespaces to list for each kind, JOSDK_ALL_NAMESPACES means all the namespaces
+    private final Map<Class<?>, List<String>> namespaces;
+    private final Duration interval;
+    private final AtomicBoolean promoted = new AtomicBoolean();
+    private volatile boolean warm;
+    private ScheduledExecutorService executorService;
+
+    @Inject
+    public StandbyWarmer(KubernetesClient client, OperatorRuntimeConfiguration configuration,
+                         @ConfigProperty(name = "quarkus.operator-sdk.namespaces")
+                         Optional<List<String>> watchedNamespaces) {
+        this(client, client.getNamespace(), System.getenv("HOSTNAME"),
+                resolveNamespaces(client.getNamespace(), watchedNamespaces.orElse(List.of()),
+                        controllerName -> ConfigProvider.getConfig().getOptionalValues(
+                                "quarkus.operator-sdk.controllers.%s.namespaces".formatted(controllerName),
+                                String.class)),
+                OperatorRuntimeConfiguration.SHARDING_MODE_DISABLED.equals(configuration.sharding().mode())
+                        ? Duration.ofSeconds(configuration.standbyWarmupIntervalSeconds()) : Duration.ZERO);
+    }
+
+    /**
+     * @param interval interval between the warm ups, zero to disable them
+     */
+    public StandbyWarmer(KubernetesClient client, String leaseNamespace, String identity,
+                         Map<Class<?>, List<String>> namespaces, Duration interval) {
+        this.client = client;
+        this.leaseNamespace = leaseNamespace;
+        this.identity = identity;
+        this.namespaces = namespaces;
+        this.interval = interval;
+    }
+
+    /**
+     * Resolve the namespaces watched by each controller the same way as the operator: the controller setting
+     * overrides quarkus.operator-sdk.namespaces.
+     *
+     * @param currentNamespace the operator namespace
+     * @param watchedNamespaces the value of quarkus.operator-sdk.namespaces
+     * @param controllerNamespaces the namespaces configured for a controller, by controller name
+     */
+    static Map<Class<?>, List<String>> resolveNamespaces(String currentNamespace, List<String> watchedNamespaces,
+                                                         Function<String, Optional<List<String>>>
+                                                                 controllerNamespaces) {
+        final Map<Class<?>, List<String>> result = new LinkedHashMap<>();
+        CONTROLLERS_BY_KIND.forEach((kind, controller) -> {
+            final String controllerName = controller.getAnnotation(ControllerConfiguration.class).name();
+            result.put(kind, resolveNamespaces(currentNamespace,
+                    controllerNamespaces.apply(controllerName).orElse(watchedNamespaces)));
+        });
+        return result;
+    }
+
+    private static List<String> resolveNamespaces(String currentNamespace, List<String> watchedNamespaces) {
+        if (watchedNamespaces.contains(Constants.WATCH_ALL_NAMESPACES)) {
+            return List.of(Constants.WATCH_ALL_NAMESPACES);
+        }
+        final List<String> namespaces = new ArrayList<>();
+        for (String namespace : watchedNamespaces) {
+            namespaces.add(Constants.WATCH_CURRENT_NAMESPACE.equals(namespace) ? currentNamespace : namespace);
+        }
+        if (namespaces.isEmpty()) {
+            namespaces.add(currentNamespace);
+        }
+        return namespaces;
+    }
+
+    public boolean isEnabled() {
+        return !interval.isZero();
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (isEnabled()) {
+            start();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        close();
+    }
+
+    public synchronized void start() {
+        log.infof("Warming up the caches every %d seconds until promoted", interval.toSeconds());
+        executorService = Executors.newSingleThreadScheduledExecutor();
+        executorService.scheduleWithFixedDelay(() -> {
+            try {
+                warmUp();
+            } catch (Throwable throwable) {
+                log.errorf(throwable, "Failed to warm up the caches: %s", throwable.getMessage());
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Read all the custom resources and populate the caches, as the reconciliation would.
+     *
+     * @return the number of resources
+     */
+    public int warmUp() {
+        int count = 0;
+        for (Class<? extends CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus>> kind
+                : CONTROLLERS_BY_KIND.keySet()) {
+            final List<String> kindNamespaces = namespaces.get(kind);
+            final List<CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus>> resources =
+                    new ArrayList<>();
+            if (kindNamespaces.contains(Constants.WATCH_ALL_NAMESPACES)) {
+                resources.addAll(ApiRateLimiter.call(ApiPriority.STANDBY_WARMUP,
+                        () -> client.resources(kind).inAnyNamespace().list(CACHED_LIST)).getItems());
+            } else {
+                for (String namespace : kindNamespaces) {
+                    resources.addAll(ApiRateLimiter.call(ApiPriority.STANDBY_WARMUP,
+                            () -> client.resources(kind).inNamespace(namespace).list(CACHED_LIST)).getItems());
+                }
+            }
+            for (CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus> resource : resources) {
+                if (promoted.get()) {
+                    return count;
+                }
+                try {
+                    warmUp(resource);
+                    count++;
+                } catch (Exception e) {
+                    log.debugf(e, "Failed to warm up %s/%s", resource.getMetadata().getNamespace(),
+                            resource.getMetadata().getName());
+                }
+            }
+        }
+        warm = true;
+        log.debugf("Warmed up %d resources", count);
+        return count;
+    }
+
+    private static void warmUp(CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus> resource) {
+        final FullSpecWithDefaults spec = resource.getSpec();
+        if (spec == null || spec.getGlobalSpec() == null) {
+            return;
+        }
+        final GlobalSpec globalSpec = spec.getGlobalSpec();
+        globalSpec.applyDefaults(null);
+        spec.applyDefaults(globalSpec);
+        SpecValidator.validate(resource.getMetadata(), spec);
+        if (spec instanceof PulsarClusterSpec clusterSpec) {
+            BrokerController.getBrokerSetSpecs(clusterSpec.getBroker());
+            BookKeeperController.getBookKeeperSetSpecs(clusterSpec.getBookkeeper());
+            ProxyController.getProxySetSpecs(clusterSpec.getProxy());
+        } else if (spec instanceof BrokerFullSpec brokerSpec) {
+            BrokerController.getBrokerSetSpecs(brokerSpec.getBroker());
+        } else if (spec instanceof BookKeeperFullSpec bookKeeperSpec) {
+            BookKeeperController.getBookKeeperSetSpecs(bookKeeperSpec.getBookkeeper());
+        } else if (spec instanceof ProxyFullSpec proxySpec) {
+            ProxyController.getProxySetSpecs(proxySpec.getProxy());
+        }
+    }
+
+    /**
+     * Called after each reconciliation. The first one means this replica is the leader.
+     */
+    public void onReconciled() {
+        if (promoted.get() || !promoted.compareAndSet(false, true)) {
+            return;
+        }
+        close();
+        try {
+            final Lease lease = client.leases().inNamespace(leaseNamespace)
+                    .withName(LeaderElectionConfig.PULSAR_OPERATOR_LEASE_NAME).get();
+            if (lease == null || lease.getSpec() == null || lease.getSpec().getAcquireTime() == null
+                    || identity == null || !identity.equals(lease.getSpec().getHolderIdentity())) {
+                return;
+            }
+            final Duration delay = Duration.between(lease.getSpec().getAcquireTime().toInstant(), Instant.now());
+            log.infof("First reconciliation completed %d ms after the promotion (warm: %s)", delay.toMillis(),
+                    warm);
+            OperatorMetrics.recordFirstReconcileAfterPromotion(delay, warm);
+        } catch (Exception e) {
+            log.warnf("Failed to read the leader lease: %s", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+}
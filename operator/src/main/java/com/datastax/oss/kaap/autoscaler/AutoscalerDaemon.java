@@ -18,6 +18,7 @@ package com.datastax.oss.kaap.autoscaler;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiPredicate;
 import lombok.Getter;
 import lombok.extern.jbosslog.JBossLog;
 
@@ -30,19 +31,34 @@ public class AutoscalerDaemon implements AutoCloseable {
     private final BrokerAutoscalerDaemon brokerAutoscalerDaemon;
     @Getter
     private final BookKeeperAutoscalerDaemon bookKeeperAutoscalerDaemon;
+    @Getter
+    private final ProxyAutoscalerDaemon proxyAutoscalerDaemon;
+    @Getter
+    private final FunctionsWorkerAutoscalerDaemon functionsWorkerAutoscalerDaemon;
 
     public AutoscalerDaemon(KubernetesClient client) {
         this.client = client;
         this.executorService = Executors.newSingleThreadScheduledExecutor();
         this.brokerAutoscalerDaemon = new BrokerAutoscalerDaemon(client, executorService);
         this.bookKeeperAutoscalerDaemon = new BookKeeperAutoscalerDaemon(client, executorService);
+        this.proxyAutoscalerDaemon = new ProxyAutoscalerDaemon(client, executorService);
+        this.functionsWorkerAutoscalerDaemon = new FunctionsWorkerAutoscalerDaemon(client, executorService);
+
+    }
 
+    public void cancelTasks(BiPredicate<String, String> namespaceAndCluster) {
+        brokerAutoscalerDaemon.cancelTasks(namespaceAndCluster);
+        bookKeeperAutoscalerDaemon.cancelTasks(namespaceAndCluster);
+        proxyAutoscalerDaemon.cancelTasks(namespaceAndCluster);
+        functionsWorkerAutoscalerDaemon.cancelTasks(namespaceAndCluster);
     }
 
     @Override
     public void close() {
         brokerAutoscalerDaemon.close();
         bookKeeperAutoscalerDaemon.close();
+        proxyAutoscalerDaemon.close();
+        functionsWorkerAutoscalerDaemon.close();
         executorService.shutdownNow();
     }
 
@@ -16,9 +16,13 @@
 package com.datastax.oss.kaap.autoscaler;
 
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.ContainerStatus;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatus;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.ExecListener;
@@ -27,9 +31,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -40,14 +47,27 @@ import lombok.extern.jbosslog.JBossLog;
 @JBossLog
 public class AutoscalerUtils {
 
+    private static final String BATCH_MARKER_PREFIX = "===kaap-batch-";
+    private static final String BATCH_MARKER_SUFFIX = "===";
+    private static final String BATCH_END_MARKER = "end";
+
     public static boolean isStsReadyToScale(KubernetesClient client, Long stabilizationWindowMs,
                                             String namespace, String statefulsetName,
                                             Map<String, String> podSelector,
                                             int currentExpectedReplicas) {
-        final StatefulSet statefulSet = client.apps().statefulSets()
+        return isStsReadyToScale(client, stabilizationWindowMs, namespace, statefulsetName, podSelector,
+                currentExpectedReplicas, Clock.systemUTC());
+    }
+
+    public static boolean isStsReadyToScale(KubernetesClient client, Long stabilizationWindowMs,
+                                            String namespace, String statefulsetName,
+                                            Map<String, String> podSelector,
+                                            int currentExpectedReplicas,
+                                            Clock clock) {
+        final StatefulSet statefulSet = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.apps().statefulSets()
                 .inNamespace(namespace)
                 .withName(statefulsetName)
-                .get();
+                .get());
         if (statefulSet == null) {
             log.warnf("Statefulset not found %s", statefulsetName);
             return false;
@@ -67,16 +87,52 @@ public class AutoscalerUtils {
             return false;
         }
 
-        final PodList allTargetPods = client.pods()
+        return arePodsStable(client, stabilizationWindowMs, namespace, statefulsetName, podSelector,
+                currentExpectedReplicas, clock);
+    }
+
+    public static boolean isDeploymentReadyToScale(KubernetesClient client, Long stabilizationWindowMs,
+                                                   String namespace, String deploymentName,
+                                                   Map<String, String> podSelector,
+                                                   int currentExpectedReplicas) {
+        final Deployment deployment = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.apps().deployments()
+                .inNamespace(namespace)
+                .withName(deploymentName)
+                .get());
+        if (deployment == null) {
+            log.warnf("Deployment not found %s", deploymentName);
+            return false;
+        }
+        final DeploymentStatus status = deployment.getStatus();
+        if (status == null
+                || !Objects.equals(deployment.getSpec().getReplicas(), currentExpectedReplicas)
+                || Objects.requireNonNullElse(status.getReplicas(), 0) != currentExpectedReplicas
+                || Objects.requireNonNullElse(status.getUpdatedReplicas(), 0) != currentExpectedReplicas
+                || Objects.requireNonNullElse(status.getReadyReplicas(), 0) != currentExpectedReplicas) {
+            log.infof("Not all deployment replicas updated and ready for %s, expected %d",
+                    deploymentName,
+                    currentExpectedReplicas);
+            return false;
+        }
+        return arePodsStable(client, stabilizationWindowMs, namespace, deploymentName, podSelector,
+                currentExpectedReplicas, Clock.systemUTC());
+    }
+
+    private static boolean arePodsStable(KubernetesClient client, Long stabilizationWindowMs,
+                                         String namespace, String resourceName,
+                                         Map<String, String> podSelector,
+                                         int currentExpectedReplicas,
+                                         Clock clock) {
+        final PodList allTargetPods = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.pods()
                 .inNamespace(namespace)
                 .withLabels(podSelector)
-                .list();
+                .list());
 
         if (allTargetPods.getItems().size() != currentExpectedReplicas) {
-            log.infof("Sts %s not in ready state", statefulsetName);
+            log.infof("%s not in ready state", resourceName);
             return false;
         }
-        final Instant now = Instant.now();
+        final Instant now = clock.instant();
         Instant maxStartTime = now.minusMillis(stabilizationWindowMs);
         for (Pod pod : allTargetPods.getItems()) {
             final ContainerStatus containerStatus = pod.getStatus().getContainerStatuses().get(0);
@@ -98,7 +154,7 @@ public class AutoscalerUtils {
         return true;
     }
 
-    public static CompletableFuture<String> execInPod(KubernetesClient client,
+    public static CompletableFuture<String> execInPod(KubernetesClient client, ApiPriority priority,
                                                       String namespace, String podName, String containerName,
                                                       String... cmds) {
 
@@ -158,7 +214,7 @@ public class AutoscalerUtils {
         ExecWatch exec = null;
 
         try {
-            exec = client
+            exec = ApiRateLimiter.call(priority, () -> client
                     .pods()
                     .inNamespace(namespace)
                     .withName(podName)
@@ -166,7 +222,7 @@ public class AutoscalerUtils {
                     .writingOutput(out)
                     .writingError(error)
                     .usingListener(listener)
-                    .exec("bash", "-c", cmd);
+                    .exec("bash", "-c", cmd));
         } catch (Throwable t) {
             log.errorf("Execution failed for %s", cmd, t);
             completed.set(true);
@@ -183,6 +239,56 @@ public class AutoscalerUtils {
         return response;
     }
 
+    /**
+     * Execute multiple commands in the same exec session, the outputs are delimited with markers and split back
+     * into one response per command, in the same order.
+     * Each command runs in a subshell, a failing command doesn't prevent the next ones to run.
+     */
+    public static CompletableFuture<List<String>> execBatchInPod(KubernetesClient client, ApiPriority priority,
+                                                                 String namespace, String podName,
+                                                                 String containerName,
+                                                                 List<String> cmds) {
+        return execInPod(client, priority, namespace, podName, containerName, buildBatchCommand(cmds))
+                .thenApply(out -> parseBatchOutput(out, cmds.size(), podName));
+    }
+
+    static String buildBatchCommand(List<String> cmds) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < cmds.size(); i++) {
+            builder.append(printBatchMarker(String.valueOf(i)))
+                    .append("(")
+                    .append(cmds.get(i))
+                    .append("); ");
+        }
+        builder.append(printBatchMarker(BATCH_END_MARKER));
+        return builder.toString().trim();
+    }
+
+    static List<String> parseBatchOutput(String output, int count, String podName) {
+        final List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String delimiter = batchDelimiter(String.valueOf(i));
+            final String nextDelimiter = batchDelimiter(i + 1 == count ? BATCH_END_MARKER : String.valueOf(i + 1));
+            final int start = output.indexOf(delimiter);
+            final int end = start < 0 ? -1 : output.indexOf(nextDelimiter, start + delimiter.length());
+            if (end < 0) {
+                throw new IllegalStateException(
+                        "Invalid batch output in pod %s, response %d is missing, got: %s".formatted(podName, i,
+                                output));
+            }
+            result.add(output.substring(start + delimiter.length(), end));
+        }
+        return result;
+    }
+
+    private static String printBatchMarker(String id) {
+        return "printf '\\n%%s\\n' '%s%s%s'; ".formatted(BATCH_MARKER_PREFIX, id, BATCH_MARKER_SUFFIX);
+    }
+
+    private static String batchDelimiter(String id) {
+        return "\n%s%s%s\n".formatted(BATCH_MARKER_PREFIX, id, BATCH_MARKER_SUFFIX);
+    }
+
     public static void closeQuietly(Closeable c) {
         if (c != null) {
             try {
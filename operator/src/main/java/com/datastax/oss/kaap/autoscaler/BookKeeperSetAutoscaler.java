@@ -27,7 +27,10 @@ import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoscalerSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Clock;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -87,7 +90,11 @@ public class BookKeeperSetAutoscaler implements Runnable {
     protected BookieAdminClient newBookieAdminClient(GlobalSpec currentGlobalSpec,
                                                      BookKeeperSetSpec currentBookKeeperSetSpec) {
         return new PodExecBookieAdminClient(client, namespace, currentGlobalSpec, bookkeeperSetName,
-                currentBookKeeperSetSpec);
+                currentBookKeeperSetSpec, ApiPriority.AUTOSCALER);
+    }
+
+    protected Clock getClock() {
+        return Clock.systemUTC();
     }
 
     @SneakyThrows
@@ -114,10 +121,10 @@ public class BookKeeperSetAutoscaler implements Runnable {
 
         final String bkCustomResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
                 PulsarClusterController.CUSTOM_RESOURCE_BOOKKEEPER);
-        final BookKeeper bkCr = client.resources(BookKeeper.class)
+        final BookKeeper bkCr = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.resources(BookKeeper.class)
                 .inNamespace(namespace)
                 .withName(bkCustomResourceName)
-                .get();
+                .get());
         if (bkCr == null) {
             log.warnf("BookKeeper custom resource not found in namespace %s", namespace);
             return;
@@ -148,16 +155,19 @@ public class BookKeeperSetAutoscaler implements Runnable {
         // the bookie sts.
         if (!AutoscalerUtils.isStsReadyToScale(client,
                 autoscalerSpec.getStabilizationWindowMs(),
-                namespace, statefulsetName, podSelector, currentExpectedReplicas)) {
+                namespace, statefulsetName, podSelector, currentExpectedReplicas, getClock())) {
             log.infof("BookKeeper cluster %s %s is not ready to scale, expect replicas: %d",
                     clusterName, bkName, currentExpectedReplicas);
             return;
         }
 
+        // the scale down is only evaluated with more writable bookies than the target, which requires more replicas
+        final boolean mayScaleDown = currentExpectedReplicas > targetWritableBookiesCount;
         List<Pair<BookieAdminClient.BookieInfo, BookieAdminClient.BookieStats>> bookieInfos =
                 this.bookieAdminClient.collectBookieInfos()
                         .stream()
-                        .map(bookieInfo -> Pair.of(bookieInfo, this.bookieAdminClient.collectBookieStats(bookieInfo)))
+                        .map(bookieInfo -> Pair.of(bookieInfo,
+                                this.bookieAdminClient.collectBookieStats(bookieInfo, mayScaleDown)))
                         .collect(Collectors.toList());
 
         ClusterStats clusterStats = collectClusterStats(diskUsageHwm, bookieInfos);
@@ -213,10 +223,10 @@ public class BookKeeperSetAutoscaler implements Runnable {
 
         applyScaleTo(bkCr, scaleTo);
 
-        client.resources(BookKeeper.class)
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resources(BookKeeper.class)
                 .inNamespace(namespace)
                 .withName(bkCustomResourceName)
-                .patch(bkCr);
+                .patch(bkCr));
 
         log.infof("Bookies scaled up/down from %d to %d", currentExpectedReplicas, scaleTo);
     }
@@ -15,8 +15,10 @@
  */
 package com.datastax.oss.kaap.autoscaler;
 
+import com.datastax.oss.kaap.autoscaler.broker.BrokerDrainer;
 import com.datastax.oss.kaap.autoscaler.broker.BrokerResourceUsageSource;
 import com.datastax.oss.kaap.autoscaler.broker.LoadReportResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.broker.PodExecBrokerAdminClient;
 import com.datastax.oss.kaap.autoscaler.broker.PodMetricResourceUsageSource;
 import com.datastax.oss.kaap.controllers.PulsarClusterController;
 import com.datastax.oss.kaap.controllers.broker.BrokerController;
@@ -28,7 +30,12 @@ import com.datastax.oss.kaap.crds.broker.BrokerAutoscalerSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,6 +49,8 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 @JBossLog
 public class BrokerSetAutoscaler implements Runnable {
 
+    private static final Duration DRAIN_CHECK_INTERVAL = Duration.ofSeconds(2);
+
     private final KubernetesClient client;
     private final String namespace;
     private final PulsarClusterSpec clusterSpec;
@@ -71,6 +80,10 @@ public class BrokerSetAutoscaler implements Runnable {
         }
     }
 
+    protected Clock getClock() {
+        return Clock.systemUTC();
+    }
+
     @SneakyThrows
     void internalRun() {
         final BrokerAutoscalerSpec autoscalerSpec = desiredBrokerSetSpec.getAutoscaler();
@@ -79,10 +92,10 @@ public class BrokerSetAutoscaler implements Runnable {
         final String clusterName = clusterSpec.getGlobal().getName();
         final String brokerCustomResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
                 PulsarClusterController.CUSTOM_RESOURCE_BROKER);
-        final Broker brokerCr = client.resources(Broker.class)
+        final Broker brokerCr = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.resources(Broker.class)
                 .inNamespace(namespace)
                 .withName(brokerCustomResourceName)
-                .get();
+                .get());
         if (brokerCr == null) {
             log.warnf("Broker custom resource not found in namespace %s", namespace);
             return;
@@ -108,7 +121,7 @@ public class BrokerSetAutoscaler implements Runnable {
 
         if (!AutoscalerUtils.isStsReadyToScale(client,
                 autoscalerSpec.getStabilizationWindowMs(),
-                namespace, statefulsetName, podSelector, currentExpectedReplicas)) {
+                namespace, statefulsetName, podSelector, currentExpectedReplicas, getClock())) {
             return;
         }
         BrokerResourceUsageSource brokerResourceUsageSource =
@@ -140,13 +153,16 @@ public class BrokerSetAutoscaler implements Runnable {
                 );
                 return;
             }
-
+            if (!scaleUpOrDown.get()) {
+                drainBrokers(currentBrokerSetSpec, currentGlobalSpec, statefulsetName, scaleTo,
+                        currentExpectedReplicas);
+            }
 
             applyScaleTo(brokerCr, scaleTo);
-            client.resources(Broker.class)
+            ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resources(Broker.class)
                     .inNamespace(namespace)
                     .withName(brokerCustomResourceName)
-                    .patch(brokerCr);
+                    .patch(brokerCr));
             log.infof("Scaled brokers for broker set %s from %d to %d",
                     brokerSetName, currentExpectedReplicas, scaleTo);
         } else {
@@ -154,6 +170,29 @@ public class BrokerSetAutoscaler implements Runnable {
         }
     }
 
+    private void drainBrokers(BrokerSetSpec brokerSetSpec, GlobalSpec globalSpec, String statefulsetName,
+                              int scaleTo, int currentReplicas) {
+        final BrokerSetSpec.DrainConfig drain = brokerSetSpec.getDrain();
+        if (!BrokerDrainer.isEnabled(drain)) {
+            return;
+        }
+        final List<String> podNames = new ArrayList<>();
+        for (int i = scaleTo; i < currentReplicas; i++) {
+            podNames.add("%s-%d".formatted(statefulsetName, i));
+        }
+        final List<String> destinationPodNames = new ArrayList<>();
+        for (int i = 0; i < scaleTo; i++) {
+            destinationPodNames.add("%s-%d".formatted(statefulsetName, i));
+        }
+        final BrokerDrainer drainer = new BrokerDrainer(
+                new PodExecBrokerAdminClient(client, namespace, brokerSetName, brokerSetSpec, globalSpec,
+                        ApiPriority.AUTOSCALER),
+                namespace, brokerSetName, BrokerDrainer.getTimeout(drain), DRAIN_CHECK_INTERVAL);
+        if (!drainer.drain(podNames, destinationPodNames)) {
+            log.warnf("Brokers %s not fully drained, scaling down anyway", podNames);
+        }
+    }
+
     private void applyScaleTo(Broker brokerCr, int scaleTo) {
         if (brokerSetName.equals(BrokerResourcesFactory.BROKER_DEFAULT_SET)) {
             brokerCr.getSpec().getBroker().getDefaultBrokerSpecRef().setReplicas(scaleTo);
@@ -201,12 +240,12 @@ public class BrokerSetAutoscaler implements Runnable {
         throw new IllegalStateException();
     }
 
-    private BrokerResourceUsageSource newBrokerResourceUsageSource(BrokerAutoscalerSpec brokerAutoscalerSpec,
-                                                                   Map<String, String> podSelector) {
+    protected BrokerResourceUsageSource newBrokerResourceUsageSource(BrokerAutoscalerSpec brokerAutoscalerSpec,
+                                                                     Map<String, String> podSelector) {
         switch (brokerAutoscalerSpec.getResourcesUsageSource()) {
             case BrokerAutoscalerSpec.RESOURCE_USAGE_SOURCE_LOAD_BALANCER:
                 return new LoadReportResourceUsageSource(client, namespace, podSelector, brokerSetName,
-                        desiredBrokerSetSpec, clusterSpec.getGlobalSpec());
+                        desiredBrokerSetSpec, clusterSpec.getGlobalSpec(), ApiPriority.AUTOSCALER);
             case BrokerAutoscalerSpec.RESOURCE_USAGE_SOURCE_K8S_METRICS:
                 return new PodMetricResourceUsageSource(client, namespace, podSelector);
             default:
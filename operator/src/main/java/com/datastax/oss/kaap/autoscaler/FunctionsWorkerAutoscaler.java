@@ -0,0 +1,220 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.autoscaler.broker.BrokerResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.broker.PodMetricResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.function.FunctionsWorkerAdminClient;
+import com.datastax.oss.kaap.autoscaler.function.PodExecFunctionsWorkerAdminClient;
+import com.datastax.oss.kaap.controllers.PulsarClusterController;
+import com.datastax.oss.kaap.controllers.function.FunctionsWorkerResourcesFactory;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorker;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerAutoscalerSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+@JBossLog
+public class FunctionsWorkerAutoscaler implements Runnable {
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final PulsarClusterSpec clusterSpec;
+    private final FunctionsWorkerAutoscalerSpec autoscalerSpec;
+    private boolean pendingRebalance;
+
+    public FunctionsWorkerAutoscaler(KubernetesClient client, String namespace, PulsarClusterSpec clusterSpec) {
+        this.client = client;
+        this.namespace = namespace;
+        this.clusterSpec = clusterSpec;
+        this.autoscalerSpec = clusterSpec.getFunctionsWorker().getAutoscaler();
+    }
+
+    @Override
+    public void run() {
+        try {
+            internalRun();
+        } catch (Throwable tt) {
+            if (ExceptionUtils.indexOfThrowable(tt, RejectedExecutionException.class) >= 0) {
+                return;
+            }
+            log.errorf(tt, "Functions worker autoscaler error");
+        }
+    }
+
+    @SneakyThrows
+    void internalRun() {
+        Objects.requireNonNull(autoscalerSpec);
+
+        final String clusterName = clusterSpec.getGlobal().getName();
+        final String customResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
+                PulsarClusterController.CUSTOM_RESOURCE_FUNCTIONS_WORKER);
+        final FunctionsWorker functionsWorkerCr = ApiRateLimiter.call(ApiPriority.AUTOSCALER,
+                () -> client.resources(FunctionsWorker.class)
+                        .inNamespace(namespace)
+                        .withName(customResourceName)
+                        .get());
+        if (functionsWorkerCr == null) {
+            log.warnf("Functions worker custom resource not found in namespace %s", namespace);
+            return;
+        }
+
+        final GlobalSpec currentGlobalSpec = functionsWorkerCr.getSpec().getGlobal();
+        final FunctionsWorkerSpec currentSpec = functionsWorkerCr.getSpec().getFunctionsWorker();
+        final int currentExpectedReplicas = currentSpec.getReplicas().intValue();
+        if (currentExpectedReplicas == 0) {
+            log.debugf("Functions worker is disabled, skipping autoscaling");
+            return;
+        }
+
+        final String componentBaseName = FunctionsWorkerResourcesFactory.getComponentBaseName(currentGlobalSpec);
+        final String statefulsetName = FunctionsWorkerResourcesFactory.getResourceName(clusterName,
+                componentBaseName);
+        final Map<String, String> podSelector = new TreeMap<>(Map.of(
+                CRDConstants.LABEL_CLUSTER, clusterName,
+                CRDConstants.LABEL_COMPONENT, componentBaseName));
+
+        if (pendingRebalance) {
+            // the new workers only need to be ready to take their share of the instances
+            if (AutoscalerUtils.isStsReadyToScale(client, 0L, namespace, statefulsetName, podSelector,
+                    currentExpectedReplicas)) {
+                // kept pending if the rebalance fails, to retry at the next run
+                newAdminClient(currentGlobalSpec).rebalance("%s-0".formatted(statefulsetName));
+                pendingRebalance = false;
+            }
+            return;
+        }
+
+        if (!AutoscalerUtils.isStsReadyToScale(client,
+                autoscalerSpec.getStabilizationWindowMs(),
+                namespace, statefulsetName, podSelector, currentExpectedReplicas)) {
+            return;
+        }
+
+        final List<BrokerResourceUsageSource.ResourceUsage> cpuUsages =
+                new PodMetricResourceUsageSource(client, namespace, podSelector, "Functions worker")
+                        .getBrokersResourceUsages();
+        Integer instancesPerWorker = null;
+        if (autoscalerSpec.getLowerInstancesThreshold() != null
+                || autoscalerSpec.getHigherInstancesThreshold() != null) {
+            final Map<String, List<String>> assignments = newAdminClient(currentGlobalSpec)
+                    .getAssignments("%s-0".formatted(statefulsetName));
+            final int instances = assignments.values().stream().mapToInt(List::size).sum();
+            // the most loaded worker once the instances are balanced
+            instancesPerWorker = (int) Math.ceil((double) instances / currentExpectedReplicas);
+            log.infof("Functions workers run %d instances, up to %d per worker", instances, instancesPerWorker);
+        }
+        Optional<Boolean> scaleUpOrDown = decideScaleUpOrDown(autoscalerSpec, cpuUsages, instancesPerWorker);
+
+        if (scaleUpOrDown.isPresent()) {
+            int scaleTo = scaleUpOrDown.get()
+                    ? currentExpectedReplicas + autoscalerSpec.getScaleUpBy()
+                    : currentExpectedReplicas - autoscalerSpec.getScaleDownBy();
+
+            final Integer min = autoscalerSpec.getMin();
+            if (scaleTo <= 0 || (min != null && scaleTo < min)) {
+                log.debugf("Can't scale down, "
+                                + "replicas is already the min. Current %d, min %d, scaleDownBy %d",
+                        currentExpectedReplicas,
+                        min,
+                        autoscalerSpec.getScaleDownBy()
+                );
+                return;
+            }
+            final Integer max = autoscalerSpec.getMax();
+            if (max != null && scaleTo > max) {
+                log.debugf("Can't scale up, "
+                                + "replicas is already the max. Current %d, max %d, scaleUpBy %d",
+                        currentExpectedReplicas,
+                        max,
+                        autoscalerSpec.getScaleUpBy()
+                );
+                return;
+            }
+
+            currentSpec.setReplicas(scaleTo);
+            ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resources(FunctionsWorker.class)
+                    .inNamespace(namespace)
+                    .withName(customResourceName)
+                    .patch(functionsWorkerCr));
+            log.infof("Scaled functions workers from %d to %d", currentExpectedReplicas, scaleTo);
+            if (scaleUpOrDown.get() && autoscalerSpec.getRebalanceAfterScaleUp()) {
+                pendingRebalance = true;
+            }
+        } else {
+            log.infof("System is stable, no scaling needed");
+        }
+    }
+
+    /**
+     * A worker is overloaded if its cpu usage is above the higher threshold or if the workers run too many instances.
+     * It's underloaded if both are below the lower thresholds.
+     * As for brokers, the workers are scaled only if all of them agree.
+     */
+    static Optional<Boolean> decideScaleUpOrDown(FunctionsWorkerAutoscalerSpec autoscalerSpec,
+                                                 List<BrokerResourceUsageSource.ResourceUsage> cpuUsages,
+                                                 Integer instancesPerWorker) {
+        final float cpuLowerThreshold = autoscalerSpec.getLowerCpuThreshold().floatValue();
+        final float cpuHigherThreshold = autoscalerSpec.getHigherCpuThreshold().floatValue();
+        final Integer instancesLowerThreshold = autoscalerSpec.getLowerInstancesThreshold();
+        final Integer instancesHigherThreshold = autoscalerSpec.getHigherInstancesThreshold();
+
+        if (cpuUsages.isEmpty()) {
+            return Optional.empty();
+        }
+        final boolean tooManyInstances = instancesHigherThreshold != null && instancesPerWorker != null
+                && instancesPerWorker > instancesHigherThreshold;
+        final boolean fewInstances = instancesLowerThreshold == null
+                || (instancesPerWorker != null && instancesPerWorker < instancesLowerThreshold);
+        boolean scaleUp = false;
+        boolean scaleDown = false;
+        for (BrokerResourceUsageSource.ResourceUsage usage : cpuUsages) {
+            final boolean overloaded = tooManyInstances || usage.getPercentCpu() > cpuHigherThreshold;
+            final boolean underloaded = fewInstances && usage.getPercentCpu() < cpuLowerThreshold;
+            if (overloaded) {
+                if (scaleDown) {
+                    return Optional.empty();
+                }
+                scaleUp = true;
+            } else if (underloaded) {
+                if (scaleUp) {
+                    return Optional.empty();
+                }
+                scaleDown = true;
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(scaleUp);
+    }
+
+    protected FunctionsWorkerAdminClient newAdminClient(GlobalSpec globalSpec) {
+        return new PodExecFunctionsWorkerAdminClient(client, namespace, globalSpec);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.NamespacedDaemonThread;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerAutoscalerSpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.jbosslog.JBossLog;
+
+@JBossLog
+public class FunctionsWorkerAutoscalerDaemon extends NamespacedDaemonThread<FunctionsWorkerAutoscalerSpec> {
+
+    private final KubernetesClient client;
+    private final ScheduledExecutorService executorService;
+
+    public FunctionsWorkerAutoscalerDaemon(KubernetesClient client, ScheduledExecutorService executorService) {
+        this.client = client;
+        this.executorService = executorService;
+    }
+
+    @Override
+    protected FunctionsWorkerAutoscalerSpec getSpec(PulsarClusterSpec clusterSpec) {
+        if (clusterSpec.getFunctionsWorker() == null) {
+            return null;
+        }
+        return clusterSpec.getFunctionsWorker().getAutoscaler();
+    }
+
+    @Override
+    protected List<ScheduledFuture<?>> specChanged(String namespace, FunctionsWorkerAutoscalerSpec newSpec,
+                                                   PulsarClusterSpec clusterSpec) {
+        if (newSpec != null && newSpec.getEnabled()) {
+            log.infof("Scheduling functions worker autoscaler every %d ms", newSpec.getPeriodMs());
+            return List.of(executorService.scheduleWithFixedDelay(
+                    new FunctionsWorkerAutoscaler(client, namespace, clusterSpec),
+                    newSpec.getPeriodMs(), newSpec.getPeriodMs(), TimeUnit.MILLISECONDS));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.NamespacedDaemonThread;
+import com.datastax.oss.kaap.controllers.proxy.ProxyController;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxyAutoscalerSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxySpec;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.jbosslog.JBossLog;
+
+@JBossLog
+public class ProxyAutoscalerDaemon extends NamespacedDaemonThread<Map<String, ProxyAutoscalerSpec>> {
+
+    private final KubernetesClient client;
+    private final ScheduledExecutorService executorService;
+
+    public ProxyAutoscalerDaemon(KubernetesClient client, ScheduledExecutorService executorService) {
+        this.client = client;
+        this.executorService = executorService;
+    }
+
+    @Override
+    protected Map<String, ProxyAutoscalerSpec> getSpec(PulsarClusterSpec clusterSpec) {
+        final ProxySpec proxy = clusterSpec.getProxy();
+        if (proxy == null) {
+            return Map.of();
+        }
+        return ProxyController.getProxySetSpecs(proxy).entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue().getAutoscaler()));
+    }
+
+    @Override
+    protected List<ScheduledFuture<?>> specChanged(String namespace, Map<String, ProxyAutoscalerSpec> newSpec,
+                                                   PulsarClusterSpec clusterSpec) {
+        List<ScheduledFuture<?>> newTasks = new ArrayList<>();
+        for (Map.Entry<String, ProxyAutoscalerSpec> proxySetAutoscalers : newSpec.entrySet()) {
+            final ProxyAutoscalerSpec spec = proxySetAutoscalers.getValue();
+            if (spec.getEnabled()) {
+                final String proxySetName = proxySetAutoscalers.getKey();
+                log.infof("Scheduling proxy autoscaler every %d ms for proxy set %s",
+                        spec.getPeriodMs(), proxySetName);
+                newTasks.add(executorService.scheduleWithFixedDelay(
+                        new ProxySetAutoscaler(client, namespace, proxySetName, clusterSpec),
+                        spec.getPeriodMs(), spec.getPeriodMs(), TimeUnit.MILLISECONDS));
+            }
+        }
+        return newTasks;
+    }
+}
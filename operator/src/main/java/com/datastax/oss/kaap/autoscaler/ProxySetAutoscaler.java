@@ -0,0 +1,207 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.autoscaler.proxy.PodMetricProxyResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.proxy.ProxyResourceUsageSource;
+import com.datastax.oss.kaap.controllers.PulsarClusterController;
+import com.datastax.oss.kaap.controllers.proxy.ProxyController;
+import com.datastax.oss.kaap.controllers.proxy.ProxyResourcesFactory;
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.proxy.Proxy;
+import com.datastax.oss.kaap.crds.proxy.ProxyAutoscalerSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxySetSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+@JBossLog
+public class ProxySetAutoscaler implements Runnable {
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final PulsarClusterSpec clusterSpec;
+    private final String proxySetName;
+    private final ProxySetSpec desiredProxySetSpec;
+
+    public ProxySetAutoscaler(KubernetesClient client, String namespace,
+                              String proxySetName, PulsarClusterSpec clusterSpec) {
+        this.client = client;
+        this.namespace = namespace;
+        this.proxySetName = proxySetName;
+        this.clusterSpec = clusterSpec;
+        this.desiredProxySetSpec = ProxyController.getProxySetSpecs(clusterSpec.getProxy())
+                .get(proxySetName);
+    }
+
+    @Override
+    public void run() {
+        try {
+            internalRun();
+        } catch (Throwable tt) {
+            if (ExceptionUtils.indexOfThrowable(tt, RejectedExecutionException.class) >= 0) {
+                return;
+            }
+            log.errorf(tt, "Proxy (proxy set %s) autoscaler error", proxySetName);
+        }
+    }
+
+    @SneakyThrows
+    void internalRun() {
+        final ProxyAutoscalerSpec autoscalerSpec = desiredProxySetSpec.getAutoscaler();
+        Objects.requireNonNull(autoscalerSpec);
+
+        final String clusterName = clusterSpec.getGlobal().getName();
+        final String proxyCustomResourceName = PulsarClusterController.computeCustomResourceName(clusterSpec,
+                PulsarClusterController.CUSTOM_RESOURCE_PROXY);
+        final Proxy proxyCr = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.resources(Proxy.class)
+                .inNamespace(namespace)
+                .withName(proxyCustomResourceName)
+                .get());
+        if (proxyCr == null) {
+            log.warnf("Proxy custom resource not found in namespace %s", namespace);
+            return;
+        }
+
+        final GlobalSpec currentGlobalSpec = proxyCr.getSpec().getGlobal();
+        final ProxySetSpec currentProxySetSpec = ProxyController.getProxySetSpecs(proxyCr.getSpec().getProxy())
+                .get(proxySetName);
+        if (currentProxySetSpec == null) {
+            log.warnf("Proxy set %s not found in the proxy custom resource", proxySetName);
+            return;
+        }
+
+        final int currentExpectedReplicas = currentProxySetSpec.getReplicas().intValue();
+
+        final String deploymentName = ProxyResourcesFactory.getResourceName(clusterName,
+                ProxyResourcesFactory.getComponentBaseName(currentGlobalSpec), proxySetName,
+                currentProxySetSpec.getOverrideResourceName());
+
+        final Map<String, String> podSelector = new TreeMap<>(Map.of(
+                CRDConstants.LABEL_CLUSTER, clusterName,
+                CRDConstants.LABEL_COMPONENT, ProxyResourcesFactory.getComponentBaseName(currentGlobalSpec),
+                CRDConstants.LABEL_RESOURCESET, proxySetName));
+
+        if (!AutoscalerUtils.isDeploymentReadyToScale(client,
+                autoscalerSpec.getStabilizationWindowMs(),
+                namespace, deploymentName, podSelector, currentExpectedReplicas)) {
+            return;
+        }
+        final List<ProxyResourceUsageSource.ResourceUsage> usages =
+                newProxyResourceUsageSource(autoscalerSpec, podSelector, currentGlobalSpec)
+                        .getProxiesResourceUsages();
+        Optional<Boolean> scaleUpOrDown = decideScaleUpOrDown(autoscalerSpec, usages);
+
+        if (scaleUpOrDown.isPresent()) {
+            int scaleTo = scaleUpOrDown.get()
+                    ? currentExpectedReplicas + autoscalerSpec.getScaleUpBy()
+                    : currentExpectedReplicas - autoscalerSpec.getScaleDownBy();
+
+            final Integer min = autoscalerSpec.getMin();
+            if (scaleTo <= 0 || (min != null && scaleTo < min)) {
+                log.debugf("Can't scale down, "
+                                + "replicas is already the min. Current %d, min %d, scaleDownBy %d",
+                        currentExpectedReplicas,
+                        min,
+                        autoscalerSpec.getScaleDownBy()
+                );
+                return;
+            }
+            final Integer max = autoscalerSpec.getMax();
+            if (max != null && scaleTo > max) {
+                log.debugf("Can't scale up, "
+                                + "replicas is already the max. Current %d, max %d, scaleUpBy %d",
+                        currentExpectedReplicas,
+                        max,
+                        autoscalerSpec.getScaleUpBy()
+                );
+                return;
+            }
+
+            proxyCr.getSpec().getProxy().getProxySetSpecRef(proxySetName).setReplicas(scaleTo);
+            ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resources(Proxy.class)
+                    .inNamespace(namespace)
+                    .withName(proxyCustomResourceName)
+                    .patch(proxyCr));
+            log.infof("Scaled proxies for proxy set %s from %d to %d",
+                    proxySetName, currentExpectedReplicas, scaleTo);
+        } else {
+            log.infof("System is stable, no scaling needed");
+        }
+    }
+
+    /**
+     * A proxy is overloaded if its cpu usage or its active connections are above the higher thresholds.
+     * It's underloaded if both are below the lower thresholds.
+     * As for brokers, the set is scaled only if all the proxies agree.
+     */
+    static Optional<Boolean> decideScaleUpOrDown(ProxyAutoscalerSpec autoscalerSpec,
+                                                 List<ProxyResourceUsageSource.ResourceUsage> usages) {
+        final float cpuLowerThreshold = autoscalerSpec.getLowerCpuThreshold().floatValue();
+        final float cpuHigherThreshold = autoscalerSpec.getHigherCpuThreshold().floatValue();
+        final Integer connectionsLowerThreshold = autoscalerSpec.getLowerConnectionsThreshold();
+        final Integer connectionsHigherThreshold = autoscalerSpec.getHigherConnectionsThreshold();
+
+        if (usages.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean scaleUp = false;
+        boolean scaleDown = false;
+        for (ProxyResourceUsageSource.ResourceUsage usage : usages) {
+            final Integer connections = usage.getActiveConnections();
+            final boolean overloaded = usage.getPercentCpu() > cpuHigherThreshold
+                    || (connectionsHigherThreshold != null && connections != null
+                    && connections > connectionsHigherThreshold);
+            final boolean underloaded = usage.getPercentCpu() < cpuLowerThreshold
+                    && (connectionsLowerThreshold == null
+                    || (connections != null && connections < connectionsLowerThreshold));
+            if (overloaded) {
+                if (scaleDown) {
+                    return Optional.empty();
+                }
+                scaleUp = true;
+            } else if (underloaded) {
+                if (scaleUp) {
+                    return Optional.empty();
+                }
+                scaleDown = true;
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(scaleUp);
+    }
+
+    protected ProxyResourceUsageSource newProxyResourceUsageSource(ProxyAutoscalerSpec autoscalerSpec,
+                                                                   Map<String, String> podSelector,
+                                                                   GlobalSpec globalSpec) {
+        final boolean fetchConnections = autoscalerSpec.getLowerConnectionsThreshold() != null
+                || autoscalerSpec.getHigherConnectionsThreshold() != null;
+        return new PodMetricProxyResourceUsageSource(client, namespace, podSelector, proxySetName,
+                desiredProxySetSpec, globalSpec, fetchConnections);
+    }
+}
@@ -40,21 +40,46 @@ public interface BookieAdminClient {
     @Data
     @Builder
     class BookieLedgerDiskInfo {
+        String path;
         @Builder.Default
         long maxBytes = 0L;
         @Builder.Default
         long usedBytes = 0L;
     }
 
+    @Data
+    @Builder
+    class BookieLedgersOwnership {
+        @Builder.Default
+        boolean hasLedgers = true;
+        /**
+         * Number of ledgers found before the check stopped, it's a lower bound unless the check is complete.
+         */
+        @Builder.Default
+        long ledgersCount = 0L;
+        @Builder.Default
+        boolean complete = false;
+    }
+
     List<BookieInfo> collectBookieInfos();
 
     BookieStats collectBookieStats(BookieInfo bookieInfo);
 
+    /**
+     * Collects the bookie stats, the under replicated ledgers may be fetched in the same request when a following
+     * {@link #doesNotHaveUnderReplicatedLedgers()} call is expected.
+     */
+    default BookieStats collectBookieStats(BookieInfo bookieInfo, boolean prefetchUnderReplicatedLedgers) {
+        return collectBookieStats(bookieInfo);
+    }
+
+    boolean isWritable(BookieInfo bookieInfo);
+
     void setReadOnly(BookieInfo bookieInfo, boolean readonly);
 
     void recoverAndDeleteCookieInZk(BookieInfo bookieInfo, boolean deleteCookie);
 
-    boolean existsLedger(BookieInfo bookieInfo);
+    BookieLedgersOwnership checkLedgersOwnership(BookieInfo bookieInfo);
 
     boolean doesNotHaveUnderReplicatedLedgers();
 
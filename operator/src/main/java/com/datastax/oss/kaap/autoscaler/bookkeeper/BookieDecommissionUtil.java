@@ -120,9 +120,12 @@ public class BookieDecommissionUtil {
                                              BookieAdminClient bookieAdminClient) {
         try {
             bookieAdminClient.recoverAndDeleteCookieInZk(bookieInfo, false);
-            if (bookieAdminClient.existsLedger(bookieInfo)) {
-                log.warnf("Bookie %s still has ledgers assigned to it, will not delete cookie",
-                        bookieInfo.getPodResource().get().getMetadata().getName());
+            final BookieAdminClient.BookieLedgersOwnership ownership =
+                    bookieAdminClient.checkLedgersOwnership(bookieInfo);
+            if (ownership.isHasLedgers()) {
+                log.warnf("Bookie %s still has %s ledgers assigned to it, will not delete cookie",
+                        bookieInfo.getPodResource().get().getMetadata().getName(),
+                        formatLedgersCount(ownership));
                 return false;
             }
             return true;
@@ -133,11 +136,19 @@ public class BookieDecommissionUtil {
         }
     }
 
+    private static String formatLedgersCount(BookieAdminClient.BookieLedgersOwnership ownership) {
+        return ownership.isComplete()
+                ? String.valueOf(ownership.getLedgersCount()) : "at least " + ownership.getLedgersCount();
+    }
+
     private static boolean deleteCookie(BookieAdminClient.BookieInfo bookieInfo, BookieAdminClient bookieAdminClient) {
         try {
-            if (bookieAdminClient.existsLedger(bookieInfo)) {
-                log.warnf("Bookie %s has ledgers assigned to it, will not delete cookie",
-                        bookieInfo.getPodResource().get().getMetadata().getName());
+            final BookieAdminClient.BookieLedgersOwnership ownership =
+                    bookieAdminClient.checkLedgersOwnership(bookieInfo);
+            if (ownership.isHasLedgers()) {
+                log.warnf("Bookie %s has %s ledgers assigned to it, will not delete cookie",
+                        bookieInfo.getPodResource().get().getMetadata().getName(),
+                        formatLedgersCount(ownership));
                 return false;
             }
 
@@ -21,6 +21,8 @@ import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,12 +31,15 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
 
@@ -42,22 +47,32 @@ import lombok.extern.jbosslog.JBossLog;
 public class PodExecBookieAdminClient implements BookieAdminClient {
 
     static final ObjectMapper MAPPER = new ObjectMapper();
+    // bound of the listing in the pod, the operator waits a bit longer for the exec output
+    static final int LISTLEDGERS_TIMEOUT_SECONDS = 50;
+    private static final String LEDGER_ID_PREFIX = "ledgerID: ";
+    private static final List<String> LISTLEDGERS_ERRORS = List.of(
+            "Unable to read the ledger",
+            "Received error return value while processing ledgers",
+            "Received Exception while processing ledgers");
 
     private final KubernetesClient client;
     private final String namespace;
     private final GlobalSpec globalSpec;
     private final String bookkeeperSetName;
     private final BookKeeperSetSpec currentBookKeeperSetSpec;
+    private final ApiPriority priority;
 
     private final String bookieAdminUrl;
     private final Map<String, String> podSelector;
     private List<BookieInfo> bookieInfos;
+    private String underReplicatedLedgersOutput;
 
 
     public PodExecBookieAdminClient(KubernetesClient client, String namespace,
                                     GlobalSpec globalSpec, String bookkeeperSetName,
-                                    BookKeeperSetSpec currentBookKeeperSetSpec) {
+                                    BookKeeperSetSpec currentBookKeeperSetSpec, ApiPriority priority) {
         this.client = client;
+        this.priority = priority;
         this.namespace = namespace;
         this.globalSpec = globalSpec;
         this.bookkeeperSetName = bookkeeperSetName;
@@ -76,7 +91,9 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
 
     @Override
     public List<BookieInfo> collectBookieInfos() {
-        this.bookieInfos = client.pods().inNamespace(namespace).withLabels(podSelector).resources()
+        this.underReplicatedLedgersOutput = null;
+        this.bookieInfos = ApiRateLimiter.call(priority,
+                        () -> client.pods().inNamespace(namespace).withLabels(podSelector).resources())
                 .map(pod -> getBookieInfo(pod))
                 .sorted(Comparator.comparing(b -> b.podResource.get().getMetadata().getName())).toList();
         return bookieInfos;
@@ -103,27 +120,55 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
     }
 
     @Override
-    @SneakyThrows
     public BookieStats collectBookieStats(BookieInfo bookieInfo) {
-        final Pod pod = bookieInfo.getPodResource().get();
-
-        CompletableFuture<String> bkStateOut =
-                AutoscalerUtils.execInPod(client, namespace, pod.getMetadata().getName(),
-                        BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
-                        "curl -s " + bookieAdminUrl + "/api/v1/bookie/state");
-
-        CompletableFuture<String> bkInfoOut =
-                AutoscalerUtils.execInPod(client, namespace, pod.getMetadata().getName(),
-                        BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
-                        "curl -s " + bookieAdminUrl + "/api/v1/bookie/info");
-
-        List<BookieLedgerDiskInfo> ledgerDiskInfos = new ArrayList<>(1);
-        final BookieLedgerDiskInfo diskInfo = parseAndFillDiskUsage(bkInfoOut.get(), pod);
-        if (diskInfo != null) {
-            ledgerDiskInfos.add(diskInfo);
+        return collectBookieStats(bookieInfo, false);
+    }
+
+    @Override
+    @SneakyThrows
+    public BookieStats collectBookieStats(BookieInfo bookieInfo, boolean prefetchUnderReplicatedLedgers) {
+        final Pod pod = ApiRateLimiter.call(priority, bookieInfo.getPodResource()::get);
+        final String podName = pod.getMetadata().getName();
+
+        // all the admin requests for a bookie share the same exec session
+        final List<String> cmds = new ArrayList<>(3);
+        cmds.add(bookieStateCommand());
+        final List<String> ledgerDirectories =
+                BookKeeperResourcesFactory.getLedgerDirectories(currentBookKeeperSetSpec);
+        final boolean multipleLedgerDirectories = ledgerDirectories.size() > 1;
+        if (multipleLedgerDirectories) {
+            // the bookie info endpoint only reports the total space of all the ledger directories
+            cmds.add("df -P -k " + String.join(" ", ledgerDirectories));
+        } else {
+            cmds.add("curl -s " + bookieAdminUrl + "/api/v1/bookie/info");
+        }
+        // the under replicated ledgers check is always run on the first bookie, it's fetched in advance to save
+        // an exec session only if the caller is going to need it
+        final boolean prefetchUnderReplicated = prefetchUnderReplicatedLedgers
+                && bookieInfos != null && !bookieInfos.isEmpty()
+                && podName.equals(bookieInfos.get(0).getPodResource().get().getMetadata().getName());
+        if (prefetchUnderReplicated) {
+            cmds.add(underReplicatedLedgersCommand());
+        }
+
+        final List<String> outputs = AutoscalerUtils.execBatchInPod(client, priority, namespace, podName,
+                BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec), cmds).get();
+
+        final List<BookieLedgerDiskInfo> ledgerDiskInfos;
+        if (multipleLedgerDirectories) {
+            ledgerDiskInfos = parseDiskUsagePerDirectory(outputs.get(1), podName);
+        } else {
+            ledgerDiskInfos = new ArrayList<>(1);
+            final BookieLedgerDiskInfo diskInfo = parseAndFillDiskUsage(outputs.get(1), pod);
+            if (diskInfo != null) {
+                ledgerDiskInfos.add(diskInfo);
+            }
+        }
+        if (prefetchUnderReplicated) {
+            underReplicatedLedgersOutput = outputs.get(2);
         }
 
-        boolean writable = parseIsWritable(bkStateOut.get());
+        boolean writable = parseIsWritable(outputs.get(0));
         return BookieStats.builder()
                 .isWritable(writable)
                 .ledgerDiskInfos(ledgerDiskInfos)
@@ -131,6 +176,27 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
 
     }
 
+    @Override
+    @SneakyThrows
+    public boolean isWritable(BookieInfo bookieInfo) {
+        final Pod pod = ApiRateLimiter.call(priority, bookieInfo.getPodResource()::get);
+        return parseIsWritable(execBookieState(pod).get(30, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<String> execBookieState(Pod pod) {
+        return AutoscalerUtils.execInPod(client, priority, namespace, pod.getMetadata().getName(),
+                BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
+                bookieStateCommand());
+    }
+
+    private String bookieStateCommand() {
+        return "curl -s " + bookieAdminUrl + "/api/v1/bookie/state";
+    }
+
+    private String underReplicatedLedgersCommand() {
+        return "curl -s " + bookieAdminUrl + "/api/v1/autorecovery/list_under_replicated_ledger/";
+    }
+
     @SneakyThrows
     private boolean parseIsWritable(String bkStateOutput)
             throws JsonProcessingException, InterruptedException, ExecutionException {
@@ -174,11 +240,37 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
                 .build();
     }
 
+    static List<BookieLedgerDiskInfo> parseDiskUsagePerDirectory(String dfOutput, String podName) {
+        /*
+        $ df -P -k /pulsar/data/bookkeeper/ledgers /pulsar/data/bookkeeper/ledgers-1
+        Filesystem     1024-blocks    Used Available Capacity Mounted on
+        /dev/sdb          51290592  123456  51167136       1% /pulsar/data/bookkeeper/ledgers
+        /dev/sdc          51290592  654321  50636271       2% /pulsar/data/bookkeeper/ledgers-1
+        */
+        List<BookieLedgerDiskInfo> result = new ArrayList<>();
+        for (String line : dfOutput.split("\n")) {
+            final String[] columns = line.trim().split("\\s+");
+            if (columns.length < 6 || !columns[1].chars().allMatch(Character::isDigit)) {
+                continue;
+            }
+            result.add(BookieLedgerDiskInfo.builder()
+                    .path(columns[5])
+                    .maxBytes(Long.parseLong(columns[1]) * 1024)
+                    .usedBytes(Long.parseLong(columns[2]) * 1024)
+                    .build());
+        }
+        if (result.isEmpty()) {
+            throw new IllegalStateException(
+                    "invalid disk usage for bookie pod %s, got: %s".formatted(podName, dfOutput));
+        }
+        return result;
+    }
+
 
     @Override
     @SneakyThrows
     public void setReadOnly(BookieInfo bookieInfo, boolean readonly) {
-        CompletableFuture<String> curlOut = AutoscalerUtils.execInPod(client, namespace,
+        CompletableFuture<String> curlOut = AutoscalerUtils.execInPod(client, priority, namespace,
                 bookieInfo.getPodResource().get().getMetadata().getName(),
                 BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
                 "curl -s -X PUT -H \"Content-Type: application/json\" "
@@ -225,7 +317,7 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
         final String podName = bookieInfo.getPodResource().get().getMetadata().getName();
         final long start = System.nanoTime();
         log.info("Starting bookie recovery for bookie " + podName);
-        CompletableFuture<String> recoverOut = AutoscalerUtils.execInPod(client, namespace,
+        CompletableFuture<String> recoverOut = AutoscalerUtils.execInPod(client, priority, namespace,
                 podName,
                 BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
                 "bin/bookkeeper shell recover -f " + (deleteCookie ? "-d " : "")
@@ -244,13 +336,12 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
 
     @Override
     @SneakyThrows
-    public boolean existsLedger(BookieInfo bookieInfo) {
+    public BookieLedgersOwnership checkLedgersOwnership(BookieInfo bookieInfo) {
         final String podName = bookieInfo.getPodResource().get().getMetadata().getName();
-        CompletableFuture<String> out = AutoscalerUtils.execInPod(client, namespace,
+        CompletableFuture<String> out = AutoscalerUtils.execInPod(client, priority, namespace,
                 podName,
                 BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
-                "bin/bookkeeper shell listledgers -meta -bookieid "
-                        + getBookieId(bookieInfo.getPodResource()));
+                buildLedgersOwnershipCommand(getBookieId(bookieInfo.getPodResource())));
         out.whenComplete((s, e) -> {
             if (e != null) {
                 log.errorf(e, "Error running listledgers for bookie %s",
@@ -260,15 +351,75 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
                         podName);
             }
         });
-        String res = out.get(1, TimeUnit.MINUTES);
+        String res = out.get(LISTLEDGERS_TIMEOUT_SECONDS + 10, TimeUnit.SECONDS);
         log.debugf("listledgers output: %s", res);
-        // error getting the info, err on the safe side
-        if (res.contains("Unable to read the ledger")
-                || res.contains("Received error return value while processing ledgers")
-                || res.contains("Received Exception while processing ledgers")) {
-            return true;
+        return parseLedgersOwnership(res, podName);
+    }
+
+    public static String buildLedgersOwnershipCommand(String bookieId) {
+        /*
+        Listing all the ledgers of a bookie reads the metadata of every ledger, it might take minutes.
+        The listing runs in background and it's stopped as soon as a ledger (or an error) is printed out.
+        It's bounded in the pod too, and stopped with its output removed if the exec session is closed earlier.
+        A listing that times out is incomplete, any other non-zero exit is an error.
+        */
+        final String patterns = Stream.concat(Stream.of(LEDGER_ID_PREFIX), LISTLEDGERS_ERRORS.stream())
+                .map(p -> "-e '%s'".formatted(p))
+                .collect(Collectors.joining(" "));
+        final String errorPatterns = LISTLEDGERS_ERRORS.stream()
+                .map(p -> "-e '%s'".formatted(p))
+                .collect(Collectors.joining(" "));
+        return ("out=$(mktemp); trap 'kill $pid 2>/dev/null; rm -f $out' EXIT; "
+                + "timeout %d bin/bookkeeper shell listledgers -bookieid %s > $out 2>&1 & pid=$!; "
+                + "while kill -0 $pid 2>/dev/null && ! grep -q %s $out; do sleep 1; done; "
+                + "if kill $pid 2>/dev/null; then rc=0; complete=false; "
+                + "else wait $pid; rc=$?; if [ $rc -eq 0 ]; then complete=true; else complete=false; fi; fi; "
+                + "if [ $rc -ne 0 ] && [ $rc -ne 124 ]; then error=true; "
+                + "elif grep -q %s $out; then error=true; else error=false; fi; "
+                + "echo \"ledgers=$(grep -c '%s' $out) complete=$complete error=$error\"")
+                .formatted(LISTLEDGERS_TIMEOUT_SECONDS, bookieId, patterns, errorPatterns, LEDGER_ID_PREFIX);
+    }
+
+    static BookieLedgersOwnership parseLedgersOwnership(String output, String podName) {
+        /*
+        ledgers=1 complete=false error=false
+        */
+        final Map<String, String> values = new HashMap<>();
+        for (String token : output.trim().split("\\s+")) {
+            final String[] kv = token.split("=", 2);
+            if (kv.length == 2) {
+                values.put(kv[0], kv[1]);
+            }
+        }
+        if (!values.containsKey("ledgers") || !values.containsKey("complete") || !values.containsKey("error")) {
+            throw new IllegalStateException(
+                    "invalid listledgers output for bookie pod %s, got: %s".formatted(podName, output));
+        }
+        final long count = Long.parseLong(values.get("ledgers"));
+        final boolean complete = Boolean.parseBoolean(values.get("complete"));
+        if (Boolean.parseBoolean(values.get("error"))) {
+            // error getting the info, err on the safe side
+            log.warnf("Error listing the ledgers of bookie %s, assuming it still has ledgers", podName);
+            return BookieLedgersOwnership.builder()
+                    .hasLedgers(true)
+                    .ledgersCount(count)
+                    .complete(false)
+                    .build();
+        }
+        if (!complete && count == 0) {
+            // the listing stopped before printing any ledger, the bookie might still own some
+            log.warnf("The ledgers listing of bookie %s didn't complete, assuming it still has ledgers", podName);
+            return BookieLedgersOwnership.builder()
+                    .hasLedgers(true)
+                    .ledgersCount(count)
+                    .complete(false)
+                    .build();
         }
-        return res.contains("ledgerID: ");
+        return BookieLedgersOwnership.builder()
+                .hasLedgers(count > 0)
+                .ledgersCount(count)
+                .complete(complete)
+                .build();
     }
 
     @Override
@@ -280,13 +431,18 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
         $ curl -s localhost:8000/api/v1/autorecovery/list_under_replicated_ledger/
         No under replicated ledgers found
         */
-        final PodResource pod = getBookieInfos().get(0).getPodResource();
-        CompletableFuture<String> urLedgersOut = AutoscalerUtils.execInPod(client, namespace,
-                pod.get().getMetadata().getName(),
-                BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
-                "curl -s " + bookieAdminUrl + "/api/v1/autorecovery/list_under_replicated_ledger/");
-
-        final String s = urLedgersOut.get(1, TimeUnit.MINUTES);
+        final String s;
+        if (underReplicatedLedgersOutput != null) {
+            s = underReplicatedLedgersOutput;
+            underReplicatedLedgersOutput = null;
+        } else {
+            final PodResource pod = getBookieInfos().get(0).getPodResource();
+            CompletableFuture<String> urLedgersOut = AutoscalerUtils.execInPod(client, priority, namespace,
+                    pod.get().getMetadata().getName(),
+                    BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
+                    underReplicatedLedgersCommand());
+            s = urLedgersOut.get(1, TimeUnit.MINUTES);
+        }
         return s.contains("No under replicated ledgers found");
     }
 
@@ -311,7 +467,7 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
     @SneakyThrows
     public void triggerAudit() {
         final BookieInfo bookieInfo = getBookieInfos().get(0);
-        CompletableFuture<String> curlOut = AutoscalerUtils.execInPod(client, namespace,
+        CompletableFuture<String> curlOut = AutoscalerUtils.execInPod(client, priority, namespace,
                 bookieInfo.getPodResource().get().getMetadata().getName(),
                 BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
                 "curl -s -X PUT " + bookieAdminUrl + "/api/v1/autorecovery/trigger_audit");
@@ -329,7 +485,7 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
 
 
     protected String getBookieId(PodResource podResource) {
-        Pod pod = podResource.get();
+        Pod pod = ApiRateLimiter.call(priority, podResource::get);
         return getBookieId(pod, bookkeeperSetName, currentBookKeeperSetSpec, globalSpec, namespace);
     }
 
@@ -367,12 +523,22 @@ public class PodExecBookieAdminClient implements BookieAdminClient {
     public void deleteCookieOnDisk(BookieInfo bookieInfo) {
         // moving rather than deleting, into a random name
         final String podName = bookieInfo.getPodResource().get().getMetadata().getName();
-        CompletableFuture<String> cookieOut = AutoscalerUtils.execInPod(client, namespace,
+        final String suffix = "old.$(head /dev/urandom | tr -dc a-z0-9 | head -c 8)";
+        final List<String> cookieDirectories =
+                new ArrayList<>(BookKeeperResourcesFactory.getJournalDirectories(currentBookKeeperSetSpec));
+        if (BookKeeperResourcesFactory.isJournalEphemeral(
+                BookKeeperResourcesFactory.getJournalStorageType(currentBookKeeperSetSpec))) {
+            // the journal cookie is restored from the ledger directories at startup, they must be removed too
+            cookieDirectories.addAll(BookKeeperResourcesFactory.getLedgerDirectories(currentBookKeeperSetSpec));
+        }
+        final String command = cookieDirectories
+                .stream()
+                .map(dir -> "mv %s/current/VERSION %s/current/VERSION.%s".formatted(dir, dir, suffix))
+                .collect(Collectors.joining(" && "));
+        CompletableFuture<String> cookieOut = AutoscalerUtils.execInPod(client, priority, namespace,
                 podName,
                 BookKeeperResourcesFactory.getBookKeeperContainerName(globalSpec),
-                "mv /pulsar/data/bookkeeper/journal/current/VERSION "
-                        + "/pulsar/data/bookkeeper/journal/current/VERSION.old.$(head /dev/urandom | tr -dc a-z0-9 | "
-                        + "head -c 8)");
+                command);
         cookieOut.whenComplete((s, e) -> {
             if (e != null) {
                 log.errorf(e, "Error deleting cookie at %s", podName);
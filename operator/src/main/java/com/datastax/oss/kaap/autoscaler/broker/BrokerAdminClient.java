@@ -0,0 +1,37 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BrokerAdminClient {
+
+    Map<String, Object> getLoadReport(String podName);
+
+    List<String> getOwnedBundles(String podName);
+
+    /**
+     * Address of the broker in the load manager, the one accepted as destination of an unload.
+     */
+    String getBrokerId(String podName);
+
+    /**
+     * Unload the bundles of a broker, each one to the next destination broker in turn.
+     * Without destinations, the load manager picks the new owners.
+     */
+    void unloadBundles(String podName, List<String> bundles, List<String> destinationBrokerIds);
+}
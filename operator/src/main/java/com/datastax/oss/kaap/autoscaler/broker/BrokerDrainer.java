@@ -0,0 +1,187 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.OperatorMetrics;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Unload the bundles owned by the brokers about to be stopped, so the clients reconnect to the other brokers
+ * before the pods go away.
+ * The bundles are unloaded to the destination brokers, the ones that keep running: a plain unload lets the load
+ * manager assign a bundle back to the broker being drained. The brokers are still active while draining, a
+ * bundle might still be assigned to one of them by a lookup: the remaining bundles are unloaded again at each
+ * check until the timeout.
+ * The autoscaler waits for the drain in its own thread, the rollouts check it again at each reconciliation.
+ */
+@JBossLog
+public class BrokerDrainer {
+
+    public static final int DEFAULT_TIMEOUT_SECONDS = 60;
+    public static final String OUTCOME_DRAINED = "drained";
+    public static final String OUTCOME_TIMEOUT = "timeout";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final BrokerAdminClient adminClient;
+    private final String namespace;
+    private final String brokerSet;
+    private final Duration timeout;
+    private final Duration checkInterval;
+
+    public BrokerDrainer(BrokerAdminClient adminClient, String namespace, String brokerSet,
+                         Duration timeout, Duration checkInterval) {
+        this.adminClient = adminClient;
+        this.namespace = namespace;
+        this.brokerSet = brokerSet;
+        this.timeout = timeout;
+        this.checkInterval = checkInterval;
+    }
+
+    public static boolean isEnabled(BrokerSetSpec.DrainConfig drain) {
+        return drain != null && drain.getEnabled() != null && drain.getEnabled();
+    }
+
+    public static Duration getTimeout(BrokerSetSpec.DrainConfig drain) {
+        return Duration.ofSeconds(drain.getTimeoutSeconds() == null
+                ? DEFAULT_TIMEOUT_SECONDS : drain.getTimeoutSeconds());
+    }
+
+    /**
+     * Drain the brokers at the same time, waiting until they are drained or the timeout expires.
+     *
+     * @param podNames             the broker pods
+     * @param destinationPodNames the broker pods that take over the bundles
+     * @return true if all the brokers don't own any bundle anymore
+     */
+    @SneakyThrows
+    public boolean drain(List<String> podNames, List<String> destinationPodNames) {
+        final Instant start = Instant.now();
+        final Destinations destinations = new Destinations(destinationPodNames);
+        final Set<String> remaining = new LinkedHashSet<>(podNames);
+        boolean success = true;
+        while (true) {
+            for (String podName : List.copyOf(remaining)) {
+                final String outcome = drainOnce(podName, start, destinations);
+                if (outcome != null) {
+                    complete(podName, outcome, start);
+                    remaining.remove(podName);
+                    success &= OUTCOME_DRAINED.equals(outcome);
+                }
+            }
+            if (remaining.isEmpty()) {
+                return success;
+            }
+            Thread.sleep(checkInterval.toMillis());
+        }
+    }
+
+    /**
+     * Drain a batch of brokers without waiting: the bundles still owned by the brokers are unloaded and the caller
+     * checks again later, until this method returns true.
+     *
+     * @param drainStarts          when the drain of each broker started
+     * @param destinationPodNames the broker pods that take over the bundles
+     * @return true if all the brokers can be stopped: they don't own any bundle anymore, the timeout expired or
+     * the drain failed
+     */
+    public boolean drainBatch(Map<String, Instant> drainStarts, List<String> destinationPodNames) {
+        final Map<String, String> outcomes = new LinkedHashMap<>();
+        final Destinations destinations = new Destinations(destinationPodNames);
+        boolean completed = true;
+        for (Map.Entry<String, Instant> entry : drainStarts.entrySet()) {
+            final String outcome = drainOnce(entry.getKey(), entry.getValue(), destinations);
+            if (outcome == null) {
+                completed = false;
+            } else {
+                outcomes.put(entry.getKey(), outcome);
+            }
+        }
+        if (!completed) {
+            return false;
+        }
+        outcomes.forEach((podName, outcome) -> complete(podName, outcome, drainStarts.get(podName)));
+        return true;
+    }
+
+    /**
+     * Unload the bundles still owned by a broker.
+     *
+     * @return the outcome of the drain, null if the broker still owns bundles and the timeout didn't expire
+     */
+    private String drainOnce(String podName, Instant start, Destinations destinations) {
+        try {
+            final List<String> bundles = adminClient.getOwnedBundles(podName);
+            if (bundles.isEmpty()) {
+                return OUTCOME_DRAINED;
+            }
+            if (!Instant.now().isBefore(start.plus(timeout))) {
+                return OUTCOME_TIMEOUT;
+            }
+            adminClient.unloadBundles(podName, bundles, destinations.getBrokerIds());
+            return null;
+        } catch (Exception e) {
+            log.warnf(e, "Failed to drain broker %s", podName);
+            return OUTCOME_ERROR;
+        }
+    }
+
+    /**
+     * Broker ids of the destination pods, looked up once and only if there are bundles to unload.
+     * The brokers that can't be reached are skipped, without any destination the load manager picks the owners.
+     */
+    private class Destinations {
+        private final List<String> podNames;
+        private List<String> brokerIds;
+
+        Destinations(List<String> podNames) {
+            this.podNames = podNames;
+        }
+
+        List<String> getBrokerIds() {
+            if (brokerIds == null) {
+                brokerIds = new ArrayList<>();
+                for (String podName : podNames) {
+                    try {
+                        brokerIds.add(adminClient.getBrokerId(podName));
+                    } catch (Exception e) {
+                        log.warnf(e, "Failed to get the broker id of %s, not unloading bundles to it", podName);
+                    }
+                }
+            }
+            return brokerIds;
+        }
+    }
+
+    private void complete(String podName, String outcome, Instant start) {
+        if (OUTCOME_DRAINED.equals(outcome)) {
+            log.infof("Broker %s drained", podName);
+        } else if (OUTCOME_TIMEOUT.equals(outcome)) {
+            log.warnf("Broker %s still owns bundles after %d seconds, stopping it anyway", podName,
+                    timeout.toSeconds());
+        }
+        OperatorMetrics.recordBrokerDrain(namespace, brokerSet, outcome, Duration.between(start, Instant.now()));
+    }
+}
@@ -15,11 +15,11 @@
  */
 package com.datastax.oss.kaap.autoscaler.broker;
 
-import com.datastax.oss.kaap.autoscaler.AutoscalerUtils;
 import com.datastax.oss.kaap.common.SerializationUtil;
-import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.math.BigDecimal;
@@ -27,12 +27,10 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
-import org.apache.commons.lang3.StringUtils;
 
 @JBossLog
 public class LoadReportResourceUsageSource implements BrokerResourceUsageSource {
@@ -40,57 +38,37 @@ public class LoadReportResourceUsageSource implements BrokerResourceUsageSource
     private final KubernetesClient client;
     private final String namespace;
     private final Map<String, String> podSelector;
-    private final String brokerSet;
-    private final BrokerSetSpec brokerSetSpec;
-    private final GlobalSpec globalSpec;
+    private final BrokerAdminClient adminClient;
+    private final ApiPriority priority;
 
     public LoadReportResourceUsageSource(KubernetesClient client, String namespace,
                                          Map<String, String> podSelector,
                                          String brokerSet,
                                          BrokerSetSpec brokerSetSpec,
-                                         GlobalSpec globalSpec) {
+                                         GlobalSpec globalSpec,
+                                         ApiPriority priority) {
         this.client = client;
         this.namespace = namespace;
         this.podSelector = podSelector;
-        this.brokerSet = brokerSet;
-        this.brokerSetSpec = brokerSetSpec;
-        this.globalSpec = globalSpec;
+        this.priority = priority;
+        this.adminClient = new PodExecBrokerAdminClient(client, namespace, brokerSet, brokerSetSpec, globalSpec,
+                priority);
     }
 
     @Override
     @SneakyThrows
     public List<ResourceUsage> getBrokersResourceUsages() {
-        final List<Pod> pods = client.pods()
-                .inNamespace(namespace)
-                .withLabels(podSelector)
-                .list()
+        final List<Pod> pods = ApiRateLimiter.call(priority, () -> client.pods()
+                        .inNamespace(namespace)
+                        .withLabels(podSelector)
+                        .list())
                 .getItems();
 
 
         List<ResourceUsage> result = new ArrayList<>();
-        String webServicePort = getWebServicePort();
-        final String brokerUrl =
-                "http://localhost:%s/admin/v2/broker-stats/load-report/".formatted(String.valueOf(webServicePort));
-        final String curlAuthHeader = BrokerResourcesFactory.computeCurlAuthHeader(globalSpec);
-        final String curlCommand = StringUtils.isBlank(curlAuthHeader)
-                ? "curl %s".formatted(brokerUrl) : "curl %s %s".formatted(curlAuthHeader, brokerUrl);
-
-        final String containerName =
-                BrokerResourcesFactory.getMainContainerName(BrokerResourcesFactory.getResourceName(globalSpec.getName(),
-                        globalSpec.getComponents().getBrokerBaseName(), brokerSet,
-                        brokerSetSpec.getOverrideResourceName()));
         for (Pod pod : pods) {
             final String podName = pod.getMetadata().getName();
-
-            final String jsonOut = AutoscalerUtils.execInPod(client, namespace, podName, containerName, curlCommand)
-                    .get(30, TimeUnit.SECONDS);
-
-            final Map<String, Object> json = SerializationUtil.readJson(jsonOut, Map.class);
-            if (!json.containsKey("cpu")) {
-                throw new IllegalStateException(
-                        "Broker %s didn't exposed valid report usage, expected 'cpu', found: %s".formatted(podName,
-                                jsonOut));
-            }
+            final Map<String, Object> json = adminClient.getLoadReport(podName);
             final LoadReportResourceUsage loadReportResourceUsage =
                     SerializationUtil.convertValue(json.get("cpu"), LoadReportResourceUsage.class);
             final float percentUsage = loadReportResourceUsage.percentUsage();
@@ -105,15 +83,17 @@ public class LoadReportResourceUsageSource implements BrokerResourceUsageSource
         return result;
     }
 
-    private String getWebServicePort() {
-        Object webServicePort =
-                brokerSetSpec.getConfig() != null
-                        ? brokerSetSpec.getConfig().get("webServicePort")
-                        : null;
-        if (webServicePort == null) {
-            webServicePort = BrokerResourcesFactory.DEFAULT_HTTP_PORT;
+    /**
+     * Check that the broker is serving its load report.
+     */
+    public boolean isLoadReportReachable(String podName) {
+        try {
+            adminClient.getLoadReport(podName);
+            return true;
+        } catch (Exception e) {
+            log.infof("Broker %s load report is not reachable: %s", podName, e.getMessage());
+            return false;
         }
-        return String.valueOf(webServicePort);
     }
 
     @Data
@@ -0,0 +1,169 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.autoscaler.AutoscalerUtils;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Broker admin operations executed with curl in the broker container.
+ */
+@JBossLog
+public class PodExecBrokerAdminClient implements BrokerAdminClient {
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final String containerName;
+    private final String webServiceUrl;
+    private final String curlAuthHeader;
+    private final ApiPriority priority;
+
+    public PodExecBrokerAdminClient(KubernetesClient client, String namespace, String brokerSet,
+                                    BrokerSetSpec brokerSetSpec, GlobalSpec globalSpec, ApiPriority priority) {
+        this.client = client;
+        this.priority = priority;
+        this.namespace = namespace;
+        this.containerName =
+                BrokerResourcesFactory.getMainContainerName(BrokerResourcesFactory.getResourceName(globalSpec.getName(),
+                        globalSpec.getComponents().getBrokerBaseName(), brokerSet,
+                        brokerSetSpec.getOverrideResourceName()));
+        this.webServiceUrl = "http://localhost:%s".formatted(getWebServicePort(brokerSetSpec));
+        this.curlAuthHeader = BrokerResourcesFactory.computeCurlAuthHeader(globalSpec);
+    }
+
+    @Override
+    @SneakyThrows
+    public Map<String, Object> getLoadReport(String podName) {
+        final String jsonOut = exec(podName, curl("%s/admin/v2/broker-stats/load-report/".formatted(webServiceUrl)))
+                .get(30, TimeUnit.SECONDS);
+        final Map<String, Object> json = SerializationUtil.readJson(jsonOut, Map.class);
+        if (!json.containsKey("cpu")) {
+            throw new IllegalStateException(
+                    "Broker %s didn't exposed valid report usage, expected 'cpu', found: %s".formatted(podName,
+                            jsonOut));
+        }
+        return json;
+    }
+
+    @Override
+    public List<String> getOwnedBundles(String podName) {
+        final Object bundles = getLoadReport(podName).get("bundles");
+        if (bundles == null) {
+            return List.of();
+        }
+        return ((List<?>) bundles).stream().map(String::valueOf).toList();
+    }
+
+    @Override
+    public String getBrokerId(String podName) {
+        // the load manager identifies the brokers by their web service address, without scheme
+        final Object webServiceUrl = getLoadReport(podName).get("webServiceUrl");
+        if (webServiceUrl == null) {
+            throw new IllegalStateException("Broker %s didn't expose its web service url".formatted(podName));
+        }
+        return StringUtils.substringAfter(String.valueOf(webServiceUrl), "://");
+    }
+
+    @Override
+    @SneakyThrows
+    public void unloadBundles(String podName, List<String> bundles, List<String> destinationBrokerIds) {
+        if (bundles.isEmpty()) {
+            return;
+        }
+        final String cmd = buildUnloadCommand(webServiceUrl, bundles, destinationBrokerIds, this::curl);
+        final String out = exec(podName, cmd).get(5, TimeUnit.MINUTES);
+        final List<String> failed = getFailedUnloads(out);
+        if (!failed.isEmpty()) {
+            log.warnf("Failed to unload %d bundles from broker %s, they are unloaded again at the next check: %s",
+                    failed.size(), podName, failed);
+        }
+        log.infof("Requested unload of %d bundles from broker %s", bundles.size() - failed.size(), podName);
+    }
+
+    /**
+     * One unload request for each bundle, printing the bundle and the http status code.
+     * Brokers running a Pulsar version without the destinationBroker parameter ignore it and let the load manager
+     * pick the new owner.
+     */
+    static String buildUnloadCommand(String webServiceUrl, List<String> bundles, List<String> destinationBrokerIds,
+                                     Function<String, String> curl) {
+        final List<String> commands = new ArrayList<>();
+        for (int i = 0; i < bundles.size(); i++) {
+            // bundle format is tenant/namespace/0x00000000_0x40000000, same as the unload path
+            String url = "%s/admin/v2/namespaces/%s/unload".formatted(webServiceUrl, bundles.get(i));
+            if (!destinationBrokerIds.isEmpty()) {
+                url += "?destinationBroker=" + destinationBrokerIds.get(i % destinationBrokerIds.size());
+            }
+            commands.add("echo \"%s $(%s)\"".formatted(bundles.get(i),
+                    curl.apply("-o /dev/null -w '%%{http_code}' -X PUT '%s'".formatted(url))));
+        }
+        return String.join("; ", commands);
+    }
+
+    /**
+     * Parse the "bundle http_code" lines printed by the unload loop.
+     *
+     * @return the bundles whose unload didn't return a 2xx status code
+     */
+    static List<String> getFailedUnloads(String out) {
+        final List<String> failed = new ArrayList<>();
+        for (String line : out.split("\n")) {
+            final String[] parts = line.trim().split(" ");
+            if (parts.length == 0 || parts[0].isEmpty()) {
+                continue;
+            }
+            final String code = parts.length > 1 ? parts[parts.length - 1] : "";
+            if (!code.startsWith("2")) {
+                failed.add("%s (%s)".formatted(parts[0], code.isEmpty() ? "no response" : code));
+            }
+        }
+        return failed;
+    }
+
+    private String curl(String args) {
+        return StringUtils.isBlank(curlAuthHeader)
+                ? "curl -sf %s".formatted(args) : "curl -sf %s %s".formatted(curlAuthHeader, args);
+    }
+
+    private CompletableFuture<String> exec(String podName, String cmd) {
+        return AutoscalerUtils.execInPod(client, priority, namespace, podName, containerName, cmd);
+    }
+
+    private static String getWebServicePort(BrokerSetSpec brokerSetSpec) {
+        Object webServicePort =
+                brokerSetSpec.getConfig() != null
+                        ? brokerSetSpec.getConfig().get("webServicePort")
+                        : null;
+        if (webServicePort == null) {
+            webServicePort = BrokerResourcesFactory.DEFAULT_HTTP_PORT;
+        }
+        return String.valueOf(webServicePort);
+    }
+}
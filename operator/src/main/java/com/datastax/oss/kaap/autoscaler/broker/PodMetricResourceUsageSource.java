@@ -15,6 +15,8 @@
  */
 package com.datastax.oss.kaap.autoscaler.broker;
 
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsList;
@@ -32,24 +34,31 @@ public class PodMetricResourceUsageSource implements BrokerResourceUsageSource {
     private final KubernetesClient client;
     private final String namespace;
     private final Map<String, String> podSelector;
+    private final String component;
 
     public PodMetricResourceUsageSource(KubernetesClient client, String namespace,
                                         Map<String, String> podSelector) {
+        this(client, namespace, podSelector, "Broker");
+    }
+
+    public PodMetricResourceUsageSource(KubernetesClient client, String namespace,
+                                        Map<String, String> podSelector, String component) {
         this.client = client;
         this.namespace = namespace;
         this.podSelector = podSelector;
+        this.component = component;
     }
 
     @Override
     public List<ResourceUsage> getBrokersResourceUsages() {
         final PodMetricsList metrics =
-                client.top()
+                ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.top()
                         .pods()
                         .withLabels(podSelector)
                         .inNamespace(namespace)
-                        .metrics();
+                        .metrics());
 
-        log.infof("Got %d broker pod metrics", metrics.getItems().size());
+        log.infof("Got %d %s pod metrics", metrics.getItems().size(), component.toLowerCase());
 
 
         List<ResourceUsage> result = new ArrayList<>();
@@ -65,23 +74,24 @@ public class PodMetricResourceUsageSource implements BrokerResourceUsageSource {
                     .getUsage().get("cpu");
 
             if (cpuUsageQuantity == null) {
-                log.warnf("Broker pod %s didn't exposed CPU usage", podName);
+                log.warnf("%s pod %s didn't exposed CPU usage", component, podName);
                 continue;
             } else {
                 cpuUsage = quantityToBytes(cpuUsageQuantity);
             }
 
-            final Quantity requestedCpuQuantity = client.pods()
-                    .inNamespace(namespace)
-                    .withName(podName)
-                    .get().getSpec()
+            final Quantity requestedCpuQuantity = ApiRateLimiter.call(ApiPriority.AUTOSCALER, () -> client.pods()
+                            .inNamespace(namespace)
+                            .withName(podName)
+                            .get())
+                    .getSpec()
                     .getContainers()
                     .get(0)
                     .getResources()
                     .getRequests()
                     .get("cpu");
             if (requestedCpuQuantity == null) {
-                log.warnf("Broker pod %s CPU requests not set", podName);
+                log.warnf("%s pod %s CPU requests not set", component, podName);
                 continue;
             } else {
                 requestedCpu = quantityToBytes(requestedCpuQuantity);
@@ -89,7 +99,8 @@ public class PodMetricResourceUsageSource implements BrokerResourceUsageSource {
             }
             float percentage = cpuUsage / requestedCpu;
 
-            log.infof("Broker pod %s CPU used/requested: %f/%f, rate %f",
+            log.infof("%s pod %s CPU used/requested: %f/%f, rate %f",
+                    component,
                     podName,
                     new BigDecimal(cpuUsage).setScale(2, RoundingMode.HALF_EVEN),
                     new BigDecimal(requestedCpu).setScale(2, RoundingMode.HALF_EVEN),
@@ -0,0 +1,34 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.function;
+
+import java.util.List;
+import java.util.Map;
+
+public interface FunctionsWorkerAdminClient {
+
+    /**
+     * Current function instances assignments, by worker id.
+     */
+    Map<String, List<String>> getAssignments(String podName);
+
+    /**
+     * Ask the leader worker to rebalance the function instances among all the workers.
+     *
+     * @throws IllegalStateException if the worker rejected the request
+     */
+    void rebalance(String podName);
+}
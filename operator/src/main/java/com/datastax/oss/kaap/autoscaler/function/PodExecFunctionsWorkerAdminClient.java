@@ -0,0 +1,95 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.function;
+
+import com.datastax.oss.kaap.autoscaler.AutoscalerUtils;
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.controllers.function.FunctionsWorkerResourcesFactory;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Functions worker admin operations executed with curl in the worker container.
+ */
+@JBossLog
+public class PodExecFunctionsWorkerAdminClient implements FunctionsWorkerAdminClient {
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final String containerName;
+    private final String webServiceUrl;
+    private final String curlAuthHeader;
+
+    public PodExecFunctionsWorkerAdminClient(KubernetesClient client, String namespace, GlobalSpec globalSpec) {
+        this.client = client;
+        this.namespace = namespace;
+        this.containerName = FunctionsWorkerResourcesFactory.getMainContainerName(
+                FunctionsWorkerResourcesFactory.getResourceName(globalSpec,
+                        FunctionsWorkerResourcesFactory.getComponentBaseName(globalSpec)));
+        this.webServiceUrl = "http://localhost:%d".formatted(FunctionsWorkerResourcesFactory.DEFAULT_HTTP_PORT);
+        this.curlAuthHeader = BrokerResourcesFactory.computeCurlAuthHeader(globalSpec);
+    }
+
+    @Override
+    @SneakyThrows
+    public Map<String, List<String>> getAssignments(String podName) {
+        final String jsonOut = exec(podName, curl("%s/admin/v2/worker/assignments".formatted(webServiceUrl)))
+                .get(30, TimeUnit.SECONDS);
+        final Map<String, Object> json = SerializationUtil.readJson(jsonOut, Map.class);
+        final Map<String, List<String>> assignments = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> worker : json.entrySet()) {
+            if (!(worker.getValue() instanceof List)) {
+                throw new IllegalStateException(
+                        "Functions worker %s returned invalid assignments: %s".formatted(podName, jsonOut));
+            }
+            assignments.put(worker.getKey(),
+                    ((List<?>) worker.getValue()).stream().map(String::valueOf).toList());
+        }
+        return assignments;
+    }
+
+    @Override
+    @SneakyThrows
+    public void rebalance(String podName) {
+        // non-leader workers redirect to the leader
+        final String statusCode = exec(podName, curl("-o /dev/null -w '%{http_code}' --location-trusted -X PUT "
+                + webServiceUrl + "/admin/v2/worker/rebalance")).get(30, TimeUnit.SECONDS).trim();
+        if (!statusCode.startsWith("2")) {
+            throw new IllegalStateException(
+                    "Functions rebalance through worker %s failed, HTTP status: %s".formatted(podName, statusCode));
+        }
+        log.infof("Requested functions rebalance through worker %s", podName);
+    }
+
+    private String curl(String args) {
+        return StringUtils.isBlank(curlAuthHeader)
+                ? "curl -sf %s".formatted(args) : "curl -sf %s %s".formatted(curlAuthHeader, args);
+    }
+
+    private CompletableFuture<String> exec(String podName, String cmd) {
+        return AutoscalerUtils.execInPod(client, ApiPriority.AUTOSCALER, namespace, podName, containerName, cmd);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.proxy;
+
+import com.datastax.oss.kaap.autoscaler.AutoscalerUtils;
+import com.datastax.oss.kaap.autoscaler.broker.BrokerResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.broker.PodMetricResourceUsageSource;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.controllers.proxy.ProxyResourcesFactory;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxySetSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Cpu usage from the Kubernetes metrics server, active connections from the proxy metrics endpoint.
+ */
+@JBossLog
+public class PodMetricProxyResourceUsageSource implements ProxyResourceUsageSource {
+
+    static final String ACTIVE_CONNECTIONS_METRIC = "pulsar_proxy_active_connections";
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final PodMetricResourceUsageSource cpuUsageSource;
+    private final boolean fetchConnections;
+    private final String containerName;
+    private final String curlAuthHeader;
+    private final String webServicePort;
+
+    public PodMetricProxyResourceUsageSource(KubernetesClient client, String namespace,
+                                             Map<String, String> podSelector, String proxySet,
+                                             ProxySetSpec proxySetSpec, GlobalSpec globalSpec,
+                                             boolean fetchConnections) {
+        this.client = client;
+        this.namespace = namespace;
+        this.cpuUsageSource = new PodMetricResourceUsageSource(client, namespace, podSelector, "Proxy");
+        this.fetchConnections = fetchConnections;
+        this.containerName = ProxyResourcesFactory.getMainContainerName(
+                ProxyResourcesFactory.getResourceName(globalSpec,
+                        ProxyResourcesFactory.getComponentBaseName(globalSpec), proxySet, proxySetSpec));
+        this.curlAuthHeader = BrokerResourcesFactory.computeCurlAuthHeader(globalSpec);
+        this.webServicePort = getWebServicePort(proxySetSpec);
+    }
+
+    @Override
+    public List<ResourceUsage> getProxiesResourceUsages() {
+        List<ResourceUsage> result = new ArrayList<>();
+        for (BrokerResourceUsageSource.ResourceUsage cpuUsage : cpuUsageSource.getBrokersResourceUsages()) {
+            final Integer activeConnections = fetchConnections ? fetchActiveConnections(cpuUsage.getPod()) : null;
+            result.add(new ResourceUsage(cpuUsage.getPod(), cpuUsage.getPercentCpu(), activeConnections));
+        }
+        return result;
+    }
+
+    @SneakyThrows
+    private int fetchActiveConnections(String podName) {
+        final String cmd = StringUtils.isBlank(curlAuthHeader)
+                ? "curl -s http://localhost:%s/metrics/".formatted(webServicePort)
+                : "curl -s %s http://localhost:%s/metrics/".formatted(curlAuthHeader, webServicePort);
+        final String metrics = AutoscalerUtils.execInPod(client, ApiPriority.AUTOSCALER, namespace, podName,
+                        containerName, cmd)
+                .get(30, TimeUnit.SECONDS);
+        final int activeConnections = parseActiveConnections(metrics);
+        log.infof("Proxy pod %s active connections: %d", podName, activeConnections);
+        return activeConnections;
+    }
+
+    static String getWebServicePort(ProxySetSpec proxySetSpec) {
+        Object webServicePort =
+                proxySetSpec.getConfig() != null
+                        ? proxySetSpec.getConfig().get("webServicePort")
+                        : null;
+        if (webServicePort == null) {
+            webServicePort = ProxyResourcesFactory.DEFAULT_HTTP_PORT;
+        }
+        return String.valueOf(webServicePort);
+    }
+
+    static int parseActiveConnections(String metrics) {
+        double total = 0;
+        boolean found = false;
+        for (String line : metrics.split("\n")) {
+            if (!line.startsWith(ACTIVE_CONNECTIONS_METRIC)) {
+                continue;
+            }
+            final String rest = line.substring(ACTIVE_CONNECTIONS_METRIC.length());
+            if (!rest.startsWith("{") && !rest.startsWith(" ")) {
+                continue;
+            }
+            final String[] split = line.trim().split("\\s+");
+            total += Double.parseDouble(split[split.length - 1]);
+            found = true;
+        }
+        if (!found) {
+            throw new IllegalStateException("Proxy didn't expose the %s metric".formatted(ACTIVE_CONNECTIONS_METRIC));
+        }
+        return (int) total;
+    }
+}
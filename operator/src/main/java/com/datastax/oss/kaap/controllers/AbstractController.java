@@ -16,23 +16,23 @@
 package com.datastax.oss.kaap.controllers;
 
 import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
+import com.datastax.oss.kaap.StandbyWarmer;
 import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
-import com.datastax.oss.kaap.crds.autorecovery.AutorecoverySpec;
-import com.datastax.oss.kaap.crds.bastion.BastionSpec;
-import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
-import com.datastax.oss.kaap.crds.broker.BrokerSpec;
-import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
-import com.datastax.oss.kaap.crds.function.FunctionsWorkerSpec;
-import com.datastax.oss.kaap.crds.proxy.ProxySpec;
-import com.datastax.oss.kaap.crds.validation.ValidSpec;
-import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
+import com.datastax.oss.kaap.crds.validation.SpecValidator;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import com.datastax.oss.kaap.sharding.ShardManager;
 import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConditionBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.client.CustomResource;
@@ -42,71 +42,48 @@ import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
-import javax.validation.ConstraintValidator;
-import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
-import javax.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
-import org.hibernate.validator.HibernateValidatorConfiguration;
-import org.hibernate.validator.cfg.ConstraintMapping;
-import org.hibernate.validator.cfg.context.ConstraintDefinitionContext;
 
 @JBossLog
 public abstract class AbstractController<T extends CustomResource<? extends FullSpecWithDefaults, BaseComponentStatus>>
         implements Reconciler<T> {
 
+    protected static final String LAST_APPLIED_FINGERPRINT_SPEC = "spec";
+
     protected final KubernetesClient client;
-    private final Validator validator;
     @Inject
     OperatorRuntimeConfiguration operatorRuntimeConfiguration;
+    @Inject
+    ShardManager shardManager;
+    @Inject
+    StandbyWarmer standbyWarmer;
 
     public AbstractController() {
         this(null);
     }
 
-    @SneakyThrows
     public AbstractController(KubernetesClient client) {
         this.client = client;
-        this.validator = createValidator();
-
     }
 
-    private Validator createValidator() {
-        final HibernateValidatorConfiguration configuration = (HibernateValidatorConfiguration)
-                Validation.byDefaultProvider().configure();
-        configuration.addMapping(getConstraintMapping(configuration,
-                PulsarClusterSpec.class,
-                GlobalSpec.class,
-                ZooKeeperSpec.class,
-                BookKeeperSpec.class,
-                BrokerSpec.class,
-                ProxySpec.class,
-                AutorecoverySpec.class,
-                BastionSpec.class,
-                FunctionsWorkerSpec.class
-        ));
-        return configuration.buildValidatorFactory().getValidator();
+    public void setOperatorRuntimeConfiguration(OperatorRuntimeConfiguration operatorRuntimeConfiguration) {
+        this.operatorRuntimeConfiguration = operatorRuntimeConfiguration;
     }
 
-    private ConstraintMapping getConstraintMapping(HibernateValidatorConfiguration configuration,
-                                                   Class<? extends ConstraintValidator<ValidSpec, ?>>... validateBy) {
-        final ConstraintMapping mapping = configuration.createConstraintMapping();
-        final ConstraintDefinitionContext<ValidSpec> definitionContext =
-                mapping.constraintDefinition(ValidSpec.class)
-                        .includeExistingValidators(true);
+    public void setShardManager(ShardManager shardManager) {
+        this.shardManager = shardManager;
+    }
 
-        for (Class<? extends ConstraintValidator<ValidSpec, ?>> validator : validateBy) {
-            definitionContext.validatedBy(validator);
-        }
-        return mapping;
+    public void setStandbyWarmer(StandbyWarmer standbyWarmer) {
+        this.standbyWarmer = standbyWarmer;
     }
 
     @Override
@@ -115,11 +92,35 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                 resource.getFullResourceName(), resource.getMetadata().getGeneration());
         long start = System.nanoTime();
 
+        if (shardManager == null) {
+            return reconcileOwned(resource, context, start);
+        }
+        final String namespace = resource.getMetadata().getNamespace();
+        final String clusterName = resource.getSpec().getGlobalSpec().getName();
+        if (!shardManager.startReconciliation(namespace, clusterName)) {
+            log.debugf("%s is owned by another operator replica", resource.getFullResourceName());
+            // check again later, the shard might be assigned to this replica in the meantime
+            final UpdateControl<T> update = UpdateControl.noUpdate();
+            update.rescheduleAfter(shardManager.getLeaseDuration().toSeconds(), TimeUnit.SECONDS);
+            return update;
+        }
+        try {
+            return reconcileOwned(resource, context, start);
+        } finally {
+            // the shard can be released to another replica once the reconciliation is completed
+            shardManager.endReconciliation(namespace, clusterName);
+        }
+    }
+
+    private UpdateControl<T> reconcileOwned(T resource, Context<T> context, long start) throws Exception {
         final GlobalSpec globalSpec = resource.getSpec().getGlobalSpec();
         globalSpec.applyDefaults(null);
         resource.getSpec().applyDefaults(globalSpec);
 
-        String lastApplied = resource.getStatus().getLastApplied();
+        final String storedLastApplied = resource.getStatus().getLastApplied();
+        String lastApplied = storedLastApplied;
+        Map<String, String> lastAppliedFingerprints = resource.getStatus().getLastAppliedFingerprints();
+        resource.getStatus().setLastApplied(readLastApplied(resource));
 
         final String validationErrorMessage = validate(resource);
         if (validationErrorMessage != null) {
@@ -127,7 +128,7 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                     mergeConditions(resource.getStatus().getConditions(), List.of(createNotReadyCondition(
                             resource, CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC, validationErrorMessage
                     )), Instant.now());
-            resource.setStatus(new BaseComponentStatus(conditions, lastApplied));
+            resource.setStatus(new BaseComponentStatus(conditions, storedLastApplied, lastAppliedFingerprints));
             return UpdateControl.updateStatus(resource);
         }
 
@@ -141,17 +142,28 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                     Instant.now());
             reschedule = reconciliationResult.isReschedule();
             if (!reconciliationResult.isSkipLastAppliedUpdate()) {
+                final String lastAppliedJson;
                 if (reconciliationResult.getOverrideLastApplied() != null) {
-                    lastApplied = reconciliationResult.getOverrideLastApplied();
+                    lastAppliedJson = reconciliationResult.getOverrideLastApplied();
+                    lastAppliedFingerprints = reconciliationResult.getOverrideLastAppliedFingerprints();
                 } else {
-                    lastApplied = SerializationUtil.writeAsJson(resource.getSpec());
+                    lastAppliedJson = SerializationUtil.writeAsJson(resource.getSpec());
+                    lastAppliedFingerprints = new HashMap<>();
+                    if (reconciliationResult.getOverrideLastAppliedFingerprints() != null) {
+                        lastAppliedFingerprints.putAll(reconciliationResult.getOverrideLastAppliedFingerprints());
+                    }
+                    lastAppliedFingerprints.put(LAST_APPLIED_FINGERPRINT_SPEC,
+                            SpecDiffer.generateFingerprint(resource.getSpec()));
                 }
+                lastApplied = writeLastApplied(resource, storedLastApplied, lastAppliedJson);
             }
         } catch (Throwable throwable) {
             log.errorf(throwable, "Error during reconciliation for resource %s with name %s: %s",
                     resource.getFullResourceName(),
                     resource.getMetadata().getName(),
                     throwable.getMessage());
+            // generate the resources from scratch at the next attempt
+            GeneratedResourcesCache.invalidate(resource.getMetadata().getNamespace());
             conditions = mergeConditions(resource.getStatus().getConditions(), List.of(createNotReadyCondition(
                     resource, CRDConstants.CONDITIONS_TYPE_READY_REASON_GENERIC_ERROR, throwable.getMessage()
             )), Instant.now());
@@ -173,11 +185,14 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                 resource.getFullResourceName(),
                 time, reschedule + "", conditionsStr);
 
-        resource.setStatus(new BaseComponentStatus(conditions, lastApplied));
+        resource.setStatus(new BaseComponentStatus(conditions, lastApplied, lastAppliedFingerprints));
         final UpdateControl<T> update = UpdateControl.updateStatus(resource);
         if (reschedule) {
             update.rescheduleAfter(operatorRuntimeConfiguration.reconciliationRescheduleSeconds(), TimeUnit.SECONDS);
         }
+        if (standbyWarmer != null) {
+            standbyWarmer.onReconciled();
+        }
         return update;
     }
 
@@ -188,11 +203,12 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
             this(reschedule, conditions, false);
         }
         public ReconciliationResult(boolean reschedule, List<Condition> conditions, boolean skipLastAppliedUpdate) {
-            this(reschedule, conditions, skipLastAppliedUpdate, null);
+            this(reschedule, conditions, skipLastAppliedUpdate, null, null);
         }
 
-        public ReconciliationResult(boolean reschedule, List<Condition> conditions, String overrideLastApplied) {
-            this(reschedule, conditions, false, overrideLastApplied);
+        public ReconciliationResult(boolean reschedule, List<Condition> conditions, String overrideLastApplied,
+                                    Map<String, String> overrideLastAppliedFingerprints) {
+            this(reschedule, conditions, false, overrideLastApplied, overrideLastAppliedFingerprints);
         }
 
 
@@ -200,25 +216,15 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         List<Condition> conditions;
         boolean skipLastAppliedUpdate;
         String overrideLastApplied;
+        // if overrideLastApplied is not set, the spec fingerprint is added to these ones
+        Map<String, String> overrideLastAppliedFingerprints;
     }
 
 
     protected abstract ReconciliationResult patchResources(T resource, Context<T> context) throws Exception;
 
     protected String validate(T resource) {
-        final Set<ConstraintViolation<Object>> violations = validator.validate(resource.getSpec());
-        if (violations.isEmpty()) {
-            return null;
-        }
-        List<String> errors = new ArrayList<>();
-        for (ConstraintViolation<Object> violation : violations) {
-            final String errorMessage = String.format("invalid configuration property \"%s\" for value \"%s\": %s",
-                    violation.getPropertyPath(), violation.getInvalidValue(),
-                    violation.getMessage());
-            log.error(errorMessage);
-            errors.add(errorMessage);
-        }
-        return errors.stream().collect(Collectors.joining(System.lineSeparator()));
+        return SpecValidator.validate(resource.getMetadata(), resource.getSpec());
     }
 
 
@@ -233,12 +239,75 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
                 .build();
     }
 
+    private String readLastApplied(T cr) {
+        final String stored = cr.getStatus().getLastApplied();
+        if (!LastAppliedCodec.isConfigMapReference(stored)) {
+            return LastAppliedCodec.decode(stored);
+        }
+        final String configMapName = LastAppliedCodec.getConfigMapName(stored);
+        final ConfigMap configMap = ApiRateLimiter.call(ApiPriority.READINESS, () -> client.configMaps()
+                .inNamespace(cr.getMetadata().getNamespace())
+                .withName(configMapName)
+                .get());
+        final String encoded = configMap == null || configMap.getData() == null
+                ? null : configMap.getData().get(LastAppliedCodec.CONFIGMAP_DATA_KEY);
+        if (!LastAppliedCodec.matchesConfigMapReference(stored, encoded)) {
+            log.warnf("Last applied ConfigMap %s for %s is missing or outdated, all the resources will be patched",
+                    configMapName, cr.getMetadata().getName());
+            return null;
+        }
+        return LastAppliedCodec.decode(encoded);
+    }
+
+    private String writeLastApplied(T cr, String storedLastApplied, String lastAppliedJson) {
+        final String encoded = LastAppliedCodec.encode(lastAppliedJson);
+        if (!OperatorRuntimeConfiguration.LAST_APPLIED_STORAGE_CONFIGMAP
+                .equals(operatorRuntimeConfiguration.lastAppliedStorage())) {
+            return encoded;
+        }
+        final String configMapName = "%s-lastapplied".formatted(cr.getMetadata().getName());
+        if (LastAppliedCodec.isConfigMapReference(storedLastApplied)
+                && configMapName.equals(LastAppliedCodec.getConfigMapName(storedLastApplied))
+                && LastAppliedCodec.matchesConfigMapReference(storedLastApplied, encoded)) {
+            return storedLastApplied;
+        }
+        final ConfigMap configMap = new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(configMapName)
+                .withNamespace(cr.getMetadata().getNamespace())
+                .withOwnerReferences(getOwnerReference(cr))
+                .withLabels(Map.of(CRDConstants.LABEL_APP, CRDConstants.LABEL_APP_VALUE))
+                .endMetadata()
+                .withData(Map.of(LastAppliedCodec.CONFIGMAP_DATA_KEY, encoded))
+                .build();
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resource(configMap)
+                .inNamespace(cr.getMetadata().getNamespace())
+                .createOrReplace());
+        return LastAppliedCodec.toConfigMapReference(configMapName, encoded);
+    }
+
     protected boolean areSpecChanged(T cr) {
         final String lastApplied = cr.getStatus().getLastApplied();
         if (lastApplied == null) {
             return true;
         }
-        return !SpecDiffer.generateDiff(cr.getSpec(), lastApplied).areEquals();
+        if (SpecDiffer.isSameFingerprint(cr.getSpec(), getLastAppliedFingerprint(cr, LAST_APPLIED_FINGERPRINT_SPEC))) {
+            return false;
+        }
+        final JSONComparator.Result diff = SpecDiffer.generateDiff(lastApplied, cr.getSpec());
+        if (diff.areEquals()) {
+            return false;
+        }
+        SpecDiffer.logDetailedSpecDiff(diff);
+        return true;
+    }
+
+    protected String getLastAppliedFingerprint(T cr, String key) {
+        final Map<String, String> fingerprints = cr.getStatus().getLastAppliedFingerprints();
+        if (fingerprints == null) {
+            return null;
+        }
+        return fingerprints.get(key);
     }
 
     protected  <SPEC> SPEC getLastAppliedResource(T cr, Class<SPEC> toClass) {
@@ -293,9 +362,9 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         return createNotReadyCondition(generation, CRDConstants.CONDITIONS_TYPE_READY_REASON_INITIALIZING, null);
     }
 
-    private List<Condition> mergeConditions(List<Condition> previousConditions,
-                                            List<Condition> newConditions,
-                                            Instant now) {
+    public static List<Condition> mergeConditions(List<Condition> previousConditions,
+                                                  List<Condition> newConditions,
+                                                  Instant now) {
 
         List<Condition> result = new ArrayList<>();
 
@@ -335,7 +404,7 @@ public abstract class AbstractController<T extends CustomResource<? extends Full
         return result;
     }
 
-    private Condition copyConditionWithLastTransitionTime(Instant now, Condition updated) {
+    private static Condition copyConditionWithLastTransitionTime(Instant now, Condition updated) {
         return new ConditionBuilder()
                 .withType(updated.getType())
                 .withObservedGeneration(updated.getObservedGeneration())
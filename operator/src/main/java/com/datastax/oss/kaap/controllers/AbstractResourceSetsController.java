@@ -17,16 +17,20 @@ package com.datastax.oss.kaap.controllers;
 
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
-import com.datastax.oss.kaap.crds.ConfigUtil;
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
+import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +38,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
 
 @JBossLog
@@ -104,8 +107,13 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
 
         SETSLASTAPPLIED lastAppliedResource = readSetsLastApplied(resource);
         final SETSLASTAPPLIED clonedLastAppliedResource = SerializationUtil.deepCloneObject(lastAppliedResource);
+        final Map<String, String> fingerprints = new HashMap<>();
 
-        if (!SpecDiffer.generateDiff(lastAppliedResource.getCommon(), spec).areEquals()) {
+        final String commonFingerprint = SpecDiffer.generateFingerprint(spec);
+        fingerprints.put(LAST_APPLIED_FINGERPRINT_SPEC, commonFingerprint);
+        final boolean isCommonUnchanged = lastAppliedResource.getCommon() != null
+                && commonFingerprint.equals(getLastAppliedFingerprint(resource, LAST_APPLIED_FINGERPRINT_SPEC));
+        if (!isCommonUnchanged && !SpecDiffer.generateDiff(lastAppliedResource.getCommon(), spec).areEquals()) {
 
             final String defaultSetName = getDefaultSetName();
             final SPEC setSpec = getSpec(spec);
@@ -117,20 +125,34 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         }
 
         final boolean isRollingUpdate = isRollingUpdate(spec);
+        final String specWithoutSetsFingerprint = generateFingerprintWithoutSets(spec);
         boolean allSetsReady = true;
+        List<String> rollouts = new ArrayList<>();
         for (SetInfo<SETSPEC, FACTORY> info : desiredSets) {
             final String setName = info.getName();
             final FULLSPEC lastApplied = lastAppliedResource.getSets().get(setName);
+            final String setFingerprintKey = getSetFingerprintKey(setName);
+            final String setFingerprint = generateSetFingerprint(specWithoutSetsFingerprint, spec, setName);
 
-            final JSONComparator.Result compResult = compareLastAppliedSetSpec(resource, info, spec, lastApplied);
+            final JSONComparator.Result compResult;
+            if (lastApplied != null
+                    && setFingerprint.equals(getLastAppliedFingerprint(resource, setFingerprintKey))) {
+                compResult = JSONComparator.RESULT_EQUALS;
+            } else {
+                compResult = compareLastAppliedSetSpec(resource, info, spec, lastApplied);
+            }
             final boolean areEquals = compResult.areEquals();
             if (areEquals) {
+                fingerprints.put(setFingerprintKey, setFingerprint);
                 final ReconciliationResult result = checkReady(resource, info);
                 if (result.isReschedule()) {
                     allSetsReady = false;
+                    collectRollingOutMessages(result, rollouts);
                     if (isRollingUpdate) {
                         log.infof("%s-set '%s' is not ready, rescheduling", componentNameForLogs, setName);
-                        result.setOverrideLastApplied(SerializationUtil.writeAsJson(lastAppliedResource));
+                        result.setOverrideLastApplied(
+                                LastAppliedCodec.writeSetsLastApplied(lastAppliedResource));
+                        result.setOverrideLastAppliedFingerprints(fingerprints);
                         return result;
                     } else {
                         log.infof("%s-set '%s' is not ready", componentNameForLogs, setName);
@@ -144,13 +166,16 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
                 log.infof("%s-set '%s' patched", componentNameForLogs, setName);
 
                 // this might happen if the replica has been set to zero
-                final boolean isReady = !checkReady(resource, info).isReschedule();
+                final ReconciliationResult readyResult = checkReady(resource, info);
+                final boolean isReady = !readyResult.isReschedule();
                 if (!isReady) {
                     allSetsReady = false;
+                    collectRollingOutMessages(readyResult, rollouts);
                 }
                 lastAppliedResource.getSets().put(setName, spec);
+                fingerprints.put(setFingerprintKey, setFingerprint);
                 if (!isReady && isRollingUpdate) {
-                    return newNotReadyResult(resource, lastAppliedResource);
+                    return newNotReadyResult(resource, lastAppliedResource, fingerprints, rollouts);
                 }
             }
         }
@@ -158,35 +183,87 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
             log.infof("All %s-sets ready", componentNameForLogs);
             cleanupDeletedSets(clonedLastAppliedResource.getCommon(),
                     resource, desiredSets, lastAppliedResource);
-            return newReadyResult(resource, lastAppliedResource);
+            return newReadyResult(resource, lastAppliedResource, fingerprints);
         } else {
-            return newNotReadyResult(resource, lastAppliedResource);
+            return newNotReadyResult(resource, lastAppliedResource, fingerprints, rollouts);
         }
     }
 
+    private static String getSetFingerprintKey(String setName) {
+        return "sets.%s".formatted(setName);
+    }
+
+    private String generateFingerprintWithoutSets(FULLSPEC spec) {
+        final FULLSPEC withoutSets = SerializationUtil.deepCloneObject(spec);
+        final Map<String, SETSPEC> sets = getSets(getSpec(withoutSets));
+        if (sets != null) {
+            sets.clear();
+        }
+        return SpecDiffer.generateFingerprint(withoutSets);
+    }
+
+    /**
+     * The set fingerprint covers the spec without the sets plus the spec of the set itself,
+     * which is the same portion of the spec compared by {@link #compareLastAppliedSetSpec}.
+     */
+    private String generateSetFingerprint(String specWithoutSetsFingerprint, FULLSPEC spec, String setName) {
+        final Map<String, SETSPEC> sets = getSets(getSpec(spec));
+        final SETSPEC setSpec = sets == null ? null : sets.get(setName);
+        return SpecDiffer.generateFingerprint(Arrays.asList(specWithoutSetsFingerprint, setName, setSpec));
+    }
+
     protected abstract JSONComparator.Result compareLastAppliedSetSpec(T resource, SetInfo<SETSPEC, FACTORY> setInfo, FULLSPEC spec,
                                                                        FULLSPEC lastApplied);
 
     protected abstract SETSLASTAPPLIED readSetsLastApplied(T resource);
 
     private ReconciliationResult newReadyResult(T resource,
-                                                SetsLastApplied<FULLSPEC> lastAppliedResource) {
+                                                SetsLastApplied<FULLSPEC> lastAppliedResource,
+                                                Map<String, String> fingerprints) {
         return new ReconciliationResult(
                 false,
                 List.of(createReadyCondition(resource)),
-                SerializationUtil.writeAsJson(lastAppliedResource)
+                LastAppliedCodec.writeSetsLastApplied(lastAppliedResource),
+                fingerprints
         );
     }
 
     protected ReconciliationResult newNotReadyResult(T resource,
-                                                     SetsLastApplied<FULLSPEC> lastAppliedResource) {
+                                                     SetsLastApplied<FULLSPEC> lastAppliedResource,
+                                                     Map<String, String> fingerprints,
+                                                     List<String> rollouts) {
+        final Condition condition = rollouts.isEmpty()
+                ? createNotReadyInitializingCondition(resource)
+                : createNotReadyCondition(resource, CRDConstants.CONDITIONS_TYPE_READY_REASON_ROLLING_OUT,
+                String.join("; ", rollouts));
+        return new ReconciliationResult(
+                true,
+                List.of(condition),
+                LastAppliedCodec.writeSetsLastApplied(lastAppliedResource),
+                fingerprints
+        );
+    }
+
+    /**
+     * Result of a set whose StatefulSet is being rolled out by the operator.
+     */
+    protected ReconciliationResult newRollingOutResult(T resource, String setName,
+                                                       PartitionedRollout.Progress progress) {
         return new ReconciliationResult(
                 true,
-                List.of(createNotReadyInitializingCondition(resource)),
-                SerializationUtil.writeAsJson(lastAppliedResource)
+                List.of(createNotReadyCondition(resource, CRDConstants.CONDITIONS_TYPE_READY_REASON_ROLLING_OUT,
+                        "%s-set '%s': %s".formatted(componentNameForLogs, setName, progress.describe())))
         );
     }
 
+    private static void collectRollingOutMessages(ReconciliationResult result, List<String> rollouts) {
+        for (Condition condition : result.getConditions()) {
+            if (CRDConstants.CONDITIONS_TYPE_READY_REASON_ROLLING_OUT.equals(condition.getReason())) {
+                rollouts.add(condition.getMessage());
+            }
+        }
+    }
+
 
     private void cleanupDeletedSets(FULLSPEC lastAppliedFullSpec, T resource,
                                     List<SetInfo<SETSPEC, FACTORY>> sets,
@@ -234,21 +311,7 @@ public abstract class AbstractResourceSetsController<T extends CustomResource<FU
         return result;
     }
 
-    @SneakyThrows
     protected LinkedHashMap<String, SETSPEC> getSetSpecs(SPEC spec) {
-        Map<String, SETSPEC> sets = getSets(spec);
-        if (sets == null || sets.isEmpty()) {
-            final String defaultSetName = getDefaultSetName();
-            sets = new LinkedHashMap(Map.of(defaultSetName,
-                    ConfigUtil.applyDefaultsWithReflection(spec.getClass().getConstructor().newInstance(),
-                            () -> spec)));
-        } else {
-            for (Map.Entry<String, SETSPEC> set : sets.entrySet()) {
-                sets.put(set.getKey(),
-                        ConfigUtil.applyDefaultsWithReflection(set.getValue(), () -> spec)
-                );
-            }
-        }
-        return new LinkedHashMap<>(sets);
+        return SetSpecsResolver.applyDefaults(spec, getSets(spec), getDefaultSetName());
     }
 }
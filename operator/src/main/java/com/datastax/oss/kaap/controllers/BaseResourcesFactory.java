@@ -25,11 +25,15 @@ import com.datastax.oss.kaap.crds.configs.AntiAffinityConfig;
 import com.datastax.oss.kaap.crds.configs.AuthConfig;
 import com.datastax.oss.kaap.crds.configs.PodDisruptionBudgetConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
 import com.datastax.oss.kaap.crds.configs.StorageClassConfig;
 import com.datastax.oss.kaap.crds.configs.VolumeConfig;
 import com.datastax.oss.kaap.crds.configs.tls.TlsConfig;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.Affinity;
 import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.EnvVar;
@@ -43,17 +47,22 @@ import io.fabric8.kubernetes.api.model.PodCondition;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.ProbeBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceAccount;
 import io.fabric8.kubernetes.api.model.ServiceAccountBuilder;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
 import io.fabric8.kubernetes.api.model.apps.ReplicaSetStatus;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetStatus;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategy;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudgetBuilder;
@@ -72,12 +81,15 @@ import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.VersionInfo;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.extern.jbosslog.JBossLog;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -95,15 +107,21 @@ public abstract class BaseResourcesFactory<T> {
     protected final GlobalSpec global;
     protected final String resourceName;
     protected final OwnerReference ownerReference;
+    private final String specJson;
+    private final String globalJson;
     private VersionInfo version;
+    private String inputsFingerprint;
 
     public BaseResourcesFactory(KubernetesClient client, String namespace, String resourceName, T spec,
                                 GlobalSpec global, OwnerReference ownerReference) {
         this.client = client;
         this.namespace = namespace;
         // clone spec objects to avoid unintended object modifications.
-        this.spec = SerializationUtil.deepCloneObject(spec);
-        this.global = SerializationUtil.deepCloneObject(global);
+        // the serialized specs are kept to fingerprint the inputs of the generated resources.
+        this.specJson = spec == null ? null : SerializationUtil.writeAsJson(spec);
+        this.globalJson = global == null ? null : SerializationUtil.writeAsJson(global);
+        this.spec = spec == null ? null : (T) SerializationUtil.readJson(specJson, spec.getClass());
+        this.global = global == null ? null : SerializationUtil.readJson(globalJson, GlobalSpec.class);
         this.resourceName = resourceName;
         this.ownerReference = ownerReference;
     }
@@ -111,6 +129,51 @@ public abstract class BaseResourcesFactory<T> {
 
     protected abstract String getComponentBaseName();
 
+    /**
+     * Generate a resource, or get a copy of the one already generated from the same inputs.
+     * The spec, the global spec and the resource name are always part of the inputs; any other state read by the
+     * generator, like the existence of a resource in the cluster, must be passed in {@code additionalInputs}.
+     */
+    protected <R extends HasMetadata> R generateCached(Class<R> kind, String name, Supplier<R> generator,
+                                                       UnaryOperator<R> copier, Object... additionalInputs) {
+        String fingerprint = getInputsFingerprint();
+        if (additionalInputs.length > 0) {
+            fingerprint += Arrays.toString(additionalInputs);
+        }
+        return GeneratedResourcesCache.get(namespace, kind, name, fingerprint, generator, copier);
+    }
+
+    protected StatefulSet generateCachedStatefulSet(String name, Supplier<StatefulSet> generator,
+                                                    Object... additionalInputs) {
+        return generateCached(StatefulSet.class, name, generator, sts -> new StatefulSetBuilder(sts).build(),
+                additionalInputs);
+    }
+
+    protected Deployment generateCachedDeployment(String name, Supplier<Deployment> generator,
+                                                  Object... additionalInputs) {
+        return generateCached(Deployment.class, name, generator,
+                deployment -> new DeploymentBuilder(deployment).build(), additionalInputs);
+    }
+
+    protected Service generateCachedService(String name, Supplier<Service> generator, Object... additionalInputs) {
+        return generateCached(Service.class, name, generator, service -> new ServiceBuilder(service).build(),
+                additionalInputs);
+    }
+
+    protected ConfigMap generateCachedConfigMap(String name, Supplier<ConfigMap> generator,
+                                                Object... additionalInputs) {
+        return generateCached(ConfigMap.class, name, generator,
+                configMap -> new ConfigMapBuilder(configMap).build(), additionalInputs);
+    }
+
+    private String getInputsFingerprint() {
+        if (inputsFingerprint == null) {
+            inputsFingerprint = DigestUtils.sha256Hex(String.join("\n", getClass().getName(), resourceName,
+                    String.valueOf(specJson), String.valueOf(globalJson)));
+        }
+        return inputsFingerprint;
+    }
+
     protected abstract boolean isComponentEnabled();
 
     private static boolean isImmutableResource(Class<? extends HasMetadata> resourceClass) {
@@ -131,74 +194,74 @@ public abstract class BaseResourcesFactory<T> {
         if (ownerReference != null && !isNonNamespacedResource(resource.getClass())) {
             resource.getMetadata().setOwnerReferences(List.of(ownerReference));
         }
-        final R current = (R) client.resources(resource.getClass())
+        final R current = (R) ApiRateLimiter.call(ApiPriority.PATCH, () -> client.resources(resource.getClass())
                 .inNamespace(namespace)
                 .withName(resource.getMetadata().getName())
-                .get();
+                .get());
         final boolean isImmutableResource = isImmutableResource(resource.getClass());
         if (current == null || isImmutableResource) {
             if (current != null && isImmutableResource) {
-                client
+                ApiRateLimiter.run(ApiPriority.PATCH, () -> client
                         .resource(current)
                         .inNamespace(namespace)
                         .withPropagationPolicy(DeletionPropagation.BACKGROUND)
-                        .delete();
+                        .delete());
             }
             if (isComponentEnabled()) {
-                client.resource(resource)
+                ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resource(resource)
                         .inNamespace(namespace)
-                        .create();
+                        .create());
             } else {
                 log.infof("Skipping creating resource %s since component is disabled",
                         resource.getFullResourceName());
             }
         } else {
-            client
+            ApiRateLimiter.run(ApiPriority.PATCH, () -> client
                     .resource(current)
                     .inNamespace(namespace)
-                    .patch(resource);
+                    .patch(resource));
         }
     }
 
     public void deleteStatefulSet() {
-        client.apps().statefulSets()
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.apps().statefulSets()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .delete();
+                .delete());
     }
 
     public void deleteDeployment() {
-        client.apps().deployments()
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.apps().deployments()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .delete();
+                .delete());
     }
 
     public void deleteService() {
-        client.services()
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.services()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .delete();
+                .delete());
     }
 
     public void deletePodDisruptionBudget() {
-        client.policy().v1().podDisruptionBudget()
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.policy().v1().podDisruptionBudget()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .delete();
+                .delete());
     }
 
     protected void deleteConfigMap(String resourceName) {
-        client.configMaps()
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.configMaps()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .delete();
+                .delete());
     }
 
     public void deleteStorageClass() {
-        client.storage().v1().storageClasses()
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.storage().v1().storageClasses()
                 .withName(resourceName)
-                .delete();
+                .delete());
     }
 
     public void deleteConfigMap() {
@@ -390,6 +453,22 @@ public abstract class BaseResourcesFactory<T> {
                         ZooKeeperResourcesFactory.DEFAULT_CLIENT_PORT);
     }
 
+    /**
+     * ZooKeeper connect string for a client component.
+     *
+     * @param useObservers whether the component is configured to connect to the ZooKeeper observers
+     */
+    protected String getZkServers(Boolean useObservers) {
+        if (useObservers == null || !useObservers) {
+            return getZkServers();
+        }
+        return "%s-%s.%s:%d".formatted(global.getName(),
+                ZooKeeperResourcesFactory.getObserversCaServiceName(global.getComponents().getZookeeperBaseName()),
+                getServiceDnsSuffix(),
+                isTlsEnabledOnZooKeeper() ? ZooKeeperResourcesFactory.DEFAULT_CLIENT_TLS_PORT :
+                        ZooKeeperResourcesFactory.DEFAULT_CLIENT_PORT);
+    }
+
     private String getBrokerWebServiceUrl(boolean tls) {
         return getBrokerWebServiceUrl(tls, global, namespace);
     }
@@ -655,24 +734,27 @@ public abstract class BaseResourcesFactory<T> {
         }
         final boolean pdbSupported = isPdbSupported();
 
-        final PodDisruptionBudget pdbResource = new PodDisruptionBudgetBuilder()
-                .withNewMetadata()
-                .withName(resourceName)
-                .withNamespace(namespace)
-                .withAnnotations(getAnnotations(customAnnotations))
-                .withLabels(getLabels(customLabels))
-                .endMetadata()
-                .withNewSpec()
-                .withNewSelector()
-                .withMatchLabels(getMatchLabels(customMatchLabels))
-                .endSelector()
-                .withNewMaxUnavailable(pdb.getMaxUnavailable())
-                .endSpec()
-                .build();
+        final PodDisruptionBudget pdbResource = generateCached(PodDisruptionBudget.class, resourceName, () -> {
+            final PodDisruptionBudget generated = new PodDisruptionBudgetBuilder()
+                    .withNewMetadata()
+                    .withName(resourceName)
+                    .withNamespace(namespace)
+                    .withAnnotations(getAnnotations(customAnnotations))
+                    .withLabels(getLabels(customLabels))
+                    .endMetadata()
+                    .withNewSpec()
+                    .withNewSelector()
+                    .withMatchLabels(getMatchLabels(customMatchLabels))
+                    .endSelector()
+                    .withNewMaxUnavailable(pdb.getMaxUnavailable())
+                    .endSpec()
+                    .build();
 
-        if (!pdbSupported) {
-            pdbResource.setApiVersion("policy/v1beta1");
-        }
+            if (!pdbSupported) {
+                generated.setApiVersion("policy/v1beta1");
+            }
+            return generated;
+        }, generated -> new PodDisruptionBudgetBuilder(generated).build(), pdbSupported);
 
         patchResource(pdbResource);
     }
@@ -685,6 +767,15 @@ public abstract class BaseResourcesFactory<T> {
         return annotations;
     }
 
+    protected Map<String, String> getAnnotations(Map<String, String> customAnnotations,
+                                                 JvmMemorySettings memorySettings) {
+        final Map<String, String> annotations = getAnnotations(customAnnotations);
+        if (memorySettings != null) {
+            annotations.put(JvmMemorySettings.ANNOTATION, memorySettings.describe());
+        }
+        return annotations;
+    }
+
     protected Map<String, String> getPodAnnotations(
             Map<String, String> customPodAnnotations,
             ConfigMap configMap) {
@@ -744,27 +835,35 @@ public abstract class BaseResourcesFactory<T> {
     }
 
     public StatefulSet getStatefulSet() {
-        return client.apps().statefulSets()
+        return ApiRateLimiter.call(ApiPriority.READINESS, () -> client.apps().statefulSets()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .get();
+                .get());
+    }
+
+    protected StatefulSetUpdateStrategy getStatefulSetUpdateStrategy(StatefulSetUpdateStrategy updateStrategy,
+                                                                     RolloutConfig rollout, int replicas) {
+        if (!PartitionedRollout.isEnabled(rollout)) {
+            return updateStrategy;
+        }
+        return PartitionedRollout.getUpdateStrategy(updateStrategy, rollout, replicas, getStatefulSet() != null);
     }
 
     public Deployment getDeployment() {
-        return client.apps().deployments()
+        return ApiRateLimiter.call(ApiPriority.READINESS, () -> client.apps().deployments()
                 .inNamespace(namespace)
                 .withName(resourceName)
-                .get();
+                .get());
     }
 
     public Job getJob(String name) {
-        return client
+        return ApiRateLimiter.call(ApiPriority.READINESS, () -> client
                 .batch()
                 .v1()
                 .jobs()
                 .inNamespace(namespace)
                 .withName(name)
-                .get();
+                .get());
     }
 
     public Job getJob() {
@@ -821,9 +920,10 @@ public abstract class BaseResourcesFactory<T> {
             return false;
         }
 
-        final List<ReplicaSet> replicaSets = client.apps().replicaSets()
-                .inNamespace(deployment.getMetadata().getNamespace())
-                .list()
+        final List<ReplicaSet> replicaSets = ApiRateLimiter.call(ApiPriority.READINESS, () -> client.apps()
+                        .replicaSets()
+                        .inNamespace(deployment.getMetadata().getNamespace())
+                        .list())
                 .getItems()
                 .stream()
                 .filter(r -> r.getMetadata().getOwnerReferences().get(0).getUid()
@@ -0,0 +1,92 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Resources generated by the resources factories, cached by the inputs they are generated from.
+ * There is an entry for each namespace, kind and name, with the fingerprint of the inputs: the resource is generated
+ * again as soon as one of the inputs changes, and the entry is replaced.
+ * The cached resources are never returned, callers always get a copy they can modify.
+ * The resources factories cache their StatefulSets, Deployments, Services, ConfigMaps and PodDisruptionBudgets.
+ */
+@JBossLog
+public class GeneratedResourcesCache {
+
+    static final int MAX_CACHED_RESOURCES = 1024;
+
+    private record Key(String namespace, Class<?> kind, String name) {
+    }
+
+    private record Entry(String fingerprint, HasMetadata resource) {
+    }
+
+    private static final Map<Key, Entry> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > MAX_CACHED_RESOURCES;
+                }
+            });
+
+    private GeneratedResourcesCache() {
+    }
+
+    /**
+     * Get a copy of the resource generated with the same inputs, or generate it.
+     *
+     * @param fingerprint fingerprint of all the inputs of the generator
+     * @param copier      deep copy of the resource
+     * @return the resource, null if the generator returns null
+     */
+    public static <R extends HasMetadata> R get(String namespace, Class<R> kind, String name, String fingerprint,
+                                                Supplier<R> generator, UnaryOperator<R> copier) {
+        final Key key = new Key(namespace, kind, name);
+        final Entry cached = CACHE.get(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)) {
+            log.debugf("Using cached %s %s/%s", kind.getSimpleName(), namespace, name);
+            return copier.apply(kind.cast(cached.resource()));
+        }
+        final R generated = generator.get();
+        if (generated == null) {
+            CACHE.remove(key);
+            return null;
+        }
+        CACHE.put(key, new Entry(fingerprint, copier.apply(generated)));
+        return generated;
+    }
+
+    public static void invalidate(String namespace) {
+        synchronized (CACHE) {
+            CACHE.keySet().removeIf(key -> key.namespace().equals(namespace));
+        }
+    }
+
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    static int size() {
+        return CACHE.size();
+    }
+}
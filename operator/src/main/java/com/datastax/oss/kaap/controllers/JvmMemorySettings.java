@@ -0,0 +1,202 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.crds.CRDConstants;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * JVM memory settings derived from the container resources, according to the component memory profile.
+ */
+@Getter
+public class JvmMemorySettings {
+
+    public static final String ANNOTATION = "%s/memory-profile".formatted(CRDConstants.GROUP);
+    private static final long MB = 1024 * 1024;
+
+    private final String memorySource;
+    private final long containerMemoryMb;
+    private final long reservedMemoryMb;
+    private final double heapRatio;
+    private final long heapMb;
+    private final double directMemoryRatio;
+    private final long directMemoryMb;
+    private final int gcThreads;
+    private final Long writeCacheMb;
+    private final Long readAheadCacheMb;
+
+    private JvmMemorySettings(String memorySource, long containerMemoryMb, long reservedMemoryMb, double heapRatio,
+                              double directMemoryRatio, int gcThreads, Double writeCacheRatio,
+                              Double readAheadCacheRatio) {
+        this.memorySource = memorySource;
+        this.containerMemoryMb = containerMemoryMb;
+        this.reservedMemoryMb = reservedMemoryMb;
+        final long availableMemoryMb = Math.max(0, containerMemoryMb - reservedMemoryMb);
+        this.heapRatio = heapRatio;
+        this.heapMb = Math.max(1, (long) (availableMemoryMb * heapRatio));
+        this.directMemoryRatio = directMemoryRatio;
+        this.directMemoryMb = (long) (availableMemoryMb * directMemoryRatio);
+        this.gcThreads = gcThreads;
+        this.writeCacheMb = writeCacheRatio == null ? null : (long) (directMemoryMb * writeCacheRatio);
+        this.readAheadCacheMb = readAheadCacheRatio == null ? null : (long) (directMemoryMb * readAheadCacheRatio);
+    }
+
+    /**
+     * Compute the settings for a container.
+     *
+     * @param profile the memory profile configured in the spec
+     * @param componentDefaults the component default ratios
+     * @param resources the container resources
+     * @return null if the memory profile is disabled or the container doesn't declare any memory limit or request
+     */
+    public static JvmMemorySettings compute(MemoryProfileConfig profile,
+                                            MemoryProfileConfig componentDefaults,
+                                            ResourceRequirements resources) {
+        return compute(profile, componentDefaults, resources, 0);
+    }
+
+    /**
+     * Compute the settings for a container that uses part of its memory outside of the JVM.
+     *
+     * @param profile the memory profile configured in the spec
+     * @param componentDefaults the component default ratios
+     * @param resources the container resources
+     * @param reservedMemoryMb memory counted in the container memory but not available to the JVM, for example
+     *                         memory-backed volumes
+     * @return null if the memory profile is disabled or the container doesn't declare any memory limit or request
+     */
+    public static JvmMemorySettings compute(MemoryProfileConfig profile,
+                                            MemoryProfileConfig componentDefaults,
+                                            ResourceRequirements resources,
+                                            long reservedMemoryMb) {
+        if (profile == null || profile.getEnabled() == null || !profile.getEnabled() || resources == null) {
+            return null;
+        }
+        String memorySource = "limit";
+        Quantity memory = getQuantity(resources.getLimits(), "memory");
+        if (memory == null) {
+            memorySource = "request";
+            memory = getQuantity(resources.getRequests(), "memory");
+        }
+        if (memory == null) {
+            return null;
+        }
+        final long containerMemoryMb = toMb(memory);
+
+        Quantity cpu = getQuantity(resources.getLimits(), "cpu");
+        if (cpu == null) {
+            cpu = getQuantity(resources.getRequests(), "cpu");
+        }
+        final int gcThreads = cpu == null ? 1
+                : Math.max(1, cpu.getNumericalAmount().setScale(0, RoundingMode.CEILING).intValue());
+
+        return new JvmMemorySettings(memorySource, containerMemoryMb, reservedMemoryMb,
+                ObjectUtils.firstNonNull(profile.getHeapRatio(), componentDefaults.getHeapRatio()),
+                ObjectUtils.firstNonNull(profile.getDirectMemoryRatio(), componentDefaults.getDirectMemoryRatio()),
+                gcThreads,
+                ObjectUtils.firstNonNull(profile.getWriteCacheRatio(), componentDefaults.getWriteCacheRatio()),
+                ObjectUtils.firstNonNull(profile.getReadAheadCacheRatio(),
+                        componentDefaults.getReadAheadCacheRatio())
+        );
+    }
+
+    /**
+     * Check that the effective ratios of an enabled memory profile fit in the container memory.
+     *
+     * @param profile the memory profile configured in the spec
+     * @param componentDefaults the component default ratios
+     * @return the violation message, null if the profile is valid or disabled
+     */
+    public static String validate(MemoryProfileConfig profile, MemoryProfileConfig componentDefaults) {
+        if (profile == null || profile.getEnabled() == null || !profile.getEnabled()) {
+            return null;
+        }
+        final double heapRatio = ObjectUtils.firstNonNull(profile.getHeapRatio(), componentDefaults.getHeapRatio());
+        final double directMemoryRatio = ObjectUtils.firstNonNull(profile.getDirectMemoryRatio(),
+                componentDefaults.getDirectMemoryRatio());
+        if (heapRatio + directMemoryRatio >= 1) {
+            return ("memoryProfile.heapRatio (%s) + memoryProfile.directMemoryRatio (%s) must be lower than 1, "
+                    + "the JVM needs memory outside of the heap and the direct memory").formatted(heapRatio,
+                    directMemoryRatio);
+        }
+        final Double writeCacheRatio = ObjectUtils.firstNonNull(profile.getWriteCacheRatio(),
+                componentDefaults.getWriteCacheRatio());
+        final Double readAheadCacheRatio = ObjectUtils.firstNonNull(profile.getReadAheadCacheRatio(),
+                componentDefaults.getReadAheadCacheRatio());
+        if (writeCacheRatio != null && readAheadCacheRatio != null && writeCacheRatio + readAheadCacheRatio > 1) {
+            return ("memoryProfile.writeCacheRatio (%s) + memoryProfile.readAheadCacheRatio (%s) must not exceed 1, "
+                    + "both caches are allocated from the direct memory").formatted(writeCacheRatio,
+                    readAheadCacheRatio);
+        }
+        return null;
+    }
+
+    public static long toMb(Quantity quantity) {
+        return quantity.getNumericalAmount()
+                .divide(BigDecimal.valueOf(MB), 0, RoundingMode.DOWN)
+                .longValue();
+    }
+
+    private static Quantity getQuantity(Map<String, Quantity> quantities, String name) {
+        return quantities == null ? null : quantities.get(name);
+    }
+
+    /**
+     * Heap and direct memory options.
+     */
+    public String getMemoryOpts() {
+        String opts = "-Xms%dm -Xmx%dm".formatted(heapMb, heapMb);
+        if (directMemoryMb > 0) {
+            opts += " -XX:MaxDirectMemorySize=%dm".formatted(directMemoryMb);
+        }
+        return opts;
+    }
+
+    public String getGcOpts() {
+        return "-XX:+UseG1GC -XX:MaxGCPauseMillis=10 -XX:+ParallelRefProcEnabled -XX:+DisableExplicitGC "
+                + "-XX:ParallelGCThreads=%d -XX:ConcGCThreads=%d".formatted(gcThreads, Math.max(1, gcThreads / 4));
+    }
+
+    /**
+     * Human-readable description of the derivation, stored in the ConfigMap annotation.
+     */
+    public String describe() {
+        List<String> parts = new ArrayList<>();
+        parts.add("container memory %dMi (%s)".formatted(containerMemoryMb, memorySource));
+        if (reservedMemoryMb > 0) {
+            parts.add("reserved %dMi".formatted(reservedMemoryMb));
+        }
+        parts.add("heap %dm (%s)".formatted(heapMb, heapRatio));
+        parts.add("direct memory %dm (%s)".formatted(directMemoryMb, directMemoryRatio));
+        parts.add("gc threads %d".formatted(gcThreads));
+        if (writeCacheMb != null) {
+            parts.add("write cache %dMB".formatted(writeCacheMb));
+        }
+        if (readAheadCacheMb != null) {
+            parts.add("read-ahead cache %dMB".formatted(readAheadCacheMb));
+        }
+        return String.join(", ", parts);
+    }
+}
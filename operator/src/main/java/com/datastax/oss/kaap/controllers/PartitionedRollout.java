@@ -0,0 +1,286 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategy;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategyBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Operator-driven StatefulSet rollout.
+ * The StatefulSet is patched with a rolling update partition equal to the replicas, so Kubernetes doesn't restart
+ * any pod by itself. At each reconciliation, once the pods above the partition are updated, ready and healthy, the
+ * partition is lowered by the batch size and the pods of the new batch are deleted at the same time.
+ */
+@JBossLog
+public class PartitionedRollout {
+
+    public static final String POD_REVISION_LABEL = "controller-revision-hash";
+
+    @FunctionalInterface
+    public interface PodHealthCheck {
+        boolean isHealthy(Pod pod);
+    }
+
+    /**
+     * Called before the partition is lowered for the next batch, at each reconciliation until it returns true.
+     * It must not block: the rollout waits by rescheduling the reconciliation.
+     */
+    @FunctionalInterface
+    public interface BeforePodsDeletion {
+        boolean beforeDeletion(List<Pod> pods);
+
+        /**
+         * What the rollout is waiting for while {@link #beforeDeletion(List)} returns false.
+         */
+        default String describeWaiting(String podNames) {
+            return "pods %s to be drained".formatted(podNames);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Progress {
+        private int replicas;
+        private int updated;
+        private int partition;
+        private String waitingFor;
+
+        public String describe() {
+            final String progress = "%d/%d pods updated, partition %d".formatted(updated, replicas, partition);
+            return waitingFor == null ? progress : "%s, waiting for %s".formatted(progress, waitingFor);
+        }
+    }
+
+    private final BaseResourcesFactory<?> resourcesFactory;
+    private final RolloutConfig config;
+    private final String rack;
+    private final PodHealthCheck healthCheck;
+    private final BeforePodsDeletion beforePodsDeletion;
+    private final int maxBatchSize;
+
+    public PartitionedRollout(BaseResourcesFactory<?> resourcesFactory, RolloutConfig config, String rack,
+                              PodHealthCheck healthCheck) {
+        this(resourcesFactory, config, rack, healthCheck, null);
+    }
+
+    public PartitionedRollout(BaseResourcesFactory<?> resourcesFactory, RolloutConfig config, String rack,
+                              PodHealthCheck healthCheck, BeforePodsDeletion beforePodsDeletion) {
+        this(resourcesFactory, config, rack, healthCheck, beforePodsDeletion, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxBatchSize upper bound of the configured batch size. The pods are deleted directly, without going
+     *                     through the pod disruption budget: a set that can't lose more than one pod at a time must
+     *                     pass 1.
+     */
+    public PartitionedRollout(BaseResourcesFactory<?> resourcesFactory, RolloutConfig config, String rack,
+                              PodHealthCheck healthCheck, BeforePodsDeletion beforePodsDeletion,
+                              int maxBatchSize) {
+        this.resourcesFactory = resourcesFactory;
+        this.config = config;
+        this.rack = rack;
+        this.healthCheck = healthCheck;
+        this.beforePodsDeletion = beforePodsDeletion;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public static boolean isEnabled(RolloutConfig config) {
+        return config != null && config.getEnabled() != null && config.getEnabled();
+    }
+
+    /**
+     * Update strategy to set in the StatefulSet.
+     * A new StatefulSet is created without partition; an existing one is held at the current revision until the
+     * operator lowers the partition.
+     */
+    public static StatefulSetUpdateStrategy getUpdateStrategy(StatefulSetUpdateStrategy updateStrategy,
+                                                              RolloutConfig config,
+                                                              int replicas,
+                                                              boolean exists) {
+        if (!isEnabled(config)) {
+            return updateStrategy;
+        }
+        return new StatefulSetUpdateStrategyBuilder()
+                .withType("RollingUpdate")
+                .withNewRollingUpdate()
+                .withPartition(exists ? replicas : 0)
+                .endRollingUpdate()
+                .build();
+    }
+
+    public static int computeBatchSize(RolloutConfig config, int replicas, String rack) {
+        int batchSize;
+        if (config.getBatchSizePercentage() != null) {
+            batchSize = (int) Math.ceil(replicas * config.getBatchSizePercentage() / 100.0d);
+        } else {
+            batchSize = config.getBatchSize() == null ? 1 : config.getBatchSize();
+        }
+        final boolean keepRackAvailable = config.getKeepRackAvailable() == null || config.getKeepRackAvailable();
+        if (keepRackAvailable && rack != null) {
+            // every pod of the set runs in the same rack
+            batchSize = Math.min(batchSize, replicas - 1);
+        }
+        return Math.max(1, batchSize);
+    }
+
+    public static int getPartition(StatefulSet sts) {
+        final StatefulSetUpdateStrategy updateStrategy = sts.getSpec().getUpdateStrategy();
+        if (updateStrategy == null || updateStrategy.getRollingUpdate() == null
+                || updateStrategy.getRollingUpdate().getPartition() == null) {
+            return 0;
+        }
+        return updateStrategy.getRollingUpdate().getPartition();
+    }
+
+    /**
+     * Move the rollout forward by at most one batch.
+     *
+     * @param sts the current StatefulSet
+     * @return the rollout progress, null if no rollout is in progress
+     */
+    public Progress advance(StatefulSet sts) {
+        if (sts == null || sts.getStatus() == null || sts.getSpec().getReplicas() == null) {
+            return null;
+        }
+        final String updateRevision = sts.getStatus().getUpdateRevision();
+        if (updateRevision == null || Objects.equals(updateRevision, sts.getStatus().getCurrentRevision())) {
+            return null;
+        }
+        final String stsName = sts.getMetadata().getName();
+        final int replicas = sts.getSpec().getReplicas();
+        final int partition = Math.min(getPartition(sts), replicas);
+        final int batchSize = Math.min(computeBatchSize(config, replicas, rack), Math.max(1, maxBatchSize));
+        final Map<Integer, Pod> pods = getPodsByOrdinal(sts);
+
+        int updated = 0;
+        for (Pod pod : pods.values()) {
+            if (isUpdated(pod, updateRevision)) {
+                updated++;
+            }
+        }
+
+        String waitingFor = null;
+        List<Pod> toDelete = new ArrayList<>();
+        for (int ordinal = replicas - 1; ordinal >= partition; ordinal--) {
+            final Pod pod = pods.get(ordinal);
+            final String podName = "%s-%d".formatted(stsName, ordinal);
+            String podWaitingFor = null;
+            if (pod == null) {
+                podWaitingFor = "pod %s to be created".formatted(podName);
+            } else if (!isUpdated(pod, updateRevision)) {
+                // deleted pods above the partition are recreated with the new revision
+                if (pod.getMetadata().getDeletionTimestamp() == null) {
+                    toDelete.add(pod);
+                }
+                podWaitingFor = "pod %s to be updated".formatted(podName);
+            } else if (!BaseResourcesFactory.isPodReady(pod)) {
+                podWaitingFor = "pod %s to be ready".formatted(podName);
+            } else if (waitingFor == null && ordinal < partition + batchSize && !healthCheck.isHealthy(pod)) {
+                // the pods of the previous batches have already been checked
+                podWaitingFor = "pod %s to be healthy".formatted(podName);
+            }
+            if (waitingFor == null) {
+                waitingFor = podWaitingFor;
+            }
+        }
+        deletePods(toDelete);
+        if (waitingFor != null || partition == 0) {
+            log.infof("Rollout of %s: %d/%d pods updated, partition %d, waiting for %s", stsName, updated, replicas,
+                    partition, waitingFor == null ? "the statefulset" : waitingFor);
+            return new Progress(replicas, updated, partition, waitingFor);
+        }
+
+        final int newPartition = Math.max(0, partition - batchSize);
+        final List<Pod> batch = new ArrayList<>();
+        for (int ordinal = newPartition; ordinal < partition; ordinal++) {
+            final Pod pod = pods.get(ordinal);
+            if (pod != null && !isUpdated(pod, updateRevision)) {
+                batch.add(pod);
+            }
+        }
+        // the pods are prepared before lowering the partition, Kubernetes deletes them as soon as it's lowered
+        if (beforePodsDeletion != null && !batch.isEmpty() && !beforePodsDeletion.beforeDeletion(batch)) {
+            waitingFor = beforePodsDeletion.describeWaiting(batch.stream()
+                    .map(pod -> pod.getMetadata().getName())
+                    .collect(Collectors.joining(", ")));
+            log.infof("Rollout of %s: %d/%d pods updated, partition %d, waiting for %s", stsName, updated, replicas,
+                    partition, waitingFor);
+            return new Progress(replicas, updated, partition, waitingFor);
+        }
+        log.infof("Rollout of %s: %d/%d pods updated, lowering partition from %d to %d", stsName, updated, replicas,
+                partition, newPartition);
+        final StatefulSet patched = SerializationUtil.deepCloneObject(sts);
+        patched.getSpec().getUpdateStrategy().getRollingUpdate().setPartition(newPartition);
+        patched.getMetadata().setResourceVersion(null);
+        patched.setStatus(null);
+        resourcesFactory.patchResource(patched);
+        deletePods(batch);
+        return new Progress(replicas, updated, newPartition, null);
+    }
+
+    private Map<Integer, Pod> getPodsByOrdinal(StatefulSet sts) {
+        final String stsName = sts.getMetadata().getName();
+        final List<Pod> pods = ApiRateLimiter.call(ApiPriority.READINESS, () -> resourcesFactory.client.pods()
+                        .inNamespace(resourcesFactory.namespace)
+                        .withLabels(sts.getSpec().getSelector().getMatchLabels())
+                        .list())
+                .getItems();
+        Map<Integer, Pod> result = new HashMap<>();
+        for (Pod pod : pods) {
+            final String podName = pod.getMetadata().getName();
+            if (!podName.startsWith(stsName + "-")) {
+                continue;
+            }
+            final String ordinal = podName.substring(stsName.length() + 1);
+            if (ordinal.isEmpty() || !ordinal.chars().allMatch(Character::isDigit)) {
+                continue;
+            }
+            result.put(Integer.parseInt(ordinal), pod);
+        }
+        return result;
+    }
+
+    private static boolean isUpdated(Pod pod, String updateRevision) {
+        final Map<String, String> labels = pod.getMetadata().getLabels();
+        return labels != null && updateRevision.equals(labels.get(POD_REVISION_LABEL));
+    }
+
+    private void deletePods(List<Pod> pods) {
+        for (Pod pod : pods) {
+            final String podName = pod.getMetadata().getName();
+            log.infof("Deleting pod %s to roll it to the new revision", podName);
+            ApiRateLimiter.run(ApiPriority.PATCH, () -> resourcesFactory.client.pods()
+                    .inNamespace(resourcesFactory.namespace)
+                    .withName(podName)
+                    .delete());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
 import com.datastax.oss.kaap.controllers.broker.BrokerController;
 import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.controllers.proxy.ProxyController;
 import com.datastax.oss.kaap.controllers.utils.CertManagerCertificatesProvisioner;
 import com.datastax.oss.kaap.controllers.utils.TokenAuthProvisioner;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
@@ -43,35 +44,54 @@ import com.datastax.oss.kaap.crds.configs.AuthConfig;
 import com.datastax.oss.kaap.crds.configs.tls.TlsConfig;
 import com.datastax.oss.kaap.crds.function.FunctionsWorker;
 import com.datastax.oss.kaap.crds.function.FunctionsWorkerFullSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerSpec;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
 import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxySetSpec;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperFullSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import com.datastax.oss.kaap.sharding.ShardManager;
+import io.fabric8.certmanager.api.model.v1.Certificate;
+import io.fabric8.certmanager.api.model.v1.Issuer;
 import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
-import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceContext;
+import io.javaoperatorsdk.operator.api.reconciler.EventSourceInitializer;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.Cache;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
 import io.quarkus.runtime.ShutdownEvent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
 
-@ControllerConfiguration(namespaces = Constants.WATCH_CURRENT_NAMESPACE, name = "pulsar-cluster-app")
+@ControllerConfiguration(name = "pulsar-cluster-app")
 @JBossLog
 @ApplicationScoped
-public class PulsarClusterController extends AbstractController<PulsarCluster> {
+public class PulsarClusterController extends AbstractController<PulsarCluster>
+        implements EventSourceInitializer<PulsarCluster> {
 
     public static final String CUSTOM_RESOURCE_BROKER = "broker";
     public static final String CUSTOM_RESOURCE_BOOKKEEPER = "bookkeeper";
@@ -85,6 +105,9 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         return "%s-%s".formatted(clusterSpec.getGlobal().getName(), customResourceName);
     }
 
+    private static final String LAST_APPLIED_FINGERPRINT_AUTH = "auth";
+    private static final String LAST_APPLIED_FINGERPRINT_TLS = "tls";
+
     private final AutoscalerDaemon autoscaler;
 
     public PulsarClusterController(KubernetesClient client) {
@@ -92,6 +115,37 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         autoscaler = new AutoscalerDaemon(client);
     }
 
+    /**
+     * Watch the token secrets and the cert-manager resources, so that a deleted one triggers a reconciliation of the
+     * clusters in its namespace. Only the delete events are propagated. The cert-manager resources are watched only if
+     * the cert-manager CRDs are installed.
+     */
+    @Override
+    public Map<String, EventSource> prepareEventSources(EventSourceContext<PulsarCluster> context) {
+        final List<EventSource> eventSources = new ArrayList<>();
+        eventSources.add(newDeleteEventSource(context, Secret.class, TokenAuthProvisioner.LABEL_TOKEN_AUTH));
+        if (context.getClient().supports(Issuer.class) && context.getClient().supports(Certificate.class)) {
+            eventSources.add(newDeleteEventSource(context, Issuer.class, null));
+            eventSources.add(newDeleteEventSource(context, Certificate.class, null));
+        } else {
+            log.info("cert-manager CRDs not found, not watching the issuers and certificates");
+        }
+        return EventSourceInitializer.nameEventSources(eventSources.toArray(new EventSource[0]));
+    }
+
+    private static <R extends HasMetadata> InformerEventSource<R, PulsarCluster> newDeleteEventSource(
+            EventSourceContext<PulsarCluster> context, Class<R> resourceClass, String labelSelector) {
+        return new InformerEventSource<>(InformerConfiguration.from(resourceClass, context)
+                .withLabelSelector(labelSelector)
+                .withSecondaryToPrimaryMapper(r -> context.getPrimaryCache()
+                        .list(r.getMetadata().getNamespace())
+                        .map(ResourceID::fromResource)
+                        .collect(Collectors.toSet()))
+                .withOnAddFilter(r -> false)
+                .withOnUpdateFilter((newResource, oldResource) -> false)
+                .build(), context);
+    }
+
     @Override
     protected ReconciliationResult patchResources(PulsarCluster resource, Context<PulsarCluster> context)
             throws Exception {
@@ -99,9 +153,16 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         final String currentNamespace = resource.getMetadata().getNamespace();
         final PulsarClusterSpec clusterSpec = resource.getSpec();
 
+        final Map<String, String> provisioningFingerprints =
+                provisionSecurity(resource, currentNamespace, clusterSpec, context);
+        final ReconciliationResult result = patchComponents(resource, currentNamespace, clusterSpec);
+        result.setOverrideLastAppliedFingerprints(provisioningFingerprints);
+        return result;
+    }
+
+    private ReconciliationResult patchComponents(PulsarCluster resource, String currentNamespace,
+                                                 PulsarClusterSpec clusterSpec) {
         final List<OwnerReference> ownerReference = List.of(getOwnerReference(resource));
-        generateSecretsIfAbsent(currentNamespace, clusterSpec);
-        setupTls(currentNamespace, clusterSpec);
 
         if (!checkReadyOrPatchZooKeeper(currentNamespace, clusterSpec, ownerReference)) {
             log.info("waiting for zookeeper to become ready");
@@ -126,6 +187,7 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
 
         adjustProxyFunctionsWorkerDeployment(clusterSpec);
         final boolean proxyReady = checkReadyOrPatchProxy(currentNamespace, clusterSpec, ownerReference);
+        autoscaler.getProxyAutoscalerDaemon().onSpecChange(clusterSpec, currentNamespace);
 
         adjustBastionTarget(clusterSpec);
         final boolean bastionReady = checkReadyOrPatchBastion(currentNamespace, clusterSpec, ownerReference);
@@ -133,6 +195,7 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         if (brokerReady) {
             functionsWorkerReady =
                     checkReadyOrPatchFunctionsWorker(currentNamespace, clusterSpec, ownerReference);
+            autoscaler.getFunctionsWorkerAutoscalerDaemon().onSpecChange(clusterSpec, currentNamespace);
         }
         final boolean autorecoveryReady = checkReadyOrPatchAutorecovery(currentNamespace, clusterSpec, ownerReference);
 
@@ -253,6 +316,43 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         }
     }
 
+    private void adjustProxyReplicas(Proxy current, PulsarClusterSpec clusterSpec) {
+        if (clusterSpec.getProxy() != null) {
+            final LinkedHashMap<String, ProxySetSpec> desiredSpecs =
+                    ProxyController.getProxySetSpecs(clusterSpec.getProxy());
+            final LinkedHashMap<String, ProxySetSpec> currentSpecs =
+                    ProxyController.getProxySetSpecs(current.getSpec().getProxy());
+
+            for (Map.Entry<String, ProxySetSpec> currentSet : currentSpecs.entrySet()) {
+                final ProxySetSpec desiredSetSpec = desiredSpecs.get(currentSet.getKey());
+                if (desiredSetSpec != null
+                        && desiredSetSpec.getAutoscaler() != null
+                        && desiredSetSpec.getAutoscaler().getEnabled()) {
+                    final ProxySetSpec currentSetSpec = currentSet.getValue();
+                    if (currentSetSpec.getReplicas() != null) {
+                        final Integer currentReplicas = currentSetSpec.getReplicas();
+                        // do not update replicas if patching, leave whatever the autoscaler have set
+                        clusterSpec.getProxy().getProxySetSpecRef(currentSet.getKey())
+                                .setReplicas(currentReplicas);
+                    }
+                }
+            }
+        }
+    }
+
+    private void adjustFunctionsWorkerReplicas(FunctionsWorker current, PulsarClusterSpec clusterSpec) {
+        final FunctionsWorkerSpec desiredSpec = clusterSpec.getFunctionsWorker();
+        if (desiredSpec != null
+                && desiredSpec.getAutoscaler() != null
+                && desiredSpec.getAutoscaler().getEnabled()) {
+            final Integer currentReplicas = current.getSpec().getFunctionsWorker().getReplicas();
+            // do not update replicas if patching, leave whatever the autoscaler have set
+            if (currentReplicas != null && currentReplicas > 0 && desiredSpec.getReplicas() > 0) {
+                desiredSpec.setReplicas(currentReplicas);
+            }
+        }
+    }
+
     private boolean checkReadyOrPatchZooKeeper(String currentNamespace, PulsarClusterSpec clusterSpec,
                                                List<OwnerReference> ownerReference) {
         return checkReadyOrPatch(
@@ -376,11 +476,20 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
             if (CUSTOM_RESOURCE_BROKER.equals(customResourceName)) {
                 adjustBrokerReplicas((Broker) current, clusterSpec);
             }
+            if (CUSTOM_RESOURCE_PROXY.equals(customResourceName)) {
+                adjustProxyReplicas((Proxy) current, clusterSpec);
+            }
+            if (CUSTOM_RESOURCE_FUNCTIONS_WORKER.equals(customResourceName)) {
+                adjustFunctionsWorkerReplicas((FunctionsWorker) current, clusterSpec);
+            }
             final SPEC currentSpec = current.getSpec();
 
-            final String currentAsJson = SerializationUtil.writeAsJson(currentSpec);
-            final String newSpecAsJson = SerializationUtil.writeAsJson(spec);
-            final JSONComparator.Result diff = SpecDiffer.generateDiff(currentAsJson, newSpecAsJson);
+            final boolean sameFingerprint = SpecDiffer.isSameFingerprint(spec,
+                    SpecDiffer.generateFingerprint(currentSpec));
+            final String currentAsJson = sameFingerprint ? null : SerializationUtil.writeAsJson(currentSpec);
+            final String newSpecAsJson = sameFingerprint ? null : SerializationUtil.writeAsJson(spec);
+            final JSONComparator.Result diff = sameFingerprint
+                    ? JSONComparator.RESULT_EQUALS : SpecDiffer.generateDiff(currentAsJson, newSpecAsJson);
             if (diff.areEquals()) {
                 final BaseComponentStatus currentStatus = (BaseComponentStatus) current.getStatus();
                 final Condition readyCondition = currentStatus.getConditions().stream()
@@ -408,10 +517,10 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         resource.setSpec(spec);
 
 
-        resourceClient
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> resourceClient
                 .inNamespace(namespace)
                 .resource(resource)
-                .createOrReplace();
+                .createOrReplace());
         log.infof("Patched custom resource %s with name %s ", customResourceName, crFullName);
         return false;
     }
@@ -420,13 +529,44 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
     protected <CR extends CustomResource<SPEC, ?>, SPEC> CR getExistingCustomResource(
             Class<CR> resourceClass, String namespace,
             String crFullName) {
-        return client.resources(resourceClass)
+        return ApiRateLimiter.call(ApiPriority.READINESS, () -> client.resources(resourceClass)
                 .inNamespace(namespace)
                 .withName(crFullName)
-                .get();
+                .get());
     }
 
 
+    /**
+     * Provision the token auth secrets and the TLS certificates only if the related configuration changed since the
+     * last reconciliation or if any of the provisioned resources has been deleted. The provisioned resources are
+     * looked up in the informer caches, a steady-state reconciliation doesn't call the API server.
+     */
+    private Map<String, String> provisionSecurity(PulsarCluster resource, String namespace,
+                                                  PulsarClusterSpec clusterSpec, Context<PulsarCluster> context) {
+        final Map<String, String> fingerprints = new HashMap<>();
+        final String authFingerprint = SpecDiffer.generateFingerprint(clusterSpec.getGlobal().getAuth());
+        if (authFingerprint == null
+                || !authFingerprint.equals(getLastAppliedFingerprint(resource, LAST_APPLIED_FINGERPRINT_AUTH))
+                || !areSecretsProvisioned(namespace, clusterSpec, context)) {
+            generateSecretsIfAbsent(namespace, clusterSpec);
+        } else {
+            log.debug("Auth config not changed, skipping token secrets provisioning");
+        }
+        if (authFingerprint != null) {
+            fingerprints.put(LAST_APPLIED_FINGERPRINT_AUTH, authFingerprint);
+        }
+
+        final String tlsFingerprint = CertManagerCertificatesProvisioner.generateFingerprint(namespace, clusterSpec);
+        if (!tlsFingerprint.equals(getLastAppliedFingerprint(resource, LAST_APPLIED_FINGERPRINT_TLS))
+                || !areCertificatesProvisioned(namespace, clusterSpec, context)) {
+            setupTls(namespace, clusterSpec);
+        } else {
+            log.debug("TLS config not changed, skipping certificates provisioning");
+        }
+        fingerprints.put(LAST_APPLIED_FINGERPRINT_TLS, tlsFingerprint);
+        return fingerprints;
+    }
+
     @SneakyThrows
     private void generateSecretsIfAbsent(String namespace, PulsarClusterSpec clusterSpec) {
         final AuthConfig auth = clusterSpec.getGlobal().getAuth();
@@ -439,26 +579,78 @@ public class PulsarClusterController extends AbstractController<PulsarCluster> {
         getTokenAuthProvisioner(namespace).generateSecretsIfAbsent(auth.getToken());
     }
 
+    private boolean areSecretsProvisioned(String namespace, PulsarClusterSpec clusterSpec,
+                                          Context<PulsarCluster> context) {
+        final AuthConfig auth = clusterSpec.getGlobal().getAuth();
+        if (auth == null || !auth.getEnabled()) {
+            return true;
+        }
+        final Cache<Secret> secrets = getSecondaryCache(context, Secret.class);
+        return getTokenAuthProvisioner(namespace).areSecretsProvisioned(auth.getToken(),
+                name -> isCached(secrets, namespace, name));
+    }
+
     @SneakyThrows
     private void setupTls(String namespace, PulsarClusterSpec clusterSpec) {
-        final TlsConfig tls = clusterSpec.getGlobal().getTls();
-        if (tls == null || !tls.getEnabled()) {
-            return;
-        }
-        final TlsConfig.CertProvisionerConfig certProvisioner = tls.getCertProvisioner();
-        if (certProvisioner == null
-                || certProvisioner.getSelfSigned() == null
-                || !certProvisioner.getSelfSigned().getEnabled()) {
+        if (!isSelfSignedCertProvisionerEnabled(clusterSpec)) {
             return;
         }
         new CertManagerCertificatesProvisioner(client, namespace, clusterSpec)
                 .generateCertificates();
     }
 
+    private boolean areCertificatesProvisioned(String namespace, PulsarClusterSpec clusterSpec,
+                                               Context<PulsarCluster> context) {
+        if (!isSelfSignedCertProvisionerEnabled(clusterSpec)) {
+            return true;
+        }
+        final Cache<Issuer> issuers = getSecondaryCache(context, Issuer.class);
+        final Cache<Certificate> certificates = getSecondaryCache(context, Certificate.class);
+        return new CertManagerCertificatesProvisioner(client, namespace, clusterSpec)
+                .areCertificatesProvisioned((type, name) -> isCached(type == Issuer.class ? issuers : certificates,
+                        namespace, name));
+    }
+
+    /**
+     * The informer cache of the secondary resources, null if they are not watched.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> Cache<R> getSecondaryCache(Context<PulsarCluster> context, Class<R> resourceClass) {
+        final EventSourceRetriever<PulsarCluster> retriever = context.eventSourceRetriever();
+        if (retriever == null || retriever.getResourceEventSourcesFor(resourceClass).isEmpty()) {
+            return null;
+        }
+        return (Cache<R>) retriever.getResourceEventSourceFor(resourceClass);
+    }
+
+    /**
+     * Without a watch only the fingerprints trigger the provisioning.
+     */
+    private static boolean isCached(Cache<?> cache, String namespace, String name) {
+        return cache == null || cache.get(new ResourceID(name, namespace)).isPresent();
+    }
+
+    private static boolean isSelfSignedCertProvisionerEnabled(PulsarClusterSpec clusterSpec) {
+        final TlsConfig tls = clusterSpec.getGlobal().getTls();
+        if (tls == null || !tls.getEnabled()) {
+            return false;
+        }
+        final TlsConfig.CertProvisionerConfig certProvisioner = tls.getCertProvisioner();
+        return certProvisioner != null
+                && certProvisioner.getSelfSigned() != null
+                && certProvisioner.getSelfSigned().getEnabled();
+    }
+
     protected TokenAuthProvisioner getTokenAuthProvisioner(String namespace) {
         return new TokenAuthProvisioner(client, namespace);
     }
 
+    void onShardsChanged(@Observes ShardManager.ShardsChanged event) {
+        if (autoscaler != null) {
+            autoscaler.cancelTasks((namespace, clusterName) -> !event.shardManager().isOwned(namespace, clusterName));
+        }
+    }
+
     void onStop(@Observes ShutdownEvent ev) {
         if (autoscaler != null) {
             autoscaler.close();
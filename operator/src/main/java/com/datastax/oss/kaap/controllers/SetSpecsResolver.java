@@ -0,0 +1,87 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.ConfigUtil;
+import com.datastax.oss.kaap.crds.SpecDiffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.SneakyThrows;
+
+/**
+ * Resolves the resource sets of a component spec, applying the component spec as defaults of each set.
+ * Results are memoized by the fingerprint of the component spec.
+ * The input spec is never modified and the returned set specs are shared between callers, so they must be treated
+ * as read-only.
+ */
+public class SetSpecsResolver<SPEC extends SETSPEC, SETSPEC> {
+
+    static final int MAX_CACHED_SPECS = 256;
+
+    private final String defaultSetName;
+    private final Function<SPEC, Map<String, SETSPEC>> setsGetter;
+    private final Map<String, LinkedHashMap<String, SETSPEC>> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LinkedHashMap<String, SETSPEC>> eldest) {
+                    return size() > MAX_CACHED_SPECS;
+                }
+            });
+
+    public SetSpecsResolver(String defaultSetName, Function<SPEC, Map<String, SETSPEC>> setsGetter) {
+        this.defaultSetName = defaultSetName;
+        this.setsGetter = setsGetter;
+    }
+
+    public LinkedHashMap<String, SETSPEC> resolve(SPEC spec) {
+        final String fingerprint = SpecDiffer.generateFingerprint(spec);
+        LinkedHashMap<String, SETSPEC> resolved = cache.get(fingerprint);
+        if (resolved == null) {
+            final SPEC cloned = SerializationUtil.deepCloneObject(spec);
+            resolved = applyDefaults(cloned, setsGetter.apply(cloned), defaultSetName);
+            cache.put(fingerprint, resolved);
+        }
+        return new LinkedHashMap<>(resolved);
+    }
+
+    int getCachedSpecsCount() {
+        return cache.size();
+    }
+
+    /**
+     * Apply the component spec as defaults of each set. The sets are updated in place.
+     * If no set is defined, a single set named {@code defaultSetName} is returned.
+     */
+    @SneakyThrows
+    public static <SPEC extends SETSPEC, SETSPEC> LinkedHashMap<String, SETSPEC> applyDefaults(
+            SPEC spec, Map<String, SETSPEC> sets, String defaultSetName) {
+        if (sets == null || sets.isEmpty()) {
+            sets = new LinkedHashMap(Map.of(defaultSetName,
+                    ConfigUtil.applyDefaultsWithReflection(spec.getClass().getConstructor().newInstance(),
+                            () -> spec)));
+        } else {
+            for (Map.Entry<String, SETSPEC> set : sets.entrySet()) {
+                sets.put(set.getKey(),
+                        ConfigUtil.applyDefaultsWithReflection(set.getValue(), () -> spec)
+                );
+            }
+        }
+        return new LinkedHashMap<>(sets);
+    }
+}
@@ -16,8 +16,10 @@
 package com.datastax.oss.kaap.controllers.autorecovery;
 
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.autorecovery.AutorecoverySpec;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Container;
@@ -41,6 +43,11 @@ import lombok.extern.jbosslog.JBossLog;
 @JBossLog
 public class AutorecoveryResourcesFactory extends BaseResourcesFactory<AutorecoverySpec> {
 
+    public static final MemoryProfileConfig DEFAULT_MEMORY_PROFILE = MemoryProfileConfig.builder()
+            .heapRatio(0.75)
+            .directMemoryRatio(0.0)
+            .build();
+
     public static String getComponentBaseName(GlobalSpec globalSpec) {
         return globalSpec.getComponents().getAutorecoveryBaseName();
     }
@@ -80,12 +87,21 @@ public class AutorecoveryResourcesFactory extends BaseResourcesFactory<Autorecov
     }
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
         Map<String, String> data = new HashMap<>();
         final String zkServers = getZkServers();
         data.put("reppDnsResolverClass", "org.apache.pulsar.zookeeper.ZkBookieRackAffinityMapping");
         data.put("zkServers", zkServers);
-        data.put("BOOKIE_MEM", "-Xms512m -Xmx512m -XX:+ExitOnOutOfMemoryError");
-        data.put("BOOKIE_GC", "-XX:+UseG1GC");
+        final JvmMemorySettings memorySettings = JvmMemorySettings.compute(spec.getMemoryProfile(),
+                DEFAULT_MEMORY_PROFILE, spec.getResources());
+        data.put("BOOKIE_MEM", (memorySettings == null ? "-Xms512m -Xmx512m" : memorySettings.getMemoryOpts())
+                + " -XX:+ExitOnOutOfMemoryError");
+        data.put("BOOKIE_GC", memorySettings == null ? "-XX:+UseG1GC" : memorySettings.getGcOpts());
         data.put("PULSAR_LOG_LEVEL", "info");
         data.put("PULSAR_LOG_ROOT_LEVEL", "info");
         data.put("PULSAR_EXTRA_OPTS", "-Dpulsar.log.root.level=info");
@@ -105,17 +121,15 @@ public class AutorecoveryResourcesFactory extends BaseResourcesFactory<Autorecov
 
         appendConfigData(data, spec.getConfig());
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
                 .withLabels(getLabels(spec.getLabels()))
-                .withAnnotations(getAnnotations(spec.getAnnotations()))
+                .withAnnotations(getAnnotations(spec.getAnnotations(), memorySettings))
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
     }
 
 
@@ -124,6 +138,11 @@ public class AutorecoveryResourcesFactory extends BaseResourcesFactory<Autorecov
             deleteDeployment();
             return;
         }
+        final Deployment deployment = generateCachedDeployment(resourceName, this::generateDeployment);
+        patchResource(deployment);
+    }
+
+    public Deployment generateDeployment() {
         Map<String, String> labels = getLabels(spec.getLabels());
         Map<String, String> podLabels = getPodLabels(spec.getPodLabels());
         Objects.requireNonNull(configMap, "ConfigMap should have been created at this point");
@@ -173,7 +192,7 @@ public class AutorecoveryResourcesFactory extends BaseResourcesFactory<Autorecov
                         .withVolumeMounts(volumeMounts)
                         .build()
         );
-        Deployment deployment = new DeploymentBuilder()
+        return new DeploymentBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -209,7 +228,6 @@ public class AutorecoveryResourcesFactory extends BaseResourcesFactory<Autorecov
                 .endTemplate()
                 .endSpec()
                 .build();
-        patchResource(deployment);
     }
 
 }
@@ -78,6 +78,12 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
     }
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
         Map<String, String> data = new HashMap<>();
         boolean targetProxy = spec.getTargetProxy() != null && spec.getTargetProxy();
         final String brokerServiceUrl = targetProxy ? getProxyServiceUrl() : getBrokerServiceUrl();
@@ -102,7 +108,7 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
 
         appendConfigData(data, spec.getConfig());
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -111,8 +117,6 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
     }
 
 
@@ -121,6 +125,11 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
             deleteDeployment();
             return;
         }
+        final Deployment deployment = generateCachedDeployment(resourceName, this::generateDeployment);
+        patchResource(deployment);
+    }
+
+    public Deployment generateDeployment() {
         Map<String, String> labels = getLabels(spec.getLabels());
         Map<String, String> podLabels = getPodLabels(spec.getPodLabels());
         Objects.requireNonNull(configMap, "ConfigMap should have been created at this point");
@@ -163,7 +172,7 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
                         .withEnv(spec.getEnv())
                         .build()
         );
-        Deployment deployment = new DeploymentBuilder()
+        return new DeploymentBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -199,7 +208,6 @@ public class BastionResourcesFactory extends BaseResourcesFactory<BastionSpec> {
                 .endTemplate()
                 .endSpec()
                 .build();
-        patchResource(deployment);
     }
 
 }
@@ -22,6 +22,8 @@ import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.AbstractResourceSetsController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.PartitionedRollout;
+import com.datastax.oss.kaap.controllers.SetSpecsResolver;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.BookKeeperRackDaemon;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.ZkClientRackClientFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
@@ -31,10 +33,13 @@ import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.sharding.ShardManager;
 import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.javaoperatorsdk.operator.api.reconciler.Constants;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import io.quarkus.runtime.ShutdownEvent;
 import java.util.ArrayList;
@@ -49,13 +54,16 @@ import lombok.NoArgsConstructor;
 import lombok.extern.jbosslog.JBossLog;
 
 
-@ControllerConfiguration(namespaces = Constants.WATCH_CURRENT_NAMESPACE, name = "pulsar-bk-controller")
+@ControllerConfiguration(name = "pulsar-bk-controller")
 @JBossLog
 public class BookKeeperController extends
         AbstractResourceSetsController<BookKeeper, BookKeeperFullSpec, BookKeeperSpec, BookKeeperSetSpec,
                 BookKeeperResourcesFactory,
                 BookKeeperController.BookKeeperSetsLastApplied> {
 
+    private static final SetSpecsResolver<BookKeeperSpec, BookKeeperSetSpec> SET_SPECS_RESOLVER =
+            new SetSpecsResolver<>(BookKeeperResourcesFactory.BOOKKEEPER_DEFAULT_SET, BookKeeperSpec::getSets);
+
     private final BookKeeperRackDaemon bkRackDaemon;
 
     public static List<String> enumerateBookKeeperSets(String clusterName, String componentBaseName,
@@ -79,7 +87,7 @@ public class BookKeeperController extends
     }
 
     public static LinkedHashMap<String, BookKeeperSetSpec> getBookKeeperSetSpecs(BookKeeperSpec spec) {
-        return new BookKeeperController(null).getSetSpecs(spec);
+        return SET_SPECS_RESOLVER.resolve(spec);
     }
 
     @Data
@@ -156,12 +164,62 @@ public class BookKeeperController extends
                     false,
                     List.of(createReadyCondition(resource))
             );
-        } else {
-            return new ReconciliationResult(
-                    true,
-                    List.of(createNotReadyInitializingCondition(resource))
-            );
         }
+        final RolloutConfig rollout = set.getSetSpec().getRollout();
+        if (sts != null && PartitionedRollout.isEnabled(rollout)) {
+            // a bookie that loses its journal on restart must be recovered before the next one is restarted
+            final boolean journalEphemeral = BookKeeperResourcesFactory.isJournalEphemeral(
+                    BookKeeperResourcesFactory.getJournalStorageType(set.getSetSpec()));
+            final PartitionedRollout.Progress progress = new PartitionedRollout(resourcesFactory, rollout,
+                    resourcesFactory.getRack(), newRolloutHealthCheck(resource, set),
+                    newRolloutReplicationCheck(resource, set), journalEphemeral ? 1 : Integer.MAX_VALUE)
+                    .advance(sts);
+            if (progress != null) {
+                return newRollingOutResult(resource, set.getName(), progress);
+            }
+        }
+        return new ReconciliationResult(
+                true,
+                List.of(createNotReadyInitializingCondition(resource))
+        );
+    }
+
+    /**
+     * Each batch of the rollout waits for the restarted bookies to be writable.
+     */
+    protected PartitionedRollout.PodHealthCheck newRolloutHealthCheck(
+            BookKeeper resource, SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> set) {
+        final String namespace = resource.getMetadata().getNamespace();
+        final BookieAdminClient bookieAdminClient = createBookieAdminClient(namespace, set.getName(),
+                resource.getSpec());
+        return pod -> bookieAdminClient.isWritable(BookieAdminClient.BookieInfo.builder()
+                .podResource(client.pods().inNamespace(namespace).withName(pod.getMetadata().getName()))
+                .build());
+    }
+
+    /**
+     * Each batch of the rollout waits for the ledgers of the previous batches to be fully replicated.
+     */
+    protected PartitionedRollout.BeforePodsDeletion newRolloutReplicationCheck(
+            BookKeeper resource, SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> set) {
+        final BookieAdminClient bookieAdminClient = createBookieAdminClient(resource.getMetadata().getNamespace(),
+                set.getName(), resource.getSpec());
+        return new PartitionedRollout.BeforePodsDeletion() {
+            @Override
+            public boolean beforeDeletion(List<Pod> pods) {
+                try {
+                    return bookieAdminClient.doesNotHaveUnderReplicatedLedgers();
+                } catch (Exception e) {
+                    log.warnf(e, "Error checking the under-replicated ledgers, the rollout is paused");
+                    return false;
+                }
+            }
+
+            @Override
+            public String describeWaiting(String podNames) {
+                return "no under-replicated ledgers before restarting %s".formatted(podNames);
+            }
+        };
     }
 
     private void cleanupOrphanPVCs(SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> setInfo,
@@ -243,8 +301,8 @@ public class BookKeeperController extends
                     .global(spec.getGlobal())
                     .bookkeeper(spec.getBookkeeper())
                     .build();
-            bkRackDaemon.cancelTasks();
             final String namespace = resource.getMetadata().getNamespace();
+            bkRackDaemon.cancelTasks(namespace);
             log.infof("Initializing bookie racks for bookkeeper-set '%s'", setInfo.getName());
             bkRackDaemon.triggerSync(namespace, spec);
             bkRackDaemon.onSpecChange(pulsarClusterSpec, namespace);
@@ -261,7 +319,8 @@ public class BookKeeperController extends
                 namespace,
                 lastApplied.getGlobalSpec(),
                 setName,
-                lastAppliedSetSpec);
+                lastAppliedSetSpec,
+                ApiPriority.READINESS);
     }
 
     @Override
@@ -280,6 +339,12 @@ public class BookKeeperController extends
                 .equals(bookKeeperFullSpec.getBookkeeper().getSetsUpdateStrategy());
     }
 
+    void onShardsChanged(@Observes ShardManager.ShardsChanged event) {
+        if (bkRackDaemon != null) {
+            bkRackDaemon.cancelTasks((namespace, clusterName) -> !event.shardManager().isOwned(namespace, clusterName));
+        }
+    }
+
     void onStop(@Observes ShutdownEvent ev) {
         if (bkRackDaemon != null) {
             bkRackDaemon.close();
@@ -16,21 +16,30 @@
 package com.datastax.oss.kaap.controllers.bookkeeper;
 
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
+import com.datastax.oss.kaap.controllers.PartitionedRollout;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
 import com.datastax.oss.kaap.crds.configs.ResourceSetConfig;
+import com.datastax.oss.kaap.crds.configs.VolumeConfig;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.ContainerPortBuilder;
 import io.fabric8.kubernetes.api.model.EnvFromSourceBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.HTTPGetActionBuilder;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.Probe;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.ServicePort;
@@ -50,6 +59,7 @@ import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.jbosslog.JBossLog;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 
 @JBossLog
 public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperSetSpec> {
@@ -58,6 +68,15 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
 
     public static final int DEFAULT_BK_PORT = 3181;
     public static final int DEFAULT_HTTP_PORT = 8000;
+    public static final String JOURNAL_DIRECTORY = "/pulsar/data/bookkeeper/journal";
+    public static final String LEDGERS_DIRECTORY = "/pulsar/data/bookkeeper/ledgers";
+    private static final String ENV_POD_NAME = "POD_NAME";
+    public static final MemoryProfileConfig DEFAULT_MEMORY_PROFILE = MemoryProfileConfig.builder()
+            .heapRatio(0.25)
+            .directMemoryRatio(0.5)
+            .writeCacheRatio(0.25)
+            .readAheadCacheRatio(0.25)
+            .build();
 
     public static List<String> getInitContainerNames(String clusterName, String baseName) {
         return List.of(getMainContainerName(clusterName, baseName));
@@ -67,6 +86,7 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         return "%s-metadata-format".formatted(getBookKeeperContainerName(global));
     }
 
+
     public static List<String> getContainerNames(String clusterName, String baseName) {
         return List.of(getMainContainerName(clusterName, baseName));
     }
@@ -120,6 +140,11 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
     }
 
     public void patchService() {
+        final Service service = generateCachedService(resourceName, this::generateService);
+        patchResource(service);
+    }
+
+    private Service generateService() {
         Map<String, String> annotations = new HashMap<>();
         annotations.put("service.alpha.kubernetes.io/tolerate-unready-endpoints", "true");
         if (spec.getService() != null && spec.getService().getAnnotations() != null) {
@@ -135,7 +160,7 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         }
 
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -149,12 +174,16 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
                 .withSelector(getMatchLabels(spec.getMatchLabels()))
                 .endSpec()
                 .build();
-
-        patchResource(service);
     }
 
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
         Map<String, String> data = new HashMap<>();
         // disable auto recovery on bookies since we will start AutoRecovery in separated pods
         data.put("autoRecoveryDaemonEnabled", "false");
@@ -164,17 +193,33 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         data.put("httpServerEnabled", "true");
         //Pulsar's metadata store based rack awareness solution
         data.put("reppDnsResolverClass", "org.apache.pulsar.zookeeper.ZkBookieRackAffinityMapping");
+        final List<String> journalDirectories = getJournalDirectories(spec);
+        if (journalDirectories.size() > 1) {
+            data.put("journalDirectories", String.join(",", journalDirectories));
+        }
+        final List<String> ledgerDirectories = getLedgerDirectories(spec);
+        if (ledgerDirectories.size() > 1) {
+            data.put("ledgerDirectories", String.join(",", ledgerDirectories));
+        }
 
 
-        data.put("BOOKIE_MEM", "-Xms2g -Xmx2g -XX:MaxDirectMemorySize=2g -Dio.netty.leakDetectionLevel=disabled "
+        final JvmMemorySettings memorySettings = JvmMemorySettings.compute(spec.getMemoryProfile(),
+                DEFAULT_MEMORY_PROFILE, spec.getResources(), getJournalMemoryMb(spec));
+        data.put("BOOKIE_MEM", (memorySettings == null ? "-Xms2g -Xmx2g -XX:MaxDirectMemorySize=2g"
+                : memorySettings.getMemoryOpts())
+                + " -Dio.netty.leakDetectionLevel=disabled "
                 + "-Dio.netty.recycler.linkCapacity=1024 -XX:+ExitOnOutOfMemoryError");
-        data.put("BOOKIE_GC", "-XX:+UseG1GC");
+        data.put("BOOKIE_GC", memorySettings == null ? "-XX:+UseG1GC" : memorySettings.getGcOpts());
+        if (memorySettings != null) {
+            data.put("dbStorage_writeCacheMaxSizeMb", memorySettings.getWriteCacheMb() + "");
+            data.put("dbStorage_readAheadCacheMaxSizeMb", memorySettings.getReadAheadCacheMb() + "");
+        }
         data.put("PULSAR_LOG_LEVEL", "info");
         data.put("PULSAR_LOG_ROOT_LEVEL", "info");
         data.put("PULSAR_EXTRA_OPTS", "-Dpulsar.log.root.level=info");
         data.put("statsProviderClass", "org.apache.bookkeeper.stats.prometheus.PrometheusMetricsProvider");
 
-        data.put("zkServers", getZkServers());
+        data.put("zkServers", getZkServers(global.getZookeeperObserverClients().getBookkeeper()));
         if (isTlsEnabledOnBookKeeper()) {
             data.put("tlsProvider", "OpenSSL");
             data.put("tlsProviderFactoryClass", "org.apache.bookkeeper.tls.TLSContextFactory");
@@ -190,17 +235,15 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         appendConfigData(data, spec.getConfig());
 
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
                 .withLabels(getLabels(spec.getLabels()))
-                .withAnnotations(getAnnotations(spec.getAnnotations()))
+                .withAnnotations(getAnnotations(spec.getAnnotations(), memorySettings))
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
     }
 
     public void patchStatefulSet() {
@@ -208,7 +251,9 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
             deleteStatefulSet();
             return;
         }
-        final StatefulSet statefulSet = generateStatefulSet();
+        // the partitioned rollout update strategy depends on the existence of the statefulset
+        final boolean exists = PartitionedRollout.isEnabled(spec.getRollout()) && getStatefulSet() != null;
+        final StatefulSet statefulSet = generateCachedStatefulSet(resourceName, this::generateStatefulSet, exists);
         patchResource(statefulSet);
     }
 
@@ -256,6 +301,10 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         if (tlsEnabledOnZooKeeper) {
             mainArg += generateCertConverterScript() + " && ";
         }
+        final BookKeeperSetSpec.JournalStorageType journalStorageType = getJournalStorageType(spec);
+        if (isJournalEphemeral(journalStorageType)) {
+            mainArg += generateJournalCheckScript(spec) + " && ";
+        }
 
         mainArg += "OPTS=\"${OPTS} -Dlog4j2.formatMsgNoLookups=true\" exec bin/pulsar bookie";
 
@@ -267,37 +316,26 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
             addTlsVolumesIfEnabled(volumeMounts, volumes, getTlsSecretNameForBookkeeper());
         }
 
-        final String journalVolumeName = getJournalPvPrefix(spec, resourceName);
-        final String ledgersVolumeName = getLedgersPvPrefix(spec, resourceName);
-
-        volumeMounts.add(new VolumeMountBuilder()
-                .withName(journalVolumeName)
-                .withMountPath("/pulsar/data/bookkeeper/journal")
-                .build());
-        volumeMounts.add(new VolumeMountBuilder()
-                .withName(ledgersVolumeName)
-                .withMountPath("/pulsar/data/bookkeeper/ledgers")
-                .build());
-
         List<PersistentVolumeClaim> persistentVolumeClaims = new ArrayList<>();
-        if (!global.getPersistence()) {
-            volumes.add(
-                    new VolumeBuilder()
-                            .withName(journalVolumeName)
-                            .withNewEmptyDir().endEmptyDir()
-                            .build()
-            );
-            volumes.add(
-                    new VolumeBuilder()
-                            .withName(ledgersVolumeName)
-                            .withNewEmptyDir().endEmptyDir()
-                            .build()
-            );
-        } else {
-            persistentVolumeClaims.add(createPersistentVolumeClaim(journalVolumeName, spec.getVolumes().getJournal(),
-                    labels));
-            persistentVolumeClaims.add(createPersistentVolumeClaim(ledgersVolumeName, spec.getVolumes().getLedgers(),
-                    labels));
+        final List<VolumeMount> journalVolumeMounts = new ArrayList<>();
+        addJournalVolumes(labels, journalVolumeMounts, volumes, persistentVolumeClaims);
+        volumeMounts.addAll(journalVolumeMounts);
+        final List<VolumeMount> ledgersVolumeMounts = new ArrayList<>();
+        addDataVolumes(getLedgersPvNames(spec, resourceName), getLedgerDirectories(spec),
+                spec.getVolumes().getLedgers(), labels, ledgersVolumeMounts, volumes, persistentVolumeClaims);
+        volumeMounts.addAll(ledgersVolumeMounts);
+
+        List<EnvVar> env = spec.getEnv();
+        Map<String, String> nodeSelectors = spec.getNodeSelectors();
+        if (isJournalEphemeral(journalStorageType)) {
+            env = new ArrayList<>(ObjectUtils.firstNonNull(env, List.of()));
+            env.addAll(getPodNameEnv());
+        }
+        final Map<String, String> journalNodeSelector = spec.getVolumes().getJournalStorage() == null
+                ? null : spec.getVolumes().getJournalStorage().getNodeSelector();
+        if (journalNodeSelector != null && !journalNodeSelector.isEmpty()) {
+            nodeSelectors = new HashMap<>(ObjectUtils.firstNonNull(nodeSelectors, Map.of()));
+            nodeSelectors.putAll(journalNodeSelector);
         }
 
 
@@ -324,7 +362,7 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
                         .endConfigMapRef()
                         .build())
                 .withVolumeMounts(volumeMounts)
-                .withEnv(spec.getEnv())
+                .withEnv(env)
                 .build();
         final List<Container> containers = getSidecars(spec.getSidecars());
         containers.add(mainContainer);
@@ -341,7 +379,8 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
                 .withNewSelector()
                 .withMatchLabels(getMatchLabels(spec.getMatchLabels()))
                 .endSelector()
-                .withUpdateStrategy(spec.getUpdateStrategy())
+                .withUpdateStrategy(getStatefulSetUpdateStrategy(spec.getUpdateStrategy(), spec.getRollout(),
+                        spec.getReplicas()))
                 .withPodManagementPolicy(spec.getPodManagementPolicy())
                 .withNewTemplate()
                 .withNewMetadata()
@@ -352,7 +391,7 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
                 .withTolerations(spec.getTolerations())
                 .withDnsConfig(global.getDnsConfig())
                 .withImagePullSecrets(spec.getImagePullSecrets())
-                .withNodeSelector(spec.getNodeSelectors())
+                .withNodeSelector(nodeSelectors)
                 .withAffinity(getAffinity(
                         spec.getNodeAffinity(),
                         spec.getAntiAffinity(),
@@ -373,6 +412,179 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         return statefulSet;
     }
 
+    private void addJournalVolumes(Map<String, String> labels, List<VolumeMount> volumeMounts,
+                                   List<Volume> volumes, List<PersistentVolumeClaim> persistentVolumeClaims) {
+        final List<String> volumeNames = getJournalPvNames(spec, resourceName);
+        final List<String> directories = getJournalDirectories(spec);
+        final VolumeConfig journal = spec.getVolumes().getJournal();
+        switch (getJournalStorageType(spec)) {
+            case LocalStorageClass:
+                addDataVolumes(volumeNames, directories, VolumeConfig.builder()
+                                .name(journal.getName())
+                                .size(journal.getSize())
+                                .existingStorageClassName(
+                                        spec.getVolumes().getJournalStorage().getStorageClassName())
+                                .build(),
+                        labels, volumeMounts, volumes, persistentVolumeClaims);
+                break;
+            case HostPath:
+                for (int i = 0; i < volumeNames.size(); i++) {
+                    final String volumeName = volumeNames.get(i);
+                    volumeMounts.add(new VolumeMountBuilder()
+                            .withName(volumeName)
+                            .withMountPath(directories.get(i))
+                            .withSubPathExpr("$(%s)".formatted(ENV_POD_NAME))
+                            .build());
+                    volumes.add(new VolumeBuilder()
+                            .withName(volumeName)
+                            .withNewHostPath()
+                            .withPath("%s/%s/%s".formatted(
+                                    StringUtils.removeEnd(spec.getVolumes().getJournalStorage().getHostPath(), "/"),
+                                    namespace, volumeName))
+                            .withType("DirectoryOrCreate")
+                            .endHostPath()
+                            .build());
+                }
+                break;
+            case Memory:
+                for (int i = 0; i < volumeNames.size(); i++) {
+                    final String volumeName = volumeNames.get(i);
+                    volumeMounts.add(new VolumeMountBuilder()
+                            .withName(volumeName)
+                            .withMountPath(directories.get(i))
+                            .build());
+                    volumes.add(new VolumeBuilder()
+                            .withName(volumeName)
+                            .withNewEmptyDir()
+                            .withMedium("Memory")
+                            .withSizeLimit(Quantity.parse(journal.getSize()))
+                            .endEmptyDir()
+                            .build());
+                }
+                break;
+            default:
+                addDataVolumes(volumeNames, directories, journal, labels, volumeMounts, volumes,
+                        persistentVolumeClaims);
+                break;
+        }
+    }
+
+    public static BookKeeperSetSpec.JournalStorageType getJournalStorageType(BookKeeperSetSpec spec) {
+        final BookKeeperSetSpec.JournalStorageConfig journalStorage = spec.getVolumes().getJournalStorage();
+        if (journalStorage == null || journalStorage.getType() == null) {
+            return BookKeeperSetSpec.JournalStorageType.Persistent;
+        }
+        return BookKeeperSetSpec.JournalStorageType.valueOf(journalStorage.getType());
+    }
+
+    /**
+     * Memory taken by the memory-backed journal volumes, counted in the bookie container memory.
+     */
+    public static long getJournalMemoryMb(BookKeeperSetSpec spec) {
+        if (getJournalStorageType(spec) != BookKeeperSetSpec.JournalStorageType.Memory) {
+            return 0;
+        }
+        return JvmMemorySettings.toMb(Quantity.parse(spec.getVolumes().getJournal().getSize()))
+                * getJournalDirectories(spec).size();
+    }
+
+    /**
+     * Whether the journal content doesn't survive a pod restart or a reschedule on another node.
+     */
+    public static boolean isJournalEphemeral(BookKeeperSetSpec.JournalStorageType journalStorageType) {
+        return journalStorageType == BookKeeperSetSpec.JournalStorageType.HostPath
+                || journalStorageType == BookKeeperSetSpec.JournalStorageType.Memory;
+    }
+
+    private static List<EnvVar> getPodNameEnv() {
+        return List.of(new EnvVarBuilder()
+                .withName(ENV_POD_NAME)
+                .withNewValueFrom()
+                .withNewFieldRef()
+                .withFieldPath("metadata.name")
+                .endFieldRef()
+                .endValueFrom()
+                .build());
+    }
+
+    /**
+     * When an ephemeral journal has been lost, the ledger storage misses the entries that were not flushed yet and
+     * the bookie refuses to start because of the cookie mismatch. Restoring the cookie would hide the missing
+     * entries, so the bookie is formatted instead: its local data and its cookie are deleted and it starts as an
+     * empty bookie. Since it rejoins with the same bookie id, the autorecovery wouldn't see its ledgers as
+     * under-replicated: they're recovered to the other bookies first, and the bookie is formatted only if the
+     * recovery succeeded. Otherwise the container fails and the recovery is retried on the next start.
+     */
+    private String generateJournalCheckScript(BookKeeperSetSpec spec) {
+        final String bookieId = "%s.%s.%s.svc.%s:%d".formatted("$" + ENV_POD_NAME, resourceName, namespace,
+                global.getKubernetesClusterDomain(), DEFAULT_BK_PORT);
+        return ("{ journal_lost=false; for dir in %s; do if [ -f $dir/current/VERSION ]; then for jdir in %s; do "
+                + "if [ ! -f $jdir/current/VERSION ]; then journal_lost=true; fi; done; fi; done; "
+                + "if [ \"$journal_lost\" = true ]; then echo \"The journal of bookie $%s has been lost, recovering "
+                + "its ledgers to the other bookies and formatting the bookie\"; "
+                + "bin/bookkeeper shell recover -f %s "
+                + "&& bin/bookkeeper shell bookieformat -nonInteractive -force -deleteCookie; fi; }")
+                .formatted(String.join(" ", getLedgerDirectories(spec)),
+                        String.join(" ", getJournalDirectories(spec)),
+                        ENV_POD_NAME, bookieId);
+    }
+
+    private void addDataVolumes(List<String> volumeNames, List<String> directories, VolumeConfig volumeConfig,
+                                Map<String, String> labels, List<VolumeMount> volumeMounts, List<Volume> volumes,
+                                List<PersistentVolumeClaim> persistentVolumeClaims) {
+        for (int i = 0; i < volumeNames.size(); i++) {
+            final String volumeName = volumeNames.get(i);
+            volumeMounts.add(new VolumeMountBuilder()
+                    .withName(volumeName)
+                    .withMountPath(directories.get(i))
+                    .build());
+            if (!global.getPersistence()) {
+                volumes.add(
+                        new VolumeBuilder()
+                                .withName(volumeName)
+                                .withNewEmptyDir().endEmptyDir()
+                                .build()
+                );
+            } else {
+                persistentVolumeClaims.add(createPersistentVolumeClaim(volumeName, volumeConfig, labels));
+            }
+        }
+    }
+
+    /**
+     * Journal directories mounted in the bookie container, one for each journal volume.
+     * The first one is always {@link #JOURNAL_DIRECTORY}.
+     */
+    public static List<String> getJournalDirectories(BookKeeperSetSpec spec) {
+        return getIndexedNames(JOURNAL_DIRECTORY, spec.getVolumes().getJournalCount());
+    }
+
+    /**
+     * Ledger directories mounted in the bookie container, one for each ledgers volume.
+     * The first one is always {@link #LEDGERS_DIRECTORY}.
+     */
+    public static List<String> getLedgerDirectories(BookKeeperSetSpec spec) {
+        return getIndexedNames(LEDGERS_DIRECTORY, spec.getVolumes().getLedgersCount());
+    }
+
+    public static List<String> getJournalPvNames(BookKeeperSetSpec spec, String resourceName) {
+        return getIndexedNames(getJournalPvPrefix(spec, resourceName), spec.getVolumes().getJournalCount());
+    }
+
+    public static List<String> getLedgersPvNames(BookKeeperSetSpec spec, String resourceName) {
+        return getIndexedNames(getLedgersPvPrefix(spec, resourceName), spec.getVolumes().getLedgersCount());
+    }
+
+    private static List<String> getIndexedNames(String base, Integer count) {
+        final int total = count == null ? 1 : Math.max(1, count);
+        List<String> names = new ArrayList<>(total);
+        names.add(base);
+        for (int i = 1; i < total; i++) {
+            names.add("%s-%d".formatted(base, i));
+        }
+        return names;
+    }
+
     public static String getJournalPvPrefix(BookKeeperSetSpec spec, String resourceName) {
         return "%s%s-%s".formatted(
                 ObjectUtils.firstNonNull(spec.getPvcPrefix(), ""),
@@ -401,7 +613,9 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
     }
 
     public void patchStorageClasses() {
-        createStorageClassIfNeeded(spec.getVolumes().getJournal(), spec.getAnnotations(), spec.getLabels());
+        if (getJournalStorageType(spec) == BookKeeperSetSpec.JournalStorageType.Persistent) {
+            createStorageClassIfNeeded(spec.getVolumes().getJournal(), spec.getAnnotations(), spec.getLabels());
+        }
         createStorageClassIfNeeded(spec.getVolumes().getLedgers(), spec.getAnnotations(), spec.getLabels());
     }
 
@@ -446,7 +660,7 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         }
     }
 
-    private String getRack() {
+    public String getRack() {
         return getRack(global, bookkeeperSet);
     }
 
@@ -468,17 +682,19 @@ public class BookKeeperResourcesFactory extends BaseResourcesFactory<BookKeeperS
         final String journalPvPrefix = getJournalPvPrefix(spec, resourceName);
         final String ledgersPvPrefix = getLedgersPvPrefix(spec, resourceName);
         final AtomicInteger pvcCount = new AtomicInteger(0);
-        client.persistentVolumeClaims()
+        ApiRateLimiter.call(ApiPriority.PATCH, () -> client.persistentVolumeClaims()
                 .inNamespace(namespace)
                 .withLabels(getLabels(spec.getLabels()))
-                .list().getItems().forEach(pvc -> {
+                .list()).getItems().forEach(pvc -> {
                     String name = pvc.getMetadata().getName();
+                    // the prefixes match every journal and ledgers volume of the bookie, including the ones
+                    // no longer listed in the spec
                     if (name.startsWith(journalPvPrefix)
                             || name.startsWith(ledgersPvPrefix)) {
                         int idx = Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
                         if (idx >= spec.getReplicas()) {
                             log.infof("Force deletion of bookie pvc: %s", name);
-                            client.resource(pvc).delete();
+                            ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resource(pvc).delete());
                             pvcCount.incrementAndGet();
                         }
                     }
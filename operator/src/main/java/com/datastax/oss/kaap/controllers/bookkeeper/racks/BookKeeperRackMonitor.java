@@ -24,6 +24,8 @@ import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.LinkedHashMap;
@@ -141,10 +143,10 @@ public class BookKeeperRackMonitor implements Runnable {
 
 
     private Pod getPod(String name) {
-        return client
+        return ApiRateLimiter.call(ApiPriority.RACK_SYNC, () -> client
                 .pods()
                 .inNamespace(namespace)
                 .withName(name)
-                .get();
+                .get());
     }
 }
@@ -19,6 +19,8 @@ import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoRackConfig;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.quarkus.runtime.LaunchMode;
@@ -72,10 +74,10 @@ public class ZkClientRackClientFactory implements BkRackClientFactory{
             return ZkClientRackClient.plainClient(zkConnectString);
         }
         final String tlsSecretNameForZookeeper = BaseResourcesFactory.getTlsSecretNameForZookeeper(globalSpec);
-        final Secret secret = client.secrets()
+        final Secret secret = ApiRateLimiter.call(ApiPriority.RACK_SYNC, () -> client.secrets()
                 .inNamespace(namespace)
                 .withName(tlsSecretNameForZookeeper)
-                .get();
+                .get());
         if (secret == null) {
             throw new IllegalStateException(
                     "Cannot create ssl client for Zookeeper, secret '" + tlsSecretNameForZookeeper + "' not found");
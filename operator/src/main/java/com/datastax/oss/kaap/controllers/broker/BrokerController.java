@@ -15,39 +15,57 @@
  */
 package com.datastax.oss.kaap.controllers.broker;
 
+import com.datastax.oss.kaap.autoscaler.broker.BrokerDrainer;
+import com.datastax.oss.kaap.autoscaler.broker.LoadReportResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.broker.PodExecBrokerAdminClient;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.AbstractResourceSetsController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.PartitionedRollout;
+import com.datastax.oss.kaap.controllers.SetSpecsResolver;
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.javaoperatorsdk.operator.api.reconciler.Constants;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.jbosslog.JBossLog;
 
 
-@ControllerConfiguration(namespaces = Constants.WATCH_CURRENT_NAMESPACE, name = "pulsar-broker-controller")
+@ControllerConfiguration(name = "pulsar-broker-controller")
 @JBossLog
 public class BrokerController extends
         AbstractResourceSetsController<Broker, BrokerFullSpec, BrokerSpec, BrokerSetSpec,
                 BrokerResourcesFactory,
                 BrokerController.BrokerSetsLastApplied> {
 
+    public static final String DRAIN_START_ANNOTATION = "%s/drain-start".formatted(CRDConstants.GROUP);
+    private static final Duration DRAIN_CHECK_INTERVAL = Duration.ofSeconds(2);
+    private static final SetSpecsResolver<BrokerSpec, BrokerSetSpec> SET_SPECS_RESOLVER =
+            new SetSpecsResolver<>(BrokerResourcesFactory.BROKER_DEFAULT_SET, BrokerSpec::getSets);
+
     public static List<String> enumerateBrokerSets(String clusterName, String componentBaseName, BrokerSpec broker) {
         LinkedHashMap<String, BrokerSetSpec> sets = broker.getSets();
         if (sets == null || sets.isEmpty()) {
@@ -69,7 +87,7 @@ public class BrokerController extends
     }
 
     public static LinkedHashMap<String, BrokerSetSpec> getBrokerSetSpecs(BrokerSpec spec) {
-        return new BrokerController(null).getSetSpecs(spec);
+        return SET_SPECS_RESOLVER.resolve(spec);
     }
 
     @Data
@@ -134,12 +152,100 @@ public class BrokerController extends
                     false,
                     List.of(createReadyCondition(resource))
             );
-        } else {
-            return new ReconciliationResult(
-                    true,
-                    List.of(createNotReadyInitializingCondition(resource))
-            );
         }
+        final RolloutConfig rollout = set.getSetSpec().getRollout();
+        if (sts != null && PartitionedRollout.isEnabled(rollout)) {
+            final PartitionedRollout.Progress progress = new PartitionedRollout(resourcesFactory, rollout,
+                    resourcesFactory.getRack(), newRolloutHealthCheck(resource, set, sts),
+                    newRolloutDrain(resource, set, sts))
+                    .advance(sts);
+            if (progress != null) {
+                return newRollingOutResult(resource, set.getName(), progress);
+            }
+        }
+        return new ReconciliationResult(
+                true,
+                List.of(createNotReadyInitializingCondition(resource))
+        );
+    }
+
+    /**
+     * Each batch of the rollout waits for the load report of the restarted brokers.
+     */
+    protected PartitionedRollout.PodHealthCheck newRolloutHealthCheck(
+            Broker resource, SetInfo<BrokerSetSpec, BrokerResourcesFactory> set, StatefulSet sts) {
+        final LoadReportResourceUsageSource loadReport = new LoadReportResourceUsageSource(client,
+                resource.getMetadata().getNamespace(),
+                sts.getSpec().getSelector().getMatchLabels(),
+                set.getName(),
+                set.getSetSpec(),
+                resource.getSpec().getGlobalSpec(),
+                ApiPriority.READINESS);
+        return pod -> loadReport.isLoadReportReachable(pod.getMetadata().getName());
+    }
+
+    /**
+     * Unload the bundles of the brokers of the batch before deleting them, if enabled.
+     * The start of the drain is stored in a pod annotation, the next reconciliations check the drain again until
+     * the brokers are drained or the timeout expires.
+     */
+    protected PartitionedRollout.BeforePodsDeletion newRolloutDrain(
+            Broker resource, SetInfo<BrokerSetSpec, BrokerResourcesFactory> set, StatefulSet sts) {
+        final BrokerSetSpec.DrainConfig drain = set.getSetSpec().getDrain();
+        if (!BrokerDrainer.isEnabled(drain)) {
+            return null;
+        }
+        final String namespace = resource.getMetadata().getNamespace();
+        final BrokerDrainer drainer = new BrokerDrainer(
+                new PodExecBrokerAdminClient(client, namespace, set.getName(), set.getSetSpec(),
+                        resource.getSpec().getGlobalSpec(), ApiPriority.READINESS),
+                namespace, set.getName(), BrokerDrainer.getTimeout(drain), DRAIN_CHECK_INTERVAL);
+        return pods -> {
+            final Map<String, Instant> drainStarts = new LinkedHashMap<>();
+            for (Pod pod : pods) {
+                drainStarts.put(pod.getMetadata().getName(), getOrSetDrainStart(namespace, pod));
+            }
+            return drainer.drainBatch(drainStarts,
+                    getDrainDestinations(sts.getMetadata().getName(), sts.getSpec().getReplicas(),
+                            drainStarts.keySet()));
+        };
+    }
+
+    /**
+     * The batches go from the highest ordinal to the lowest: the brokers above the batch are already updated and
+     * don't restart anymore, they take over the bundles. The first batch has none, the brokers below it are used.
+     */
+    static List<String> getDrainDestinations(String stsName, int replicas, Set<String> batch) {
+        final List<String> updated = new ArrayList<>();
+        final List<String> notUpdated = new ArrayList<>();
+        List<String> current = notUpdated;
+        for (int ordinal = 0; ordinal < replicas; ordinal++) {
+            final String podName = "%s-%d".formatted(stsName, ordinal);
+            if (batch.contains(podName)) {
+                current = updated;
+            } else {
+                current.add(podName);
+            }
+        }
+        return updated.isEmpty() ? notUpdated : updated;
+    }
+
+    private Instant getOrSetDrainStart(String namespace, Pod pod) {
+        final Map<String, String> annotations = pod.getMetadata().getAnnotations();
+        final String drainStart = annotations == null ? null : annotations.get(DRAIN_START_ANNOTATION);
+        if (drainStart != null) {
+            return Instant.parse(drainStart);
+        }
+        final Instant now = Instant.now();
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.pods()
+                .inNamespace(namespace)
+                .withName(pod.getMetadata().getName())
+                .edit(p -> new PodBuilder(p)
+                        .editMetadata()
+                        .addToAnnotations(DRAIN_START_ANNOTATION, now.toString())
+                        .endMetadata()
+                        .build()));
+        return now;
     }
 
     @Override
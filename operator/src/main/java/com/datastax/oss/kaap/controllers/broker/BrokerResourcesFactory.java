@@ -16,10 +16,13 @@
 package com.datastax.oss.kaap.controllers.broker;
 
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
+import com.datastax.oss.kaap.controllers.PartitionedRollout;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.crds.configs.AuthConfig;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
 import com.datastax.oss.kaap.crds.configs.ResourceSetConfig;
 import io.fabric8.kubernetes.api.model.ConfigMap;
@@ -61,6 +64,10 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
     public static final int KAFKA_SSL_PORT = 9093;
     public static final int KAFKA_PORT = 9092;
     public static final int KAFKA_SCHEMA_REGISTRY_PORT = 8081;
+    public static final MemoryProfileConfig DEFAULT_MEMORY_PROFILE = MemoryProfileConfig.builder()
+            .heapRatio(0.3)
+            .directMemoryRatio(0.5)
+            .build();
 
     public static String getComponentBaseName(GlobalSpec globalSpec) {
         return globalSpec.getComponents().getBrokerBaseName();
@@ -111,6 +118,11 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
     }
 
     public void patchService() {
+        final Service service = generateCachedService(resourceName, this::generateService);
+        patchResource(service);
+    }
+
+    private Service generateService() {
 
         final BrokerSetSpec.ServiceConfig serviceSpec = spec.getService();
 
@@ -160,7 +172,7 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
             ports.addAll(serviceSpec.getAdditionalPorts());
         }
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -174,14 +186,18 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
                 .withSelector(getMatchLabels(spec.getMatchLabels()))
                 .endSpec()
                 .build();
-
-        patchResource(service);
     }
 
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
         Map<String, String> data = new HashMap<>();
-        final String zkServers = getZkServers();
+        final String zkServers = getZkServers(global.getZookeeperObserverClients().getBroker());
         data.put("zookeeperServers", zkServers);
         data.put("configurationStoreServers", zkServers);
         data.put("clusterName", global.getName());
@@ -258,10 +274,14 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
         }
 
         data.put("allowAutoTopicCreationType", "non-partitioned");
+        final JvmMemorySettings memorySettings = JvmMemorySettings.compute(spec.getMemoryProfile(),
+                DEFAULT_MEMORY_PROFILE, spec.getResources());
         data.put("PULSAR_MEM",
-                "-Xms2g -Xmx2g -XX:MaxDirectMemorySize=2g -Dio.netty.leakDetectionLevel=disabled -Dio.netty.recycler"
+                (memorySettings == null ? "-Xms2g -Xmx2g -XX:MaxDirectMemorySize=2g"
+                        : memorySettings.getMemoryOpts())
+                        + " -Dio.netty.leakDetectionLevel=disabled -Dio.netty.recycler"
                         + ".linkCapacity=1024 -XX:+ExitOnOutOfMemoryError");
-        data.put("PULSAR_GC", "-XX:+UseG1GC");
+        data.put("PULSAR_GC", memorySettings == null ? "-XX:+UseG1GC" : memorySettings.getGcOpts());
         data.put("PULSAR_LOG_LEVEL", "info");
         data.put("PULSAR_LOG_ROOT_LEVEL", "info");
         data.put("PULSAR_EXTRA_OPTS", "-Dpulsar.log.root.level=info");
@@ -284,17 +304,15 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
             data.put("bookkeeperClientMinNumRacksPerWriteQuorum", data.get("managedLedgerDefaultWriteQuorum"));
         }
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
                 .withLabels(getLabels(spec.getLabels()))
-                .withAnnotations(getAnnotations(spec.getAnnotations()))
+                .withAnnotations(getAnnotations(spec.getAnnotations(), memorySettings))
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
     }
 
     public void patchStatefulSet() {
@@ -302,7 +320,9 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
             deleteStatefulSet();
             return;
         }
-        final StatefulSet statefulSet = generateStatefulSet();
+        // the partitioned rollout update strategy depends on the existence of the statefulset
+        final boolean exists = PartitionedRollout.isEnabled(spec.getRollout()) && getStatefulSet() != null;
+        final StatefulSet statefulSet = generateCachedStatefulSet(resourceName, this::generateStatefulSet, exists);
         patchResource(statefulSet);
     }
 
@@ -414,7 +434,8 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
                 .withNewSelector()
                 .withMatchLabels(getMatchLabels(spec.getMatchLabels()))
                 .endSelector()
-                .withUpdateStrategy(spec.getUpdateStrategy())
+                .withUpdateStrategy(getStatefulSetUpdateStrategy(spec.getUpdateStrategy(), spec.getRollout(),
+                        spec.getReplicas()))
                 .withPodManagementPolicy(spec.getPodManagementPolicy())
                 .withNewTemplate()
                 .withNewMetadata()
@@ -588,7 +609,7 @@ public class BrokerResourcesFactory extends BaseResourcesFactory<BrokerSetSpec>
         }
     }
 
-    private String getRack() {
+    public String getRack() {
         if (global.getResourceSets() != null) {
             final ResourceSetConfig resourceSet = global.getResourceSets().get(brokerSet);
             if (resourceSet != null) {
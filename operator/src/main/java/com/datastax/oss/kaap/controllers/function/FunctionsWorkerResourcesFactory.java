@@ -73,7 +73,7 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
         return List.of(getMainContainerName(resourceName));
     }
 
-    private static String getMainContainerName(String resourceName) {
+    public static String getMainContainerName(String resourceName) {
         return resourceName;
     }
 
@@ -105,6 +105,11 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
     }
 
     public void patchService() {
+        final Service service = generateCachedService(resourceName, this::generateService);
+        patchResource(service);
+    }
+
+    private Service generateService() {
 
         final FunctionsWorkerSpec.ServiceConfig serviceSpec = spec.getService();
 
@@ -121,7 +126,7 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
             ports.addAll(serviceSpec.getAdditionalPorts());
         }
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -134,11 +139,14 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
                 .withSelector(getMatchLabels(spec.getMatchLabels()))
                 .endSpec()
                 .build();
+    }
 
+    public void patchCaService() {
+        final Service service = generateCachedService("%s-ca".formatted(resourceName), this::generateCaService);
         patchResource(service);
     }
 
-    public void patchCaService() {
+    private Service generateCaService() {
 
         final FunctionsWorkerSpec.ServiceConfig serviceSpec = spec.getService();
 
@@ -159,7 +167,7 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
             ports.addAll(serviceSpec.getAdditionalPorts());
         }
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
                 .withName("%s-ca".formatted(resourceName))
                 .withNamespace(namespace)
@@ -171,11 +179,16 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
                 .withSelector(getMatchLabels(spec.getMatchLabels()))
                 .endSpec()
                 .build();
-
-        patchResource(service);
     }
 
     public void patchExtraConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap("%s-extra".formatted(resourceName),
+                this::generateExtraConfigMap);
+        patchResource(configMap);
+        this.extraConfigMap = configMap;
+    }
+
+    private ConfigMap generateExtraConfigMap() {
 
         Map<String, String> data = new HashMap<>();
         data.put("PULSAR_MEM",
@@ -206,7 +219,7 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
                 }
             });
         }
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName("%s-extra".formatted(resourceName))
                 .withNamespace(namespace)
@@ -215,12 +228,15 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.extraConfigMap = configMap;
-
     }
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
 
         Map<String, Object> data = new HashMap<>();
         final String zkServers = getZkServers();
@@ -325,7 +341,7 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
             data.put("numFunctionPackageReplicas", "2");
         }
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -334,9 +350,6 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
                 .endMetadata()
                 .withData(Map.of("functions_worker.yml", SerializationUtil.writeAsYaml(data)))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
-
     }
 
     public void patchStatefulSet() {
@@ -344,7 +357,7 @@ public class FunctionsWorkerResourcesFactory extends BaseResourcesFactory<Functi
             deleteStatefulSet();
             return;
         }
-        final StatefulSet statefulSet = generateStatefulSet();
+        final StatefulSet statefulSet = generateCachedStatefulSet(resourceName, this::generateStatefulSet);
         patchResource(statefulSet);
     }
 
@@ -19,6 +19,7 @@ import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.controllers.AbstractResourceSetsController;
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.SetSpecsResolver;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
@@ -28,7 +29,6 @@ import com.datastax.oss.kaap.crds.proxy.ProxySpec;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.javaoperatorsdk.operator.api.reconciler.Constants;
 import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -41,12 +41,15 @@ import lombok.NoArgsConstructor;
 import lombok.extern.jbosslog.JBossLog;
 
 
-@ControllerConfiguration(namespaces = Constants.WATCH_CURRENT_NAMESPACE, name = "pulsar-proxy-controller")
+@ControllerConfiguration(name = "pulsar-proxy-controller")
 @JBossLog
 public class ProxyController
         extends AbstractResourceSetsController<Proxy, ProxyFullSpec, ProxySpec, ProxySetSpec, ProxyResourcesFactory,
         ProxyController.ProxySetsLastApplied> {
 
+    private static final SetSpecsResolver<ProxySpec, ProxySetSpec> SET_SPECS_RESOLVER =
+            new SetSpecsResolver<>(ProxyResourcesFactory.PROXY_DEFAULT_SET, ProxySpec::getSets);
+
     public static List<String> enumerateProxySets(String clusterName, String componentBaseName, ProxySpec proxy) {
         LinkedHashMap<String, ProxySetSpec> sets = proxy.getSets();
         if (sets == null || sets.isEmpty()) {
@@ -63,7 +66,7 @@ public class ProxyController
     }
 
     public static LinkedHashMap<String, ProxySetSpec> getProxySetSpecs(ProxySpec proxy) {
-        return new ProxyController(null).getSetSpecs(proxy);
+        return SET_SPECS_RESOLVER.resolve(proxy);
     }
 
     @Data
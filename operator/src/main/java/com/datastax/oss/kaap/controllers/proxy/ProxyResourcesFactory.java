@@ -76,7 +76,7 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
         return List.of(getMainContainerName(resourceName), getWsContainerName(resourceName));
     }
 
-    private static String getMainContainerName(String resourceName) {
+    public static String getMainContainerName(String resourceName) {
         return resourceName;
     }
 
@@ -137,6 +137,11 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
     }
 
     public void patchService() {
+        final Service service = generateCachedService(resourceName, this::generateService);
+        patchResource(service);
+    }
+
+    private Service generateService() {
 
         final ProxySetSpec.ServiceConfig serviceSpec = spec.getService();
 
@@ -195,7 +200,7 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
             ports.addAll(serviceSpec.getAdditionalPorts());
         }
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -209,12 +214,16 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
                 .withSelector(getMatchLabels(spec.getMatchLabels()))
                 .endSpec()
                 .build();
-
-        patchResource(service);
     }
 
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
         Map<String, String> data = new HashMap<>();
         final String zkServers = getZkServers();
         data.put("brokerServiceURL", getBrokerServiceUrlPlain());
@@ -290,7 +299,7 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
 
         appendConfigData(data, spec.getConfig());
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -299,16 +308,19 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
     }
 
     public void patchConfigMapWsConfig() {
-        final ProxySetSpec.WebSocketConfig webSocketConfig = spec.getWebSocket();
-        if (!webSocketConfig.getEnabled()) {
+        if (!spec.getWebSocket().getEnabled()) {
             return;
         }
+        final ConfigMap configMap = generateCachedConfigMap(getWsConfigMapName(), this::generateConfigMapWsConfig);
+        patchResource(configMap);
+        this.wsConfigMap = configMap;
+    }
 
+    private ConfigMap generateConfigMapWsConfig() {
+        final ProxySetSpec.WebSocketConfig webSocketConfig = spec.getWebSocket();
         Map<String, String> data = new HashMap<>();
         final String zkServers = getZkServers();
         data.put("brokerServiceUrl", getBrokerServiceUrlPlain());
@@ -354,7 +366,7 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
             data.put("webServicePort", "8000");
         }
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(getWsConfigMapName())
                 .withNamespace(namespace)
@@ -363,8 +375,6 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.wsConfigMap = configMap;
     }
 
     private String getWsConfigMapName() {
@@ -382,6 +392,11 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
             deleteDeployment();
             return;
         }
+        final Deployment deployment = generateCachedDeployment(resourceName, this::generateDeployment);
+        patchResource(deployment);
+    }
+
+    public Deployment generateDeployment() {
         Map<String, String> labels = getLabels(spec.getLabels());
         Map<String, String> podLabels = getPodLabels(spec.getPodLabels());
         Map<String, String> annotations = getAnnotations(spec.getAnnotations());
@@ -520,7 +535,7 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
             );
         }
 
-        Deployment deployment = new DeploymentBuilder()
+        return new DeploymentBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -558,7 +573,6 @@ public class ProxyResourcesFactory extends BaseResourcesFactory<ProxySetSpec> {
                 .endTemplate()
                 .endSpec()
                 .build();
-        patchResource(deployment);
     }
 
     private Probe createProbe(ProbesConfig.ProbeConfig specProbe) {
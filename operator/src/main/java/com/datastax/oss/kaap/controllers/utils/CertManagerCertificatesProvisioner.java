@@ -25,16 +25,23 @@ import com.datastax.oss.kaap.controllers.proxy.ProxyController;
 import com.datastax.oss.kaap.controllers.proxy.ProxyResourcesFactory;
 import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.SpecDiffer;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import com.datastax.oss.kaap.crds.configs.tls.TlsConfig;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.certmanager.api.model.v1.Certificate;
 import io.fabric8.certmanager.api.model.v1.CertificateBuilder;
 import io.fabric8.certmanager.api.model.v1.CertificatePrivateKey;
 import io.fabric8.certmanager.api.model.v1.Issuer;
 import io.fabric8.certmanager.api.model.v1.IssuerBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 import lombok.extern.jbosslog.JBossLog;
 import org.apache.commons.lang3.ObjectUtils;
@@ -76,12 +83,59 @@ public class CertManagerCertificatesProvisioner {
 
     }
 
+    /**
+     * Fingerprint of the inputs used to generate the certificates.
+     */
+    public static String generateFingerprint(String namespace, PulsarClusterSpec pulsarClusterSpec) {
+        final GlobalSpec global = pulsarClusterSpec.getGlobalSpec();
+        final String clusterName = global.getName();
+        return SpecDiffer.generateFingerprint(Arrays.asList(
+                namespace,
+                clusterName,
+                global.getTls(),
+                global.getComponents(),
+                global.getDnsName(),
+                global.getKubernetesClusterDomain(),
+                BookKeeperController.enumerateBookKeeperSets(clusterName,
+                        BookKeeperResourcesFactory.getComponentBaseName(global), pulsarClusterSpec.getBookkeeper()),
+                BrokerController.enumerateBrokerSets(clusterName,
+                        BrokerResourcesFactory.getComponentBaseName(global), pulsarClusterSpec.getBroker()),
+                ProxyController.enumerateProxySets(clusterName,
+                        ProxyResourcesFactory.getComponentBaseName(global), pulsarClusterSpec.getProxy()),
+                getObserverReplicas(pulsarClusterSpec.getZookeeper())
+        ));
+    }
+
     public void generateCertificates() {
+        for (HasMetadata resource : generateResources()) {
+            ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resource(resource)
+                    .inNamespace(namespace)
+                    .createOrReplace());
+            log.debugf("Created %s %s", resource.getKind(), resource.getMetadata().getName());
+        }
+    }
+
+    /**
+     * Check that all the issuers and certificates still exist. cert-manager reissues the secret of an existing
+     * certificate on its own, so the secrets are not checked.
+     */
+    public boolean areCertificatesProvisioned(BiPredicate<Class<? extends HasMetadata>, String> resourceExists) {
+        for (HasMetadata resource : generateResources()) {
+            if (!resourceExists.test(resource.getClass(), resource.getMetadata().getName())) {
+                log.infof("%s %s not found", resource.getKind(), resource.getMetadata().getName());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<HasMetadata> generateResources() {
+        final List<HasMetadata> resources = new ArrayList<>();
         if (selfSigned == null) {
-            return;
+            return resources;
         }
 
-        createRootCACertificate();
+        resources.addAll(generateRootCAResources());
         if (selfSigned.getPerComponent() == null || !selfSigned.getPerComponent()) {
             List<String> dnsNames = new ArrayList<>();
             if (TlsConfig.TlsEntryConfig.isEnabled(globalSpec.getTls().getBookkeeper())) {
@@ -105,51 +159,52 @@ public class CertManagerCertificatesProvisioner {
                 dnsNames.add(globalSpec.getDnsName());
             }
             final String certName = "%s-server-tls".formatted(clusterName);
-            createCertificate(
+            resources.add(generateCertificate(
                     certName,
                     globalSpec.getTls().getDefaultSecretName(),
                     selfSigned.getPrivateKey(),
                     dnsNames
-            );
+            ));
         } else {
             if (TlsConfig.TlsEntryConfig.isEnabled(globalSpec.getTls().getBroker())) {
-                createCertificatePerComponent(selfSigned.getBroker(),
+                addCertificatePerComponent(resources, selfSigned.getBroker(),
                         globalSpec.getComponents().getBrokerBaseName(),
                         globalSpec.getTls().getBroker().getSecretName(),
                         getBrokerDNSNames());
             }
             if (TlsConfig.TlsEntryConfig.isEnabled(globalSpec.getTls().getBookkeeper())) {
-                createCertificatePerComponent(selfSigned.getBookkeeper(),
+                addCertificatePerComponent(resources, selfSigned.getBookkeeper(),
                         globalSpec.getComponents().getBookkeeperBaseName(),
                         globalSpec.getTls().getBookkeeper().getSecretName(),
                         getBookKeeperDNSNames());
             }
             if (TlsConfig.TlsEntryConfig.isEnabled(globalSpec.getTls().getAutorecovery())) {
-                createAutorecoveryCertificate();
+                resources.add(generateAutorecoveryCertificate());
             }
             if (TlsConfig.ProxyTlsEntryConfig.isEnabled(globalSpec.getTls().getProxy())) {
-                createCertificatePerComponent(selfSigned.getProxy(),
+                addCertificatePerComponent(resources, selfSigned.getProxy(),
                         globalSpec.getComponents().getProxyBaseName(),
                         globalSpec.getTls().getProxy().getSecretName(),
                         getProxyDNSNames());
             }
             if (TlsConfig.TlsEntryConfig.isEnabled(globalSpec.getTls().getZookeeper())) {
-                createCertificatePerComponent(selfSigned.getZookeeper(),
+                addCertificatePerComponent(resources, selfSigned.getZookeeper(),
                         globalSpec.getComponents().getZookeeperBaseName(),
                         globalSpec.getTls().getZookeeper().getSecretName(),
                         getZookeeperDNSNames());
             }
 
             if (TlsConfig.FunctionsWorkerTlsEntryConfig.isEnabled(globalSpec.getTls().getFunctionsWorker())) {
-                createCertificatePerComponent(selfSigned.getFunctionsWorker(),
+                addCertificatePerComponent(resources, selfSigned.getFunctionsWorker(),
                         globalSpec.getComponents().getFunctionsWorkerBaseName(),
                         globalSpec.getTls().getFunctionsWorker().getSecretName(),
                         getFunctionsWorkerDNSNames());
             }
         }
+        return resources;
     }
 
-    private void createAutorecoveryCertificate() {
+    private Certificate generateAutorecoveryCertificate() {
         // autorecovery only need to be accessed via the client tls auth, no dns names needed
         final TlsConfig.SelfSignedCertificatePerComponentConfig autorecoveryConfig = selfSigned.getAutorecovery();
 
@@ -157,7 +212,7 @@ public class CertManagerCertificatesProvisioner {
                 .firstNonNull(autorecoveryConfig == null ? null : autorecoveryConfig.getPrivateKey(),
                         selfSigned.getPrivateKey());
 
-        final Certificate caCertificate = new CertificateBuilder()
+        return new CertificateBuilder()
                 .withNewMetadata()
                 .withName("%s-%s-tls"
                         .formatted(clusterName, globalSpec.getComponents().getAutorecoveryBaseName()))
@@ -173,26 +228,23 @@ public class CertManagerCertificatesProvisioner {
                 .endIssuerRef()
                 .endSpec()
                 .build();
-
-        client.resource(caCertificate)
-                .inNamespace(namespace)
-                .createOrReplace();
     }
 
-    private void createCertificatePerComponent(final TlsConfig.SelfSignedCertificatePerComponentConfig componentConfig,
-                                               final String baseName,
-                                               final String secretName,
-                                               List<String> dnsNames) {
+    private void addCertificatePerComponent(List<HasMetadata> resources,
+                                            final TlsConfig.SelfSignedCertificatePerComponentConfig componentConfig,
+                                            final String baseName,
+                                            final String secretName,
+                                            List<String> dnsNames) {
         if (componentConfig == null || !componentConfig.getGenerate()) {
             return;
         }
 
-        createCertificate(
+        resources.add(generateCertificate(
                 "%s-%s-tls".formatted(clusterName, baseName),
                 secretName,
                 ObjectUtils.firstNonNull(componentConfig.getPrivateKey(), selfSigned.getPrivateKey()),
                 dnsNames
-        );
+        ));
     }
 
     private List<String> getBookKeeperDNSNames() {
@@ -224,9 +276,21 @@ public class CertManagerCertificatesProvisioner {
         // zookeeper networking.
         dnsNames.addAll(enumerateDnsNames(zookeeperDNSNames, true));
         dnsNames.addAll(enumerateDnsNames(zookeeperDNSNames + "-ca", false));
+        if (getObserverReplicas(pulsarClusterSpec.getZookeeper()) > 0) {
+            final String observersDNSNames = ZooKeeperResourcesFactory.getObserversBaseName(zookeeperDNSNames);
+            dnsNames.addAll(enumerateDnsNames(observersDNSNames, true));
+            dnsNames.addAll(enumerateDnsNames(observersDNSNames + "-ca", false));
+        }
         return dnsNames;
     }
 
+    private static int getObserverReplicas(ZooKeeperSpec zookeeper) {
+        if (zookeeper == null || zookeeper.getObservers() == null) {
+            return 0;
+        }
+        return ObjectUtils.firstNonNull(zookeeper.getObservers().getReplicas(), 0);
+    }
+
     private List<String> getProxyDNSNames() {
         final String componentBaseName = ProxyResourcesFactory.getComponentBaseName(globalSpec);
         return ProxyController
@@ -256,11 +320,11 @@ public class CertManagerCertificatesProvisioner {
         return dnsNames;
     }
 
-    private void createCertificate(String name,
-                                   String secretName,
-                                   CertificatePrivateKey privateKey,
-                                   List<String> dnsNames) {
-        final Certificate ssCertificate = new CertificateBuilder()
+    private Certificate generateCertificate(String name,
+                                            String secretName,
+                                            CertificatePrivateKey privateKey,
+                                            List<String> dnsNames) {
+        return new CertificateBuilder()
                 .withNewMetadata()
                 .withName(name)
                 .withNamespace(namespace)
@@ -274,14 +338,9 @@ public class CertManagerCertificatesProvisioner {
                 .withDnsNames(dnsNames)
                 .endSpec()
                 .build();
-
-        client.resource(ssCertificate)
-                .inNamespace(namespace)
-                .createOrReplace();
-        log.debugf("Created self-signed certificate %s mapped to secret %s", name, secretName);
     }
 
-    private void createRootCACertificate() {
+    private List<HasMetadata> generateRootCAResources() {
         final String ssIssuerName = "%s-self-signed-issuer".formatted(clusterName);
 
         final Issuer ssIssuer = new IssuerBuilder()
@@ -295,10 +354,6 @@ public class CertManagerCertificatesProvisioner {
                 .endSpec()
                 .build();
 
-        client.resource(ssIssuer)
-                .inNamespace(namespace)
-                .createOrReplace();
-
         final Certificate caCertificate = new CertificateBuilder()
                 .withNewMetadata()
                 .withName("%s-ca-certificate".formatted(clusterName))
@@ -316,10 +371,6 @@ public class CertManagerCertificatesProvisioner {
                 .endSpec()
                 .build();
 
-        client.resource(caCertificate)
-                .inNamespace(namespace)
-                .createOrReplace();
-
         final Issuer caIssuer = new IssuerBuilder()
                 .withNewMetadata()
                 .withName(caIssuerName)
@@ -331,11 +382,7 @@ public class CertManagerCertificatesProvisioner {
                 .endCa()
                 .endSpec()
                 .build();
-
-        client.resource(caIssuer)
-                .inNamespace(namespace)
-                .createOrReplace();
-        log.debug("Created self-signed root CA certificate");
+        return List.of(ssIssuer, caCertificate, caIssuer);
     }
 
 
@@ -0,0 +1,189 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.SneakyThrows;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Encodes the lastApplied value stored in the custom resources status.
+ * Supported formats:
+ * <ul>
+ *     <li>plain JSON (legacy format, only decoded)</li>
+ *     <li>{@value #COMPRESSED_PREFIX} followed by the base64 of the gzipped JSON</li>
+ *     <li>{@value #CONFIGMAP_PREFIX} followed by the name of the ConfigMap holding the compressed value and its
+ *     checksum</li>
+ * </ul>
+ * Resource sets last applied are content-addressed: each distinct full spec is stored once and referenced by its
+ * hash from the common and the sets entries.
+ */
+public class LastAppliedCodec {
+
+    public static final String COMPRESSED_PREFIX = "gz:";
+    public static final String CONFIGMAP_PREFIX = "cm:";
+    public static final String CONFIGMAP_DATA_KEY = "lastApplied";
+    private static final String SPECS_FIELD = "specsByHash";
+    private static final String COMMON_FIELD = "common";
+    private static final String SETS_FIELD = "sets";
+    private static final int HASH_LENGTH = 16;
+
+    private LastAppliedCodec() {
+    }
+
+    public static String encode(String json) {
+        if (json == null) {
+            return null;
+        }
+        return COMPRESSED_PREFIX + Base64.getEncoder().encodeToString(gzip(json));
+    }
+
+    /**
+     * Decode a value produced by {@link #encode(String)} or a legacy plain JSON value.
+     * ConfigMap references must be resolved before calling this method.
+     */
+    public static String decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (isConfigMapReference(value)) {
+            throw new IllegalArgumentException("ConfigMap reference must be resolved before decoding");
+        }
+        final String json;
+        if (value.startsWith(COMPRESSED_PREFIX)) {
+            json = gunzip(Base64.getDecoder().decode(value.substring(COMPRESSED_PREFIX.length())));
+        } else {
+            json = value;
+        }
+        return expandSets(json);
+    }
+
+    /**
+     * Write a resource sets last applied object, storing each distinct full spec only once.
+     */
+    public static String writeSetsLastApplied(Object setsLastApplied) {
+        final JsonNode node = SerializationUtil.convertValue(setsLastApplied, JsonNode.class);
+        if (!(node instanceof ObjectNode objectNode)) {
+            return SerializationUtil.writeAsJson(setsLastApplied);
+        }
+        final ObjectNode specs = objectNode.objectNode();
+        final JsonNode common = objectNode.get(COMMON_FIELD);
+        if (common != null && common.isObject()) {
+            objectNode.put(COMMON_FIELD, addToSpecs(specs, common));
+        }
+        final JsonNode sets = objectNode.get(SETS_FIELD);
+        if (sets != null && sets.isObject()) {
+            final ObjectNode setsObject = (ObjectNode) sets;
+            final List<String> setNames = new ArrayList<>();
+            setsObject.fieldNames().forEachRemaining(setNames::add);
+            for (String setName : setNames) {
+                final JsonNode setSpec = setsObject.get(setName);
+                if (setSpec != null && setSpec.isObject()) {
+                    setsObject.put(setName, addToSpecs(specs, setSpec));
+                }
+            }
+        }
+        objectNode.set(SPECS_FIELD, specs);
+        return SerializationUtil.writeAsJson(objectNode);
+    }
+
+    public static boolean isConfigMapReference(String value) {
+        return value != null && value.startsWith(CONFIGMAP_PREFIX);
+    }
+
+    public static String toConfigMapReference(String configMapName, String encodedValue) {
+        return CONFIGMAP_PREFIX + configMapName + ":" + hash(encodedValue);
+    }
+
+    public static String getConfigMapName(String reference) {
+        final String withoutPrefix = reference.substring(CONFIGMAP_PREFIX.length());
+        final int index = withoutPrefix.lastIndexOf(':');
+        return index < 0 ? withoutPrefix : withoutPrefix.substring(0, index);
+    }
+
+    public static boolean matchesConfigMapReference(String reference, String encodedValue) {
+        if (encodedValue == null) {
+            return false;
+        }
+        return reference.endsWith(":" + hash(encodedValue));
+    }
+
+    private static String addToSpecs(ObjectNode specs, JsonNode spec) {
+        final String hash = hash(SerializationUtil.writeAsJson(spec));
+        if (!specs.has(hash)) {
+            specs.set(hash, spec);
+        }
+        return hash;
+    }
+
+    private static String expandSets(String json) {
+        if (json == null || !json.contains(SPECS_FIELD)) {
+            return json;
+        }
+        final JsonNode node = SerializationUtil.readJson(json, JsonNode.class);
+        if (!(node instanceof ObjectNode objectNode) || !objectNode.has(SPECS_FIELD)) {
+            return json;
+        }
+        final JsonNode specs = objectNode.remove(SPECS_FIELD);
+        final JsonNode common = objectNode.get(COMMON_FIELD);
+        if (common != null && common.isTextual()) {
+            objectNode.set(COMMON_FIELD, specs.get(common.asText()));
+        }
+        final JsonNode sets = objectNode.get(SETS_FIELD);
+        if (sets != null && sets.isObject()) {
+            final ObjectNode setsObject = (ObjectNode) sets;
+            final List<Map.Entry<String, JsonNode>> entries = new ArrayList<>();
+            setsObject.fields().forEachRemaining(entries::add);
+            for (Map.Entry<String, JsonNode> entry : entries) {
+                if (entry.getValue().isTextual()) {
+                    setsObject.set(entry.getKey(), specs.get(entry.getValue().asText()));
+                }
+            }
+        }
+        return SerializationUtil.writeAsJson(objectNode);
+    }
+
+    private static String hash(String value) {
+        return DigestUtils.sha256Hex(value).substring(0, HASH_LENGTH);
+    }
+
+    @SneakyThrows
+    private static byte[] gzip(String value) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    @SneakyThrows
+    private static String gunzip(byte[] value) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(value))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
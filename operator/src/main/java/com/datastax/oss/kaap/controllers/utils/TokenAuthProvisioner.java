@@ -15,7 +15,10 @@
  */
 package com.datastax.oss.kaap.controllers.utils;
 
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.configs.AuthConfig;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -29,10 +32,13 @@ import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
@@ -40,6 +46,10 @@ import lombok.extern.jbosslog.JBossLog;
 @JBossLog
 public class TokenAuthProvisioner {
 
+    /**
+     * Label of the token secrets, the cluster controller only watches the secrets with this label.
+     */
+    public static final String LABEL_TOKEN_AUTH = "%s/token-auth".formatted(CRDConstants.GROUP);
     public static final Base64.Encoder ENCODER = Base64.getEncoder();
     private final KubernetesClient client;
     private final String namespace;
@@ -73,6 +83,8 @@ public class TokenAuthProvisioner {
                     .formatted(publicKeySecretName, privateKeySecretName));
         }
         if (publicKeySecret != null) {
+            addLabelIfMissing(privateKeySecret);
+            addLabelIfMissing(publicKeySecret);
             if (!publicKeySecret.getData().containsKey(tokenConfig.getPublicKeyFile())) {
                 throw new IllegalStateException(
                         "Found public key secret %s, but it doesn't contain the key %s."
@@ -117,7 +129,9 @@ public class TokenAuthProvisioner {
         Objects.requireNonNull(privateKey);
         for (String superUserRole : superUserRoles) {
             final String secretName = "%s-%s".formatted(prefix, superUserRole);
-            if (getSecret(secretName) != null) {
+            final Secret existing = getSecret(secretName);
+            if (existing != null) {
+                addLabelIfMissing(existing);
                 continue;
             }
             final String token = Jwts.builder()
@@ -132,6 +146,29 @@ public class TokenAuthProvisioner {
         }
     }
 
+    /**
+     * Check that the key pair secrets and the super user token secrets still exist.
+     *
+     * @param secretExists whether the secret with the given name exists, e.g. looked up in the informer cache
+     */
+    public boolean areSecretsProvisioned(AuthConfig.TokenAuthenticationConfig tokenConfig,
+                                         Predicate<String> secretExists) {
+        final String prefix = "token";
+        final List<String> secretNames = new ArrayList<>();
+        secretNames.add("%s-%s".formatted(prefix, "private-key"));
+        secretNames.add("%s-%s".formatted(prefix, "public-key"));
+        for (String superUserRole : tokenConfig.getSuperUserRoles()) {
+            secretNames.add("%s-%s".formatted(prefix, superUserRole));
+        }
+        for (String secretName : secretNames) {
+            if (!secretExists.test(secretName)) {
+                log.infof("Secret %s not found", secretName);
+                return false;
+            }
+        }
+        return true;
+    }
+
     @SneakyThrows
     static KeyPair genKeyPair() {
         KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
@@ -166,16 +203,35 @@ public class TokenAuthProvisioner {
         final Secret secret = new SecretBuilder()
                 .withNewMetadata()
                 .withName(secretName)
+                .withLabels(Map.of(LABEL_TOKEN_AUTH, "true"))
                 .endMetadata()
                 .withData(data)
                 .build();
-        client.resource(secret)
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.resource(secret)
+                .inNamespace(namespace)
+                .createOrReplace());
+    }
+
+    /**
+     * The secrets created by the previous versions of the operator, or by the user, are not labeled.
+     */
+    private void addLabelIfMissing(Secret secret) {
+        final Map<String, String> labels = secret.getMetadata().getLabels();
+        if (labels != null && labels.containsKey(LABEL_TOKEN_AUTH)) {
+            return;
+        }
+        ApiRateLimiter.run(ApiPriority.PATCH, () -> client.secrets()
                 .inNamespace(namespace)
-                .createOrReplace();
+                .withName(secret.getMetadata().getName())
+                .edit(s -> new SecretBuilder(s)
+                        .editMetadata()
+                        .addToLabels(LABEL_TOKEN_AUTH, "true")
+                        .endMetadata()
+                        .build()));
     }
 
     private Secret getSecret(String name) {
-        return client.secrets().inNamespace(namespace).withName(name)
-                .get();
+        return ApiRateLimiter.call(ApiPriority.PATCH, () -> client.secrets().inNamespace(namespace).withName(name)
+                .get());
     }
 }
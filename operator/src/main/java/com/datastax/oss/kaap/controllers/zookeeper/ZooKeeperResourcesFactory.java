@@ -16,10 +16,15 @@
 package com.datastax.oss.kaap.controllers.zookeeper;
 
 import com.datastax.oss.kaap.controllers.BaseResourcesFactory;
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
 import com.datastax.oss.kaap.crds.configs.VolumeConfig;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Container;
@@ -64,6 +69,12 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
     public static final int DEFAULT_CLIENT_TLS_PORT = 2281;
     public static final String ENV_ZOOKEEPER_SERVERS = "ZOOKEEPER_SERVERS";
     public static final List<String> DEFAULT_ENV = List.of("ZOOKEEPER_SERVERS");
+    // observers ids are kept apart from the voting members ids, so scaling the voting members doesn't change them
+    public static final int OBSERVER_SERVER_ID_OFFSET = 101;
+    public static final MemoryProfileConfig DEFAULT_MEMORY_PROFILE = MemoryProfileConfig.builder()
+            .heapRatio(0.75)
+            .directMemoryRatio(0.0)
+            .build();
 
     public static String getComponentBaseName(GlobalSpec globalSpec) {
         return globalSpec.getComponents().getZookeeperBaseName();
@@ -74,6 +85,14 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
     }
 
 
+    public static String getObserversBaseName(String baseName) {
+        return "%s-observer".formatted(baseName);
+    }
+
+    public static String getObserversCaServiceName(String baseName) {
+        return "%s-ca".formatted(getObserversBaseName(baseName));
+    }
+
     public static String getResourceName(String clusterName, String baseName) {
         return "%s-%s".formatted(clusterName, baseName);
     }
@@ -106,32 +125,36 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
     }
 
     public void patchService() {
+        patchResource(generateCachedService(resourceName, () -> generateHeadlessService(resourceName,
+                spec.getService(), getLabels(spec.getLabels()), getMatchLabels(spec.getMatchLabels()))));
+    }
+
+    private Service generateHeadlessService(String name, ZooKeeperSpec.ServiceConfig serviceConfig,
+                                            Map<String, String> labels, Map<String, String> selector) {
         Map<String, String> annotations = new HashMap<>();
         annotations.put("service.alpha.kubernetes.io/tolerate-unready-endpoints", "true");
-        if (spec.getService() != null && spec.getService().getAnnotations() != null) {
-            annotations.putAll(spec.getService().getAnnotations());
+        if (serviceConfig != null && serviceConfig.getAnnotations() != null) {
+            annotations.putAll(serviceConfig.getAnnotations());
         }
-        List<ServicePort> ports = getServicePorts();
+        List<ServicePort> ports = getServicePorts(serviceConfig);
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
-                .withName(resourceName)
+                .withName(name)
                 .withNamespace(namespace)
-                .withLabels(getLabels(spec.getLabels()))
+                .withLabels(labels)
                 .withAnnotations(annotations)
                 .endMetadata()
                 .withNewSpec()
                 .withPorts(ports)
                 .withClusterIP("None")
                 .withPublishNotReadyAddresses(true)
-                .withSelector(getMatchLabels(spec.getMatchLabels()))
+                .withSelector(selector)
                 .endSpec()
                 .build();
-
-        patchResource(service);
     }
 
-    private List<ServicePort> getServicePorts() {
+    private List<ServicePort> getServicePorts(ZooKeeperSpec.ServiceConfig serviceConfig) {
         List<ServicePort> ports = new ArrayList<>();
         ports.add(new ServicePortBuilder()
                 .withName("server")
@@ -156,39 +179,91 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
                             .build()
             );
         }
-        if (spec.getService() != null && spec.getService().getAdditionalPorts() != null) {
-            ports.addAll(spec.getService().getAdditionalPorts());
+        if (serviceConfig != null && serviceConfig.getAdditionalPorts() != null) {
+            ports.addAll(serviceConfig.getAdditionalPorts());
         }
         return ports;
     }
 
     public void patchCaService() {
+        final String name = resourceName + "-ca";
+        patchResource(generateCachedService(name, () -> generateCaService(name, spec.getService(),
+                getLabels(spec.getLabels()), getMatchLabels(spec.getMatchLabels()))));
+    }
+
+    private Service generateCaService(String name, ZooKeeperSpec.ServiceConfig serviceConfig,
+                                      Map<String, String> labels, Map<String, String> selector) {
         Map<String, String> annotations = new HashMap<>();
-        if (spec.getService() != null && spec.getService().getAnnotations() != null) {
-            annotations.putAll(spec.getService().getAnnotations());
+        if (serviceConfig != null && serviceConfig.getAnnotations() != null) {
+            annotations.putAll(serviceConfig.getAnnotations());
         }
-        List<ServicePort> ports = getServicePorts();
+        List<ServicePort> ports = getServicePorts(serviceConfig);
 
-        final Service service = new ServiceBuilder()
+        return new ServiceBuilder()
                 .withNewMetadata()
-                .withName(resourceName + "-ca")
+                .withName(name)
                 .withNamespace(namespace)
-                .withLabels(getLabels(spec.getLabels()))
+                .withLabels(labels)
                 .withAnnotations(annotations)
                 .endMetadata()
                 .withNewSpec()
                 .withPorts(ports)
-                .withSelector(getMatchLabels(spec.getMatchLabels()))
+                .withSelector(selector)
                 .endSpec()
                 .build();
+    }
+
+    private int getObserverReplicas() {
+        return spec.getObservers() == null ? 0 : spec.getObservers().getReplicas();
+    }
+
+    private String getObserversResourceName() {
+        return getObserversBaseName(resourceName);
+    }
+
+    private Map<String, String> withObserversComponent(Map<String, String> labels) {
+        labels.put(CRDConstants.LABEL_COMPONENT, getObserversBaseName(getComponentBaseName()));
+        return labels;
+    }
 
-        patchResource(service);
+    /**
+     * Observers have their own component label, so the voting members services, pod disruption budget and
+     * StatefulSet never select them.
+     */
+    private Map<String, String> getObserverMatchLabels() {
+        return withObserversComponent(getMatchLabels(spec.getMatchLabels()));
+    }
+
+    public void patchObserverServices() {
+        final String name = getObserversResourceName();
+        if (getObserverReplicas() == 0) {
+            ApiRateLimiter.run(ApiPriority.PATCH,
+                    () -> client.services().inNamespace(namespace).withName(name).delete());
+            ApiRateLimiter.run(ApiPriority.PATCH,
+                    () -> client.services().inNamespace(namespace).withName(name + "-ca").delete());
+            return;
+        }
+        final ZooKeeperSpec.ServiceConfig serviceConfig = spec.getObservers().getService();
+        final Map<String, String> labels = withObserversComponent(getLabels(spec.getLabels()));
+        patchResource(generateCachedService(name,
+                () -> generateHeadlessService(name, serviceConfig, labels, getObserverMatchLabels())));
+        patchResource(generateCachedService(name + "-ca",
+                () -> generateCaService(name + "-ca", serviceConfig, labels, getObserverMatchLabels())));
     }
 
     public void patchConfigMap() {
+        final ConfigMap configMap = generateCachedConfigMap(resourceName, this::generateConfigMap);
+        patchResource(configMap);
+        this.configMap = configMap;
+    }
+
+    private ConfigMap generateConfigMap() {
         Map<String, String> data = new HashMap<>();
-        data.put("PULSAR_MEM", "-Xms1g -Xmx1g -Dcom.sun.management.jmxremote -Djute.maxbuffer=10485760");
-        data.put("PULSAR_GC", "-XX:+UseG1GC");
+        final JvmMemorySettings memorySettings = JvmMemorySettings.compute(spec.getMemoryProfile(),
+                DEFAULT_MEMORY_PROFILE, spec.getResources());
+        data.put("PULSAR_MEM", (memorySettings == null ? "-Xms1g -Xmx1g" : memorySettings.getMemoryOpts())
+                + " -Dcom.sun.management.jmxremote -Djute.maxbuffer=10485760");
+        data.put("PULSAR_GC", memorySettings == null ? "-XX:+UseG1GC" : memorySettings.getGcOpts());
         data.put("PULSAR_LOG_LEVEL", "info");
         data.put("PULSAR_LOG_ROOT_LEVEL", "info");
         data.put("PULSAR_EXTRA_OPTS",
@@ -201,17 +276,15 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
         }
         appendConfigData(data, spec.getConfig());
 
-        final ConfigMap configMap = new ConfigMapBuilder()
+        return new ConfigMapBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
                 .withLabels(getLabels(spec.getLabels()))
-                .withAnnotations(getAnnotations(spec.getAnnotations()))
+                .withAnnotations(getAnnotations(spec.getAnnotations(), memorySettings))
                 .endMetadata()
                 .withData(handleConfigPulsarPrefix(data))
                 .build();
-        patchResource(configMap);
-        this.configMap = configMap;
     }
 
     public void patchStorageClass() {
@@ -232,7 +305,11 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
             deleteStatefulSet();
             return;
         }
+        final StatefulSet statefulSet = generateCachedStatefulSet(resourceName, this::generateStatefulSet);
+        patchResource(statefulSet);
+    }
 
+    public StatefulSet generateStatefulSet() {
         Map<String, String> labels = getLabels(spec.getLabels());
         Map<String, String> podLabels = getPodLabels(spec.getPodLabels());
         Map<String, String> matchLabels = getMatchLabels(spec.getMatchLabels());
@@ -275,6 +352,9 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
             command += generateCertConverterScript() + " && ";
         }
         command += "bin/generate-zookeeper-config.sh conf/zookeeper.conf && ";
+        if (getObserverReplicas() > 0) {
+            command += generateObserverServersScript() + " && ";
+        }
 
         command += "OPTS=\"${OPTS} -Dlog4j2.formatMsgNoLookups=true\" exec bin/pulsar zookeeper";
 
@@ -333,7 +413,7 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
             );
         }
 
-        final StatefulSet statefulSet = new StatefulSetBuilder()
+        return new StatefulSetBuilder()
                 .withNewMetadata()
                 .withName(resourceName)
                 .withNamespace(namespace)
@@ -374,9 +454,167 @@ public class ZooKeeperResourcesFactory extends BaseResourcesFactory<ZooKeeperSpe
                 .withVolumeClaimTemplates(persistentVolumeClaims)
                 .endSpec()
                 .build();
+    }
+
+    private String getServerAddress(String serviceName, int index) {
+        return "%s-%d.%s.%s".formatted(serviceName, index, serviceName, getServiceDnsSuffix());
+    }
+
+    private String generateServerLine(int id, String address, boolean observer) {
+        return "echo 'server.%d=%s:%d:%d%s;%d' >> conf/zookeeper.conf".formatted(id, address, DEFAULT_SERVER_PORT,
+                DEFAULT_LEADER_ELECTION_PORT, observer ? ":observer" : "", DEFAULT_CLIENT_PORT);
+    }
+
+    private String generateObserverServersScript() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < getObserverReplicas(); i++) {
+            lines.add(generateServerLine(OBSERVER_SERVER_ID_OFFSET + i,
+                    getServerAddress(getObserversResourceName(), i), true));
+        }
+        return String.join(" && ", lines);
+    }
+
+    /**
+     * The observers don't use generate-zookeeper-config.sh since they are not part of ZOOKEEPER_SERVERS: the myid
+     * and the whole ensemble are written here, with the same ids assigned to the voting members by the script.
+     */
+    private String generateObserverConfigScript() {
+        List<String> lines = new ArrayList<>();
+        lines.add("mkdir -p data/zookeeper");
+        lines.add("echo $((%d + ${HOSTNAME##*-})) > data/zookeeper/myid".formatted(OBSERVER_SERVER_ID_OFFSET));
+        lines.add("echo 'peerType=observer' >> conf/zookeeper.conf");
+        for (int i = 0; i < spec.getReplicas(); i++) {
+            lines.add(generateServerLine(i + 1, getServerAddress(resourceName, i), false));
+        }
+        lines.add(generateObserverServersScript());
+        return String.join(" && ", lines);
+    }
+
+    public void patchObserverStatefulSet() {
+        final String name = getObserversResourceName();
+        if (!isComponentEnabled() || getObserverReplicas() == 0) {
+            ApiRateLimiter.run(ApiPriority.PATCH,
+                    () -> client.apps().statefulSets().inNamespace(namespace).withName(name).delete());
+            return;
+        }
+        final StatefulSet statefulSet = generateCachedStatefulSet(name, this::generateObserverStatefulSet);
         patchResource(statefulSet);
     }
 
+    public StatefulSet generateObserverStatefulSet() {
+        final String name = getObserversResourceName();
+        Objects.requireNonNull(configMap, "ConfigMap should have been created at this point");
+        final Map<String, String> labels = withObserversComponent(getLabels(spec.getLabels()));
+        final Map<String, String> podLabels = withObserversComponent(getPodLabels(spec.getPodLabels()));
+        final Map<String, String> matchLabels = getObserverMatchLabels();
+        final boolean enableTls = isTlsEnabledOnZooKeeper();
+
+        List<VolumeMount> volumeMounts = new ArrayList<>();
+        List<Volume> volumes = new ArrayList<>();
+        final String dataVolumeName = name + "-" + spec.getDataVolume().getName();
+        volumeMounts.add(new VolumeMountBuilder()
+                .withName(dataVolumeName)
+                .withMountPath("/pulsar/data")
+                .build());
+        volumes.add(new VolumeBuilder()
+                .withName(dataVolumeName)
+                .withNewEmptyDir().endEmptyDir()
+                .build());
+        if (enableTls) {
+            addTlsVolumesIfEnabled(volumeMounts, volumes, getTlsSecretNameForZookeeper());
+        }
+
+        String command = "bin/apply-config-from-env.py conf/zookeeper.conf && ";
+        if (enableTls) {
+            command += generateCertConverterScript() + " && ";
+        }
+        command += generateObserverConfigScript() + " && ";
+        command += "OPTS=\"${OPTS} -Dlog4j2.formatMsgNoLookups=true\" exec bin/pulsar zookeeper";
+
+        final Container container = new ContainerBuilder()
+                .withName(name)
+                .withImage(spec.getImage())
+                .withImagePullPolicy(spec.getImagePullPolicy())
+                .withResources(spec.getObservers().getResources())
+                .withCommand("sh", "-c")
+                .withArgs(command)
+                .withPorts(Arrays.asList(
+                        new ContainerPortBuilder()
+                                .withName("client")
+                                .withContainerPort(DEFAULT_CLIENT_PORT)
+                                .build(),
+                        new ContainerPortBuilder()
+                                .withName("server")
+                                .withContainerPort(DEFAULT_SERVER_PORT)
+                                .build(),
+                        new ContainerPortBuilder()
+                                .withName("leader-election")
+                                .withContainerPort(DEFAULT_LEADER_ELECTION_PORT)
+                                .build()
+                ))
+                .withEnvFrom(List.of(new EnvFromSourceBuilder().withNewConfigMapRef()
+                        .withName(resourceName).endConfigMapRef().build()))
+                .withLivenessProbe(createProbe(spec.getProbes().getLiveness()))
+                .withReadinessProbe(createProbe(spec.getProbes().getReadiness()))
+                .withVolumeMounts(volumeMounts)
+                .build();
+
+        return new StatefulSetBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .withLabels(labels)
+                .withAnnotations(getAnnotations(spec.getAnnotations()))
+                .endMetadata()
+                .withNewSpec()
+                .withServiceName(name)
+                .withReplicas(getObserverReplicas())
+                .withNewSelector()
+                .withMatchLabels(matchLabels)
+                .endSelector()
+                .withUpdateStrategy(spec.getUpdateStrategy())
+                .withPodManagementPolicy(spec.getPodManagementPolicy())
+                .withNewTemplate()
+                .withNewMetadata()
+                .withLabels(podLabels)
+                .withAnnotations(getPodAnnotations(spec.getPodAnnotations(), configMap))
+                .endMetadata()
+                .withNewSpec()
+                .withTolerations(spec.getTolerations())
+                .withDnsConfig(global.getDnsConfig())
+                .withImagePullSecrets(spec.getImagePullSecrets())
+                .withNodeSelector(spec.getNodeSelectors())
+                .withAffinity(getAffinity(
+                        spec.getNodeAffinity(),
+                        spec.getAntiAffinity(),
+                        matchLabels
+                ))
+                .withTerminationGracePeriodSeconds(spec.getGracePeriod().longValue())
+                .withPriorityClassName(global.getPriorityClassName())
+                .withNewSecurityContext().withFsGroup(0L).endSecurityContext()
+                .withContainers(container)
+                .withVolumes(volumes)
+                .endSpec()
+                .endTemplate()
+                .endSpec()
+                .build();
+    }
+
+    public StatefulSet getObserverStatefulSet() {
+        return ApiRateLimiter.call(ApiPriority.READINESS, () -> client.apps().statefulSets()
+                .inNamespace(namespace)
+                .withName(getObserversResourceName())
+                .get());
+    }
+
+    public boolean isObserversReady() {
+        if (getObserverReplicas() == 0) {
+            return true;
+        }
+        final StatefulSet sts = getObserverStatefulSet();
+        return sts != null && isStatefulSetReady(sts);
+    }
+
     public Job getMetadataInitializationJob() {
         return getJob(jobName());
     }
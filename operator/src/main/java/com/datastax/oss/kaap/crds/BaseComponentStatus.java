@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import io.fabric8.kubernetes.api.model.Condition;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,4 +34,12 @@ public class BaseComponentStatus {
 
     @JsonPropertyDescription("Last spec applied.")
     String lastApplied;
+
+    @JsonPropertyDescription("Fingerprints of the last spec applied. "
+            + "Used to skip the comparison with the last spec applied when nothing changed.")
+    Map<String, String> lastAppliedFingerprints;
+
+    public BaseComponentStatus(List<Condition> conditions, String lastApplied) {
+        this(conditions, lastApplied, null);
+    }
 }
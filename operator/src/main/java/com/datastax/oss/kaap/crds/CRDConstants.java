@@ -35,6 +35,7 @@ public final class CRDConstants {
     public static final String CONDITIONS_TYPE_READY_REASON_INVALID_SPEC = "InvalidSpec";
     public static final String CONDITIONS_TYPE_READY_REASON_INITIALIZING = "Initializing";
     public static final String CONDITIONS_TYPE_READY_REASON_DISABLED = "Disabled";
+    public static final String CONDITIONS_TYPE_READY_REASON_ROLLING_OUT = "RollingOut";
 
     public static final String DOC_IMAGE = "Override Pulsar image.";
     public static final String DOC_IMAGE_PULL_POLICY = "Override image pull policy.";
@@ -48,6 +49,10 @@ public final class CRDConstants {
     public static final String DOC_REPLICAS = "Number of desired replicas.";
     public static final String DOC_GRACE_PERIOD = "Termination grace period in seconds.";
     public static final String DOC_RESOURCES = "Resources requirements.";
+    public static final String DOC_MEMORY_PROFILE = "JVM memory profile. If enabled, the JVM memory settings "
+            + "are derived from the container resources.";
+    public static final String DOC_ROLLOUT = "Operator-driven rollout of the StatefulSet. If enabled, the pods are "
+            + "restarted in batches instead of one at a time.";
     public static final String DOC_TOLERATIONS = "Pod tolerations.";
     public static final String DOC_NODE_AFFINITY = "Node affinity configuration.";
     public static final String DOC_ANTIAFFINITY =
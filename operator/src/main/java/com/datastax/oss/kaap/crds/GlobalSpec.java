@@ -139,6 +139,17 @@ public class GlobalSpec extends ValidableSpec<GlobalSpec> implements WithDefault
         private String functionsWorkerBaseName;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ZooKeeperObserverClientsConfig {
+        @JsonPropertyDescription("Connect the brokers to the ZooKeeper observers. Default value is 'false'.")
+        private Boolean broker;
+        @JsonPropertyDescription("Connect the bookies to the ZooKeeper observers. Default value is 'false'.")
+        private Boolean bookkeeper;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -208,6 +219,9 @@ public class GlobalSpec extends ValidableSpec<GlobalSpec> implements WithDefault
             + "versions of Apache Zookeeper (<3.8.0) does not support getting password from file. In that case, set "
             + "this to true.")
     private Boolean zookeeperPlainSslStorePassword;
+    @JsonPropertyDescription("Components connecting to the ZooKeeper observers instead of the voting members, to "
+            + "scale the metadata reads without affecting the quorum latency. The ZooKeeper observers must be enabled.")
+    private ZooKeeperObserverClientsConfig zookeeperObserverClients;
 
     @Override
     public void applyDefaults(GlobalSpec globalSpec) {
@@ -244,6 +258,12 @@ public class GlobalSpec extends ValidableSpec<GlobalSpec> implements WithDefault
         if (zookeeperPlainSslStorePassword == null) {
             zookeeperPlainSslStorePassword = false;
         }
+        if (zookeeperObserverClients == null) {
+            zookeeperObserverClients = new ZooKeeperObserverClientsConfig();
+        }
+        zookeeperObserverClients.setBroker(ObjectUtils.firstNonNull(zookeeperObserverClients.getBroker(), false));
+        zookeeperObserverClients.setBookkeeper(
+                ObjectUtils.firstNonNull(zookeeperObserverClients.getBookkeeper(), false));
     }
 
     private void applyTlsDefaults() {
@@ -20,6 +20,7 @@ import com.datastax.oss.kaap.common.json.JSONAssertComparator;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import java.util.List;
 import lombok.extern.jbosslog.JBossLog;
+import org.apache.commons.codec.digest.DigestUtils;
 
 @JBossLog
 public class SpecDiffer {
@@ -51,6 +52,21 @@ public class SpecDiffer {
     private SpecDiffer() {
     }
 
+    /**
+     * Compute a stable hash of the spec. Two specs with the same fingerprint are always equal for
+     * {@link #generateDiff(Object, Object)}, while specs with different fingerprints still need to be compared.
+     */
+    public static String generateFingerprint(Object spec) {
+        if (spec == null) {
+            return null;
+        }
+        return DigestUtils.sha256Hex(SerializationUtil.writeAsCanonicalJsonBytes(spec));
+    }
+
+    public static boolean isSameFingerprint(Object spec, String fingerprint) {
+        return fingerprint != null && fingerprint.equals(generateFingerprint(spec));
+    }
+
     public static JSONComparator.Result generateDiff(String expectedJson, String actualJson) {
         if (expectedJson == null && actualJson == null) {
             return JSONComparator.RESULT_EQUALS;
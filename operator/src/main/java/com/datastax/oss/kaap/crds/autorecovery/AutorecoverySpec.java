@@ -15,11 +15,13 @@
  */
 package com.datastax.oss.kaap.crds.autorecovery;
 
+import com.datastax.oss.kaap.controllers.autorecovery.AutorecoveryResourcesFactory;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.ConfigUtil;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.WithDefaults;
 import com.datastax.oss.kaap.crds.configs.AntiAffinityConfig;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.validation.ValidableSpec;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -36,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.validation.ConstraintValidatorContext;
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -84,6 +87,9 @@ public class AutorecoverySpec extends ValidableSpec<AutorecoverySpec> implements
     private Integer gracePeriod;
     @JsonPropertyDescription(CRDConstants.DOC_RESOURCES)
     private ResourceRequirements resources;
+    @JsonPropertyDescription(CRDConstants.DOC_MEMORY_PROFILE)
+    @Valid
+    private MemoryProfileConfig memoryProfile;
     @JsonPropertyDescription(CRDConstants.DOC_TOLERATIONS)
     private List<Toleration> tolerations;
     @JsonPropertyDescription(CRDConstants.DOC_NODE_AFFINITY)
@@ -119,6 +125,7 @@ public class AutorecoverySpec extends ValidableSpec<AutorecoverySpec> implements
 
     @Override
     public boolean isValid(AutorecoverySpec value, ConstraintValidatorContext context) {
-        return true;
+        return isMemoryProfileValid(value.getMemoryProfile(), AutorecoveryResourcesFactory.DEFAULT_MEMORY_PROFILE,
+                context);
     }
 }
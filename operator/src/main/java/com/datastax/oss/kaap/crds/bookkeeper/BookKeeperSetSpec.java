@@ -15,12 +15,16 @@
  */
 package com.datastax.oss.kaap.crds.bookkeeper;
 
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.BaseComponentSpec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.ConfigUtil;
 import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.configs.PodDisruptionBudgetConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
 import com.datastax.oss.kaap.crds.configs.VolumeConfig;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -31,6 +35,7 @@ import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategy;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategyBuilder;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +48,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.apache.commons.lang3.ObjectUtils;
 
 @Data
 @NoArgsConstructor
@@ -104,6 +110,37 @@ public class BookKeeperSetSpec extends BaseComponentSpec<BookKeeperSetSpec> {
             .build();
 
 
+    public enum JournalStorageType {
+        Persistent,
+        LocalStorageClass,
+        HostPath,
+        Memory
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class JournalStorageConfig {
+        @JsonPropertyDescription("Journal storage type. 'Persistent' uses a PVC created from the journal volume "
+                + "config. 'LocalStorageClass' uses a PVC bound to a node-local storage class. 'HostPath' uses a "
+                + "directory on the node. 'Memory' uses a memory-backed emptyDir, counted in the container memory, "
+                + "meant for test environments. With 'HostPath' and 'Memory' the journal is lost when the pod is "
+                + "deleted or moved: the ledgers of the bookie are then recovered to the other bookies and the "
+                + "bookie is formatted before it starts. The autorecovery must be enabled. Entries whose other "
+                + "replicas are lost at the same time cannot be recovered. Default is 'Persistent'.")
+        private String type;
+        @JsonPropertyDescription("Storage class providing the node-local persistent volumes. "
+                + "Required for 'LocalStorageClass'.")
+        private String storageClassName;
+        @JsonPropertyDescription("Base directory on the node. Each bookie uses its own sub-directory. "
+                + "Required for 'HostPath'.")
+        private String hostPath;
+        @JsonPropertyDescription("Labels of the nodes providing the local storage. The bookies are only scheduled "
+                + "on these nodes. Required for 'HostPath'.")
+        private Map<String, String> nodeSelector;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -113,6 +150,18 @@ public class BookKeeperSetSpec extends BaseComponentSpec<BookKeeperSetSpec> {
         private VolumeConfig journal;
         @JsonPropertyDescription("Config for the ledgers volume.")
         private VolumeConfig ledgers;
+        @Min(1)
+        @io.fabric8.generator.annotation.Min(1)
+        @JsonPropertyDescription("Number of journal volumes for each bookie. Each volume is a separate PVC mounted as "
+                + "a journal directory, using the journal volume config. Default is '1'.")
+        private Integer journalCount;
+        @Min(1)
+        @io.fabric8.generator.annotation.Min(1)
+        @JsonPropertyDescription("Number of ledgers volumes for each bookie. Each volume is a separate PVC mounted as "
+                + "a ledger directory, using the ledgers volume config. Default is '1'.")
+        private Integer ledgersCount;
+        @JsonPropertyDescription("Journal storage. The ledgers are always stored on persistent volumes.")
+        private JournalStorageConfig journalStorage;
     }
 
     @Data
@@ -135,6 +184,9 @@ public class BookKeeperSetSpec extends BaseComponentSpec<BookKeeperSetSpec> {
     private ProbesConfig probes;
     @JsonPropertyDescription("Update strategy for the StatefulSet. Default value is rolling update.")
     private StatefulSetUpdateStrategy updateStrategy;
+    @JsonPropertyDescription(CRDConstants.DOC_ROLLOUT)
+    @Valid
+    private RolloutConfig rollout;
     @JsonPropertyDescription("Pod management policy. Default value is 'Parallel'.")
     private String podManagementPolicy;
     @Min(0)
@@ -143,7 +195,11 @@ public class BookKeeperSetSpec extends BaseComponentSpec<BookKeeperSetSpec> {
     private Integer gracePeriod;
     @JsonPropertyDescription(CRDConstants.DOC_RESOURCES)
     private ResourceRequirements resources;
+    @JsonPropertyDescription(CRDConstants.DOC_MEMORY_PROFILE)
+    @Valid
+    private MemoryProfileConfig memoryProfile;
     @JsonPropertyDescription("Volumes configuration.")
+    @Valid
     private Volumes volumes;
     @JsonPropertyDescription("Prefix for each PVC created.")
     private String pvcPrefix;
@@ -207,6 +263,74 @@ public class BookKeeperSetSpec extends BaseComponentSpec<BookKeeperSetSpec> {
 
     @Override
     public boolean isValid(BookKeeperSetSpec value, ConstraintValidatorContext context) {
+        return isJournalStorageValid(value, context)
+                && isMemoryProfileValid(value.getMemoryProfile(), BookKeeperResourcesFactory.DEFAULT_MEMORY_PROFILE,
+                context);
+    }
+
+    protected static boolean isJournalStorageValid(BookKeeperSetSpec value, ConstraintValidatorContext context) {
+        if (value.getVolumes() == null || value.getVolumes().getJournalStorage() == null) {
+            return true;
+        }
+        final JournalStorageConfig journalStorage = value.getVolumes().getJournalStorage();
+        // report only the specific violation
+        context.disableDefaultConstraintViolation();
+        final String type = ObjectUtils.firstNonNull(journalStorage.getType(),
+                JournalStorageType.Persistent.toString());
+        if (Arrays.stream(JournalStorageType.values()).noneMatch(t -> t.toString().equals(type))) {
+            context.buildConstraintViolationWithTemplate(
+                            "Invalid journal storage type: %s, only %s".formatted(type,
+                                    Arrays.toString(JournalStorageType.values())))
+                    .addConstraintViolation();
+            return false;
+        }
+        final JournalStorageType journalStorageType = JournalStorageType.valueOf(type);
+        if (journalStorageType == JournalStorageType.LocalStorageClass
+                && journalStorage.getStorageClassName() == null) {
+            context.buildConstraintViolationWithTemplate(
+                            "journalStorage.storageClassName is required for journal storage type %s"
+                                    .formatted(type))
+                    .addConstraintViolation();
+            return false;
+        }
+        if (journalStorageType == JournalStorageType.HostPath
+                && (journalStorage.getHostPath() == null || journalStorage.getNodeSelector() == null
+                || journalStorage.getNodeSelector().isEmpty())) {
+            context.buildConstraintViolationWithTemplate(
+                            "journalStorage.hostPath and journalStorage.nodeSelector are required for journal "
+                                    + "storage type %s".formatted(type))
+                    .addConstraintViolation();
+            return false;
+        }
+        if (journalStorageType == JournalStorageType.HostPath || journalStorageType == JournalStorageType.Memory) {
+            // the journal is lost when the pod is moved or restarted, only one bookie at a time can go through it
+            final PodDisruptionBudgetConfig pdb = value.getPdb();
+            if (pdb == null || pdb.getEnabled() == null || !pdb.getEnabled()
+                    || pdb.getMaxUnavailable() == null || pdb.getMaxUnavailable() > 1) {
+                context.buildConstraintViolationWithTemplate(
+                                "Journal storage type %s requires a pod disruption budget with maxUnavailable=1"
+                                        .formatted(type))
+                        .addConstraintViolation();
+                return false;
+            }
+        }
+        if (journalStorageType == JournalStorageType.Memory && value.getResources() != null
+                && value.getVolumes().getJournal() != null && value.getVolumes().getJournal().getSize() != null) {
+            // the memory-backed journal volumes are counted in the container memory
+            Quantity memory = value.getResources().getLimits() == null ? null
+                    : value.getResources().getLimits().get("memory");
+            if (memory == null && value.getResources().getRequests() != null) {
+                memory = value.getResources().getRequests().get("memory");
+            }
+            final long journalMemoryMb = BookKeeperResourcesFactory.getJournalMemoryMb(value);
+            if (memory != null && journalMemoryMb >= JvmMemorySettings.toMb(memory)) {
+                context.buildConstraintViolationWithTemplate(
+                                ("Journal storage type %s requires a container memory larger than the journal "
+                                        + "volumes (%dMi)").formatted(type, journalMemoryMb))
+                        .addConstraintViolation();
+                return false;
+            }
+        }
         return true;
     }
 
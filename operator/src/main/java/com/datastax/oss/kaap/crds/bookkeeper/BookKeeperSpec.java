@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.crds.bookkeeper;
 
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
 import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.ConfigUtil;
 import com.datastax.oss.kaap.crds.GlobalSpec;
@@ -86,6 +87,13 @@ public class BookKeeperSpec extends BookKeeperSetSpec {
                     .addConstraintViolation();
             return false;
         }
+        for (BookKeeperSetSpec setSpec : BookKeeperController.getBookKeeperSetSpecs(value).values()) {
+            if (!isJournalStorageValid(setSpec, context)
+                    || !isMemoryProfileValid(setSpec.getMemoryProfile(),
+                    BookKeeperResourcesFactory.DEFAULT_MEMORY_PROFILE, context)) {
+                return false;
+            }
+        }
         return true;
     }
 
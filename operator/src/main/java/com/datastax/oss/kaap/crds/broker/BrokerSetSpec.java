@@ -15,13 +15,16 @@
  */
 package com.datastax.oss.kaap.crds.broker;
 
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.crds.BaseComponentSpec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.ConfigUtil;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.configs.KafkaConfig;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.configs.PodDisruptionBudgetConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.crd.generator.annotation.SchemaFrom;
@@ -146,6 +149,22 @@ public class BrokerSetSpec extends BaseComponentSpec<BrokerSetSpec> {
 
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DrainConfig {
+        @JsonPropertyDescription("Unload the bundles of a broker before the operator restarts it during a rollout "
+                + "or before the autoscaler removes it. The bundles are unloaded to the brokers that keep running, "
+                + "with Pulsar versions supporting the unload destination broker. Default is 'false'.")
+        private Boolean enabled;
+        @Min(1)
+        @io.fabric8.generator.annotation.Min(1)
+        @JsonPropertyDescription("Maximum time to wait for the bundles to be owned by other brokers, in seconds. "
+                + "Default is '60'.")
+        private Integer timeoutSeconds;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -181,6 +200,12 @@ public class BrokerSetSpec extends BaseComponentSpec<BrokerSetSpec> {
     private BrokerSpec.TransactionCoordinatorConfig transactions;
     @JsonPropertyDescription("Update strategy for the StatefulSet.")
     private StatefulSetUpdateStrategy updateStrategy;
+    @JsonPropertyDescription(CRDConstants.DOC_ROLLOUT)
+    @Valid
+    private RolloutConfig rollout;
+    @JsonPropertyDescription("Drain the brokers before they are stopped by the operator.")
+    @Valid
+    private DrainConfig drain;
     @JsonPropertyDescription("Pod management policy.")
     private String podManagementPolicy;
     @Min(0)
@@ -189,6 +214,9 @@ public class BrokerSetSpec extends BaseComponentSpec<BrokerSetSpec> {
     private Integer gracePeriod;
     @JsonPropertyDescription(CRDConstants.DOC_RESOURCES)
     private ResourceRequirements resources;
+    @JsonPropertyDescription(CRDConstants.DOC_MEMORY_PROFILE)
+    @Valid
+    private MemoryProfileConfig memoryProfile;
     @JsonPropertyDescription("Service configuration.")
     private BrokerSpec.ServiceConfig service;
     @JsonPropertyDescription("Service account name for the Broker StatefulSet.")
@@ -289,6 +317,6 @@ public class BrokerSetSpec extends BaseComponentSpec<BrokerSetSpec> {
 
     @Override
     public boolean isValid(BrokerSetSpec value, ConstraintValidatorContext context) {
-        return true;
+        return isMemoryProfileValid(value.getMemoryProfile(), BrokerResourcesFactory.DEFAULT_MEMORY_PROFILE, context);
     }
 }
@@ -15,6 +15,7 @@
  */
 package com.datastax.oss.kaap.crds.broker;
 
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
 import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -71,6 +72,12 @@ public class BrokerSpec extends BrokerSetSpec {
                     .addConstraintViolation();
             return false;
         }
+        for (BrokerSetSpec setSpec : BrokerController.getBrokerSetSpecs(brokerSpec).values()) {
+            if (!isMemoryProfileValid(setSpec.getMemoryProfile(), BrokerResourcesFactory.DEFAULT_MEMORY_PROFILE,
+                    context)) {
+                return false;
+            }
+        }
         return true;
     }
 
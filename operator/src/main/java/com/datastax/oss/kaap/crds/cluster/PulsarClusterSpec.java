@@ -15,6 +15,8 @@
  */
 package com.datastax.oss.kaap.crds.cluster;
 
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.FullSpecWithDefaults;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.WithDefaults;
@@ -33,7 +35,9 @@ import com.datastax.oss.kaap.crds.validation.ValidSpec;
 import com.datastax.oss.kaap.crds.validation.ValidableSpec;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.validation.ConstraintValidatorContext;
@@ -122,7 +126,57 @@ public class PulsarClusterSpec extends ValidableSpec<PulsarClusterSpec> implemen
                 && value.getProxy().isValid(value.getProxy(), context)
                 && value.getAutorecovery().isValid(value.getAutorecovery(), context)
                 && value.getBastion().isValid(value.getBastion(), context)
-                && validateResourceSets(value, context);
+                && validateResourceSets(value, context)
+                && validateEphemeralJournalsRecovery(value, context)
+                && validateZooKeeperObserverClients(value, context);
+    }
+
+    private boolean validateZooKeeperObserverClients(PulsarClusterSpec spec, ConstraintValidatorContext context) {
+        final GlobalSpec.ZooKeeperObserverClientsConfig clients = spec.getGlobal().getZookeeperObserverClients();
+        if (clients == null) {
+            return true;
+        }
+        final List<String> components = new ArrayList<>();
+        if (clients.getBroker() != null && clients.getBroker()) {
+            components.add("broker");
+        }
+        if (clients.getBookkeeper() != null && clients.getBookkeeper()) {
+            components.add("bookkeeper");
+        }
+        final ZooKeeperSpec.ObserversConfig observers = spec.getZookeeper().getObservers();
+        if (!components.isEmpty() && (observers == null || observers.getReplicas() == null
+                || observers.getReplicas() <= 0)) {
+            // the observers service would have no endpoints
+            context.buildConstraintViolationWithTemplate(
+                            ("global.zookeeperObserverClients is enabled for %s but there are no ZooKeeper "
+                                    + "observers, set zookeeper.observers.replicas")
+                                    .formatted(String.join(", ", components)))
+                    .addConstraintViolation();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean validateEphemeralJournalsRecovery(PulsarClusterSpec spec, ConstraintValidatorContext context) {
+        final Integer autorecoveryReplicas = spec.getAutorecovery().getReplicas();
+        if (autorecoveryReplicas == null || autorecoveryReplicas > 0) {
+            return true;
+        }
+        for (Map.Entry<String, BookKeeperSetSpec> set
+                : BookKeeperController.getBookKeeperSetSpecs(spec.getBookkeeper()).entrySet()) {
+            final BookKeeperSetSpec.JournalStorageType journalStorageType =
+                    BookKeeperResourcesFactory.getJournalStorageType(set.getValue());
+            if (BookKeeperResourcesFactory.isJournalEphemeral(journalStorageType)) {
+                // the ledgers of a formatted bookie must be re-replicated by the autorecovery
+                context.buildConstraintViolationWithTemplate(
+                                ("bookkeeper set %s uses journal storage type %s, which requires the autorecovery "
+                                        + "to be enabled (.autorecovery.replicas > 0)")
+                                        .formatted(set.getKey(), journalStorageType))
+                        .addConstraintViolation();
+                return false;
+            }
+        }
+        return true;
     }
 
     private boolean validateResourceSets(PulsarClusterSpec spec, ConstraintValidatorContext context) {
@@ -0,0 +1,60 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.crds.configs;
+
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.fabric8.generator.annotation.Max;
+import io.fabric8.generator.annotation.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MemoryProfileConfig {
+    @JsonPropertyDescription("Derive the JVM heap, direct memory and GC settings from the container memory limit "
+            + "(or the memory request if no limit is set). Default is 'false'.")
+    private Boolean enabled;
+    @Min(0)
+    @Max(1)
+    @javax.validation.constraints.Min(0)
+    @javax.validation.constraints.Max(1)
+    @JsonPropertyDescription("Fraction of the container memory assigned to the JVM heap.")
+    private Double heapRatio;
+    @Min(0)
+    @Max(1)
+    @javax.validation.constraints.Min(0)
+    @javax.validation.constraints.Max(1)
+    @JsonPropertyDescription("Fraction of the container memory assigned to the JVM direct memory.")
+    private Double directMemoryRatio;
+    @Min(0)
+    @Max(1)
+    @javax.validation.constraints.Min(0)
+    @javax.validation.constraints.Max(1)
+    @JsonPropertyDescription("Fraction of the direct memory assigned to the DbLedgerStorage write cache. "
+            + "Only used by bookies.")
+    private Double writeCacheRatio;
+    @Min(0)
+    @Max(1)
+    @javax.validation.constraints.Min(0)
+    @javax.validation.constraints.Max(1)
+    @JsonPropertyDescription("Fraction of the direct memory assigned to the DbLedgerStorage read-ahead cache. "
+            + "Only used by bookies.")
+    private Double readAheadCacheRatio;
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.crds.configs;
+
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.fabric8.generator.annotation.Max;
+import io.fabric8.generator.annotation.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RolloutConfig {
+    @JsonPropertyDescription("Let the operator drive the StatefulSet rollout: the pods are restarted in batches by "
+            + "lowering the rolling update partition, each batch waits for the previous one to be ready and "
+            + "healthy. Default is 'false'.")
+    private Boolean enabled;
+    @Min(1)
+    @javax.validation.constraints.Min(1)
+    @JsonPropertyDescription("Number of pods restarted at the same time. Default is '1'.")
+    private Integer batchSize;
+    @Min(1)
+    @Max(100)
+    @javax.validation.constraints.Min(1)
+    @javax.validation.constraints.Max(100)
+    @JsonPropertyDescription("Number of pods restarted at the same time, as a percentage of the replicas, rounded "
+            + "up. If set, batchSize is ignored.")
+    private Integer batchSizePercentage;
+    @JsonPropertyDescription("If the set is assigned to a rack, the batch size is capped to the replicas minus one, "
+            + "so at least one pod of the set keeps running during each batch. The batches are not built across "
+            + "racks: the other sets of the same rack are rolled one after the other only with the 'RollingUpdate' "
+            + "sets update strategy. Default is 'true'.")
+    private Boolean keepRackAvailable;
+}
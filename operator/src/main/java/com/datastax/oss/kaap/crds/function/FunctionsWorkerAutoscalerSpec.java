@@ -0,0 +1,88 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.crds.function;
+
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.fabric8.generator.annotation.Max;
+import io.fabric8.generator.annotation.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunctionsWorkerAutoscalerSpec {
+
+    @JsonPropertyDescription("Enable autoscaling for functions workers.")
+    Boolean enabled;
+    @Min(1000)
+    @javax.validation.constraints.Min(1000)
+    @JsonPropertyDescription("The interval in milliseconds between two consecutive autoscaling checks.")
+    Long periodMs;
+    @Min(1)
+    @javax.validation.constraints.Min(1)
+    @JsonPropertyDescription("Min number of functions workers. If the number of workers is equals to this value, the "
+            + "autoscaler will never scale down.")
+    Integer min;
+    @JsonPropertyDescription("Max number of functions workers. If the number of workers is equals to this value, the "
+            + "autoscaler will never scale up.")
+    Integer max;
+    @Min(0)
+    @Max(1)
+    @javax.validation.constraints.Min(0)
+    @javax.validation.constraints.Max(1)
+    @JsonPropertyDescription("The threshold to trigger a scale down. The autoscaler will scale down if all the "
+            + "workers cpu usage is lower than this threshold. Default is '0.3'")
+    Double lowerCpuThreshold;
+    @Min(0)
+    @Max(1)
+    @javax.validation.constraints.Min(0)
+    @javax.validation.constraints.Max(1)
+    @JsonPropertyDescription("The threshold to trigger a scale up. The autoscaler will scale up if all the "
+            + "workers cpu usage is higher than this threshold. Default is '0.8'")
+    Double higherCpuThreshold;
+    @Min(0)
+    @javax.validation.constraints.Min(0)
+    @JsonPropertyDescription("Function instances per worker threshold to trigger a scale down. If set, the autoscaler "
+            + "will scale down only if the workers run less function instances than this threshold on average.")
+    Integer lowerInstancesThreshold;
+    @Min(1)
+    @javax.validation.constraints.Min(1)
+    @JsonPropertyDescription("Function instances per worker threshold to trigger a scale up. If set, the autoscaler "
+            + "will scale up if the workers run more function instances than this threshold on average, regardless of "
+            + "the cpu usage.")
+    Integer higherInstancesThreshold;
+    @Min(1)
+    @javax.validation.constraints.Min(1)
+    @JsonPropertyDescription("The number of workers to add at each scale up. Default is '1'")
+    Integer scaleUpBy;
+    @Min(1)
+    @javax.validation.constraints.Min(1)
+    @JsonPropertyDescription("The number of workers to remove at each scale down. Default is '1'")
+    Integer scaleDownBy;
+    @Min(1)
+    @javax.validation.constraints.Min(1)
+    @JsonPropertyDescription("The stabilization window is used to restrict the flapping of replica count when the "
+            + "metrics used for scaling keep fluctuating. Default value is 5 minutes after the pod readiness.")
+    Long stabilizationWindowMs;
+    @JsonPropertyDescription("Rebalance the function instances once the new workers are ready after a scale up. "
+            + "Default is 'true'.")
+    Boolean rebalanceAfterScaleUp;
+
+}
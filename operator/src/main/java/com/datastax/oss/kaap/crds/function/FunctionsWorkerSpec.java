@@ -33,8 +33,10 @@ import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategy;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategyBuilder;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.validation.ConstraintValidatorContext;
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -86,6 +88,19 @@ public class FunctionsWorkerSpec extends BaseComponentSpec<FunctionsWorkerSpec>
             .build();
 
 
+    private static final Supplier<FunctionsWorkerAutoscalerSpec> DEFAULT_AUTOSCALER_CONFIG =
+            () -> FunctionsWorkerAutoscalerSpec.builder()
+                    .enabled(false)
+                    .periodMs(TimeUnit.MINUTES.toMillis(1))
+                    .min(1)
+                    .lowerCpuThreshold(0.3d)
+                    .higherCpuThreshold(0.8d)
+                    .scaleUpBy(1)
+                    .scaleDownBy(1)
+                    .stabilizationWindowMs(TimeUnit.MINUTES.toMillis(5))
+                    .rebalanceAfterScaleUp(true)
+                    .build();
+
     private static final Supplier<RbacConfig> DEFAULT_RBAC_CONFIG = () ->
             RbacConfig.builder()
                     .create(true)
@@ -140,6 +155,9 @@ public class FunctionsWorkerSpec extends BaseComponentSpec<FunctionsWorkerSpec>
     private String runtime;
     @JsonPropertyDescription("RBAC config.")
     private RbacConfig rbac;
+    @JsonPropertyDescription("Autoscaling config.")
+    @Valid
+    private FunctionsWorkerAutoscalerSpec autoscaler;
 
     @Override
     public void applyDefaults(GlobalSpec globalSpec) {
@@ -177,6 +195,15 @@ public class FunctionsWorkerSpec extends BaseComponentSpec<FunctionsWorkerSpec>
         }
         applyServiceDefaults();
         applyRbacDefaults();
+        applyAutoscalerDefaults();
+    }
+
+    private void applyAutoscalerDefaults() {
+        if (autoscaler == null) {
+            autoscaler = DEFAULT_AUTOSCALER_CONFIG.get();
+        } else {
+            autoscaler = ConfigUtil.applyDefaultsWithReflection(autoscaler, DEFAULT_AUTOSCALER_CONFIG);
+        }
     }
 
     private void applyRbacDefaults() {
@@ -33,8 +33,10 @@ import io.fabric8.kubernetes.api.model.apps.DeploymentStrategy;
 import io.fabric8.kubernetes.api.model.apps.DeploymentStrategyBuilder;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.validation.ConstraintValidatorContext;
+import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -97,6 +99,17 @@ public class ProxySetSpec extends BaseComponentSpec<ProxySetSpec> {
             .probes(ProbesConfig.builder().build())
             .build();
 
+    private static final Supplier<ProxyAutoscalerSpec> DEFAULT_AUTOSCALER_CONFIG = () -> ProxyAutoscalerSpec.builder()
+            .enabled(false)
+            .periodMs(TimeUnit.MINUTES.toMillis(1))
+            .min(1)
+            .lowerCpuThreshold(0.3d)
+            .higherCpuThreshold(0.8d)
+            .scaleUpBy(1)
+            .scaleDownBy(1)
+            .stabilizationWindowMs(TimeUnit.MINUTES.toMillis(5))
+            .build();
+
     private static final Supplier<KafkaConfig> DEFAULT_KAFKA_CONFIG =
             () -> KafkaConfig.builder()
                     .enabled(false)
@@ -163,6 +176,9 @@ public class ProxySetSpec extends BaseComponentSpec<ProxySetSpec> {
     private String overrideResourceName;
     @JsonPropertyDescription("Enable Kafka protocol.")
     private KafkaConfig kafka;
+    @JsonPropertyDescription("Autoscaling config.")
+    @Valid
+    private ProxyAutoscalerSpec autoscaler;
 
     @Override
     public void applyDefaults(GlobalSpec globalSpec) {
@@ -189,6 +205,15 @@ public class ProxySetSpec extends BaseComponentSpec<ProxySetSpec> {
         applyServiceDefaults();
         applyWebSocketDefaults();
         applyKafkaDefaults();
+        applyAutoscalerDefaults();
+    }
+
+    private void applyAutoscalerDefaults() {
+        if (autoscaler == null) {
+            autoscaler = DEFAULT_AUTOSCALER_CONFIG.get();
+        } else {
+            autoscaler = ConfigUtil.applyDefaultsWithReflection(autoscaler, DEFAULT_AUTOSCALER_CONFIG);
+        }
     }
 
 
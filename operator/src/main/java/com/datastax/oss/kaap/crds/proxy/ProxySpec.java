@@ -15,7 +15,9 @@
  */
 package com.datastax.oss.kaap.crds.proxy;
 
+import com.datastax.oss.kaap.controllers.proxy.ProxyResourcesFactory;
 import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -50,6 +52,22 @@ public class ProxySpec extends ProxySetSpec {
         super.applyDefaults(globalSpec);
     }
 
+    @JsonIgnore
+    public ProxySetSpec getDefaultProxySpecRef() {
+        if (sets == null || !sets.containsKey(ProxyResourcesFactory.PROXY_DEFAULT_SET)) {
+            return this;
+        }
+        return sets.get(ProxyResourcesFactory.PROXY_DEFAULT_SET);
+    }
+
+    @JsonIgnore
+    public ProxySetSpec getProxySetSpecRef(String set) {
+        if (set.equals(ProxyResourcesFactory.PROXY_DEFAULT_SET)) {
+            return getDefaultProxySpecRef();
+        }
+        return sets.get(set);
+    }
+
     @Override
     public boolean isValid(ProxySetSpec value, ConstraintValidatorContext context) {
         if (!isProxySpecValid((ProxySpec) value, context)) {
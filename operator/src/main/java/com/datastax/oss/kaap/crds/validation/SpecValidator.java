@@ -0,0 +1,143 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.crds.validation;
+
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.autorecovery.AutorecoverySpec;
+import com.datastax.oss.kaap.crds.bastion.BastionSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxySpec;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import lombok.extern.jbosslog.JBossLog;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.hibernate.validator.cfg.ConstraintMapping;
+import org.hibernate.validator.cfg.context.ConstraintDefinitionContext;
+
+/**
+ * Bean validation of the custom resources specs.
+ * The validator is built once and shared by all the controllers.
+ * Validation results are cached by resource UID and generation, since the spec of a given generation never changes.
+ */
+@JBossLog
+public class SpecValidator {
+
+    static final int MAX_CACHED_RESULTS = 4096;
+
+    private static final class ValidatorHolder {
+        private static final Validator VALIDATOR = createValidator();
+    }
+
+    private record CachedResult(long generation, String errorMessage) {
+    }
+
+    private static final Map<String, CachedResult> RESULTS = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                    return size() > MAX_CACHED_RESULTS;
+                }
+            });
+
+    private SpecValidator() {
+    }
+
+    public static Validator getValidator() {
+        return ValidatorHolder.VALIDATOR;
+    }
+
+    /**
+     * Validate the spec of a resource.
+     *
+     * @return the error message or null if the spec is valid
+     */
+    public static String validate(ObjectMeta metadata, Object spec) {
+        final String uid = metadata == null ? null : metadata.getUid();
+        final Long generation = metadata == null ? null : metadata.getGeneration();
+        if (uid == null || generation == null) {
+            return validate(spec);
+        }
+        final CachedResult cached = RESULTS.get(uid);
+        if (cached != null && cached.generation() == generation) {
+            log.debugf("Using cached validation result for %s (gen %d)", metadata.getName(), generation);
+            return cached.errorMessage();
+        }
+        final String errorMessage = validate(spec);
+        RESULTS.put(uid, new CachedResult(generation, errorMessage));
+        return errorMessage;
+    }
+
+    public static String validate(Object spec) {
+        final Set<ConstraintViolation<Object>> violations = getValidator().validate(spec);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            final String errorMessage = String.format("invalid configuration property \"%s\" for value \"%s\": %s",
+                    violation.getPropertyPath(), violation.getInvalidValue(),
+                    violation.getMessage());
+            log.error(errorMessage);
+            errors.add(errorMessage);
+        }
+        return errors.stream().collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static Validator createValidator() {
+        final HibernateValidatorConfiguration configuration = (HibernateValidatorConfiguration)
+                Validation.byDefaultProvider().configure();
+        configuration.addMapping(getConstraintMapping(configuration,
+                PulsarClusterSpec.class,
+                GlobalSpec.class,
+                ZooKeeperSpec.class,
+                BookKeeperSpec.class,
+                BrokerSpec.class,
+                ProxySpec.class,
+                AutorecoverySpec.class,
+                BastionSpec.class,
+                FunctionsWorkerSpec.class
+        ));
+        return configuration.buildValidatorFactory().getValidator();
+    }
+
+    private static ConstraintMapping getConstraintMapping(
+            HibernateValidatorConfiguration configuration,
+            Class<? extends ConstraintValidator<ValidSpec, ?>>... validateBy) {
+        final ConstraintMapping mapping = configuration.createConstraintMapping();
+        final ConstraintDefinitionContext<ValidSpec> definitionContext =
+                mapping.constraintDefinition(ValidSpec.class)
+                        .includeExistingValidators(true);
+
+        for (Class<? extends ConstraintValidator<ValidSpec, ?>> validator : validateBy) {
+            definitionContext.validatedBy(validator);
+        }
+        return mapping;
+    }
+}
@@ -15,7 +15,10 @@
  */
 package com.datastax.oss.kaap.crds.validation;
 
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
@@ -23,4 +26,17 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 public abstract class ValidableSpec<T> implements ConstraintValidator<ValidSpec, T> {
 
+    protected static boolean isMemoryProfileValid(MemoryProfileConfig memoryProfile,
+                                                  MemoryProfileConfig componentDefaults,
+                                                  ConstraintValidatorContext context) {
+        final String error = JvmMemorySettings.validate(memoryProfile, componentDefaults);
+        if (error == null) {
+            return true;
+        }
+        // report only the specific violation
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(error)
+                .addConstraintViolation();
+        return false;
+    }
 }
@@ -15,10 +15,12 @@
  */
 package com.datastax.oss.kaap.crds.zookeeper;
 
+import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperResourcesFactory;
 import com.datastax.oss.kaap.crds.BaseComponentSpec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.ConfigUtil;
 import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
 import com.datastax.oss.kaap.crds.configs.PodDisruptionBudgetConfig;
 import com.datastax.oss.kaap.crds.configs.ProbesConfig;
 import com.datastax.oss.kaap.crds.configs.VolumeConfig;
@@ -35,6 +37,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.validation.ConstraintValidatorContext;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -87,6 +91,8 @@ public class ZooKeeperSpec extends BaseComponentSpec<ZooKeeperSpec> {
             .timeout(60)
             .build();
 
+    public static final int MAX_OBSERVERS = 150;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -110,6 +116,24 @@ public class ZooKeeperSpec extends BaseComponentSpec<ZooKeeperSpec> {
         private int timeout;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ObserversConfig {
+        @Min(0)
+        @Max(MAX_OBSERVERS)
+        @io.fabric8.generator.annotation.Min(0)
+        @io.fabric8.generator.annotation.Max(MAX_OBSERVERS)
+        @JsonPropertyDescription("Number of observers. Observers join the ensemble without voting, they serve "
+                + "reads and forward writes to the voting members. Default value is 0.")
+        private Integer replicas;
+        @JsonPropertyDescription(CRDConstants.DOC_RESOURCES + " Default is the ZooKeeper resources.")
+        private ResourceRequirements resources;
+        @JsonPropertyDescription("Service configuration for the observers.")
+        private ServiceConfig service;
+    }
+
     @JsonPropertyDescription(CRDConstants.DOC_CONFIG)
     // workaround to generate CRD spec that accepts any type as key
     @SchemaFrom(type = JsonNode.class)
@@ -126,6 +150,9 @@ public class ZooKeeperSpec extends BaseComponentSpec<ZooKeeperSpec> {
     private Integer gracePeriod;
     @JsonPropertyDescription(CRDConstants.DOC_RESOURCES)
     private ResourceRequirements resources;
+    @JsonPropertyDescription(CRDConstants.DOC_MEMORY_PROFILE)
+    @Valid
+    private MemoryProfileConfig memoryProfile;
     @JsonPropertyDescription("Volume configuration for ZooKeeper data.")
     private VolumeConfig dataVolume;
     @JsonPropertyDescription("Service configuration.")
@@ -133,6 +160,10 @@ public class ZooKeeperSpec extends BaseComponentSpec<ZooKeeperSpec> {
     @JsonPropertyDescription("Configuration about the job that initializes the Pulsar cluster creating the needed "
             + "ZooKeeper nodes.")
     private MetadataInitializationJobConfig metadataInitializationJob;
+    @JsonPropertyDescription("Observer set. The observers share the ZooKeeper configuration and keep their data "
+            + "in an emptyDir volume, since they resync from the voting members on start.")
+    @Valid
+    private ObserversConfig observers;
 
     @Override
     public void applyDefaults(GlobalSpec globalSpec) {
@@ -172,6 +203,10 @@ public class ZooKeeperSpec extends BaseComponentSpec<ZooKeeperSpec> {
         } else {
             metadataInitializationJob = DEFAULT_METADATA_INITIALIZATION_JOB_CONFIG.get();
         }
+        if (observers != null) {
+            observers.setReplicas(ObjectUtils.firstNonNull(observers.getReplicas(), 0));
+            observers.setResources(ObjectUtils.firstNonNull(observers.getResources(), resources));
+        }
     }
 
     @Override
@@ -181,6 +216,7 @@ public class ZooKeeperSpec extends BaseComponentSpec<ZooKeeperSpec> {
 
     @Override
     public boolean isValid(ZooKeeperSpec value, ConstraintValidatorContext context) {
-        return true;
+        return isMemoryProfileValid(value.getMemoryProfile(), ZooKeeperResourcesFactory.DEFAULT_MEMORY_PROFILE,
+                context);
     }
 }
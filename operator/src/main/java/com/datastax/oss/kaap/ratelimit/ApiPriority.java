@@ -0,0 +1,46 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.ratelimit;
+
+/**
+ * Classes of Kubernetes API calls, from the most to the least urgent.
+ */
+public enum ApiPriority {
+    /**
+     * Creations, patches and deletions of the resources, including the autoscalers scaling decisions.
+     */
+    PATCH,
+    /**
+     * Reads of the resources, to check if they are ready.
+     */
+    READINESS,
+    /**
+     * Reads and execs of the autoscalers to sample the load.
+     */
+    AUTOSCALER,
+    /**
+     * Reads of the bookies racks synchronization.
+     */
+    RACK_SYNC,
+    /**
+     * Lists of the custom resources by the standby replicas to warm up their caches.
+     */
+    STANDBY_WARMUP;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
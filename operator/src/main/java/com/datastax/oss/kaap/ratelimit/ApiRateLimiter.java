@@ -0,0 +1,215 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.ratelimit;
+
+import com.datastax.oss.kaap.OperatorMetrics;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Client side rate limiting of the Kubernetes API calls.
+ * Each {@link ApiPriority} has its own token bucket and all the calls share a global one. When the global bucket
+ * is empty, the tokens go to the waiting calls of the highest priority, as soon as their own bucket allows it.
+ * The calls are not limited until a limiter is installed.
+ */
+@JBossLog
+public class ApiRateLimiter {
+
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile ApiRateLimiter instance;
+
+    private final TokenBucket global;
+    private final Map<ApiPriority, TokenBucket> buckets = new EnumMap<>(ApiPriority.class);
+    private final Map<ApiPriority, Integer> queueDepths = new EnumMap<>(ApiPriority.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition tokenTaken = lock.newCondition();
+    private final TreeSet<Waiter> waiters = new TreeSet<>(Comparator.comparing((Waiter w) -> w.priority)
+            .thenComparingLong(w -> w.sequence));
+    private long sequence;
+
+    private record Waiter(ApiPriority priority, long sequence) {
+    }
+
+    /**
+     * @param qps   global calls per second, zero for no global limit
+     * @param burst global calls allowed at once
+     * @param qpsPerPriority calls per second of each priority, zero or missing for no limit. The burst of a
+     *                       priority is one second of calls.
+     */
+    public ApiRateLimiter(int qps, int burst, Map<ApiPriority, Integer> qpsPerPriority) {
+        this.global = qps > 0 ? new TokenBucket(qps, Math.max(burst, 1)) : null;
+        for (ApiPriority priority : ApiPriority.values()) {
+            final Integer priorityQps = qpsPerPriority.get(priority);
+            if (priorityQps != null && priorityQps > 0) {
+                buckets.put(priority, new TokenBucket(priorityQps, priorityQps));
+            }
+            queueDepths.put(priority, 0);
+        }
+    }
+
+    public static void install(ApiRateLimiter limiter) {
+        instance = limiter;
+        for (ApiPriority priority : ApiPriority.values()) {
+            OperatorMetrics.registerApiQueueDepth(priority.tag(), () -> {
+                final ApiRateLimiter current = instance;
+                return current == null ? 0 : current.getQueueDepth(priority);
+            });
+        }
+    }
+
+    public static void uninstall() {
+        instance = null;
+    }
+
+    public static <T> T call(ApiPriority priority, Supplier<T> call) {
+        acquireToken(priority);
+        return call.get();
+    }
+
+    public static void run(ApiPriority priority, Runnable call) {
+        acquireToken(priority);
+        call.run();
+    }
+
+    @SneakyThrows
+    private static void acquireToken(ApiPriority priority) {
+        final ApiRateLimiter limiter = instance;
+        if (limiter != null) {
+            limiter.acquire(priority);
+        }
+    }
+
+    /**
+     * Wait until a call of the given priority is allowed.
+     *
+     * @return the time spent waiting
+     */
+    public Duration acquire(ApiPriority priority) throws InterruptedException {
+        final long start = System.nanoTime();
+        final TokenBucket bucket = buckets.get(priority);
+        lock.lock();
+        try {
+            final Waiter waiter = new Waiter(priority, sequence++);
+            waiters.add(waiter);
+            queueDepths.merge(priority, 1, Integer::sum);
+            try {
+                while (true) {
+                    final long now = System.nanoTime();
+                    final Waiter next = getNextWaiter(now);
+                    if (next == waiter && (global == null || global.tryTake(now))) {
+                        if (bucket != null) {
+                            bucket.tryTake(now);
+                        }
+                        break;
+                    }
+                    long waitNanos = global == null ? Long.MAX_VALUE : global.nanosUntilToken(now);
+                    if (bucket != null) {
+                        waitNanos = Math.min(waitNanos, bucket.nanosUntilToken(now));
+                    }
+                    // woken up by another call taking a token, or when the next token is expected
+                    if (waitNanos == Long.MAX_VALUE) {
+                        tokenTaken.await();
+                    } else if (!tokenTaken.await(Math.max(waitNanos, MIN_WAIT_NANOS), TimeUnit.NANOSECONDS)) {
+                        log.tracef("Waited %d ns for a %s token", waitNanos, priority);
+                    }
+                }
+            } finally {
+                waiters.remove(waiter);
+                queueDepths.merge(priority, -1, Integer::sum);
+                tokenTaken.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        final Duration waited = Duration.ofNanos(System.nanoTime() - start);
+        OperatorMetrics.recordApiWait(priority.tag(), waited);
+        return waited;
+    }
+
+    /**
+     * The first waiter, in priority order, allowed by its own bucket.
+     */
+    private Waiter getNextWaiter(long now) {
+        for (Waiter waiter : waiters) {
+            final TokenBucket bucket = buckets.get(waiter.priority);
+            if (bucket == null || bucket.hasToken(now)) {
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    public int getQueueDepth(ApiPriority priority) {
+        lock.lock();
+        try {
+            return queueDepths.get(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int qps, int capacity) {
+            this.tokensPerNano = qps / (double) TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+
+        boolean hasToken(long now) {
+            refill(now);
+            return tokens >= 1;
+        }
+
+        boolean tryTake(long now) {
+            if (!hasToken(now)) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        long nanosUntilToken(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
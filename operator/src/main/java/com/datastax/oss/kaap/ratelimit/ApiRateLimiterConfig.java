@@ -0,0 +1,47 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.ratelimit;
+
+import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
+import io.quarkus.runtime.StartupEvent;
+import java.util.Map;
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import lombok.extern.jbosslog.JBossLog;
+
+@JBossLog
+@ApplicationScoped
+public class ApiRateLimiterConfig {
+
+    /**
+     * Installed before the operator starts the controllers.
+     */
+    void onStart(@Observes @Priority(1) StartupEvent ev, OperatorRuntimeConfiguration configuration) {
+        final OperatorRuntimeConfiguration.RateLimit rateLimit = configuration.rateLimit();
+        if (!rateLimit.enabled()) {
+            return;
+        }
+        log.infof("Limiting the Kubernetes API calls to %d per second (burst %d)", rateLimit.qps(),
+                rateLimit.burst());
+        ApiRateLimiter.install(new ApiRateLimiter(rateLimit.qps(), rateLimit.burst(), Map.of(
+                ApiPriority.PATCH, rateLimit.patchQps(),
+                ApiPriority.READINESS, rateLimit.readinessQps(),
+                ApiPriority.AUTOSCALER, rateLimit.autoscalerQps(),
+                ApiPriority.RACK_SYNC, rateLimit.rackSyncQps(),
+                ApiPriority.STANDBY_WARMUP, rateLimit.standbyWarmupQps())));
+    }
+}
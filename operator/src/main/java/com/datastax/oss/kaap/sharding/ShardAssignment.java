@@ -0,0 +1,81 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * Assignment of the managed resources to the shards, and of the shards to the operator replicas.
+ * The shards are assigned with rendezvous hashing, bounded so that no replica owns more than its fair share: when a
+ * replica joins or leaves only a few shards move.
+ */
+public final class ShardAssignment {
+
+    private ShardAssignment() {
+    }
+
+    public static int getShard(String key, int shards) {
+        return Math.floorMod(hash(key), shards);
+    }
+
+    /**
+     * Assign the shards to the members.
+     *
+     * @return the member owning each shard, empty if there are no members
+     */
+    public static Map<Integer, String> assign(List<String> members, int shards) {
+        final List<String> sorted = members.stream().distinct().sorted().toList();
+        final Map<Integer, String> assignment = new TreeMap<>();
+        if (sorted.isEmpty()) {
+            return assignment;
+        }
+        // each member owns floor(shards/members) shards, the remainder goes to the first members ranking them
+        final int base = shards / sorted.size();
+        final int remainder = shards % sorted.size();
+        int aboveBase = 0;
+        final Map<String, Integer> load = new HashMap<>();
+        for (int shard = 0; shard < shards; shard++) {
+            final int currentShard = shard;
+            final List<String> ranked = sorted.stream()
+                    .sorted(Comparator.comparingInt((String member) -> hash(currentShard + "/" + member))
+                            .reversed()
+                            .thenComparing(Comparator.naturalOrder()))
+                    .toList();
+            for (String member : ranked) {
+                final int memberLoad = load.getOrDefault(member, 0);
+                if (memberLoad < base || (memberLoad == base && aboveBase < remainder)) {
+                    if (memberLoad == base) {
+                        aboveBase++;
+                    }
+                    assignment.put(shard, member);
+                    load.put(member, memberLoad + 1);
+                    break;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    private static int hash(String value) {
+        return MurmurHash3.hash32x86(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
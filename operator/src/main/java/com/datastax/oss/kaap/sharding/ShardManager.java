@@ -0,0 +1,400 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.sharding;
+
+import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import lombok.extern.jbosslog.JBossLog;
+
+/**
+ * Ownership of the shards by the operator replicas.
+ * Each replica renews a member lease. The shards are assigned to the live members with {@link ShardAssignment},
+ * and each shard is owned through its own lease. A replica takes a shard only after the previous holder released
+ * the lease or stopped renewing it. A replica that can't renew its leases stops reconciling the shards one renew
+ * interval before they expire, so two replicas never reconcile the same shard.
+ * A shard assigned to another member is released once the reconciliations in progress for it are completed.
+ */
+@JBossLog
+@ApplicationScoped
+public class ShardManager implements AutoCloseable {
+
+    public static final String LABEL_SHARDING = "kaap-sharding";
+    public static final String LABEL_SHARDING_MEMBER = "member";
+    public static final String LABEL_SHARDING_SHARD = "shard";
+    public static final String MEMBER_LEASE_PREFIX = "kaap-member-";
+    public static final String SHARD_LEASE_PREFIX = "kaap-shard-";
+
+    public record ShardsChanged(ShardManager shardManager, Set<Integer> ownedShards) {
+    }
+
+    private final KubernetesClient client;
+    private final String leaseNamespace;
+    private final String identity;
+    private final String mode;
+    private final int shards;
+    private final Duration leaseDuration;
+    private final Duration renewInterval;
+    private final Clock clock;
+    private final Consumer<ShardsChanged> listener;
+    private final Map<Integer, Instant> ownedUntil = new ConcurrentHashMap<>();
+    // reconciliations in progress per shard, guarded by itself
+    private final Map<Integer, Integer> inFlight = new HashMap<>();
+    private Set<Integer> lastOwnedShards = Set.of();
+    private ScheduledExecutorService executorService;
+
+    @Inject
+    public ShardManager(KubernetesClient client, OperatorRuntimeConfiguration configuration,
+                        Event<ShardsChanged> events) {
+        this(client, client.getNamespace(), getDefaultIdentity(), configuration.sharding(), Clock.systemUTC(),
+                events::fire);
+    }
+
+    public ShardManager(KubernetesClient client, String leaseNamespace, String identity,
+                        OperatorRuntimeConfiguration.Sharding configuration, Clock clock,
+                        Consumer<ShardsChanged> listener) {
+        this.client = client;
+        this.leaseNamespace = leaseNamespace;
+        this.identity = identity;
+        this.mode = configuration.mode();
+        switch (mode) {
+            case OperatorRuntimeConfiguration.SHARDING_MODE_DISABLED:
+            case OperatorRuntimeConfiguration.SHARDING_MODE_NAMESPACE:
+            case OperatorRuntimeConfiguration.SHARDING_MODE_CLUSTER:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sharding mode: " + mode);
+        }
+        if (configuration.shards() < 1) {
+            throw new IllegalArgumentException("The number of shards must be at least 1");
+        }
+        this.shards = configuration.shards();
+        this.leaseDuration = Duration.ofSeconds(configuration.leaseDurationSeconds());
+        this.renewInterval = Duration.ofSeconds(configuration.renewIntervalSeconds());
+        if (renewInterval.isZero() || renewInterval.isNegative() || renewInterval.compareTo(leaseDuration) >= 0) {
+            throw new IllegalArgumentException("The renew interval must be positive and shorter than the lease "
+                    + "duration");
+        }
+        this.clock = clock;
+        this.listener = listener;
+    }
+
+    private static String getDefaultIdentity() {
+        final String hostname = System.getenv("HOSTNAME");
+        return hostname == null ? UUID.randomUUID().toString() : hostname;
+    }
+
+    public boolean isEnabled() {
+        return !OperatorRuntimeConfiguration.SHARDING_MODE_DISABLED.equals(mode);
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public String getShardKey(String namespace, String clusterName) {
+        if (OperatorRuntimeConfiguration.SHARDING_MODE_CLUSTER.equals(mode)) {
+            return namespace + "/" + clusterName;
+        }
+        return namespace;
+    }
+
+    /**
+     * Whether this replica must reconcile the resources of the cluster. Always true if the sharding is disabled.
+     */
+    public boolean isOwned(String namespace, String clusterName) {
+        if (!isEnabled()) {
+            return true;
+        }
+        final Instant until = ownedUntil.get(ShardAssignment.getShard(getShardKey(namespace, clusterName), shards));
+        return until != null && clock.instant().isBefore(until);
+    }
+
+    /**
+     * Register a reconciliation of the cluster, if this replica owns it.
+     * The shard is not released until {@link #endReconciliation(String, String)} is called.
+     *
+     * @return false if the cluster is owned by another replica and must not be reconciled
+     */
+    public boolean startReconciliation(String namespace, String clusterName) {
+        if (!isEnabled()) {
+            return true;
+        }
+        final int shard = ShardAssignment.getShard(getShardKey(namespace, clusterName), shards);
+        synchronized (inFlight) {
+            if (!isOwned(namespace, clusterName)) {
+                return false;
+            }
+            inFlight.merge(shard, 1, Integer::sum);
+            return true;
+        }
+    }
+
+    public void endReconciliation(String namespace, String clusterName) {
+        if (!isEnabled()) {
+            return;
+        }
+        final int shard = ShardAssignment.getShard(getShardKey(namespace, clusterName), shards);
+        synchronized (inFlight) {
+            inFlight.computeIfPresent(shard, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    public Set<Integer> getOwnedShards() {
+        final Instant now = clock.instant();
+        final Set<Integer> owned = new TreeSet<>();
+        ownedUntil.forEach((shard, until) -> {
+            if (now.isBefore(until)) {
+                owned.add(shard);
+            }
+        });
+        return owned;
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (isEnabled()) {
+            start();
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        close();
+    }
+
+    public synchronized void start() {
+        log.infof("Starting sharding by %s with %d shards, member %s", mode, shards, identity);
+        executorService = Executors.newSingleThreadScheduledExecutor();
+        executorService.scheduleWithFixedDelay(() -> {
+            try {
+                renew();
+            } catch (Throwable throwable) {
+                log.errorf(throwable, "Failed to renew the shard leases: %s", throwable.getMessage());
+            }
+        }, 0, renewInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Renew the member lease, then acquire, renew or release the shard leases according to the current members.
+     */
+    public synchronized void renew() {
+        final Instant now = clock.instant();
+        renewMemberLease(now);
+
+        final List<String> members = new ArrayList<>();
+        members.add(identity);
+        final Map<Integer, Lease> shardLeases = new HashMap<>();
+        for (Lease lease : client.leases().inNamespace(leaseNamespace).withLabel(LABEL_SHARDING).list().getItems()) {
+            final String role = lease.getMetadata().getLabels().get(LABEL_SHARDING);
+            final String name = lease.getMetadata().getName();
+            if (LABEL_SHARDING_MEMBER.equals(role)) {
+                if (!isExpired(lease, now)) {
+                    members.add(lease.getSpec().getHolderIdentity());
+                }
+            } else if (LABEL_SHARDING_SHARD.equals(role) && name.startsWith(SHARD_LEASE_PREFIX)) {
+                shardLeases.put(Integer.parseInt(name.substring(SHARD_LEASE_PREFIX.length())), lease);
+            }
+        }
+
+        final Map<Integer, String> assignment = ShardAssignment.assign(members, shards);
+        for (int shard = 0; shard < shards; shard++) {
+            final Lease lease = shardLeases.get(shard);
+            if (identity.equals(assignment.get(shard))) {
+                if (acquireOrRenew(shard, lease, now)) {
+                    // the lease might have been renewed a bit before now, stop before it can expire
+                    ownedUntil.put(shard, now.plus(leaseDuration).minus(renewInterval));
+                } else {
+                    ownedUntil.remove(shard);
+                }
+            } else {
+                // stop reconciling before releasing the lease
+                final boolean reconciling;
+                synchronized (inFlight) {
+                    ownedUntil.remove(shard);
+                    reconciling = inFlight.containsKey(shard);
+                }
+                if (lease != null && identity.equals(lease.getSpec().getHolderIdentity())) {
+                    if (reconciling) {
+                        log.infof("Shard %d assigned to another member, waiting for the reconciliations in progress "
+                                + "before releasing it", shard);
+                        acquireOrRenew(shard, lease, now);
+                    } else {
+                        release(shard, lease);
+                    }
+                }
+            }
+        }
+        notifyIfChanged();
+    }
+
+    private void renewMemberLease(Instant now) {
+        final ZonedDateTime time = ZonedDateTime.ofInstant(now, ZoneOffset.UTC);
+        client.leases().inNamespace(leaseNamespace).resource(new LeaseBuilder()
+                        .withNewMetadata()
+                        .withName(MEMBER_LEASE_PREFIX + identity)
+                        .withLabels(Map.of(LABEL_SHARDING, LABEL_SHARDING_MEMBER))
+                        .endMetadata()
+                        .withNewSpec()
+                        .withHolderIdentity(identity)
+                        .withLeaseDurationSeconds((int) leaseDuration.toSeconds())
+                        .withRenewTime(time)
+                        .endSpec()
+                        .build())
+                .createOrReplace();
+    }
+
+    private boolean isExpired(Lease lease, Instant now) {
+        if (lease.getSpec() == null
+                || lease.getSpec().getHolderIdentity() == null
+                || lease.getSpec().getRenewTime() == null) {
+            return true;
+        }
+        final int duration = lease.getSpec().getLeaseDurationSeconds() == null
+                ? (int) leaseDuration.toSeconds() : lease.getSpec().getLeaseDurationSeconds();
+        return !now.isBefore(lease.getSpec().getRenewTime().toInstant().plusSeconds(duration));
+    }
+
+    private boolean acquireOrRenew(int shard, Lease current, Instant now) {
+        final ZonedDateTime time = ZonedDateTime.ofInstant(now, ZoneOffset.UTC);
+        try {
+            if (current == null) {
+                client.leases().inNamespace(leaseNamespace).resource(new LeaseBuilder()
+                                .withNewMetadata()
+                                .withName(SHARD_LEASE_PREFIX + shard)
+                                .withLabels(Map.of(LABEL_SHARDING, LABEL_SHARDING_SHARD))
+                                .endMetadata()
+                                .withNewSpec()
+                                .withHolderIdentity(identity)
+                                .withLeaseDurationSeconds((int) leaseDuration.toSeconds())
+                                .withAcquireTime(time)
+                                .withRenewTime(time)
+                                .endSpec()
+                                .build())
+                        .create();
+                log.infof("Acquired shard %d", shard);
+                return true;
+            }
+            final boolean holder = identity.equals(current.getSpec().getHolderIdentity());
+            if (!holder && !isExpired(current, now)) {
+                log.debugf("Shard %d still held by %s", shard, current.getSpec().getHolderIdentity());
+                return false;
+            }
+            replace(current, new LeaseBuilder(current)
+                    .editSpec()
+                    .withHolderIdentity(identity)
+                    .withLeaseDurationSeconds((int) leaseDuration.toSeconds())
+                    .withAcquireTime(holder ? current.getSpec().getAcquireTime() : time)
+                    .withRenewTime(time)
+                    .endSpec()
+                    .build());
+            if (!holder) {
+                log.infof("Acquired shard %d", shard);
+            }
+            return true;
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == 409) {
+                log.debugf("Shard %d acquired by another member", shard);
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private void release(int shard, Lease lease) {
+        try {
+            replace(lease, new LeaseBuilder(lease)
+                    .editSpec()
+                    .withHolderIdentity(null)
+                    .withRenewTime(null)
+                    .endSpec()
+                    .build());
+            log.infof("Released shard %d", shard);
+        } catch (KubernetesClientException e) {
+            log.warnf("Failed to release shard %d: %s", shard, e.getMessage());
+        }
+    }
+
+    private void replace(Lease current, Lease updated) {
+        client.leases().inNamespace(leaseNamespace)
+                .resource(updated)
+                .lockResourceVersion(current.getMetadata().getResourceVersion())
+                .replace();
+    }
+
+    private void notifyIfChanged() {
+        final Set<Integer> owned = getOwnedShards();
+        if (owned.equals(lastOwnedShards)) {
+            return;
+        }
+        log.infof("Owned shards: %s", owned);
+        lastOwnedShards = owned;
+        if (listener != null) {
+            listener.accept(new ShardsChanged(this, owned));
+        }
+    }
+
+    /**
+     * Release the shards and leave, so the other members take them over without waiting for the leases to expire.
+     */
+    @Override
+    public synchronized void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+        if (!isEnabled()) {
+            return;
+        }
+        ownedUntil.clear();
+        try {
+            for (Lease lease : client.leases().inNamespace(leaseNamespace)
+                    .withLabel(LABEL_SHARDING, LABEL_SHARDING_SHARD).list().getItems()) {
+                if (identity.equals(lease.getSpec().getHolderIdentity())) {
+                    release(Integer.parseInt(lease.getMetadata().getName().substring(SHARD_LEASE_PREFIX.length())),
+                            lease);
+                }
+            }
+            client.leases().inNamespace(leaseNamespace).withName(MEMBER_LEASE_PREFIX + identity).delete();
+        } catch (KubernetesClientException e) {
+            log.warnf("Failed to release the shard leases: %s", e.getMessage());
+        }
+        notifyIfChanged();
+    }
+}
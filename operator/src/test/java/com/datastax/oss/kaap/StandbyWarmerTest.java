@@ -0,0 +1,202 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.crds.broker.Broker;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarCluster;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
+import com.datastax.oss.kaap.ratelimit.ApiRateLimiter;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class StandbyWarmerTest {
+
+    private static final String NAMESPACE = "kaap";
+    private static final String IDENTITY = "kaap-0";
+
+    private KubernetesServer server;
+    private SimpleMeterRegistry registry;
+
+    @BeforeMethod
+    public void setup() {
+        server = new KubernetesServer(true, true);
+        server.before();
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        server.after();
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    public void testWarmUp() {
+        final KubernetesClient client = server.getClient();
+        createResources(client, NAMESPACE);
+        createResources(client, "other");
+
+        Assert.assertEquals(newWarmer(client, List.of(NAMESPACE)).warmUp(), 2);
+        Assert.assertEquals(newWarmer(client, List.of(NAMESPACE, "other")).warmUp(), 4);
+        Assert.assertEquals(newWarmer(client, List.of(Constants.WATCH_ALL_NAMESPACES)).warmUp(), 4);
+        Assert.assertEquals(newWarmer(client, List.of("empty")).warmUp(), 0);
+    }
+
+    @Test
+    public void testFirstReconcileAfterPromotion() {
+        final KubernetesClient client = server.getClient();
+        createResources(client, NAMESPACE);
+        client.leases().inNamespace(NAMESPACE).resource(new LeaseBuilder()
+                .withNewMetadata()
+                .withName(LeaderElectionConfig.PULSAR_OPERATOR_LEASE_NAME)
+                .endMetadata()
+                .withNewSpec()
+                .withHolderIdentity(IDENTITY)
+                .withAcquireTime(ZonedDateTime.now().minusSeconds(2))
+                .endSpec()
+                .build()).create();
+
+        final StandbyWarmer warmer = newWarmer(client, List.of(NAMESPACE));
+        Assert.assertTrue(warmer.isEnabled());
+        warmer.warmUp();
+        warmer.onReconciled();
+        warmer.onReconciled();
+
+        final Timer timer = registry.find(OperatorMetrics.FIRST_RECONCILE_AFTER_PROMOTION)
+                .tag(OperatorMetrics.TAG_WARM, "true")
+                .timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(timer.count(), 1);
+        Assert.assertTrue(timer.totalTime(TimeUnit.SECONDS) >= 2);
+        // warm up is stopped once promoted
+        Assert.assertEquals(warmer.warmUp(), 0);
+    }
+
+    @Test
+    public void testNotHolder() {
+        final KubernetesClient client = server.getClient();
+        client.leases().inNamespace(NAMESPACE).resource(new LeaseBuilder()
+                .withNewMetadata()
+                .withName(LeaderElectionConfig.PULSAR_OPERATOR_LEASE_NAME)
+                .endMetadata()
+                .withNewSpec()
+                .withHolderIdentity("kaap-1")
+                .withAcquireTime(ZonedDateTime.now())
+                .endSpec()
+                .build()).create();
+
+        newWarmer(client, List.of(NAMESPACE)).onReconciled();
+        Assert.assertEquals(registry.find(OperatorMetrics.FIRST_RECONCILE_AFTER_PROMOTION).timers().stream()
+                .mapToLong(Timer::count).sum(), 0);
+    }
+
+    @Test
+    public void testResolveNamespaces() {
+        Map<Class<?>, List<String>> namespaces = StandbyWarmer.resolveNamespaces(NAMESPACE,
+                List.of(Constants.WATCH_CURRENT_NAMESPACE), controller -> Optional.empty());
+        Assert.assertEquals(namespaces.size(), StandbyWarmer.CONTROLLERS_BY_KIND.size());
+        Assert.assertEquals(namespaces.get(PulsarCluster.class), List.of(NAMESPACE));
+        Assert.assertEquals(namespaces.get(Broker.class), List.of(NAMESPACE));
+
+        namespaces = StandbyWarmer.resolveNamespaces(NAMESPACE, List.of(Constants.WATCH_ALL_NAMESPACES),
+                controller -> controller.equals("pulsar-broker-controller")
+                        ? Optional.of(List.of("ns1", Constants.WATCH_CURRENT_NAMESPACE)) : Optional.empty());
+        Assert.assertEquals(namespaces.get(PulsarCluster.class), List.of(Constants.WATCH_ALL_NAMESPACES));
+        Assert.assertEquals(namespaces.get(Broker.class), List.of("ns1", NAMESPACE));
+
+        namespaces = StandbyWarmer.resolveNamespaces(NAMESPACE, List.of(), controller -> Optional.empty());
+        Assert.assertEquals(namespaces.get(Broker.class), List.of(NAMESPACE));
+    }
+
+    @Test
+    public void testRateLimited() {
+        final KubernetesClient client = server.getClient();
+        final ApiRateLimiter limiter = new ApiRateLimiter(0, 0, Map.of(ApiPriority.STANDBY_WARMUP, 1000));
+        ApiRateLimiter.install(limiter);
+        try {
+            newWarmer(client, List.of(NAMESPACE)).warmUp();
+        } finally {
+            ApiRateLimiter.uninstall();
+        }
+        final Timer timer = registry.find(OperatorMetrics.API_RATE_LIMIT_WAIT)
+                .tag(OperatorMetrics.TAG_PRIORITY, ApiPriority.STANDBY_WARMUP.tag())
+                .timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(timer.count(), StandbyWarmer.CONTROLLERS_BY_KIND.size());
+    }
+
+    private static StandbyWarmer newWarmer(KubernetesClient client, List<String> namespaces) {
+        final Map<Class<?>, List<String>> namespacesByKind = new HashMap<>();
+        StandbyWarmer.CONTROLLERS_BY_KIND.keySet().forEach(kind -> namespacesByKind.put(kind, namespaces));
+        return new StandbyWarmer(client, NAMESPACE, IDENTITY, namespacesByKind, Duration.ofSeconds(30));
+    }
+
+    private static void createResources(KubernetesClient client, String namespace) {
+        final PulsarCluster cluster = new PulsarCluster();
+        cluster.setMetadata(metadata(namespace));
+        cluster.setSpec(SerializationUtil.readYaml("""
+                global:
+                    name: pulsar
+                    image: apachepulsar/pulsar:2.10.2
+                    resourceSets:
+                      set1: {}
+                      set2: {}
+                broker:
+                    sets:
+                      set1: {}
+                      set2: {}
+                """, PulsarClusterSpec.class));
+        client.resources(PulsarCluster.class).inNamespace(namespace).resource(cluster).create();
+
+        final Broker broker = new Broker();
+        broker.setMetadata(metadata(namespace));
+        broker.setSpec(SerializationUtil.readYaml("""
+                global:
+                    name: pulsar
+                    image: apachepulsar/pulsar:2.10.2
+                """, BrokerFullSpec.class));
+        client.resources(Broker.class).inNamespace(namespace).resource(broker).create();
+    }
+
+    private static ObjectMeta metadata(String namespace) {
+        return new ObjectMetaBuilder()
+                .withName("pulsar")
+                .withNamespace(namespace)
+                .build();
+    }
+}
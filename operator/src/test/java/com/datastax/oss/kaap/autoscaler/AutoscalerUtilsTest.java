@@ -0,0 +1,59 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class AutoscalerUtilsTest {
+
+    @Test
+    public void testBuildBatchCommand() {
+        Assert.assertEquals(AutoscalerUtils.buildBatchCommand(List.of("curl -s localhost/a", "df -P -k /data")),
+                "printf '\\n%s\\n' '===kaap-batch-0==='; (curl -s localhost/a); "
+                        + "printf '\\n%s\\n' '===kaap-batch-1==='; (df -P -k /data); "
+                        + "printf '\\n%s\\n' '===kaap-batch-end===';");
+    }
+
+    @Test
+    public void testParseBatchOutput() {
+        final String output = """
+
+                ===kaap-batch-0===
+                {"running": true}
+                ===kaap-batch-1===
+
+                ===kaap-batch-2===
+                line1
+                line2
+
+                ===kaap-batch-end===
+                """;
+        Assert.assertEquals(AutoscalerUtils.parseBatchOutput(output, 3, "pod"),
+                List.of("{\"running\": true}", "", "line1\nline2\n"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testParseBatchOutputMissingResponse() {
+        AutoscalerUtils.parseBatchOutput("""
+
+                ===kaap-batch-0===
+                {"running": true}
+                ===kaap-batch-end===
+                """, 2, "pod");
+    }
+}
@@ -24,6 +24,7 @@ import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
@@ -290,39 +291,79 @@ public class BookKeeperAutoscalerTest {
                             }
                             """;
                     for (int i = 0; i < 3; i++) {
-                        // Bookie info
+                        // Bookie state and info, no scale down is possible so AR list under replicated isn't needed
+                        final String state = i == 0 ? bookieStateReadOnly : bookieStateOk;
+                        final List<String> cmds = List.of(
+                                "curl -s http://localhost:8000/api/v1/bookie/state",
+                                "curl -s http://localhost:8000/api/v1/bookie/info");
+                        final List<String> responses = List.of(state, bookieInfoOk);
                         server.server.expect()
                                 .get()
                                 .withPath(genExpectedUrlForExecInPod("pul-bookkeeper-" + i,
-                                        "curl -s http://localhost:8000/api/v1/bookie/info"))
+                                        AutoscalerUtils.buildBatchCommand(cmds)))
                                 .andUpgradeToWebSocket()
-                                .open(new OutputStreamMessage(bookieInfoOk))
+                                .open(new OutputStreamMessage(genBatchOutput(responses)))
                                 .done()
                                 .always();
+                    }
+                });
+        Assert.assertEquals(4, mockServer.patchOp.getValue());
+    }
 
-                        // Bookie state
-                        String response = i == 0 ? bookieStateReadOnly : bookieStateOk;
-                        server.server.expect()
-                                .get()
-                                .withPath(genExpectedUrlForExecInPod("pul-bookkeeper-" + i,
-                                        "curl -s http://localhost:8000/api/v1/bookie/state"))
-                                .andUpgradeToWebSocket()
-                                .open(new OutputStreamMessage(response))
-                                .done()
-                                .always();
-                        // AR list under replicated
+    /**
+     * Test that the under replicated ledgers are fetched along with the first bookie stats if a scale down is possible
+     */
+    @Test
+    public void testRestAPIParsingPrefetchUnderReplicated() {
+        final String spec = """
+                global:
+                   name: pul
+                bookkeeper:
+                    replicas: 4
+                    autoscaler:
+                        enabled: true
+                """;
+
+        final MockServer mockServer = runAutoscaler(spec, (pod, metrics, i) -> {
+                }, statefulSet -> {
+                },
+                null, server -> {
+                    String bookieInfoOk = """
+                            {
+                              "freeSpace" : 49769177088,
+                              "totalSpace" : 101129359360
+                            }
+                            """;
+                    String bookieStateOk = """
+                            {
+                              "running" : true,
+                              "readOnly" : false,
+                              "shuttingDown" : false,
+                              "availableForHighPriorityWrites" : true
+                            }
+                            """;
+                    for (int i = 0; i < 4; i++) {
+                        // Bookie state, info and, for the first bookie, AR list under replicated
+                        final List<String> cmds = new ArrayList<>(List.of(
+                                "curl -s http://localhost:8000/api/v1/bookie/state",
+                                "curl -s http://localhost:8000/api/v1/bookie/info"));
+                        final List<String> responses = new ArrayList<>(List.of(bookieStateOk, bookieInfoOk));
+                        if (i == 0) {
+                            cmds.add("curl -s http://localhost:8000/api/v1/autorecovery"
+                                    + "/list_under_replicated_ledger/");
+                            responses.add("No under replicated ledgers found");
+                        }
                         server.server.expect()
                                 .get()
                                 .withPath(genExpectedUrlForExecInPod("pul-bookkeeper-" + i,
-                                        "curl -s http://localhost:8000/api/v1/autorecovery"
-                                                + "/list_under_replicated_ledger/"))
+                                        AutoscalerUtils.buildBatchCommand(cmds)))
                                 .andUpgradeToWebSocket()
-                                .open(new OutputStreamMessage("No under replicated ledgers found"))
+                                .open(new OutputStreamMessage(genBatchOutput(responses)))
                                 .done()
                                 .always();
                     }
                 });
-        Assert.assertEquals(4, mockServer.patchOp.getValue());
+        Assert.assertEquals(3, mockServer.patchOp.getValue());
     }
 
     /**
@@ -656,9 +697,9 @@ public class BookKeeperAutoscalerTest {
                     server.server.expect()
                             .get()
                             .withPath(genExpectedUrlForExecInPod("pul-bookkeeper-3",
-                                    "bin/bookkeeper shell listledgers -meta -bookieid mockId"))
+                                    PodExecBookieAdminClient.buildLedgersOwnershipCommand("mockId")))
                             .andUpgradeToWebSocket()
-                            .open(new OutputStreamMessage(""))
+                            .open(new OutputStreamMessage("ledgers=0 complete=true error=false"))
                             .done()
                             .always();
 
@@ -953,7 +994,7 @@ public class BookKeeperAutoscalerTest {
                                      String bookkeeperSetName,
                                      BookKeeperSetSpec currentBookKeeperSetSpec,
                                      Function<PodResource, Pair<BookieInfo, BookieStats>> bookieInfofunc) {
-            super(client, namespace, globalSpec, bookkeeperSetName, currentBookKeeperSetSpec);
+            super(client, namespace, globalSpec, bookkeeperSetName, currentBookKeeperSetSpec, ApiPriority.AUTOSCALER);
             this.bookieInfofunc = bookieInfofunc;
         }
 
@@ -969,14 +1010,14 @@ public class BookKeeperAutoscalerTest {
         }
 
         @Override
-        public BookieStats collectBookieStats(BookieInfo bookieInfo) {
+        public BookieStats collectBookieStats(BookieInfo bookieInfo, boolean prefetchUnderReplicatedLedgers) {
             if (bookieInfofunc != null) {
 
                 final String k = bookieInfo.getPodResource().get().getMetadata().getName();
                 System.out.println("getting result with " + k);
                 return functionResult.get(k).getRight();
             }
-            return super.collectBookieStats(bookieInfo);
+            return super.collectBookieStats(bookieInfo, prefetchUnderReplicatedLedgers);
         }
 
         @Override
@@ -990,6 +1031,14 @@ public class BookKeeperAutoscalerTest {
 
     }
 
+    private static String genBatchOutput(List<String> responses) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < responses.size(); i++) {
+            builder.append("\n===kaap-batch-%d===\n".formatted(i)).append(responses.get(i));
+        }
+        return builder.append("\n===kaap-batch-end===\n").toString();
+    }
+
     private static String genExpectedUrlForExecInPod(String podName, String cmd) {
         return "/api/v1/namespaces/ns/pods/"
                 + podName
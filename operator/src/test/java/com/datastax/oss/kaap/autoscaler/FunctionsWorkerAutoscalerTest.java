@@ -0,0 +1,342 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.autoscaler.broker.BrokerResourceUsageSource;
+import com.datastax.oss.kaap.autoscaler.function.FunctionsWorkerAdminClient;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorker;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerAutoscalerSpec;
+import com.datastax.oss.kaap.crds.function.FunctionsWorkerFullSpec;
+import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.PodStatusBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetricsBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsListBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.fabric8.mockwebserver.utils.BodyProvider;
+import java.io.ByteArrayOutputStream;
+import java.net.HttpURLConnection;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FunctionsWorkerAutoscalerTest {
+
+    private static final String NAMESPACE = "ns";
+    private static final String SPEC = """
+            global:
+               name: pul
+            functionsWorker:
+                replicas: 2
+                autoscaler:
+                    enabled: true
+                    higherInstancesThreshold: 10
+                resources:
+                    requests:
+                        cpu: 1
+            """;
+
+    private static class MockAdminClient implements FunctionsWorkerAdminClient {
+        private final Map<String, List<String>> assignments;
+        private final List<String> rebalances = new ArrayList<>();
+        private boolean failRebalance;
+
+        MockAdminClient(Map<String, List<String>> assignments) {
+            this.assignments = assignments;
+        }
+
+        @Override
+        public Map<String, List<String>> getAssignments(String podName) {
+            return assignments;
+        }
+
+        @Override
+        public void rebalance(String podName) {
+            rebalances.add(podName);
+            if (failRebalance) {
+                throw new IllegalStateException("rebalance failed");
+            }
+        }
+    }
+
+    @Test
+    public void testScaleUpAndRebalance() throws Exception {
+        final PulsarClusterSpec clusterSpec = readSpec(SPEC);
+        final MockAdminClient adminClient = new MockAdminClient(Map.of("w1", List.of("a"), "w2", List.of("b")));
+        final KubernetesServer server = new KubernetesServer(false);
+        server.before();
+        try {
+            final FunctionsWorkerAutoscaler autoscaler = newAutoscaler(server, clusterSpec, adminClient);
+            final AtomicReference<Object> patched = new AtomicReference<>();
+            expectRound(server, clusterSpec, 2, "0.9", patched);
+            autoscaler.internalRun();
+            Assert.assertEquals(patched.get(), 3);
+            Assert.assertTrue(adminClient.rebalances.isEmpty());
+
+            clusterSpec.getFunctionsWorker().setReplicas(3);
+            expectRound(server, clusterSpec, 3, "0.5", null);
+            autoscaler.internalRun();
+            Assert.assertEquals(adminClient.rebalances, List.of("pul-function-0"));
+        } finally {
+            server.after();
+        }
+    }
+
+    @Test
+    public void testRebalanceRetriedAfterFailure() throws Exception {
+        final PulsarClusterSpec clusterSpec = readSpec(SPEC);
+        final MockAdminClient adminClient = new MockAdminClient(Map.of("w1", List.of("a"), "w2", List.of("b")));
+        final KubernetesServer server = new KubernetesServer(false);
+        server.before();
+        try {
+            final FunctionsWorkerAutoscaler autoscaler = newAutoscaler(server, clusterSpec, adminClient);
+            final AtomicReference<Object> patched = new AtomicReference<>();
+            expectRound(server, clusterSpec, 2, "0.9", patched);
+            autoscaler.internalRun();
+            Assert.assertEquals(patched.get(), 3);
+
+            clusterSpec.getFunctionsWorker().setReplicas(3);
+            adminClient.failRebalance = true;
+            expectRound(server, clusterSpec, 3, "0.5", null);
+            Assert.assertThrows(IllegalStateException.class, autoscaler::internalRun);
+
+            adminClient.failRebalance = false;
+            expectRound(server, clusterSpec, 3, "0.5", null);
+            autoscaler.internalRun();
+            Assert.assertEquals(adminClient.rebalances, List.of("pul-function-0", "pul-function-0"));
+        } finally {
+            server.after();
+        }
+    }
+
+    @Test
+    public void testScaleUpByInstances() throws Exception {
+        final PulsarClusterSpec clusterSpec = readSpec(SPEC);
+        final List<String> instances = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            instances.add("public/default/fn:" + i);
+        }
+        final MockAdminClient adminClient = new MockAdminClient(Map.of("w1", instances));
+        final KubernetesServer server = new KubernetesServer(false);
+        server.before();
+        try {
+            final AtomicReference<Object> patched = new AtomicReference<>();
+            expectRound(server, clusterSpec, 2, "0.5", patched);
+            newAutoscaler(server, clusterSpec, adminClient).internalRun();
+            Assert.assertEquals(patched.get(), 3);
+        } finally {
+            server.after();
+        }
+    }
+
+    @Test
+    public void testScaleDown() throws Exception {
+        final PulsarClusterSpec clusterSpec = readSpec(SPEC);
+        final MockAdminClient adminClient = new MockAdminClient(Map.of());
+        final KubernetesServer server = new KubernetesServer(false);
+        server.before();
+        try {
+            final AtomicReference<Object> patched = new AtomicReference<>();
+            expectRound(server, clusterSpec, 2, "0.1", patched);
+            final FunctionsWorkerAutoscaler autoscaler = newAutoscaler(server, clusterSpec, adminClient);
+            autoscaler.internalRun();
+            Assert.assertEquals(patched.get(), 1);
+        } finally {
+            server.after();
+        }
+    }
+
+    @Test
+    public void testNoScaleDownWithUnevenInstances() throws Exception {
+        final PulsarClusterSpec clusterSpec = readSpec(SPEC);
+        clusterSpec.getFunctionsWorker().getAutoscaler().setLowerInstancesThreshold(2);
+        // 3 instances on 2 workers, one of them runs 2 instances
+        final MockAdminClient adminClient = new MockAdminClient(Map.of("w1", List.of("a", "b"), "w2", List.of("c")));
+        final KubernetesServer server = new KubernetesServer(false);
+        server.before();
+        try {
+            final AtomicReference<Object> patched = new AtomicReference<>();
+            expectRound(server, clusterSpec, 2, "0.1", patched);
+            newAutoscaler(server, clusterSpec, adminClient).internalRun();
+            Assert.assertNull(patched.get());
+        } finally {
+            server.after();
+        }
+    }
+
+    @Test
+    public void testDecide() {
+        final FunctionsWorkerAutoscalerSpec spec = FunctionsWorkerAutoscalerSpec.builder()
+                .lowerCpuThreshold(0.3d)
+                .higherCpuThreshold(0.8d)
+                .lowerInstancesThreshold(2)
+                .higherInstancesThreshold(10)
+                .build();
+        final List<BrokerResourceUsageSource.ResourceUsage> idle = List.of(
+                new BrokerResourceUsageSource.ResourceUsage("w0", 0.1f),
+                new BrokerResourceUsageSource.ResourceUsage("w1", 0.1f));
+        Assert.assertEquals(FunctionsWorkerAutoscaler.decideScaleUpOrDown(spec, idle, 1), Optional.of(false));
+        Assert.assertEquals(FunctionsWorkerAutoscaler.decideScaleUpOrDown(spec, idle, 5), Optional.empty());
+        Assert.assertEquals(FunctionsWorkerAutoscaler.decideScaleUpOrDown(spec, idle, 11), Optional.of(true));
+        Assert.assertEquals(FunctionsWorkerAutoscaler.decideScaleUpOrDown(spec, List.of(
+                new BrokerResourceUsageSource.ResourceUsage("w0", 0.9f),
+                new BrokerResourceUsageSource.ResourceUsage("w1", 0.1f)), 1), Optional.empty());
+        Assert.assertEquals(FunctionsWorkerAutoscaler.decideScaleUpOrDown(spec, List.of(), 1), Optional.empty());
+    }
+
+    private static PulsarClusterSpec readSpec(String spec) {
+        final PulsarClusterSpec clusterSpec = MockKubernetesClient.readYaml(spec, PulsarClusterSpec.class);
+        clusterSpec.getGlobal().applyDefaults(null);
+        clusterSpec.getFunctionsWorker().applyDefaults(clusterSpec.getGlobalSpec());
+        return clusterSpec;
+    }
+
+    private static FunctionsWorkerAutoscaler newAutoscaler(KubernetesServer server, PulsarClusterSpec clusterSpec,
+                                                           FunctionsWorkerAdminClient adminClient) {
+        return new FunctionsWorkerAutoscaler(server.getClient(), NAMESPACE, clusterSpec) {
+            @Override
+            protected FunctionsWorkerAdminClient newAdminClient(GlobalSpec globalSpec) {
+                return adminClient;
+            }
+        };
+    }
+
+    private static void expectRound(KubernetesServer server, PulsarClusterSpec clusterSpec, int replicas,
+                                    String cpu, AtomicReference<Object> patched) {
+        final FunctionsWorker cr = new FunctionsWorker();
+        cr.setSpec(FunctionsWorkerFullSpec.builder()
+                .global(clusterSpec.getGlobal())
+                .functionsWorker(clusterSpec.getFunctionsWorker())
+                .build());
+        server.expect()
+                .get()
+                .withPath("/apis/kaap.oss.datastax.com/v1alpha1/namespaces/ns/functionsworkers/pul-functionsworker")
+                .andReturn(HttpURLConnection.HTTP_OK, cr)
+                // patch gets the resource again
+                .times(patched == null ? 1 : 2);
+
+        final StatefulSet sts = new StatefulSetBuilder()
+                .withNewMetadata()
+                .withName("pul-function")
+                .endMetadata()
+                .withNewSpec()
+                .withReplicas(replicas)
+                .endSpec()
+                .withNewStatus()
+                .withReplicas(replicas)
+                .withReadyReplicas(replicas)
+                .withUpdatedReplicas(replicas)
+                .withCurrentRevision("rev")
+                .withUpdateRevision("rev")
+                .endStatus()
+                .build();
+        server.expect()
+                .get()
+                .withPath("/apis/apps/v1/namespaces/ns/statefulsets/pul-function")
+                .andReturn(HttpURLConnection.HTTP_OK, sts)
+                .once();
+
+        final List<Pod> pods = new ArrayList<>();
+        final List<PodMetrics> podsMetrics = new ArrayList<>();
+        for (int i = 0; i < replicas; i++) {
+            final String podName = "pul-function-%d".formatted(i);
+            final Pod pod = new PodBuilder()
+                    .withNewMetadata()
+                    .withName(podName)
+                    .endMetadata()
+                    .withNewSpec()
+                    .withContainers(new ContainerBuilder()
+                            .withName("pul-function")
+                            .withResources(clusterSpec.getFunctionsWorker().getResources())
+                            .build())
+                    .endSpec()
+                    .withStatus(new PodStatusBuilder()
+                            .withContainerStatuses(new ContainerStatusBuilder()
+                                    .withReady(true)
+                                    .build())
+                            // more than default (stabilizationWindowMs)
+                            .withStartTime(Instant.now().minusSeconds(500).toString())
+                            .build())
+                    .build();
+            pods.add(pod);
+            podsMetrics.add(new PodMetricsBuilder()
+                    .withNewMetadata()
+                    .withName(podName)
+                    .endMetadata()
+                    .withContainers(new ContainerMetricsBuilder()
+                            .withUsage(Map.of("cpu", Quantity.parse(cpu)))
+                            .build())
+                    .build());
+            server.expect()
+                    .get()
+                    .withPath("/api/v1/namespaces/ns/pods/%s".formatted(podName))
+                    .andReturn(HttpURLConnection.HTTP_OK, pod)
+                    .once();
+        }
+        final String labelSelector = URLEncoder.encode("cluster=pul,component=function", StandardCharsets.UTF_8);
+        server.expect()
+                .get()
+                .withPath("/api/v1/namespaces/ns/pods?labelSelector=%s".formatted(labelSelector))
+                .andReturn(HttpURLConnection.HTTP_OK, new PodListBuilder().withItems(pods).build())
+                .once();
+        server.expect()
+                .get()
+                .withPath("/apis/metrics.k8s.io/v1beta1/namespaces/ns/pods?labelSelector=%s".formatted(labelSelector))
+                .andReturn(HttpURLConnection.HTTP_OK, new PodMetricsListBuilder().withItems(podsMetrics).build())
+                .once();
+        if (patched != null) {
+            server.expect()
+                    .patch()
+                    .withPath("/apis/kaap.oss.datastax.com/v1alpha1/namespaces/ns/functionsworkers/pul-functionsworker")
+                    .andReply(HttpURLConnection.HTTP_OK, new BodyProvider<Object>() {
+                        @Override
+                        @SneakyThrows
+                        public Object getBody(RecordedRequest recordedRequest) {
+                            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                            recordedRequest.getBody().copyTo(out);
+                            final ObjectMapper mapper = new ObjectMapper();
+                            final BrokerAutoscalerTest.MockServer.PatchOp patchOp = mapper.convertValue(
+                                    mapper.readValue(out.toByteArray(), List.class).get(0),
+                                    BrokerAutoscalerTest.MockServer.PatchOp.class);
+                            patched.set(patchOp.getValue());
+                            return null;
+                        }
+                    })
+                    .once();
+        }
+    }
+}
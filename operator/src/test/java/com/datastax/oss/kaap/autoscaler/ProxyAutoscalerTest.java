@@ -0,0 +1,339 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler;
+
+import com.datastax.oss.kaap.autoscaler.proxy.ProxyResourceUsageSource;
+import com.datastax.oss.kaap.controllers.proxy.ProxyResourcesFactory;
+import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.crds.proxy.Proxy;
+import com.datastax.oss.kaap.crds.proxy.ProxyAutoscalerSpec;
+import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
+import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.PodStatusBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetricsBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetricsListBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import io.fabric8.mockwebserver.utils.BodyProvider;
+import java.io.ByteArrayOutputStream;
+import java.net.HttpURLConnection;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import lombok.Builder;
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ProxyAutoscalerTest {
+
+    private static final String NAMESPACE = "ns";
+
+    @Builder(setterPrefix = "with")
+    public static class MockServer implements AutoCloseable {
+
+        @FunctionalInterface
+        public interface PodConsumer {
+
+            void accept(Pod pod, PodMetrics metrics, int index);
+        }
+
+        private PulsarClusterSpec pulsarClusterSpec;
+        private PodConsumer podConsumer;
+        private Consumer<Deployment> deploymentConsumer;
+        KubernetesServer server;
+
+        BrokerAutoscalerTest.MockServer.PatchOp patchOp;
+
+        @SneakyThrows
+        void start() {
+            pulsarClusterSpec.getGlobal().applyDefaults(null);
+            pulsarClusterSpec.getProxy().applyDefaults(pulsarClusterSpec.getGlobalSpec());
+
+            final Proxy proxyCr = new Proxy();
+            proxyCr.setSpec(ProxyFullSpec.builder()
+                    .global(pulsarClusterSpec.getGlobal())
+                    .proxy(pulsarClusterSpec.getProxy())
+                    .build());
+
+            final String clusterName = pulsarClusterSpec.getGlobal().getName();
+
+            server = new KubernetesServer(false);
+            server.before();
+
+            final int replicas = pulsarClusterSpec.getProxy().getReplicas();
+
+            final Deployment deployment = new DeploymentBuilder()
+                    .withNewMetadata()
+                    .withName("%s-proxy".formatted(clusterName))
+                    .endMetadata()
+                    .withNewSpec()
+                    .withReplicas(replicas)
+                    .endSpec()
+                    .withNewStatus()
+                    .withReplicas(replicas)
+                    .withUpdatedReplicas(replicas)
+                    .withReadyReplicas(replicas)
+                    .endStatus()
+                    .build();
+            deploymentConsumer.accept(deployment);
+
+            server.expect()
+                    .get()
+                    .withPath("/apis/apps/v1/namespaces/ns/deployments/%s-proxy".formatted(clusterName))
+                    .andReturn(HttpURLConnection.HTTP_OK, deployment)
+                    .once();
+
+            server.expect()
+                    .get()
+                    .withPath("/apis/kaap.oss.datastax.com/v1alpha1/namespaces/ns/proxies/%s-proxy".formatted(
+                            clusterName))
+                    .andReturn(HttpURLConnection.HTTP_OK, proxyCr)
+                    .times(2);
+
+            List<Pod> pods = new ArrayList<>();
+            List<PodMetrics> podsMetrics = new ArrayList<>();
+
+            for (int i = 0; i < replicas; i++) {
+                final String podName = "%s-proxy-%d".formatted(clusterName, i);
+                final Pod pod = new PodBuilder()
+                        .withNewMetadata()
+                        .withName(podName)
+                        .endMetadata()
+                        .withNewSpec()
+                        .withContainers(new ContainerBuilder()
+                                .withName("%s-proxy".formatted(clusterName))
+                                .withResources(pulsarClusterSpec.getProxy().getResources())
+                                .build())
+                        .endSpec()
+                        .withStatus(
+                                new PodStatusBuilder()
+                                        .withContainerStatuses(
+                                                new ContainerStatusBuilder()
+                                                        .withReady(true)
+                                                        .build()
+                                        )
+                                        // more than default (stabilizationWindowMs)
+                                        .withStartTime(Instant.now().minusSeconds(500).toString())
+                                        .build())
+                        .build();
+
+                final PodMetrics podMetrics = new PodMetricsBuilder()
+                        .withNewMetadata()
+                        .withName(podName)
+                        .endMetadata()
+                        .withContainers(
+                                new ContainerMetricsBuilder()
+                                        .withUsage(new HashMap<>(Map.of("cpu", Quantity.parse("0.5"))))
+                                        .build()
+                        )
+                        .build();
+                podConsumer.accept(pod, podMetrics, i);
+                pods.add(pod);
+                podsMetrics.add(podMetrics);
+
+                server.expect()
+                        .get()
+                        .withPath("/api/v1/namespaces/ns/pods/%s".formatted(podName))
+                        .andReturn(HttpURLConnection.HTTP_OK, pod)
+                        .once();
+            }
+            final String labelSelector = URLEncoder.encode("cluster=%s,component=proxy,resource-set=proxy"
+                    .formatted(clusterName), StandardCharsets.UTF_8);
+            final PodList podList = new PodListBuilder()
+                    .withItems(pods)
+                    .build();
+            server.expect()
+                    .get()
+                    .withPath("/api/v1/namespaces/ns/pods?labelSelector=%s".formatted(labelSelector))
+                    .andReturn(HttpURLConnection.HTTP_OK, podList)
+                    .once();
+
+            server.expect()
+                    .get()
+                    .withPath("/apis/metrics.k8s.io/v1beta1/namespaces/ns/pods?labelSelector=%s"
+                            .formatted(labelSelector))
+                    .andReturn(HttpURLConnection.HTTP_OK, new PodMetricsListBuilder()
+                            .withItems(podsMetrics)
+                            .build())
+                    .once();
+
+            server.expect()
+                    .patch()
+                    .withPath("/apis/kaap.oss.datastax.com/v1alpha1/namespaces/ns/proxies/%s-proxy".formatted(
+                            clusterName))
+                    .andReply(HttpURLConnection.HTTP_OK, new BodyProvider<Object>() {
+                        @Override
+                        @SneakyThrows
+                        public Object getBody(RecordedRequest recordedRequest) {
+                            final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+                            recordedRequest.getBody().copyTo(byteArrayOutputStream);
+                            final ObjectMapper mapper = new ObjectMapper();
+                            patchOp = mapper.convertValue(
+                                    mapper.readValue(byteArrayOutputStream.toByteArray(), List.class).get(0),
+                                    BrokerAutoscalerTest.MockServer.PatchOp.class);
+                            return null;
+                        }
+                    })
+                    .once();
+        }
+
+        @Override
+        public void close() {
+            server.after();
+        }
+    }
+
+    private static final String SPEC = """
+            global:
+               name: pul
+            proxy:
+                replicas: 3
+                autoscaler:
+                    enabled: true
+                resources:
+                    requests:
+                        cpu: 1
+            """;
+
+    @Test
+    public void testScaleUp() {
+        final MockServer mockServer = runAutoscaler(SPEC, (pod, metrics, i) -> {
+            metrics.getContainers().get(0).getUsage().put("cpu", Quantity.parse("0.9"));
+        }, deployment -> {
+        });
+        Assert.assertEquals(mockServer.patchOp.getValue(), 4);
+    }
+
+    @Test
+    public void testScaleDown() {
+        final MockServer mockServer = runAutoscaler(SPEC, (pod, metrics, i) -> {
+            metrics.getContainers().get(0).getUsage().put("cpu", Quantity.parse("0.1"));
+        }, deployment -> {
+        });
+        Assert.assertEquals(mockServer.patchOp.getValue(), 2);
+    }
+
+    @Test
+    public void testStable() {
+        final MockServer mockServer = runAutoscaler(SPEC, (pod, metrics, i) -> {
+        }, deployment -> {
+        });
+        Assert.assertNull(mockServer.patchOp);
+    }
+
+    @Test
+    public void testDeploymentNotReady() {
+        final MockServer mockServer = runAutoscaler(SPEC, (pod, metrics, i) -> {
+            metrics.getContainers().get(0).getUsage().put("cpu", Quantity.parse("0.9"));
+        }, deployment -> {
+            deployment.getStatus().setUpdatedReplicas(2);
+        });
+        Assert.assertNull(mockServer.patchOp);
+    }
+
+    @Test
+    public void testPodJustStarted() {
+        final MockServer mockServer = runAutoscaler(SPEC, (pod, metrics, i) -> {
+            metrics.getContainers().get(0).getUsage().put("cpu", Quantity.parse("0.9"));
+            if (i == 2) {
+                pod.getStatus().setStartTime(Instant.now().minusSeconds(3).toString());
+            }
+        }, deployment -> {
+        });
+        Assert.assertNull(mockServer.patchOp);
+    }
+
+    @Test
+    public void testMax() {
+        final String spec = """
+                global:
+                   name: pul
+                proxy:
+                    replicas: 3
+                    autoscaler:
+                        enabled: true
+                        max: 3
+                    resources:
+                        requests:
+                            cpu: 1
+                """;
+        final MockServer mockServer = runAutoscaler(spec, (pod, metrics, i) -> {
+            metrics.getContainers().get(0).getUsage().put("cpu", Quantity.parse("0.9"));
+        }, deployment -> {
+        });
+        Assert.assertNull(mockServer.patchOp);
+    }
+
+    @Test
+    public void testDecideWithConnections() {
+        final ProxyAutoscalerSpec spec = ProxyAutoscalerSpec.builder()
+                .lowerCpuThreshold(0.3d)
+                .higherCpuThreshold(0.8d)
+                .lowerConnectionsThreshold(100)
+                .higherConnectionsThreshold(1000)
+                .build();
+        Assert.assertEquals(ProxySetAutoscaler.decideScaleUpOrDown(spec, List.of(
+                usage(0.5f, 2000), usage(0.9f, 10))), Optional.of(true));
+        Assert.assertEquals(ProxySetAutoscaler.decideScaleUpOrDown(spec, List.of(
+                usage(0.1f, 10), usage(0.1f, 50))), Optional.of(false));
+        Assert.assertEquals(ProxySetAutoscaler.decideScaleUpOrDown(spec, List.of(
+                usage(0.1f, 10), usage(0.1f, 500))), Optional.empty());
+        Assert.assertEquals(ProxySetAutoscaler.decideScaleUpOrDown(spec, List.of(
+                usage(0.1f, 10), usage(0.5f, 2000))), Optional.empty());
+        Assert.assertEquals(ProxySetAutoscaler.decideScaleUpOrDown(spec, List.of()), Optional.empty());
+    }
+
+    private static ProxyResourceUsageSource.ResourceUsage usage(float cpu, int connections) {
+        return new ProxyResourceUsageSource.ResourceUsage("pod", cpu, connections);
+    }
+
+    private MockServer runAutoscaler(String spec, MockServer.PodConsumer podConf,
+                                     Consumer<Deployment> deploymentConf) {
+        final PulsarClusterSpec pulsarClusterSpec = MockKubernetesClient.readYaml(spec, PulsarClusterSpec.class);
+        try (final MockServer server = MockServer.builder()
+                .withPulsarClusterSpec(pulsarClusterSpec)
+                .withPodConsumer(podConf)
+                .withDeploymentConsumer(deploymentConf)
+                .build();) {
+            server.start();
+
+            final ProxySetAutoscaler proxyAutoscaler =
+                    new ProxySetAutoscaler(server.server.getClient(), NAMESPACE,
+                            ProxyResourcesFactory.PROXY_DEFAULT_SET, pulsarClusterSpec);
+            proxyAutoscaler.internalRun();
+            return server;
+        }
+    }
+}
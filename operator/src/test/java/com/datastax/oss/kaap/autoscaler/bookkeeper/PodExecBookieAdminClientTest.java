@@ -0,0 +1,95 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.bookkeeper;
+
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PodExecBookieAdminClientTest {
+
+    @Test
+    public void testParseDiskUsagePerDirectory() {
+        final List<BookieAdminClient.BookieLedgerDiskInfo> infos =
+                PodExecBookieAdminClient.parseDiskUsagePerDirectory("""
+                        Filesystem     1024-blocks    Used Available Capacity Mounted on
+                        /dev/sdb              1000     250       750      25% /pulsar/data/bookkeeper/ledgers
+                        /dev/sdc              2000    1900       100      95% /pulsar/data/bookkeeper/ledgers-1
+                        """, "pul-bookkeeper-0");
+        Assert.assertEquals(infos.size(), 2);
+        Assert.assertEquals(infos.get(0).getPath(), "/pulsar/data/bookkeeper/ledgers");
+        Assert.assertEquals(infos.get(0).getMaxBytes(), 1000 * 1024L);
+        Assert.assertEquals(infos.get(0).getUsedBytes(), 250 * 1024L);
+        Assert.assertEquals(infos.get(1).getPath(), "/pulsar/data/bookkeeper/ledgers-1");
+        Assert.assertEquals(infos.get(1).getUsedBytes(), 1900 * 1024L);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testParseDiskUsageInvalidOutput() {
+        PodExecBookieAdminClient.parseDiskUsagePerDirectory("df: /pulsar/data/bookkeeper/ledgers-1: No such file",
+                "pul-bookkeeper-0");
+    }
+
+    @Test
+    public void testParseLedgersOwnership() {
+        BookieAdminClient.BookieLedgersOwnership ownership =
+                PodExecBookieAdminClient.parseLedgersOwnership("ledgers=0 complete=true error=false\n",
+                        "pul-bookkeeper-0");
+        Assert.assertFalse(ownership.isHasLedgers());
+        Assert.assertTrue(ownership.isComplete());
+
+        ownership = PodExecBookieAdminClient.parseLedgersOwnership("ledgers=12 complete=false error=false",
+                "pul-bookkeeper-0");
+        Assert.assertTrue(ownership.isHasLedgers());
+        Assert.assertEquals(ownership.getLedgersCount(), 12L);
+        Assert.assertFalse(ownership.isComplete());
+
+        ownership = PodExecBookieAdminClient.parseLedgersOwnership("ledgers=0 complete=false error=false",
+                "pul-bookkeeper-0");
+        Assert.assertTrue(ownership.isHasLedgers());
+        Assert.assertEquals(ownership.getLedgersCount(), 0L);
+        Assert.assertFalse(ownership.isComplete());
+
+        ownership = PodExecBookieAdminClient.parseLedgersOwnership("ledgers=0 complete=true error=true",
+                "pul-bookkeeper-0");
+        Assert.assertTrue(ownership.isHasLedgers());
+        Assert.assertFalse(ownership.isComplete());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testParseLedgersOwnershipInvalidOutput() {
+        PodExecBookieAdminClient.parseLedgersOwnership("bash: mktemp: command not found", "pul-bookkeeper-0");
+    }
+
+    @Test
+    public void testBuildLedgersOwnershipCommand() {
+        Assert.assertEquals(PodExecBookieAdminClient.buildLedgersOwnershipCommand("bk-0:3181"),
+                "out=$(mktemp); trap 'kill $pid 2>/dev/null; rm -f $out' EXIT; "
+                        + "timeout 50 bin/bookkeeper shell listledgers -bookieid bk-0:3181 > $out 2>&1 & pid=$!; "
+                        + "while kill -0 $pid 2>/dev/null && ! grep -q -e 'ledgerID: ' "
+                        + "-e 'Unable to read the ledger' "
+                        + "-e 'Received error return value while processing ledgers' "
+                        + "-e 'Received Exception while processing ledgers' $out; do sleep 1; done; "
+                        + "if kill $pid 2>/dev/null; then rc=0; complete=false; "
+                        + "else wait $pid; rc=$?; if [ $rc -eq 0 ]; then complete=true; else complete=false; fi; fi; "
+                        + "if [ $rc -ne 0 ] && [ $rc -ne 124 ]; then error=true; "
+                        + "elif grep -q -e 'Unable to read the ledger' "
+                        + "-e 'Received error return value while processing ledgers' "
+                        + "-e 'Received Exception while processing ledgers' $out; "
+                        + "then error=true; else error=false; fi; "
+                        + "echo \"ledgers=$(grep -c 'ledgerID: ' $out) complete=$complete error=$error\"");
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import com.datastax.oss.kaap.OperatorMetrics;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class BrokerDrainerTest {
+
+    private static class MockBrokerAdminClient implements BrokerAdminClient {
+
+        private final Map<String, List<String>> bundles = new HashMap<>();
+        private final List<String> unloads = new ArrayList<>();
+        private String failingPod;
+        private boolean sticky;
+
+        @Override
+        public Map<String, Object> getLoadReport(String podName) {
+            return Map.of("bundles", getOwnedBundles(podName));
+        }
+
+        @Override
+        public List<String> getOwnedBundles(String podName) {
+            if (podName.equals(failingPod)) {
+                throw new IllegalStateException("broker not reachable");
+            }
+            return bundles.getOrDefault(podName, List.of());
+        }
+
+        @Override
+        public String getBrokerId(String podName) {
+            if (podName.equals(failingPod)) {
+                throw new IllegalStateException("broker not reachable");
+            }
+            return podName + ":8080";
+        }
+
+        @Override
+        public void unloadBundles(String podName, List<String> bundles, List<String> destinationBrokerIds) {
+            unloads.add(podName + ":" + String.join(",", bundles)
+                    + (destinationBrokerIds.isEmpty() ? "" : "->" + String.join(",", destinationBrokerIds)));
+            if (!sticky) {
+                this.bundles.remove(podName);
+            }
+        }
+    }
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeMethod
+    public void before() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void after() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    public void testDrain() {
+        final MockBrokerAdminClient adminClient = new MockBrokerAdminClient();
+        adminClient.bundles.put("pul-broker-1", List.of("public/default/0x00000000_0x80000000",
+                "public/default/0x80000000_0xffffffff"));
+
+        final BrokerDrainer drainer = newDrainer(adminClient, Duration.ofSeconds(10));
+        Assert.assertTrue(drainer.drain(List.of("pul-broker-1", "pul-broker-2"), List.of("pul-broker-0")));
+        Assert.assertEquals(adminClient.unloads, List.of(
+                "pul-broker-1:public/default/0x00000000_0x80000000,public/default/0x80000000_0xffffffff"
+                        + "->pul-broker-0:8080"));
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_DRAINED), 2);
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_TIMEOUT), 0);
+    }
+
+    @Test
+    public void testTimeout() {
+        final MockBrokerAdminClient adminClient = new MockBrokerAdminClient();
+        adminClient.sticky = true;
+        adminClient.bundles.put("pul-broker-1", List.of("public/default/0x00000000_0xffffffff"));
+
+        final BrokerDrainer drainer = newDrainer(adminClient, Duration.ofMillis(50));
+        Assert.assertFalse(drainer.drain(List.of("pul-broker-1"), List.of()));
+        Assert.assertTrue(adminClient.unloads.size() > 1);
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_DRAINED), 0);
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_TIMEOUT), 1);
+    }
+
+    @Test
+    public void testError() {
+        final MockBrokerAdminClient adminClient = new MockBrokerAdminClient();
+        adminClient.failingPod = "pul-broker-1";
+
+        final BrokerDrainer drainer = newDrainer(adminClient, Duration.ofSeconds(10));
+        Assert.assertFalse(drainer.drain(List.of("pul-broker-1", "pul-broker-2"), List.of()));
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_ERROR), 1);
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_DRAINED), 1);
+    }
+
+    @Test
+    public void testDrainBatch() {
+        final MockBrokerAdminClient adminClient = new MockBrokerAdminClient();
+        adminClient.sticky = true;
+        adminClient.bundles.put("pul-broker-1", List.of("public/default/0x00000000_0xffffffff"));
+
+        final BrokerDrainer drainer = newDrainer(adminClient, Duration.ofSeconds(60));
+        final Map<String, Instant> drainStarts = new LinkedHashMap<>();
+        drainStarts.put("pul-broker-1", Instant.now());
+        drainStarts.put("pul-broker-2", Instant.now());
+        Assert.assertFalse(drainer.drainBatch(drainStarts, List.of("pul-broker-0", "pul-broker-3")));
+        Assert.assertEquals(adminClient.unloads, List.of("pul-broker-1:public/default/0x00000000_0xffffffff"
+                + "->pul-broker-0:8080,pul-broker-3:8080"));
+        // the outcomes are recorded once the whole batch is completed
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_DRAINED), 0);
+
+        adminClient.sticky = false;
+        Assert.assertFalse(drainer.drainBatch(drainStarts, List.of("pul-broker-0", "pul-broker-3")));
+        Assert.assertEquals(adminClient.unloads.size(), 2);
+        Assert.assertTrue(drainer.drainBatch(drainStarts, List.of("pul-broker-0", "pul-broker-3")));
+        Assert.assertEquals(adminClient.unloads.size(), 2);
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_DRAINED), 2);
+    }
+
+    @Test
+    public void testDrainBatchTimeout() {
+        final MockBrokerAdminClient adminClient = new MockBrokerAdminClient();
+        adminClient.sticky = true;
+        adminClient.bundles.put("pul-broker-1", List.of("public/default/0x00000000_0xffffffff"));
+
+        final BrokerDrainer drainer = newDrainer(adminClient, Duration.ofSeconds(60));
+        Assert.assertTrue(drainer.drainBatch(Map.of("pul-broker-1", Instant.now().minusSeconds(61)),
+                List.of("pul-broker-0")));
+        Assert.assertTrue(adminClient.unloads.isEmpty());
+        Assert.assertEquals(getCount(BrokerDrainer.OUTCOME_TIMEOUT), 1);
+    }
+
+    @Test
+    public void testUnreachableDestination() {
+        final MockBrokerAdminClient adminClient = new MockBrokerAdminClient();
+        adminClient.failingPod = "pul-broker-0";
+        adminClient.bundles.put("pul-broker-2", List.of("public/default/0x00000000_0xffffffff"));
+
+        final BrokerDrainer drainer = newDrainer(adminClient, Duration.ofSeconds(10));
+        Assert.assertTrue(drainer.drain(List.of("pul-broker-2"), List.of("pul-broker-0", "pul-broker-1")));
+        Assert.assertEquals(adminClient.unloads, List.of(
+                "pul-broker-2:public/default/0x00000000_0xffffffff->pul-broker-1:8080"));
+    }
+
+    @Test
+    public void testConfig() {
+        Assert.assertFalse(BrokerDrainer.isEnabled(null));
+        Assert.assertFalse(BrokerDrainer.isEnabled(new BrokerSetSpec.DrainConfig()));
+        final BrokerSetSpec.DrainConfig drain = BrokerSetSpec.DrainConfig.builder().enabled(true).build();
+        Assert.assertTrue(BrokerDrainer.isEnabled(drain));
+        Assert.assertEquals(BrokerDrainer.getTimeout(drain), Duration.ofSeconds(60));
+        drain.setTimeoutSeconds(5);
+        Assert.assertEquals(BrokerDrainer.getTimeout(drain), Duration.ofSeconds(5));
+    }
+
+    private BrokerDrainer newDrainer(BrokerAdminClient adminClient, Duration timeout) {
+        return new BrokerDrainer(adminClient, "ns", "broker", timeout, Duration.ofMillis(10));
+    }
+
+    private long getCount(String outcome) {
+        final Timer timer = registry.find(OperatorMetrics.BROKER_DRAIN_DURATION)
+                .tag(OperatorMetrics.TAG_OUTCOME, outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -20,6 +20,7 @@ import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
@@ -133,7 +134,7 @@ public class LoadReportResourceUsageSourceTest {
                     final String[] split = pod.getMetadata().getName().split("-");
                     int replicaCount = Integer.parseInt(split[split.length - 1]);
                     final String podExec = genExpectedUrlForExecInPod(pod.getMetadata().getName(),
-                            "curl http://localhost:8080/admin/v2/broker-stats/load-report/");
+                            "curl -sf http://localhost:8080/admin/v2/broker-stats/load-report/");
                     if (replicaCount == 0) {
 
                         server.server.expect()
@@ -172,7 +173,7 @@ public class LoadReportResourceUsageSourceTest {
                     final String[] split = pod.getMetadata().getName().split("-");
                     int replicaCount = Integer.parseInt(split[split.length - 1]);
                     final String podExec = genExpectedUrlForExecInPod(pod.getMetadata().getName(),
-                            "curl http://localhost:8080/admin/v2/broker-stats/load-report/");
+                            "curl -sf http://localhost:8080/admin/v2/broker-stats/load-report/");
 
                     server.server.expect()
                             .get()
@@ -215,7 +216,8 @@ public class LoadReportResourceUsageSourceTest {
                     new LoadReportResourceUsageSource(server.server.getClient(), "ns", Map.of("app", "pulsar"),
                             BrokerResourcesFactory.BROKER_DEFAULT_SET,
                             pulsarClusterSpec.getBroker(),
-                            pulsarClusterSpec.getGlobalSpec());
+                            pulsarClusterSpec.getGlobalSpec(),
+                            ApiPriority.AUTOSCALER);
             return source.getBrokersResourceUsages();
         }
     }
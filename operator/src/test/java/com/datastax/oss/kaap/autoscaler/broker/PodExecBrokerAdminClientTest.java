@@ -0,0 +1,58 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.broker;
+
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PodExecBrokerAdminClientTest {
+
+    @Test
+    public void testGetFailedUnloads() {
+        Assert.assertEquals(PodExecBrokerAdminClient.getFailedUnloads(""), List.of());
+        Assert.assertEquals(PodExecBrokerAdminClient.getFailedUnloads("""
+                public/default/0x00000000_0x80000000 204
+                public/default/0x80000000_0xffffffff 500
+                public/other/0x00000000_0xffffffff 000
+                public/last/0x00000000_0xffffffff
+                """), List.of("public/default/0x80000000_0xffffffff (500)",
+                "public/other/0x00000000_0xffffffff (000)",
+                "public/last/0x00000000_0xffffffff (no response)"));
+    }
+
+    @Test
+    public void testBuildUnloadCommand() {
+        final List<String> bundles = List.of("public/default/0x00000000_0x80000000",
+                "public/default/0x80000000_0xffffffff", "public/other/0x00000000_0xffffffff");
+        Assert.assertEquals(PodExecBrokerAdminClient.buildUnloadCommand("http://localhost:8080", bundles,
+                        List.of("pul-broker-0.pul-broker.ns.svc.cluster.local:8080",
+                                "pul-broker-1.pul-broker.ns.svc.cluster.local:8080"), args -> "curl " + args),
+                "echo \"public/default/0x00000000_0x80000000 $(curl -o /dev/null -w '%{http_code}' -X PUT "
+                        + "'http://localhost:8080/admin/v2/namespaces/public/default/0x00000000_0x80000000/unload"
+                        + "?destinationBroker=pul-broker-0.pul-broker.ns.svc.cluster.local:8080')\"; "
+                        + "echo \"public/default/0x80000000_0xffffffff $(curl -o /dev/null -w '%{http_code}' -X PUT "
+                        + "'http://localhost:8080/admin/v2/namespaces/public/default/0x80000000_0xffffffff/unload"
+                        + "?destinationBroker=pul-broker-1.pul-broker.ns.svc.cluster.local:8080')\"; "
+                        + "echo \"public/other/0x00000000_0xffffffff $(curl -o /dev/null -w '%{http_code}' -X PUT "
+                        + "'http://localhost:8080/admin/v2/namespaces/public/other/0x00000000_0xffffffff/unload"
+                        + "?destinationBroker=pul-broker-0.pul-broker.ns.svc.cluster.local:8080')\"");
+        Assert.assertEquals(PodExecBrokerAdminClient.buildUnloadCommand("http://localhost:8080",
+                        List.of("public/default/0x00000000_0xffffffff"), List.of(), args -> "curl " + args),
+                "echo \"public/default/0x00000000_0xffffffff $(curl -o /dev/null -w '%{http_code}' -X PUT "
+                        + "'http://localhost:8080/admin/v2/namespaces/public/default/0x00000000_0xffffffff/unload')\"");
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.autoscaler.proxy;
+
+import com.datastax.oss.kaap.crds.proxy.ProxySetSpec;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PodMetricProxyResourceUsageSourceTest {
+
+    @Test
+    public void testParseActiveConnections() {
+        final String metrics = """
+                # TYPE pulsar_proxy_active_connections gauge
+                pulsar_proxy_active_connections{cluster="pul"} 125.0
+                # TYPE pulsar_proxy_active_connections_total counter
+                pulsar_proxy_active_connections_total{cluster="pul"} 99999.0
+                pulsar_proxy_new_connections{cluster="pul"} 3.0
+                """;
+        Assert.assertEquals(PodMetricProxyResourceUsageSource.parseActiveConnections(metrics), 125);
+        Assert.assertEquals(PodMetricProxyResourceUsageSource.parseActiveConnections(
+                "pulsar_proxy_active_connections 7.0\n"), 7);
+    }
+
+    @Test
+    public void testWebServicePort() {
+        Assert.assertEquals(PodMetricProxyResourceUsageSource.getWebServicePort(new ProxySetSpec()), "8080");
+        final ProxySetSpec proxySetSpec = new ProxySetSpec();
+        proxySetSpec.setConfig(Map.of("webServicePort", 8090));
+        Assert.assertEquals(PodMetricProxyResourceUsageSource.getWebServicePort(proxySetSpec), "8090");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testMissingMetric() {
+        PodMetricProxyResourceUsageSource.parseActiveConnections("pulsar_proxy_new_connections 3.0\n");
+    }
+}
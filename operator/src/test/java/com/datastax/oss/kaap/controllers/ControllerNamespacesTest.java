@@ -0,0 +1,87 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.controllers.autorecovery.AutorecoveryController;
+import com.datastax.oss.kaap.controllers.bastion.BastionController;
+import com.datastax.oss.kaap.controllers.bookkeeper.BookKeeperController;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.controllers.function.FunctionsWorkerController;
+import com.datastax.oss.kaap.controllers.proxy.ProxyController;
+import com.datastax.oss.kaap.controllers.zookeeper.ZooKeeperController;
+import io.javaoperatorsdk.operator.api.reconciler.Constants;
+import io.javaoperatorsdk.operator.api.reconciler.ControllerConfiguration;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ControllerNamespacesTest {
+
+    private static final List<Class<?>> CONTROLLERS = List.of(
+            PulsarClusterController.class,
+            ZooKeeperController.class,
+            BookKeeperController.class,
+            BrokerController.class,
+            ProxyController.class,
+            AutorecoveryController.class,
+            BastionController.class,
+            FunctionsWorkerController.class
+    );
+
+    @Test
+    public void testDefaultNamespaces() {
+        final String defaultNamespaces = loadApplicationProperties().getProperty("quarkus.operator-sdk.namespaces");
+        Assert.assertEquals(defaultNamespaces, Constants.WATCH_CURRENT_NAMESPACE);
+        for (Class<?> controller : CONTROLLERS) {
+            Assert.assertEquals(resolveNamespaces(controller, Set.of(defaultNamespaces)),
+                    Set.of(Constants.WATCH_CURRENT_NAMESPACE), controller.getName());
+        }
+    }
+
+    @Test
+    public void testGlobalNamespaces() {
+        for (Class<?> controller : CONTROLLERS) {
+            Assert.assertEquals(resolveNamespaces(controller, Set.of(Constants.WATCH_ALL_NAMESPACES)),
+                    Set.of(Constants.WATCH_ALL_NAMESPACES), controller.getName());
+            Assert.assertEquals(resolveNamespaces(controller, Set.of("ns1", "ns2")), Set.of("ns1", "ns2"),
+                    controller.getName());
+        }
+    }
+
+    /**
+     * Same resolution as the Quarkus extension: quarkus.operator-sdk.namespaces only applies to the controllers
+     * that don't set any namespace in their annotation.
+     */
+    private static Set<String> resolveNamespaces(Class<?> controller, Set<String> globalNamespaces) {
+        final ControllerConfiguration annotation = controller.getAnnotation(ControllerConfiguration.class);
+        Assert.assertNotNull(annotation, controller.getName());
+        final Set<String> annotationNamespaces = Set.of(annotation.namespaces());
+        return Constants.DEFAULT_NAMESPACES_SET.equals(annotationNamespaces) ? globalNamespaces : annotationNamespaces;
+    }
+
+    @SneakyThrows
+    private static Properties loadApplicationProperties() {
+        final Properties properties = new Properties();
+        try (InputStream in = ControllerNamespacesTest.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
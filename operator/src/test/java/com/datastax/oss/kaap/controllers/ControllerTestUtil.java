@@ -41,6 +41,51 @@ public class ControllerTestUtil<X extends FullSpecWithDefaults,
         public Integer reconciliationRescheduleSeconds() {
             return 5;
         }
+
+        @Override
+        public String lastAppliedStorage() {
+            return LAST_APPLIED_STORAGE_STATUS;
+        }
+
+        @Override
+        public Integer standbyWarmupIntervalSeconds() {
+            return 0;
+        }
+
+        @Override
+        public Sharding sharding() {
+            return new TestSharding(SHARDING_MODE_DISABLED);
+        }
+
+        @Override
+        public RateLimit rateLimit() {
+            return null;
+        }
+    }
+
+    @AllArgsConstructor
+    public static class TestSharding implements OperatorRuntimeConfiguration.Sharding {
+        private final String mode;
+
+        @Override
+        public String mode() {
+            return mode;
+        }
+
+        @Override
+        public Integer shards() {
+            return 16;
+        }
+
+        @Override
+        public Integer leaseDurationSeconds() {
+            return 15;
+        }
+
+        @Override
+        public Integer renewIntervalSeconds() {
+            return 5;
+        }
     }
 
     private final String namespace;
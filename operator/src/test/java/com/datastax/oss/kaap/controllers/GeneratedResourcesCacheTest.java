@@ -0,0 +1,103 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class GeneratedResourcesCacheTest {
+
+    @AfterMethod
+    public void cleanup() {
+        GeneratedResourcesCache.invalidateAll();
+    }
+
+    private static ConfigMap get(String namespace, String name, String fingerprint, Supplier<ConfigMap> generator) {
+        return GeneratedResourcesCache.get(namespace, ConfigMap.class, name, fingerprint, generator,
+                cm -> new ConfigMapBuilder(cm).build());
+    }
+
+    private static Supplier<ConfigMap> generator(String name, AtomicInteger calls) {
+        return () -> {
+            calls.incrementAndGet();
+            return new ConfigMapBuilder()
+                    .withNewMetadata().withName(name).withLabels(Map.of("app", name)).endMetadata()
+                    .withData(Map.of("key", "value"))
+                    .build();
+        };
+    }
+
+    @Test
+    public void testCopies() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ConfigMap first = get("ns", "cm", "f1", generator("cm", calls));
+        first.getMetadata().setLabels(Map.of("modified", "true"));
+
+        final ConfigMap second = get("ns", "cm", "f1", generator("cm", calls));
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertEquals(second.getMetadata().getLabels(), Map.of("app", "cm"));
+        Assert.assertEquals(second.getData(), Map.of("key", "value"));
+        second.getMetadata().setLabels(Map.of("modified", "true"));
+
+        Assert.assertEquals(get("ns", "cm", "f1", generator("cm", calls)).getMetadata().getLabels(),
+                Map.of("app", "cm"));
+        Assert.assertEquals(calls.get(), 1);
+    }
+
+    @Test
+    public void testFingerprintChanged() {
+        final AtomicInteger calls = new AtomicInteger();
+        get("ns", "cm", "f1", generator("cm", calls));
+        get("ns", "cm", "f2", generator("cm", calls));
+        Assert.assertEquals(calls.get(), 2);
+        Assert.assertEquals(GeneratedResourcesCache.size(), 1);
+        get("ns", "cm", "f2", generator("cm", calls));
+        Assert.assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void testInvalidate() {
+        final AtomicInteger calls = new AtomicInteger();
+        get("ns1", "cm", "f1", generator("cm", calls));
+        get("ns2", "cm", "f1", generator("cm", calls));
+        Assert.assertEquals(calls.get(), 2);
+        Assert.assertEquals(GeneratedResourcesCache.size(), 2);
+
+        GeneratedResourcesCache.invalidate("ns1");
+        Assert.assertEquals(GeneratedResourcesCache.size(), 1);
+        get("ns1", "cm", "f1", generator("cm", calls));
+        get("ns2", "cm", "f1", generator("cm", calls));
+        Assert.assertEquals(calls.get(), 3);
+    }
+
+    @Test
+    public void testMaxSize() {
+        final AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < GeneratedResourcesCache.MAX_CACHED_RESOURCES + 10; i++) {
+            get("ns", "cm-" + i, "f1", generator("cm-" + i, calls));
+        }
+        Assert.assertEquals(GeneratedResourcesCache.size(), GeneratedResourcesCache.MAX_CACHED_RESOURCES);
+        // the least recently used are evicted first
+        get("ns", "cm-0", "f1", generator("cm-0", calls));
+        Assert.assertEquals(calls.get(), GeneratedResourcesCache.MAX_CACHED_RESOURCES + 11);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class JvmMemorySettingsTest {
+
+    private static final MemoryProfileConfig DEFAULTS = MemoryProfileConfig.builder()
+            .heapRatio(0.5)
+            .directMemoryRatio(0.25)
+            .build();
+
+    @Test
+    public void testDisabled() {
+        final ResourceRequirements resources = new ResourceRequirementsBuilder()
+                .withLimits(Map.of("memory", Quantity.parse("4Gi")))
+                .build();
+        Assert.assertNull(JvmMemorySettings.compute(null, DEFAULTS, resources));
+        Assert.assertNull(JvmMemorySettings.compute(new MemoryProfileConfig(), DEFAULTS, resources));
+        Assert.assertNull(JvmMemorySettings.compute(MemoryProfileConfig.builder().enabled(false).build(),
+                DEFAULTS, resources));
+    }
+
+    @Test
+    public void testNoMemory() {
+        final MemoryProfileConfig profile = MemoryProfileConfig.builder().enabled(true).build();
+        Assert.assertNull(JvmMemorySettings.compute(profile, DEFAULTS, null));
+        Assert.assertNull(JvmMemorySettings.compute(profile, DEFAULTS, new ResourceRequirementsBuilder()
+                .withRequests(Map.of("cpu", Quantity.parse("1")))
+                .build()));
+    }
+
+    @Test
+    public void testCompute() {
+        final MemoryProfileConfig profile = MemoryProfileConfig.builder().enabled(true).build();
+        JvmMemorySettings settings = JvmMemorySettings.compute(profile, DEFAULTS, new ResourceRequirementsBuilder()
+                .withRequests(Map.of("memory", Quantity.parse("1Gi"), "cpu", Quantity.parse("500m")))
+                .withLimits(Map.of("memory", Quantity.parse("2Gi")))
+                .build());
+        Assert.assertEquals(settings.getContainerMemoryMb(), 2048);
+        Assert.assertEquals(settings.getHeapMb(), 1024);
+        Assert.assertEquals(settings.getDirectMemoryMb(), 512);
+        Assert.assertEquals(settings.getGcThreads(), 1);
+        Assert.assertNull(settings.getWriteCacheMb());
+        Assert.assertEquals(settings.getMemoryOpts(), "-Xms1024m -Xmx1024m -XX:MaxDirectMemorySize=512m");
+        Assert.assertEquals(settings.describe(),
+                "container memory 2048Mi (limit), heap 1024m (0.5), direct memory 512m (0.25), gc threads 1");
+
+        settings = JvmMemorySettings.compute(MemoryProfileConfig.builder()
+                .enabled(true)
+                .heapRatio(0.75)
+                .directMemoryRatio(0.0)
+                .build(), DEFAULTS, new ResourceRequirementsBuilder()
+                .withRequests(Map.of("memory", Quantity.parse("1Gi"), "cpu", Quantity.parse("8")))
+                .build());
+        Assert.assertEquals(settings.getMemorySource(), "request");
+        Assert.assertEquals(settings.getMemoryOpts(), "-Xms768m -Xmx768m");
+        Assert.assertEquals(settings.getGcThreads(), 8);
+        Assert.assertTrue(settings.getGcOpts().endsWith("-XX:ParallelGCThreads=8 -XX:ConcGCThreads=2"));
+    }
+
+    @Test
+    public void testValidate() {
+        Assert.assertNull(JvmMemorySettings.validate(null, DEFAULTS));
+        Assert.assertNull(JvmMemorySettings.validate(MemoryProfileConfig.builder()
+                .heapRatio(0.9)
+                .build(), DEFAULTS));
+        Assert.assertNull(JvmMemorySettings.validate(MemoryProfileConfig.builder()
+                .enabled(true)
+                .build(), DEFAULTS));
+
+        Assert.assertEquals(JvmMemorySettings.validate(MemoryProfileConfig.builder()
+                        .enabled(true)
+                        .heapRatio(0.75)
+                        .build(), DEFAULTS),
+                "memoryProfile.heapRatio (0.75) + memoryProfile.directMemoryRatio (0.25) must be lower than 1, "
+                        + "the JVM needs memory outside of the heap and the direct memory");
+
+        final MemoryProfileConfig bookieDefaults = MemoryProfileConfig.builder()
+                .heapRatio(0.25)
+                .directMemoryRatio(0.5)
+                .writeCacheRatio(0.25)
+                .readAheadCacheRatio(0.25)
+                .build();
+        Assert.assertNull(JvmMemorySettings.validate(MemoryProfileConfig.builder()
+                .enabled(true)
+                .writeCacheRatio(0.75)
+                .build(), bookieDefaults));
+        Assert.assertEquals(JvmMemorySettings.validate(MemoryProfileConfig.builder()
+                        .enabled(true)
+                        .writeCacheRatio(0.8)
+                        .build(), bookieDefaults),
+                "memoryProfile.writeCacheRatio (0.8) + memoryProfile.readAheadCacheRatio (0.25) must not exceed 1, "
+                        + "both caches are allocated from the direct memory");
+    }
+}
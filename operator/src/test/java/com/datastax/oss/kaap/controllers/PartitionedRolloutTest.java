@@ -0,0 +1,62 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.crds.configs.RolloutConfig;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategy;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategyBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PartitionedRolloutTest {
+
+    @Test
+    public void testComputeBatchSize() {
+        RolloutConfig config = RolloutConfig.builder().enabled(true).build();
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 10, null), 1);
+
+        config = RolloutConfig.builder().enabled(true).batchSize(4).build();
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 10, null), 4);
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 3, "rack1"), 2);
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 1, "rack1"), 1);
+
+        config = RolloutConfig.builder().enabled(true).batchSize(4).batchSizePercentage(25).build();
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 80, null), 20);
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 5, null), 2);
+
+        config = RolloutConfig.builder().enabled(true).batchSizePercentage(100).keepRackAvailable(false).build();
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 6, "rack1"), 6);
+        config.setKeepRackAvailable(true);
+        Assert.assertEquals(PartitionedRollout.computeBatchSize(config, 6, "rack1"), 5);
+    }
+
+    @Test
+    public void testGetUpdateStrategy() {
+        final StatefulSetUpdateStrategy onDelete = new StatefulSetUpdateStrategyBuilder()
+                .withType("OnDelete")
+                .build();
+        Assert.assertSame(PartitionedRollout.getUpdateStrategy(onDelete, null, 3, true), onDelete);
+        Assert.assertSame(PartitionedRollout.getUpdateStrategy(onDelete,
+                RolloutConfig.builder().enabled(false).build(), 3, true), onDelete);
+
+        final RolloutConfig config = RolloutConfig.builder().enabled(true).build();
+        StatefulSetUpdateStrategy updateStrategy = PartitionedRollout.getUpdateStrategy(onDelete, config, 3, true);
+        Assert.assertEquals(updateStrategy.getType(), "RollingUpdate");
+        Assert.assertEquals(updateStrategy.getRollingUpdate().getPartition(), 3);
+        updateStrategy = PartitionedRollout.getUpdateStrategy(onDelete, config, 3, false);
+        Assert.assertEquals(updateStrategy.getRollingUpdate().getPartition(), 0);
+    }
+}
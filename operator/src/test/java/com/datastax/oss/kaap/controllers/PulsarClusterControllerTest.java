@@ -17,7 +17,9 @@ package com.datastax.oss.kaap.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import com.datastax.oss.kaap.controllers.utils.TokenAuthProvisioner;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
 import com.datastax.oss.kaap.crds.CRDConstants;
@@ -31,15 +33,27 @@ import com.datastax.oss.kaap.crds.function.FunctionsWorker;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import io.fabric8.certmanager.api.model.v1.Certificate;
+import io.fabric8.certmanager.api.model.v1.Issuer;
 import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.CustomResource;
 import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.javaoperatorsdk.operator.processing.event.EventSourceRetriever;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
 import org.testng.Assert;
@@ -107,7 +121,10 @@ public class PulsarClusterControllerTest {
                     required: true
                   zone:
                     enabled: false
-                zookeeperPlainSslStorePassword: false""";
+                zookeeperPlainSslStorePassword: false
+                zookeeperObserverClients:
+                  broker: false
+                  bookkeeper: false""";
     static final String NAMESPACE = "ns";
 
     TokenAuthProvisioner tokenAuthProvisioner;
@@ -337,6 +354,16 @@ public class PulsarClusterControllerTest {
                     rbac:
                       create: true
                       namespaced: true
+                    autoscaler:
+                      enabled: false
+                      periodMs: 60000
+                      min: 1
+                      lowerCpuThreshold: 0.3
+                      higherCpuThreshold: 0.8
+                      scaleUpBy: 1
+                      scaleDownBy: 1
+                      stabilizationWindowMs: 300000
+                      rebalanceAfterScaleUp: true
                 status:
                   conditions: []
                 """.formatted(GLOBAL_SPEC_YAML_PART));
@@ -460,6 +487,15 @@ public class PulsarClusterControllerTest {
                     kafka:
                       enabled: false
                       exposePorts: true
+                    autoscaler:
+                      enabled: false
+                      periodMs: 60000
+                      min: 1
+                      lowerCpuThreshold: 0.3
+                      higherCpuThreshold: 0.8
+                      scaleUpBy: 1
+                      scaleDownBy: 1
+                      stabilizationWindowMs: 300000
                     setsUpdateStrategy: RollingUpdate
                 status:
                   conditions: []
@@ -662,10 +698,25 @@ public class PulsarClusterControllerTest {
         Object getExistingCustomResource(Class<?> resourceClass);
     }
 
-    @SneakyThrows
     private UpdateControl<PulsarCluster> invokeController(MockKubernetesClient client,
                                                           String spec,
                                                           ExistingResourceProvider existingResourceProvider) {
+        return invokeController(client, spec, existingResourceProvider, null);
+    }
+
+    private UpdateControl<PulsarCluster> invokeController(MockKubernetesClient client,
+                                                          String spec,
+                                                          ExistingResourceProvider existingResourceProvider,
+                                                          BaseComponentStatus status) {
+        return invokeController(client, spec, existingResourceProvider, status, mock(Context.class));
+    }
+
+    @SneakyThrows
+    private UpdateControl<PulsarCluster> invokeController(MockKubernetesClient client,
+                                                          String spec,
+                                                          ExistingResourceProvider existingResourceProvider,
+                                                          BaseComponentStatus status,
+                                                          Context<PulsarCluster> context) {
 
         final PulsarClusterController controller =
                 new PulsarClusterController(client.getClient()) {
@@ -693,8 +744,11 @@ public class PulsarClusterControllerTest {
 
         final PulsarClusterSpec fSpec = MockKubernetesClient.readYaml(spec, PulsarClusterSpec.class);
         cr.setSpec(fSpec);
+        if (status != null) {
+            cr.setStatus(status);
+        }
 
-        return controller.reconcile(cr, mock(Context.class));
+        return controller.reconcile(cr, context);
     }
 
     private void setReadyCondition(BaseComponentStatus status, boolean ready) {
@@ -731,6 +785,121 @@ public class PulsarClusterControllerTest {
         verify(tokenAuthProvisioner).generateSecretsIfAbsent(any());
     }
 
+    @Test
+    public void testAuthTokenProvisionerSkippedIfUnchanged() throws Exception {
+        String spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                    auth:
+                        enabled: true
+                """;
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+        when(tokenAuthProvisioner.areSecretsProvisioned(any(), any())).thenReturn(true);
+        UpdateControl<PulsarCluster> control = invokeController(client, spec, r -> null);
+        verify(tokenAuthProvisioner, times(1)).generateSecretsIfAbsent(any());
+        final Map<String, String> fingerprints = control.getResource().getStatus().getLastAppliedFingerprints();
+        Assert.assertNotNull(fingerprints.get("auth"));
+        Assert.assertNotNull(fingerprints.get("tls"));
+        Assert.assertNotNull(fingerprints.get("spec"));
+
+        control = invokeController(client, spec, r -> null, control.getResource().getStatus());
+        verify(tokenAuthProvisioner, times(1)).generateSecretsIfAbsent(any());
+        Assert.assertEquals(control.getResource().getStatus().getLastAppliedFingerprints(), fingerprints);
+
+        // a token secret has been deleted
+        when(tokenAuthProvisioner.areSecretsProvisioned(any(), any())).thenReturn(false);
+        control = invokeController(client, spec, r -> null, control.getResource().getStatus());
+        verify(tokenAuthProvisioner, times(2)).generateSecretsIfAbsent(any());
+        Assert.assertEquals(control.getResource().getStatus().getLastAppliedFingerprints(), fingerprints);
+        when(tokenAuthProvisioner.areSecretsProvisioned(any(), any())).thenReturn(true);
+
+        spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                    auth:
+                        enabled: true
+                        token:
+                            superUserRoles:
+                            - admin
+                """;
+        control = invokeController(client, spec, r -> null, control.getResource().getStatus());
+        verify(tokenAuthProvisioner, times(3)).generateSecretsIfAbsent(any());
+        Assert.assertNotEquals(control.getResource().getStatus().getLastAppliedFingerprints().get("auth"),
+                fingerprints.get("auth"));
+        Assert.assertEquals(control.getResource().getStatus().getLastAppliedFingerprints().get("tls"),
+                fingerprints.get("tls"));
+    }
+
+    @Test
+    public void testSecurityResourcesLookedUpInCache() throws Exception {
+        String spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                    auth:
+                        enabled: true
+                    tls:
+                        enabled: true
+                        certProvisioner:
+                            selfSigned:
+                                enabled: true
+                """;
+        final Map<Class<?>, Set<String>> cached = new HashMap<>();
+        final Context<PulsarCluster> context = mockContextWithCaches(cached);
+        when(tokenAuthProvisioner.areSecretsProvisioned(any(), any())).thenCallRealMethod();
+        final MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+
+        UpdateControl<PulsarCluster> control = invokeController(client, spec, r -> null, null, context);
+        verify(tokenAuthProvisioner, times(1)).generateSecretsIfAbsent(any());
+        final int issuers = client.getCreatedResources(Issuer.class).size();
+        final int certificates = client.getCreatedResources(Certificate.class).size();
+        Assert.assertTrue(issuers > 0);
+        Assert.assertTrue(certificates > 0);
+
+        // nothing in the caches, provision again
+        control = invokeController(client, spec, r -> null, control.getResource().getStatus(), context);
+        verify(tokenAuthProvisioner, times(2)).generateSecretsIfAbsent(any());
+        Assert.assertEquals(client.getCreatedResources(Issuer.class).size(), issuers * 2);
+
+        cached.put(Secret.class, new HashSet<>(Set.of("token-private-key", "token-public-key", "token-superuser",
+                "token-admin", "token-proxy", "token-websocket")));
+        cached.put(Issuer.class, client.getCreatedResources(Issuer.class).stream()
+                .map(r -> r.getResource().getMetadata().getName()).collect(Collectors.toSet()));
+        cached.put(Certificate.class, client.getCreatedResources(Certificate.class).stream()
+                .map(r -> r.getResource().getMetadata().getName()).collect(Collectors.toSet()));
+        control = invokeController(client, spec, r -> null, control.getResource().getStatus(), context);
+        verify(tokenAuthProvisioner, times(2)).generateSecretsIfAbsent(any());
+        Assert.assertEquals(client.getCreatedResources(Issuer.class).size(), issuers * 2);
+        Assert.assertEquals(client.getCreatedResources(Certificate.class).size(), certificates * 2);
+
+        // a token secret has been deleted
+        cached.get(Secret.class).remove("token-admin");
+        invokeController(client, spec, r -> null, control.getResource().getStatus(), context);
+        verify(tokenAuthProvisioner, times(3)).generateSecretsIfAbsent(any());
+        Assert.assertEquals(client.getCreatedResources(Certificate.class).size(), certificates * 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Context<PulsarCluster> mockContextWithCaches(Map<Class<?>, Set<String>> cached) {
+        final EventSourceRetriever<PulsarCluster> retriever = mock(EventSourceRetriever.class);
+        for (Class<?> resourceClass : List.of(Secret.class, Issuer.class, Certificate.class)) {
+            final InformerEventSource eventSource = mock(InformerEventSource.class);
+            when(eventSource.get(any())).thenAnswer(invocation -> {
+                final ResourceID id = invocation.getArgument(0);
+                Assert.assertEquals(id.getNamespace().orElseThrow(), NAMESPACE);
+                return cached.getOrDefault(resourceClass, Set.of()).contains(id.getName())
+                        ? Optional.of(new Object()) : Optional.empty();
+            });
+            when(retriever.getResourceEventSourcesFor(resourceClass)).thenReturn(List.of(eventSource));
+            when(retriever.getResourceEventSourceFor(resourceClass)).thenReturn(eventSource);
+        }
+        final Context<PulsarCluster> context = mock(Context.class);
+        when(context.eventSourceRetriever()).thenReturn(retriever);
+        return context;
+    }
+
     @Test
     public void testResourceSets() throws Exception {
         String spec = """
@@ -782,6 +951,83 @@ public class PulsarClusterControllerTest {
         );
     }
 
+    @Test
+    public void testEphemeralJournalRequiresAutorecovery() throws Exception {
+        String spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                bookkeeper:
+                    volumes:
+                        journal:
+                            size: 1Gi
+                        journalStorage:
+                            type: Memory
+                autorecovery:
+                    replicas: 0
+                """;
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+        final UpdateControl<PulsarCluster> status = invokeController(client, spec, r -> null);
+        final Condition readyCondition = KubeTestUtil.getReadyCondition(status.getResource().getStatus());
+        Assert.assertEquals(readyCondition.getStatus(), CRDConstants.CONDITIONS_STATUS_FALSE);
+        Assert.assertEquals(readyCondition.getReason(), CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC);
+        Assert.assertTrue(readyCondition.getMessage().contains(
+                "bookkeeper set bookkeeper uses journal storage type Memory, which requires the autorecovery "
+                        + "to be enabled (.autorecovery.replicas > 0)"), readyCondition.getMessage());
+    }
+
+    @Test
+    public void testZooKeeperObserverClientsWithoutObservers() throws Exception {
+        String spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                    zookeeperObserverClients:
+                        broker: true
+                        bookkeeper: true
+                zookeeper:
+                    observers:
+                        replicas: 0
+                """;
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+        UpdateControl<PulsarCluster> status = invokeController(client, spec, r -> null);
+        Condition readyCondition = KubeTestUtil.getReadyCondition(status.getResource().getStatus());
+        Assert.assertEquals(readyCondition.getReason(), CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC);
+        Assert.assertTrue(readyCondition.getMessage().contains(
+                "global.zookeeperObserverClients is enabled for broker, bookkeeper but there are no ZooKeeper "
+                        + "observers, set zookeeper.observers.replicas"), readyCondition.getMessage());
+
+        spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                    zookeeperObserverClients:
+                        bookkeeper: true
+                """;
+        client = new MockKubernetesClient(NAMESPACE);
+        status = invokeController(client, spec, r -> null);
+        readyCondition = KubeTestUtil.getReadyCondition(status.getResource().getStatus());
+        Assert.assertEquals(readyCondition.getReason(), CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC);
+        Assert.assertTrue(readyCondition.getMessage().contains(
+                "global.zookeeperObserverClients is enabled for bookkeeper but there are no ZooKeeper observers"),
+                readyCondition.getMessage());
+
+        spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                    zookeeperObserverClients:
+                        broker: true
+                zookeeper:
+                    observers:
+                        replicas: 2
+                """;
+        client = new MockKubernetesClient(NAMESPACE);
+        status = invokeController(client, spec, r -> null);
+        readyCondition = KubeTestUtil.getReadyCondition(status.getResource().getStatus());
+        Assert.assertNotEquals(readyCondition.getReason(), CRDConstants.CONDITIONS_TYPE_READY_REASON_INVALID_SPEC);
+    }
+
     @Test
     public void testBrokerResourceSetsNotDefined() throws Exception {
         String spec = """
@@ -1029,4 +1275,67 @@ public class PulsarClusterControllerTest {
         Assert.assertEquals(brokerGetCount.get(), 1);
         KubeTestUtil.assertUpdateControlInitializing(control);
     }
+
+    @Test
+    public void testAdjustProxyReplicas() throws Exception {
+        String spec = """
+                global:
+                    name: pulsarname
+                    image: apachepulsar/pulsar:2.10.2
+                proxy:
+                    replicas: 1
+                    autoscaler:
+                        enabled: true
+                """;
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE);
+        invokeController(client, spec, r -> null);
+        final MockKubernetesClient.ResourceInteraction<ZooKeeper> createdZk =
+                client.getCreatedResource(ZooKeeper.class);
+
+        setReadyCondition(createdZk.getResource().getStatus(), true);
+        client = new MockKubernetesClient(NAMESPACE);
+        invokeController(client, spec, r -> {
+            if (r.isAssignableFrom(ZooKeeper.class)) {
+                return createdZk.getResource();
+            }
+            return null;
+        });
+        final MockKubernetesClient.ResourceInteraction<BookKeeper> createdBk =
+                client.getCreatedResource(BookKeeper.class);
+
+        setReadyCondition(createdBk.getResource().getStatus(), true);
+        client = new MockKubernetesClient(NAMESPACE);
+        UpdateControl<PulsarCluster> control = invokeController(client, spec, r -> {
+            if (r.isAssignableFrom(ZooKeeper.class)) {
+                return createdZk.getResource();
+            }
+            if (r.isAssignableFrom(BookKeeper.class)) {
+                return createdBk.getResource();
+            }
+            return null;
+        });
+        Assert.assertEquals(client.countCreatedResources(), 4);
+        KubeTestUtil.assertUpdateControlInitializing(control);
+        final Proxy createdProxy = client.getCreatedResource(Proxy.class).getResource();
+        Assert.assertEquals(createdProxy.getSpec().getProxy().getDefaultProxySpecRef().getReplicas(), 1);
+        // simulate proxy autoscaler changed the replicas to 2
+        createdProxy.getSpec().getProxy().getDefaultProxySpecRef().setReplicas(2);
+
+        client = new MockKubernetesClient(NAMESPACE);
+        control = invokeController(client, spec, r -> {
+            if (r.isAssignableFrom(ZooKeeper.class)) {
+                return createdZk.getResource();
+            }
+            if (r.isAssignableFrom(BookKeeper.class)) {
+                return createdBk.getResource();
+            }
+            if (r.isAssignableFrom(Proxy.class)) {
+                return createdProxy;
+            }
+            return null;
+        });
+        Assert.assertEquals(client.countCreatedResources(), 3);
+        Assert.assertNull(client.getCreatedResource(Proxy.class));
+        KubeTestUtil.assertUpdateControlInitializing(control);
+    }
 }
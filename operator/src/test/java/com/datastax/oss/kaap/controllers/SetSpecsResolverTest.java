@@ -0,0 +1,71 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerResourcesFactory;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import java.util.LinkedHashMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SetSpecsResolverTest {
+
+    @Test
+    public void testDefaultSet() {
+        final SetSpecsResolver<BrokerSpec, BrokerSetSpec> resolver =
+                new SetSpecsResolver<>(BrokerResourcesFactory.BROKER_DEFAULT_SET, BrokerSpec::getSets);
+        final BrokerSpec spec = SerializationUtil.readYaml("""
+                replicas: 4
+                """, BrokerSpec.class);
+        final LinkedHashMap<String, BrokerSetSpec> sets = resolver.resolve(spec);
+        Assert.assertEquals(sets.keySet().iterator().next(), BrokerResourcesFactory.BROKER_DEFAULT_SET);
+        Assert.assertEquals(sets.get(BrokerResourcesFactory.BROKER_DEFAULT_SET).getReplicas(), 4);
+    }
+
+    @Test
+    public void testMemoized() {
+        final SetSpecsResolver<BrokerSpec, BrokerSetSpec> resolver =
+                new SetSpecsResolver<>(BrokerResourcesFactory.BROKER_DEFAULT_SET, BrokerSpec::getSets);
+        final String yaml = """
+                replicas: 6
+                config:
+                    common: commonvalue
+                sets:
+                  set1:
+                    replicas: 3
+                  set2: {}
+                """;
+        final BrokerSpec spec = SerializationUtil.readYaml(yaml, BrokerSpec.class);
+        final LinkedHashMap<String, BrokerSetSpec> sets = resolver.resolve(spec);
+        Assert.assertEquals(sets.get("set1").getReplicas(), 3);
+        Assert.assertEquals(sets.get("set2").getReplicas(), 6);
+        Assert.assertEquals(sets.get("set2").getConfig().get("common"), "commonvalue");
+        // the input spec is left untouched
+        Assert.assertNull(spec.getSets().get("set2").getReplicas());
+
+        final LinkedHashMap<String, BrokerSetSpec> again =
+                resolver.resolve(SerializationUtil.readYaml(yaml, BrokerSpec.class));
+        Assert.assertEquals(resolver.getCachedSpecsCount(), 1);
+        Assert.assertSame(again.get("set1"), sets.get("set1"));
+        Assert.assertNotSame(again, sets);
+
+        spec.setReplicas(5);
+        Assert.assertEquals(resolver.resolve(spec).get("set2").getReplicas(), 5);
+        Assert.assertEquals(resolver.getCachedSpecsCount(), 2);
+    }
+}
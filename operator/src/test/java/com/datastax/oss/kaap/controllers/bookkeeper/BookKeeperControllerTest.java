@@ -18,15 +18,22 @@ package com.datastax.oss.kaap.controllers.bookkeeper;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.AbstractController;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
+import com.datastax.oss.kaap.controllers.JvmMemorySettings;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.PartitionedRollout;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.BookKeeperRackDaemon;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.BkRackClient;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.BkRackClientFactory;
+import com.datastax.oss.kaap.crds.BaseComponentStatus;
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoRackConfig;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperFullSpec;
+import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperSetSpec;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
+import com.datastax.oss.kaap.mocks.MockResourcesResolver;
+import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.EnvVar;
@@ -36,7 +43,10 @@ import io.fabric8.kubernetes.api.model.NodeSelectorRequirement;
 import io.fabric8.kubernetes.api.model.NodeSelectorTerm;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodAffinityTerm;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
 import io.fabric8.kubernetes.api.model.PodDNSConfig;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.Probe;
@@ -45,15 +55,19 @@ import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.api.model.Toleration;
+import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.WeightedPodAffinityTerm;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
 import io.fabric8.kubernetes.api.model.storage.StorageClass;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
 import org.testng.Assert;
@@ -363,6 +377,64 @@ public class BookKeeperControllerTest {
     }
 
 
+    @Test
+    public void testMemoryProfile() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    resources:
+                        requests:
+                            memory: 4Gi
+                        limits:
+                            memory: 8Gi
+                            cpu: 4
+                    memoryProfile:
+                        enabled: true
+                    config:
+                        dbStorage_readAheadCacheMaxSizeMb: 512
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final ConfigMap configMap = client.getCreatedResource(ConfigMap.class).getResource();
+        final Map<String, String> data = configMap.getData();
+        Assert.assertEquals(data.get("BOOKIE_MEM"),
+                "-Xms2048m -Xmx2048m -XX:MaxDirectMemorySize=4096m -Dio.netty.leakDetectionLevel=disabled "
+                        + "-Dio.netty.recycler.linkCapacity=1024 -XX:+ExitOnOutOfMemoryError");
+        Assert.assertEquals(data.get("BOOKIE_GC"), "-XX:+UseG1GC -XX:MaxGCPauseMillis=10 "
+                + "-XX:+ParallelRefProcEnabled -XX:+DisableExplicitGC -XX:ParallelGCThreads=4 -XX:ConcGCThreads=1");
+        Assert.assertEquals(data.get("PULSAR_PREFIX_dbStorage_writeCacheMaxSizeMb"), "1024");
+        Assert.assertEquals(data.get("PULSAR_PREFIX_dbStorage_readAheadCacheMaxSizeMb"), "512");
+        Assert.assertEquals(configMap.getMetadata().getAnnotations().get("kaap.oss.datastax.com/memory-profile"),
+                "container memory 8192Mi (limit), heap 2048m (0.25), direct memory 4096m (0.5), gc threads 4, "
+                        + "write cache 1024MB, read-ahead cache 1024MB");
+
+        spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    resources:
+                        requests:
+                            memory: 4Gi
+                    memoryProfile:
+                        enabled: true
+                        heapRatio: 0.5
+                        directMemoryRatio: 0.25
+                """;
+        client = invokeController(spec);
+        final ConfigMap configMapFromRequest = client.getCreatedResource(ConfigMap.class).getResource();
+        Assert.assertEquals(configMapFromRequest.getData().get("BOOKIE_MEM"),
+                "-Xms2048m -Xmx2048m -XX:MaxDirectMemorySize=1024m -Dio.netty.leakDetectionLevel=disabled "
+                        + "-Dio.netty.recycler.linkCapacity=1024 -XX:+ExitOnOutOfMemoryError");
+        Assert.assertEquals(configMapFromRequest.getData().get("PULSAR_PREFIX_dbStorage_writeCacheMaxSizeMb"), "256");
+        Assert.assertTrue(configMapFromRequest.getMetadata().getAnnotations()
+                .get("kaap.oss.datastax.com/memory-profile").startsWith("container memory 4096Mi (request)"));
+    }
+
     @Test
     public void testTlsEnabledOnBookKeeper() throws Exception {
         String spec = """
@@ -1125,6 +1197,267 @@ public class BookKeeperControllerTest {
 
     }
 
+    @Test
+    public void testMultipleDataVolumes() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: true
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    volumes:
+                        journalCount: 2
+                        ledgersCount: 3
+                        ledgers:
+                            size: 2Gi
+                """;
+
+        MockKubernetesClient client = invokeController(spec);
+
+        final Map<String, String> data = client.getCreatedResource(ConfigMap.class).getResource().getData();
+        Assert.assertEquals(data.get("PULSAR_PREFIX_journalDirectories"),
+                "/pulsar/data/bookkeeper/journal,/pulsar/data/bookkeeper/journal-1");
+        Assert.assertEquals(data.get("PULSAR_PREFIX_ledgerDirectories"),
+                "/pulsar/data/bookkeeper/ledgers,/pulsar/data/bookkeeper/ledgers-1,/pulsar/data/bookkeeper/ledgers-2");
+
+        final StatefulSet sts = client.getCreatedResource(StatefulSet.class).getResource();
+        final Container container = sts.getSpec().getTemplate().getSpec().getContainers().get(0);
+        Assert.assertEquals(container.getVolumeMounts().stream()
+                .map(m -> m.getName() + ":" + m.getMountPath()).toList(), List.of(
+                "pul-bookkeeper-journal:/pulsar/data/bookkeeper/journal",
+                "pul-bookkeeper-journal-1:/pulsar/data/bookkeeper/journal-1",
+                "pul-bookkeeper-ledgers:/pulsar/data/bookkeeper/ledgers",
+                "pul-bookkeeper-ledgers-1:/pulsar/data/bookkeeper/ledgers-1",
+                "pul-bookkeeper-ledgers-2:/pulsar/data/bookkeeper/ledgers-2"
+        ));
+        final List<PersistentVolumeClaim> pvcs = sts.getSpec().getVolumeClaimTemplates();
+        Assert.assertEquals(pvcs.size(), 5);
+        Assert.assertEquals(pvcs.get(4).getMetadata().getName(), "pul-bookkeeper-ledgers-2");
+        Assert.assertEquals(pvcs.get(4).getSpec().getResources().getRequests().get("storage"), Quantity.parse("2Gi"));
+    }
+
+    @Test
+    public void testSingleDataVolumeDoesNotSetDirectories() throws Exception {
+        MockKubernetesClient client = invokeController("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                """);
+        final Map<String, String> data = client.getCreatedResource(ConfigMap.class).getResource().getData();
+        Assert.assertFalse(data.containsKey("PULSAR_PREFIX_journalDirectories"));
+        Assert.assertFalse(data.containsKey("PULSAR_PREFIX_ledgerDirectories"));
+    }
+
+    @Test
+    public void testJournalStorageLocalStorageClass() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: true
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    volumes:
+                        journal:
+                            size: 5Gi
+                            storageClass:
+                                provisioner: kubernetes.io/aws-ebs
+                        journalStorage:
+                            type: LocalStorageClass
+                            storageClassName: local-nvme
+                            nodeSelector:
+                                disk: nvme
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final StatefulSet sts = client.getCreatedResource(StatefulSet.class).getResource();
+        final PersistentVolumeClaim journalPvc = sts.getSpec().getVolumeClaimTemplates().get(0);
+        Assert.assertEquals(journalPvc.getMetadata().getName(), "pul-bookkeeper-journal");
+        Assert.assertEquals(journalPvc.getSpec().getStorageClassName(), "local-nvme");
+        Assert.assertEquals(journalPvc.getSpec().getResources().getRequests().get("storage"), Quantity.parse("5Gi"));
+        Assert.assertNull(sts.getSpec().getVolumeClaimTemplates().get(1).getSpec().getStorageClassName());
+        Assert.assertEquals(sts.getSpec().getTemplate().getSpec().getNodeSelector(), Map.of("disk", "nvme"));
+        Assert.assertEquals(sts.getSpec().getTemplate().getSpec().getInitContainers().size(), 1);
+        Assert.assertNull(client.getCreatedResource(StorageClass.class));
+    }
+
+    @Test
+    public void testJournalStorageHostPath() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: true
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    nodeSelectors:
+                        zone: a
+                    volumes:
+                        journalStorage:
+                            type: HostPath
+                            hostPath: /mnt/nvme/
+                            nodeSelector:
+                                disk: nvme
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final StatefulSet sts = client.getCreatedResource(StatefulSet.class).getResource();
+        final PodSpec podSpec = sts.getSpec().getTemplate().getSpec();
+        Assert.assertEquals(sts.getSpec().getVolumeClaimTemplates().size(), 1);
+        Assert.assertEquals(sts.getSpec().getVolumeClaimTemplates().get(0).getMetadata().getName(),
+                "pul-bookkeeper-ledgers");
+
+        final Volume journal = KubeTestUtil.getVolumeByName(podSpec.getVolumes(), "pul-bookkeeper-journal");
+        Assert.assertEquals(journal.getHostPath().getPath(), "/mnt/nvme/ns/pul-bookkeeper-journal");
+        Assert.assertEquals(journal.getHostPath().getType(), "DirectoryOrCreate");
+        final Container container = podSpec.getContainers().get(0);
+        final VolumeMount journalMount =
+                KubeTestUtil.getVolumeMountByName(container.getVolumeMounts(), "pul-bookkeeper-journal");
+        Assert.assertEquals(journalMount.getMountPath(), "/pulsar/data/bookkeeper/journal");
+        Assert.assertEquals(journalMount.getSubPathExpr(), "$(POD_NAME)");
+        Assert.assertEquals(container.getEnv().get(0).getName(), "POD_NAME");
+        Assert.assertEquals(container.getEnv().get(0).getValueFrom().getFieldRef().getFieldPath(), "metadata.name");
+        Assert.assertEquals(podSpec.getNodeSelector(), Map.of("zone", "a", "disk", "nvme"));
+
+        Assert.assertEquals(podSpec.getInitContainers().size(), 1);
+        Assert.assertEquals(container.getArgs().get(0), "bin/apply-config-from-env.py conf/bookkeeper.conf && "
+                + "{ journal_lost=false; for dir in /pulsar/data/bookkeeper/ledgers; do "
+                + "if [ -f $dir/current/VERSION ]; then for jdir in /pulsar/data/bookkeeper/journal; do "
+                + "if [ ! -f $jdir/current/VERSION ]; then journal_lost=true; fi; done; fi; done; "
+                + "if [ \"$journal_lost\" = true ]; then echo \"The journal of bookie $POD_NAME has been lost, "
+                + "recovering its ledgers to the other bookies and formatting the bookie\"; "
+                + "bin/bookkeeper shell recover -f $POD_NAME.pul-bookkeeper.ns.svc.cluster.local:3181 "
+                + "&& bin/bookkeeper shell bookieformat -nonInteractive -force -deleteCookie; fi; } && "
+                + "OPTS=\"${OPTS} -Dlog4j2.formatMsgNoLookups=true\" exec bin/pulsar bookie");
+    }
+
+    @Test
+    public void testJournalStorageMemory() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: true
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    volumes:
+                        journal:
+                            size: 1Gi
+                        journalStorage:
+                            type: Memory
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final StatefulSet sts = client.getCreatedResource(StatefulSet.class).getResource();
+        final PodSpec podSpec = sts.getSpec().getTemplate().getSpec();
+        Assert.assertEquals(sts.getSpec().getVolumeClaimTemplates().size(), 1);
+        final Volume journal = KubeTestUtil.getVolumeByName(podSpec.getVolumes(), "pul-bookkeeper-journal");
+        Assert.assertEquals(journal.getEmptyDir().getMedium(), "Memory");
+        Assert.assertEquals(journal.getEmptyDir().getSizeLimit(), Quantity.parse("1Gi"));
+        final Container container = podSpec.getContainers().get(0);
+        Assert.assertEquals(container.getEnv().get(0).getName(), "POD_NAME");
+        Assert.assertTrue(container.getArgs().get(0).contains(
+                "bin/bookkeeper shell recover -f $POD_NAME.pul-bookkeeper.ns.svc.cluster.local:3181 "
+                        + "&& bin/bookkeeper shell bookieformat -nonInteractive -force -deleteCookie"));
+        Assert.assertEquals(podSpec.getInitContainers().size(), 1);
+    }
+
+    @Test
+    public void testJournalStorageMemoryProfile() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: true
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    resources:
+                        limits:
+                            memory: 5Gi
+                    memoryProfile:
+                        enabled: true
+                    volumes:
+                        journalCount: 2
+                        journal:
+                            size: 512Mi
+                        journalStorage:
+                            type: Memory
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final ConfigMap configMap = client.getCreatedResource(ConfigMap.class).getResource();
+        // the journal volumes take 1Gi of the container memory
+        Assert.assertEquals(configMap.getData().get("BOOKIE_MEM"), "-Xms1024m -Xmx1024m "
+                + "-XX:MaxDirectMemorySize=2048m -Dio.netty.leakDetectionLevel=disabled "
+                + "-Dio.netty.recycler.linkCapacity=1024 -XX:+ExitOnOutOfMemoryError");
+        Assert.assertEquals(configMap.getData().get("PULSAR_PREFIX_dbStorage_writeCacheMaxSizeMb"), "512");
+        Assert.assertTrue(configMap.getMetadata().getAnnotations().get(JvmMemorySettings.ANNOTATION)
+                .startsWith("container memory 5120Mi (limit), reserved 1024Mi, heap 1024m"));
+    }
+
+    @Test
+    public void testJournalStorageValidation() throws Exception {
+        final String prefix = "invalid configuration property \"bookkeeper\" for value \"BookKeeperSpec(sets=null, "
+                + "setsUpdateStrategy=RollingUpdate, autoRackConfig=BookKeeperAutoRackConfig(enabled=true, "
+                + "periodMs=60000))\": ";
+        invokeControllerAndAssertError("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    volumes:
+                        journalStorage:
+                            type: HostPath
+                            hostPath: /mnt/nvme
+                """, prefix + "journalStorage.hostPath and journalStorage.nodeSelector are required for journal "
+                + "storage type HostPath");
+
+        invokeControllerAndAssertError("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    volumes:
+                        journalStorage:
+                            type: LocalStorageClass
+                """, prefix + "journalStorage.storageClassName is required for journal storage type LocalStorageClass");
+
+        invokeControllerAndAssertError("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    pdb:
+                        maxUnavailable: 2
+                    volumes:
+                        journalStorage:
+                            type: Memory
+                """, prefix + "Journal storage type Memory requires a pod disruption budget with maxUnavailable=1");
+
+        invokeControllerAndAssertError("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    volumes:
+                        journalStorage:
+                            type: Nfs
+                """, prefix + "Invalid journal storage type: Nfs, only "
+                + "[Persistent, LocalStorageClass, HostPath, Memory]");
+
+        invokeControllerAndAssertError("""
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    resources:
+                        requests:
+                            memory: 1Gi
+                    volumes:
+                        journal:
+                            size: 1Gi
+                        journalStorage:
+                            type: Memory
+                """, prefix + "Journal storage type Memory requires a container memory larger than the journal "
+                + "volumes (1024Mi)");
+    }
+
     @DataProvider(name = "dataVolumePersistenceExistingStorageClass")
     public static Object[][] dataVolumePersistenceExistingStorageClass() {
         return new Object[][]{{"""
@@ -1765,6 +2098,128 @@ public class BookKeeperControllerTest {
     }
 
 
+    @Test
+    public void testPartitionedRolloutEphemeralJournal() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                bookkeeper:
+                    replicas: 4
+                    rollout:
+                        enabled: true
+                        batchSize: 2
+                    volumes:
+                        journal:
+                            size: 1Gi
+                        journalStorage:
+                            type: Memory
+                """;
+        final AtomicBoolean fullyReplicated = new AtomicBoolean(false);
+        final ControllerTestUtil<BookKeeperFullSpec, BookKeeper> util = new ControllerTestUtil<>(NAMESPACE,
+                CLUSTER_NAME, input -> new BookKeeperController(input.getClient()) {
+                    @Override
+                    protected BookKeeperRackDaemon initBookKeeperRackDaemon(KubernetesClient client) {
+                        return newNoopRackDaemon(input.getClient());
+                    }
+
+                    @Override
+                    protected PartitionedRollout.PodHealthCheck newRolloutHealthCheck(
+                            BookKeeper resource, SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> set) {
+                        return pod -> true;
+                    }
+
+                    @Override
+                    protected PartitionedRollout.BeforePodsDeletion newRolloutReplicationCheck(
+                            BookKeeper resource, SetInfo<BookKeeperSetSpec, BookKeeperResourcesFactory> set) {
+                        final PartitionedRollout.BeforePodsDeletion check =
+                                super.newRolloutReplicationCheck(resource, set);
+                        return new PartitionedRollout.BeforePodsDeletion() {
+                            @Override
+                            public boolean beforeDeletion(List<Pod> pods) {
+                                return fullyReplicated.get();
+                            }
+
+                            @Override
+                            public String describeWaiting(String podNames) {
+                                return check.describeWaiting(podNames);
+                            }
+                        };
+                    }
+                });
+
+        final BookKeeper bookKeeperCr = util.createCustomResource(BookKeeper.class, BookKeeperFullSpec.class, spec);
+        final BookKeeperController.BookKeeperSetsLastApplied statusLastApplied =
+                new BookKeeperController.BookKeeperSetsLastApplied();
+        statusLastApplied.setCommon(bookKeeperCr.getSpec());
+        statusLastApplied.getSets().put(BookKeeperResourcesFactory.BOOKKEEPER_DEFAULT_SET, bookKeeperCr.getSpec());
+        bookKeeperCr.setStatus(
+                new BaseComponentStatus(List.of(), SerializationUtil.writeAsJson(statusLastApplied))
+        );
+
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE,
+                newRolloutResolver(4, "rev1", "rev1", "rev1", "rev1"));
+        Condition condition = util.invokeController(client, bookKeeperCr, BookKeeperController.class)
+                .getResource().getStatus().getConditions().get(0);
+        Assert.assertTrue(client.getDeletedResources(Pod.class).isEmpty());
+        Assert.assertNull(client.getCreatedResource(StatefulSet.class));
+        Assert.assertEquals(condition.getMessage(), "bookkeeper-set 'bookkeeper': 0/4 pods updated, partition 4, "
+                + "waiting for no under-replicated ledgers before restarting pul-bookkeeper-3");
+
+        // the batch size is ignored, the bookies are restarted one by one
+        fullyReplicated.set(true);
+        client = new MockKubernetesClient(NAMESPACE, newRolloutResolver(4, "rev1", "rev1", "rev1", "rev1"));
+        condition = util.invokeController(client, bookKeeperCr, BookKeeperController.class)
+                .getResource().getStatus().getConditions().get(0);
+        Assert.assertEquals(condition.getMessage(), "bookkeeper-set 'bookkeeper': 0/4 pods updated, partition 3");
+        Assert.assertEquals(client.getDeletedResources(Pod.class).stream()
+                .map(r -> r.getResource().getMetadata().getName())
+                .collect(Collectors.toList()), List.of("pul-bookkeeper-3"));
+    }
+
+    private static MockResourcesResolver newRolloutResolver(int partition, String... podRevisions) {
+        final Map<String, String> labels = Map.of(CRDConstants.LABEL_CLUSTER, "pul",
+                CRDConstants.LABEL_COMPONENT, "bookkeeper");
+        final MockResourcesResolver resolver = new MockResourcesResolver();
+        resolver.putResource("pul-bookkeeper", new StatefulSetBuilder()
+                .withNewSpec()
+                .withReplicas(podRevisions.length)
+                .withNewSelector()
+                .withMatchLabels(labels)
+                .endSelector()
+                .withNewUpdateStrategy()
+                .withType("RollingUpdate")
+                .withNewRollingUpdate()
+                .withPartition(partition)
+                .endRollingUpdate()
+                .endUpdateStrategy()
+                .endSpec()
+                .withNewStatus()
+                .withReplicas(podRevisions.length)
+                .withReadyReplicas(podRevisions.length)
+                .withCurrentRevision("rev1")
+                .withUpdateRevision("rev2")
+                .endStatus()
+                .build());
+        for (int i = 0; i < podRevisions.length; i++) {
+            final Map<String, String> podLabels = new HashMap<>(labels);
+            podLabels.put(PartitionedRollout.POD_REVISION_LABEL, podRevisions[i]);
+            resolver.putResource("pul-bookkeeper-" + i, new PodBuilder()
+                    .withNewMetadata()
+                    .withLabels(podLabels)
+                    .endMetadata()
+                    .withNewStatus()
+                    .withConditions(new PodConditionBuilder()
+                            .withType("Ready")
+                            .withStatus("True")
+                            .build())
+                    .endStatus()
+                    .build());
+        }
+        return resolver;
+    }
+
     @SneakyThrows
     private void invokeControllerAndAssertError(String spec, String expectedErrorMessage) {
         new ControllerTestUtil<BookKeeperFullSpec, BookKeeper>(NAMESPACE, CLUSTER_NAME, this::controllerConstructor)
@@ -1789,30 +2244,30 @@ public class BookKeeperControllerTest {
         return new BookKeeperController(controllerConstructorInput.getClient()) {
             @Override
             protected BookKeeperRackDaemon initBookKeeperRackDaemon(KubernetesClient client) {
-                return new BookKeeperRackDaemon(
-                        controllerConstructorInput.getClient(),
-                        new BkRackClientFactory() {
+                return newNoopRackDaemon(controllerConstructorInput.getClient());
+            }
+        };
+    }
+
+    private static BookKeeperRackDaemon newNoopRackDaemon(KubernetesClient client) {
+        return new BookKeeperRackDaemon(
+                client,
+                new BkRackClientFactory() {
+                    @Override
+                    public BkRackClient newBkRackClient(String namespace, BookKeeperFullSpec newSpec,
+                                                        BookKeeperAutoRackConfig autoRackConfig) {
+                        return new BkRackClient() {
                             @Override
-                            public BkRackClient newBkRackClient(String namespace, BookKeeperFullSpec newSpec,
-                                                                BookKeeperAutoRackConfig autoRackConfig) {
-                                return new BkRackClient() {
+                            public BookiesRackOp newBookiesRackOp() {
+                                return new BookiesRackOp() {
                                     @Override
-                                    public BookiesRackOp newBookiesRackOp() {
-                                        return new BookiesRackOp() {
-                                            @Override
-                                            public BookiesRackConfiguration get() {
-                                                return null;
-                                            }
-
-                                            @Override
-                                            public void update(BookiesRackConfiguration newConfig) {
-
-                                            }
-                                        };
+                                    public BookiesRackConfiguration get() {
+                                        return null;
                                     }
 
                                     @Override
-                                    public void close() throws Exception {
+                                    public void update(BookiesRackConfiguration newConfig) {
+
                                     }
                                 };
                             }
@@ -1820,9 +2275,13 @@ public class BookKeeperControllerTest {
                             @Override
                             public void close() throws Exception {
                             }
-                        }
-                );
-            }
-        };
+                        };
+                    }
+
+                    @Override
+                    public void close() throws Exception {
+                    }
+                }
+        );
     }
 }
@@ -25,6 +25,7 @@ import com.datastax.oss.kaap.controllers.KubeTestUtil;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.BookKeeperRackDaemon;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.BkRackClient;
 import com.datastax.oss.kaap.controllers.bookkeeper.racks.client.BkRackClientFactory;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeper;
 import com.datastax.oss.kaap.crds.bookkeeper.BookKeeperAutoRackConfig;
@@ -725,7 +726,8 @@ public class BookKeeperSetsControllerTest {
         // verify order of sets follows the order declared in the spec
         Assert.assertNotNull(client.getCreatedResource(StatefulSet.class, "pulsarname-bookkeeper-setz"));
         BookKeeperController.BookKeeperSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
 
@@ -735,7 +737,8 @@ public class BookKeeperSetsControllerTest {
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
 
@@ -748,7 +751,8 @@ public class BookKeeperSetsControllerTest {
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("seta"));
 
@@ -914,7 +918,8 @@ public class BookKeeperSetsControllerTest {
         UpdateControl<BookKeeper> bookkeeperUpdateControl = invokeController(spec, new BookKeeper(), client);
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         BookKeeperController.BookKeeperSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -929,7 +934,8 @@ public class BookKeeperSetsControllerTest {
         bookkeeperUpdateControl = invokeController(spec, bookkeeperUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlInitializing(bookkeeperUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("bookkeeper"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -956,7 +962,8 @@ public class BookKeeperSetsControllerTest {
         bookkeeperUpdateControl = invokeController(spec, bookkeeperUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(bookkeeperUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("bookkeeper"));
 
@@ -981,7 +988,8 @@ public class BookKeeperSetsControllerTest {
         bookkeeperUpdateControl = invokeController(spec, bookkeeperUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(bookkeeperUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(bookkeeperUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        bookkeeperUpdateControl.getResource().getStatus().getLastApplied()),
                         BookKeeperController.BookKeeperSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
@@ -1165,7 +1173,11 @@ public class BookKeeperSetsControllerTest {
         }
         when(bookieAdminClient.collectBookieInfos()).thenReturn(bookieInfos);
         when(bookieAdminClient.doesNotHaveUnderReplicatedLedgers()).thenReturn(true);
-        when(bookieAdminClient.existsLedger(any())).thenReturn(false);
+        when(bookieAdminClient.checkLedgersOwnership(any())).thenReturn(BookieAdminClient.BookieLedgersOwnership
+                .builder()
+                .hasLedgers(false)
+                .complete(true)
+                .build());
     }
 
     private BookieAdminClient.BookieInfo genBookieInfo(String bookieId) {
@@ -15,15 +15,20 @@
  */
 package com.datastax.oss.kaap.controllers.broker;
 
+import com.datastax.oss.kaap.autoscaler.broker.BrokerDrainer;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.PartitionedRollout;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
+import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
 import com.datastax.oss.kaap.mocks.MockResourcesResolver;
+import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.EnvVar;
@@ -32,7 +37,10 @@ import io.fabric8.kubernetes.api.model.NodeAffinity;
 import io.fabric8.kubernetes.api.model.NodeSelectorRequirement;
 import io.fabric8.kubernetes.api.model.NodeSelectorTerm;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodAffinityTerm;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
 import io.fabric8.kubernetes.api.model.PodDNSConfig;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.Probe;
@@ -45,11 +53,17 @@ import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.WeightedPodAffinityTerm;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetUpdateStrategy;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
@@ -1993,6 +2007,241 @@ public class BrokerControllerTest {
                 8081);
     }
 
+    @Test
+    public void testZooKeeperObserverClients() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                    zookeeperObserverClients:
+                        broker: true
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final Map<String, String> data = client.getCreatedResource(ConfigMap.class).getResource().getData();
+        Assert.assertEquals(data.get("PULSAR_PREFIX_zookeeperServers"),
+                "pul-zookeeper-observer-ca.ns.svc.cluster.local:2181");
+        Assert.assertEquals(data.get("PULSAR_PREFIX_configurationStoreServers"),
+                "pul-zookeeper-observer-ca.ns.svc.cluster.local:2181");
+    }
+
+    @Test
+    public void testRolloutUpdateStrategy() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                broker:
+                    replicas: 4
+                    rollout:
+                        enabled: true
+                """;
+        MockKubernetesClient client = invokeController(spec);
+        StatefulSetUpdateStrategy updateStrategy = client.getCreatedResource(StatefulSet.class)
+                .getResource().getSpec().getUpdateStrategy();
+        Assert.assertEquals(updateStrategy.getType(), "RollingUpdate");
+        Assert.assertEquals(updateStrategy.getRollingUpdate().getPartition(), 0);
+
+        final Broker brokerCr = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        client = new MockKubernetesClient(NAMESPACE, new MockResourcesResolver() {
+            @Override
+            public StatefulSet statefulSetWithName(String name) {
+                return newStatefulSetBuilder(name, true).build();
+            }
+        });
+        invokeController(brokerCr, client);
+        updateStrategy = client.getCreatedResource(StatefulSet.class).getResource().getSpec().getUpdateStrategy();
+        Assert.assertEquals(updateStrategy.getRollingUpdate().getPartition(), 4);
+    }
+
+    @Test
+    public void testPartitionedRollout() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                broker:
+                    replicas: 4
+                    rollout:
+                        enabled: true
+                        batchSize: 2
+                """;
+        final Broker brokerCr = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        final BrokerController.BrokerSetsLastApplied statusLastApplied =
+                new BrokerController.BrokerSetsLastApplied();
+        statusLastApplied.setCommon(brokerCr.getSpec());
+        statusLastApplied.getSets().put(BrokerResourcesFactory.BROKER_DEFAULT_SET, brokerCr.getSpec());
+        brokerCr.setStatus(
+                new BaseComponentStatus(List.of(), SerializationUtil.writeAsJson(statusLastApplied))
+        );
+        final AtomicBoolean healthy = new AtomicBoolean(true);
+        final ControllerTestUtil<BrokerFullSpec, Broker> util = new ControllerTestUtil<>(NAMESPACE, CLUSTER_NAME,
+                input -> new BrokerController(input.getClient()) {
+                    @Override
+                    protected PartitionedRollout.PodHealthCheck newRolloutHealthCheck(
+                            Broker resource, SetInfo<BrokerSetSpec, BrokerResourcesFactory> set, StatefulSet sts) {
+                        return pod -> healthy.get();
+                    }
+                });
+
+        MockResourcesResolver resolver = newRolloutResolver(4, "rev1", "rev1", "rev1", "rev1");
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE, resolver);
+        Condition condition = util.invokeController(client, brokerCr, BrokerController.class)
+                .getResource().getStatus().getConditions().get(0);
+        Assert.assertEquals(condition.getReason(), "RollingOut");
+        Assert.assertEquals(condition.getMessage(), "broker-set 'broker': 0/4 pods updated, partition 2");
+        Assert.assertEquals(client.getCreatedResource(StatefulSet.class).getResource().getSpec()
+                .getUpdateStrategy().getRollingUpdate().getPartition(), 2);
+        Assert.assertEquals(client.getDeletedResources(Pod.class).stream()
+                .map(r -> r.getResource().getMetadata().getName())
+                .collect(Collectors.toList()), List.of("pul-broker-2", "pul-broker-3"));
+
+        healthy.set(false);
+        resolver = newRolloutResolver(2, "rev1", "rev1", "rev2", "rev2");
+        client = new MockKubernetesClient(NAMESPACE, resolver);
+        condition = util.invokeController(client, brokerCr, BrokerController.class)
+                .getResource().getStatus().getConditions().get(0);
+        Assert.assertEquals(condition.getMessage(),
+                "broker-set 'broker': 2/4 pods updated, partition 2, waiting for pod pul-broker-3 to be healthy");
+        Assert.assertNull(client.getCreatedResource(StatefulSet.class));
+        Assert.assertTrue(client.getDeletedResources(Pod.class).isEmpty());
+
+        healthy.set(true);
+        client = new MockKubernetesClient(NAMESPACE, resolver);
+        condition = util.invokeController(client, brokerCr, BrokerController.class)
+                .getResource().getStatus().getConditions().get(0);
+        Assert.assertEquals(condition.getMessage(), "broker-set 'broker': 2/4 pods updated, partition 0");
+        Assert.assertEquals(client.getDeletedResources(Pod.class).stream()
+                .map(r -> r.getResource().getMetadata().getName())
+                .collect(Collectors.toList()), List.of("pul-broker-0", "pul-broker-1"));
+    }
+
+    @Test
+    public void testPartitionedRolloutDrain() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                broker:
+                    replicas: 4
+                    rollout:
+                        enabled: true
+                        batchSize: 2
+                    drain:
+                        enabled: true
+                """;
+        final Broker brokerCr = controllerTestUtil.createCustomResource(Broker.class, BrokerFullSpec.class, spec);
+        final BrokerController.BrokerSetsLastApplied statusLastApplied =
+                new BrokerController.BrokerSetsLastApplied();
+        statusLastApplied.setCommon(brokerCr.getSpec());
+        statusLastApplied.getSets().put(BrokerResourcesFactory.BROKER_DEFAULT_SET, brokerCr.getSpec());
+        brokerCr.setStatus(
+                new BaseComponentStatus(List.of(), SerializationUtil.writeAsJson(statusLastApplied))
+        );
+        final List<String> drained = new ArrayList<>();
+        final AtomicBoolean drainCompleted = new AtomicBoolean(false);
+        final AtomicReference<MockKubernetesClient> currentClient = new AtomicReference<>();
+        final ControllerTestUtil<BrokerFullSpec, Broker> util = new ControllerTestUtil<>(NAMESPACE, CLUSTER_NAME,
+                input -> new BrokerController(input.getClient()) {
+                    @Override
+                    protected PartitionedRollout.PodHealthCheck newRolloutHealthCheck(
+                            Broker resource, SetInfo<BrokerSetSpec, BrokerResourcesFactory> set, StatefulSet sts) {
+                        return pod -> true;
+                    }
+
+                    @Override
+                    protected PartitionedRollout.BeforePodsDeletion newRolloutDrain(
+                            Broker resource, SetInfo<BrokerSetSpec, BrokerResourcesFactory> set,
+                            StatefulSet sts) {
+                        Assert.assertTrue(BrokerDrainer.isEnabled(set.getSetSpec().getDrain()));
+                        return pods -> {
+                            Assert.assertTrue(currentClient.get().getDeletedResources(Pod.class).isEmpty());
+                            pods.forEach(pod -> drained.add(pod.getMetadata().getName()));
+                            return drainCompleted.get();
+                        };
+                    }
+                });
+
+        MockKubernetesClient client = new MockKubernetesClient(NAMESPACE,
+                newRolloutResolver(4, "rev1", "rev1", "rev1", "rev1"));
+        currentClient.set(client);
+        final Condition condition = util.invokeController(client, brokerCr, BrokerController.class)
+                .getResource().getStatus().getConditions().get(0);
+        Assert.assertEquals(drained, List.of("pul-broker-2", "pul-broker-3"));
+        // the partition is not lowered until the brokers are drained
+        Assert.assertTrue(client.getDeletedResources(Pod.class).isEmpty());
+        Assert.assertNull(client.getCreatedResource(StatefulSet.class));
+        Assert.assertEquals(condition.getReason(), "RollingOut");
+        Assert.assertEquals(condition.getMessage(), "broker-set 'broker': 0/4 pods updated, partition 4, "
+                + "waiting for pods pul-broker-2, pul-broker-3 to be drained");
+
+        drained.clear();
+        drainCompleted.set(true);
+        client = new MockKubernetesClient(NAMESPACE, newRolloutResolver(4, "rev1", "rev1", "rev1", "rev1"));
+        currentClient.set(client);
+        util.invokeController(client, brokerCr, BrokerController.class);
+        Assert.assertEquals(drained, List.of("pul-broker-2", "pul-broker-3"));
+        Assert.assertEquals(client.getDeletedResources(Pod.class).size(), 2);
+    }
+
+    @Test
+    public void testGetDrainDestinations() {
+        Assert.assertEquals(BrokerController.getDrainDestinations("pul-broker", 4,
+                Set.of("pul-broker-2", "pul-broker-3")), List.of("pul-broker-0", "pul-broker-1"));
+        Assert.assertEquals(BrokerController.getDrainDestinations("pul-broker", 4,
+                Set.of("pul-broker-1", "pul-broker-2")), List.of("pul-broker-3"));
+        Assert.assertEquals(BrokerController.getDrainDestinations("pul-broker", 4,
+                Set.of("pul-broker-0")), List.of("pul-broker-1", "pul-broker-2", "pul-broker-3"));
+        Assert.assertEquals(BrokerController.getDrainDestinations("pul-broker", 1,
+                Set.of("pul-broker-0")), List.of());
+    }
+
+    private static MockResourcesResolver newRolloutResolver(int partition, String... podRevisions) {
+        final Map<String, String> labels = Map.of(CRDConstants.LABEL_CLUSTER, "pul",
+                CRDConstants.LABEL_COMPONENT, "broker");
+        final MockResourcesResolver resolver = new MockResourcesResolver();
+        resolver.putResource("pul-broker", new StatefulSetBuilder()
+                .withNewSpec()
+                .withReplicas(podRevisions.length)
+                .withNewSelector()
+                .withMatchLabels(labels)
+                .endSelector()
+                .withNewUpdateStrategy()
+                .withType("RollingUpdate")
+                .withNewRollingUpdate()
+                .withPartition(partition)
+                .endRollingUpdate()
+                .endUpdateStrategy()
+                .endSpec()
+                .withNewStatus()
+                .withReplicas(podRevisions.length)
+                .withReadyReplicas(podRevisions.length)
+                .withCurrentRevision("rev1")
+                .withUpdateRevision("rev2")
+                .endStatus()
+                .build());
+        for (int i = 0; i < podRevisions.length; i++) {
+            final Map<String, String> podLabels = new HashMap<>(labels);
+            podLabels.put(PartitionedRollout.POD_REVISION_LABEL, podRevisions[i]);
+            resolver.putResource("pul-broker-" + i, new PodBuilder()
+                    .withNewMetadata()
+                    .withLabels(podLabels)
+                    .endMetadata()
+                    .withNewStatus()
+                    .withConditions(new PodConditionBuilder()
+                            .withType("Ready")
+                            .withStatus("True")
+                            .build())
+                    .endStatus()
+                    .build());
+        }
+        return resolver;
+    }
+
     @SneakyThrows
     private void invokeControllerAndAssertError(String spec, String expectedErrorMessage) {
         controllerTestUtil
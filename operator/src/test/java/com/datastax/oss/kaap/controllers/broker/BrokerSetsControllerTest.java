@@ -18,6 +18,7 @@ package com.datastax.oss.kaap.controllers.broker;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.broker.Broker;
 import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
@@ -30,6 +31,8 @@ import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.policy.v1.PodDisruptionBudget;
 import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import lombok.SneakyThrows;
 import lombok.extern.jbosslog.JBossLog;
 import org.testng.Assert;
@@ -629,7 +632,8 @@ public class BrokerSetsControllerTest {
         UpdateControl<Broker> brokerUpdateControl = invokeController(spec, new Broker(), client);
         KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
         BrokerController.BrokerSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        brokerUpdateControl.getResource().getStatus().getLastApplied()),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -651,7 +655,8 @@ public class BrokerSetsControllerTest {
 
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        brokerUpdateControl.getResource().getStatus().getLastApplied()),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("seta"));
 
@@ -663,6 +668,10 @@ public class BrokerSetsControllerTest {
         KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
         Assert.assertNotNull(brokerUpdateControl.getResource().getStatus().getLastApplied());
+        final Map<String, String> fingerprints =
+                brokerUpdateControl.getResource().getStatus().getLastAppliedFingerprints();
+        Assert.assertEquals(fingerprints.keySet(), Set.of("spec", "sets.seta", "sets.setz"));
+        Assert.assertNotEquals(fingerprints.get("sets.seta"), fingerprints.get("sets.setz"));
 
         // now update
 
@@ -706,7 +715,17 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
+        final Map<String, String> updatedFingerprints =
+                brokerUpdateControl.getResource().getStatus().getLastAppliedFingerprints();
+        Assert.assertNotEquals(updatedFingerprints.get("spec"), fingerprints.get("spec"));
+        Assert.assertNotEquals(updatedFingerprints.get("sets.setz"), fingerprints.get("sets.setz"));
 
+        client = new MockKubernetesClient(NAMESPACE, resolver);
+        brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource(), client);
+        KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
+        Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
+        Assert.assertEquals(brokerUpdateControl.getResource().getStatus().getLastAppliedFingerprints(),
+                updatedFingerprints);
     }
 
     @Test
@@ -818,7 +837,8 @@ public class BrokerSetsControllerTest {
         UpdateControl<Broker> brokerUpdateControl = invokeController(spec, new Broker(), client);
         KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
         BrokerController.BrokerSetsLastApplied setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        brokerUpdateControl.getResource().getStatus().getLastApplied()),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -833,7 +853,8 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlInitializing(brokerUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        brokerUpdateControl.getResource().getStatus().getLastApplied()),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNotNull(setsLastApplied.getSets().get("broker"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
@@ -861,7 +882,8 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        brokerUpdateControl.getResource().getStatus().getLastApplied()),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("broker"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
@@ -884,7 +906,8 @@ public class BrokerSetsControllerTest {
         brokerUpdateControl = invokeController(spec, brokerUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(brokerUpdateControl);
         setsLastApplied =
-                SerializationUtil.readJson(brokerUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        brokerUpdateControl.getResource().getStatus().getLastApplied()),
                         BrokerController.BrokerSetsLastApplied.class);
         Assert.assertNull(setsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 0);
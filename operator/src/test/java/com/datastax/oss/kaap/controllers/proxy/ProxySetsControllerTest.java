@@ -18,6 +18,7 @@ package com.datastax.oss.kaap.controllers.proxy;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.CRDConstants;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
 import com.datastax.oss.kaap.crds.proxy.ProxyFullSpec;
@@ -576,7 +577,8 @@ public class ProxySetsControllerTest {
         UpdateControl<Proxy> proxyUpdateControl = invokeController(spec, new Proxy(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         ProxyController.ProxySetsLastApplied proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 1);
         // verify order of sets follows the order declared in the spec
@@ -589,7 +591,8 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 0);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("setz"));
@@ -600,7 +603,8 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 1);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("seta"));
@@ -758,7 +762,8 @@ public class ProxySetsControllerTest {
         // verify order of sets follows the order declared in the spec
         Assert.assertNotNull(client.getCreatedResource(Deployment.class, "pulsarname-proxy-setz"));
         ProxyController.ProxySetsLastApplied proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getDeletedResources().size(), 0);
@@ -769,7 +774,8 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlInitializing(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 1);
         Assert.assertNotNull(proxySetsLastApplied.getSets().get("proxy"));
@@ -794,7 +800,8 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertNull(proxySetsLastApplied.getSets().get("proxy"));
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 0);
@@ -818,7 +825,8 @@ public class ProxySetsControllerTest {
         proxyUpdateControl = invokeController(spec, proxyUpdateControl.getResource(), client);
         KubeTestUtil.assertUpdateControlReady(proxyUpdateControl);
         proxySetsLastApplied =
-                SerializationUtil.readJson(proxyUpdateControl.getResource().getStatus().getLastApplied(),
+                SerializationUtil.readJson(LastAppliedCodec.decode(
+                        proxyUpdateControl.getResource().getStatus().getLastApplied()),
                         ProxyController.ProxySetsLastApplied.class);
         Assert.assertNull(proxySetsLastApplied.getSets().get("setz"));
         Assert.assertEquals(client.getCreatedResources(Deployment.class).size(), 0);
@@ -19,6 +19,10 @@ import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
 import com.datastax.oss.kaap.mocks.MockKubernetesClient;
 import io.fabric8.certmanager.api.model.v1.Certificate;
 import io.fabric8.certmanager.api.model.v1.Issuer;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import java.util.function.BiPredicate;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -450,6 +454,72 @@ public class CertManagerCertificatesProvisionerTest {
 
     }
 
+    @Test
+    public void testFingerprintIncludesObservers() {
+        final String spec = """
+                global:
+                    name: pul
+                    tls:
+                        enabled: true
+                        certProvisioner:
+                            selfSigned:
+                                enabled: true
+                zookeeper:
+                    observers:
+                        replicas: %d
+                """;
+        final String withoutObservers = fingerprint(spec.formatted(0));
+        Assert.assertEquals(fingerprint(spec.formatted(0)), withoutObservers);
+        final String withObservers = fingerprint(spec.formatted(3));
+        Assert.assertNotEquals(withObservers, withoutObservers);
+        Assert.assertNotEquals(fingerprint(spec.formatted(5)), withObservers);
+    }
+
+    @Test
+    public void testAreCertificatesProvisioned() {
+        final PulsarClusterSpec pulsarClusterSpec = MockKubernetesClient.readYaml("""
+                global:
+                    name: pul
+                    tls:
+                        enabled: true
+                        certProvisioner:
+                            selfSigned:
+                                enabled: true
+                """, PulsarClusterSpec.class);
+        pulsarClusterSpec.getGlobal().applyDefaults(null);
+        pulsarClusterSpec.applyDefaults(pulsarClusterSpec.getGlobalSpec());
+
+        final KubernetesServer server = new KubernetesServer(true, true);
+        server.before();
+        try {
+            final KubernetesClient client = server.getClient();
+            final CertManagerCertificatesProvisioner provisioner =
+                    new CertManagerCertificatesProvisioner(client, NAMESPACE, pulsarClusterSpec);
+            final BiPredicate<Class<? extends HasMetadata>, String> exists = (type, name) ->
+                    client.resources(type).inNamespace(NAMESPACE).withName(name).get() != null;
+            Assert.assertFalse(provisioner.areCertificatesProvisioned(exists));
+            provisioner.generateCertificates();
+            Assert.assertTrue(provisioner.areCertificatesProvisioned(exists));
+
+            client.resources(Issuer.class).inNamespace(NAMESPACE).withName("pul-ca-issuer").delete();
+            Assert.assertFalse(provisioner.areCertificatesProvisioned(exists));
+            provisioner.generateCertificates();
+            Assert.assertTrue(provisioner.areCertificatesProvisioned(exists));
+
+            client.resources(Certificate.class).inNamespace(NAMESPACE).withName("pul-server-tls").delete();
+            Assert.assertFalse(provisioner.areCertificatesProvisioned(exists));
+        } finally {
+            server.after();
+        }
+    }
+
+    private static String fingerprint(String spec) {
+        final PulsarClusterSpec pulsarClusterSpec = MockKubernetesClient.readYaml(spec, PulsarClusterSpec.class);
+        pulsarClusterSpec.getGlobal().applyDefaults(null);
+        pulsarClusterSpec.applyDefaults(pulsarClusterSpec.getGlobalSpec());
+        return CertManagerCertificatesProvisioner.generateFingerprint(NAMESPACE, pulsarClusterSpec);
+    }
+
     private MockKubernetesClient generateCertificates(String spec) {
         final PulsarClusterSpec pulsarClusterSpec = MockKubernetesClient.readYaml(spec, PulsarClusterSpec.class);
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.controllers.utils;
+
+import com.datastax.oss.kaap.common.SerializationUtil;
+import com.datastax.oss.kaap.controllers.broker.BrokerController;
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerFullSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSetSpec;
+import com.datastax.oss.kaap.crds.broker.BrokerSpec;
+import java.util.LinkedHashMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LastAppliedCodecTest {
+
+    @Test
+    public void testLegacyFormat() {
+        final String json = SerializationUtil.writeAsJson(newBrokerFullSpec(2));
+        Assert.assertEquals(LastAppliedCodec.decode(json), json);
+        Assert.assertNull(LastAppliedCodec.decode(null));
+    }
+
+    @Test
+    public void testCompressed() {
+        final String json = SerializationUtil.writeAsJson(newBrokerFullSpec(2));
+        final String encoded = LastAppliedCodec.encode(json);
+        Assert.assertTrue(encoded.startsWith(LastAppliedCodec.COMPRESSED_PREFIX));
+        Assert.assertTrue(encoded.length() < json.length());
+        Assert.assertEquals(LastAppliedCodec.decode(encoded), json);
+        Assert.assertEquals(LastAppliedCodec.encode(json), encoded);
+    }
+
+    @Test
+    public void testSetsAreStoredOnce() {
+        final BrokerFullSpec spec = newBrokerFullSpec(15);
+        final BrokerController.BrokerSetsLastApplied setsLastApplied = new BrokerController.BrokerSetsLastApplied();
+        setsLastApplied.setCommon(spec);
+        for (String setName : spec.getBroker().getSets().keySet()) {
+            setsLastApplied.getSets().put(setName, spec);
+        }
+        final String legacy = SerializationUtil.writeAsJson(setsLastApplied);
+        final String compact = LastAppliedCodec.writeSetsLastApplied(setsLastApplied);
+        Assert.assertTrue(compact.length() * 10 < legacy.length());
+
+        final BrokerController.BrokerSetsLastApplied decoded = SerializationUtil.readJson(
+                LastAppliedCodec.decode(LastAppliedCodec.encode(compact)),
+                BrokerController.BrokerSetsLastApplied.class);
+        Assert.assertEquals(decoded, setsLastApplied);
+    }
+
+    @Test
+    public void testSetsWithDifferentSpecs() {
+        final BrokerFullSpec spec = newBrokerFullSpec(2);
+        final BrokerFullSpec previous = newBrokerFullSpec(1);
+        final BrokerController.BrokerSetsLastApplied setsLastApplied = new BrokerController.BrokerSetsLastApplied();
+        setsLastApplied.setCommon(spec);
+        setsLastApplied.getSets().put("set0", spec);
+        setsLastApplied.getSets().put("set1", previous);
+
+        final BrokerController.BrokerSetsLastApplied decoded = SerializationUtil.readJson(
+                LastAppliedCodec.decode(LastAppliedCodec.writeSetsLastApplied(setsLastApplied)),
+                BrokerController.BrokerSetsLastApplied.class);
+        Assert.assertEquals(decoded, setsLastApplied);
+
+        final BrokerController.BrokerSetsLastApplied empty = SerializationUtil.readJson(
+                LastAppliedCodec.decode(LastAppliedCodec.writeSetsLastApplied(
+                        new BrokerController.BrokerSetsLastApplied())),
+                BrokerController.BrokerSetsLastApplied.class);
+        Assert.assertNull(empty.getCommon());
+        Assert.assertTrue(empty.getSets().isEmpty());
+    }
+
+    @Test
+    public void testConfigMapReference() {
+        final String encoded = LastAppliedCodec.encode("{}");
+        final String reference = LastAppliedCodec.toConfigMapReference("pulsar-broker-lastapplied", encoded);
+        Assert.assertTrue(LastAppliedCodec.isConfigMapReference(reference));
+        Assert.assertFalse(LastAppliedCodec.isConfigMapReference(encoded));
+        Assert.assertEquals(LastAppliedCodec.getConfigMapName(reference), "pulsar-broker-lastapplied");
+        Assert.assertTrue(LastAppliedCodec.matchesConfigMapReference(reference, encoded));
+        Assert.assertFalse(LastAppliedCodec.matchesConfigMapReference(reference, LastAppliedCodec.encode("{ }")));
+        Assert.assertFalse(LastAppliedCodec.matchesConfigMapReference(reference, null));
+    }
+
+    private static BrokerFullSpec newBrokerFullSpec(int sets) {
+        final LinkedHashMap<String, BrokerSetSpec> setSpecs = new LinkedHashMap<>();
+        for (int i = 0; i < sets; i++) {
+            setSpecs.put("set" + i, BrokerSetSpec.builder()
+                    .replicas(i + 1)
+                    .build());
+        }
+        final BrokerFullSpec spec = BrokerFullSpec.builder()
+                .global(GlobalSpec.builder()
+                        .name("pulsar")
+                        .image("apachepulsar/pulsar:2.10.2")
+                        .build())
+                .broker(BrokerSpec.builder()
+                        .sets(setSpecs)
+                        .build())
+                .build();
+        spec.getGlobal().applyDefaults(null);
+        spec.applyDefaults(spec.getGlobal());
+        return spec;
+    }
+}
@@ -60,7 +60,8 @@ public class TokenAuthProvisionerTest {
         assertJwtInSecret(secretsMap.get("token-superuser"), "superuser", privateKeyVal);
         assertJwtInSecret(secretsMap.get("token-websocket"), "websocket", privateKeyVal);
         assertJwtInSecret(secretsMap.get("token-proxy"), "proxy", privateKeyVal);
-
+        secretsMap.values().forEach(secret -> Assert.assertEquals(
+                secret.getMetadata().getLabels().get(TokenAuthProvisioner.LABEL_TOKEN_AUTH), "true"));
     }
 
     @Test
@@ -18,6 +18,7 @@ package com.datastax.oss.kaap.controllers.zookeeper;
 import com.datastax.oss.kaap.common.SerializationUtil;
 import com.datastax.oss.kaap.controllers.ControllerTestUtil;
 import com.datastax.oss.kaap.controllers.KubeTestUtil;
+import com.datastax.oss.kaap.controllers.utils.LastAppliedCodec;
 import com.datastax.oss.kaap.crds.BaseComponentStatus;
 import com.datastax.oss.kaap.crds.GlobalSpec;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
@@ -753,8 +754,8 @@ public class ZooKeeperControllerTest {
                 1
         );
 
-        final ZooKeeperFullSpec lastApplied = SerializationUtil.readJson(zooKeeperUpdateControl
-                .getResource().getStatus().getLastApplied(), ZooKeeperFullSpec.class);
+        final ZooKeeperFullSpec lastApplied = SerializationUtil.readJson(LastAppliedCodec.decode(zooKeeperUpdateControl
+                .getResource().getStatus().getLastApplied()), ZooKeeperFullSpec.class);
         Assert.assertTrue(lastApplied.getZookeeper().getEnv().isEmpty());
     }
 
@@ -867,8 +868,8 @@ public class ZooKeeperControllerTest {
                 1
         );
 
-        final ZooKeeperFullSpec lastApplied = SerializationUtil.readJson(zooKeeperUpdateControl
-                .getResource().getStatus().getLastApplied(), ZooKeeperFullSpec.class);
+        final ZooKeeperFullSpec lastApplied = SerializationUtil.readJson(LastAppliedCodec.decode(zooKeeperUpdateControl
+                .getResource().getStatus().getLastApplied()), ZooKeeperFullSpec.class);
         Assert.assertTrue(lastApplied.getZookeeper().getSidecars().isEmpty());
     }
 
@@ -1784,6 +1785,95 @@ public class ZooKeeperControllerTest {
     }
 
 
+    @Test
+    public void testObservers() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                zookeeper:
+                    replicas: 2
+                    observers:
+                        replicas: 2
+                        resources:
+                            requests:
+                                memory: 2Gi
+                """;
+        MockKubernetesClient client = invokeController(spec);
+
+        final StatefulSet voters = client.getCreatedResource(StatefulSet.class, "pul-zookeeper").getResource();
+        Assert.assertEquals(voters.getSpec().getTemplate().getSpec().getContainers().get(0).getArgs().get(0),
+                "bin/apply-config-from-env.py conf/zookeeper.conf && bin/generate-zookeeper-config.sh "
+                        + "conf/zookeeper.conf && echo 'server.101=pul-zookeeper-observer-0.pul-zookeeper-observer"
+                        + ".ns.svc.cluster.local:2888:3888:observer;2181' >> conf/zookeeper.conf && echo 'server"
+                        + ".102=pul-zookeeper-observer-1.pul-zookeeper-observer.ns.svc.cluster"
+                        + ".local:2888:3888:observer;2181' >> conf/zookeeper.conf && OPTS=\"${OPTS} -Dlog4j2"
+                        + ".formatMsgNoLookups=true\" exec bin/pulsar zookeeper");
+
+        final StatefulSet observers =
+                client.getCreatedResource(StatefulSet.class, "pul-zookeeper-observer").getResource();
+        Assert.assertEquals((int) observers.getSpec().getReplicas(), 2);
+        Assert.assertEquals(observers.getSpec().getServiceName(), "pul-zookeeper-observer");
+        Assert.assertEquals(observers.getSpec().getSelector().getMatchLabels(),
+                Map.of("app", "pulsar", "cluster", "pul", "component", "zookeeper-observer"));
+        final Container container = observers.getSpec().getTemplate().getSpec().getContainers().get(0);
+        Assert.assertEquals(container.getResources().getRequests().get("memory"), Quantity.parse("2Gi"));
+        Assert.assertEquals(container.getEnvFrom().get(0).getConfigMapRef().getName(), "pul-zookeeper");
+        Assert.assertEquals(container.getArgs().get(0),
+                "bin/apply-config-from-env.py conf/zookeeper.conf && mkdir -p data/zookeeper && echo $((101 + "
+                        + "${HOSTNAME##*-})) > data/zookeeper/myid && echo 'peerType=observer' >> conf/zookeeper.conf"
+                        + " && echo 'server.1=pul-zookeeper-0.pul-zookeeper.ns.svc.cluster.local:2888:3888;2181' >> "
+                        + "conf/zookeeper.conf && echo 'server.2=pul-zookeeper-1.pul-zookeeper.ns.svc.cluster"
+                        + ".local:2888:3888;2181' >> conf/zookeeper.conf && echo 'server.101=pul-zookeeper-observer-0"
+                        + ".pul-zookeeper-observer.ns.svc.cluster.local:2888:3888:observer;2181' >> conf/zookeeper"
+                        + ".conf && echo 'server.102=pul-zookeeper-observer-1.pul-zookeeper-observer.ns.svc.cluster"
+                        + ".local:2888:3888:observer;2181' >> conf/zookeeper.conf && OPTS=\"${OPTS} -Dlog4j2"
+                        + ".formatMsgNoLookups=true\" exec bin/pulsar zookeeper");
+        Assert.assertNotNull(observers.getSpec().getTemplate().getSpec().getVolumes().get(0).getEmptyDir());
+
+        final Service headless = client.getCreatedResource(Service.class, "pul-zookeeper-observer").getResource();
+        Assert.assertEquals(headless.getSpec().getClusterIP(), "None");
+        Assert.assertEquals(headless.getSpec().getSelector().get("component"), "zookeeper-observer");
+        final Service ca = client.getCreatedResource(Service.class, "pul-zookeeper-observer-ca").getResource();
+        Assert.assertNull(ca.getSpec().getClusterIP());
+        Assert.assertEquals(client.getCreatedResource(Service.class, "pul-zookeeper-ca").getResource()
+                .getSpec().getSelector().get("component"), "zookeeper");
+    }
+
+    @Test
+    public void testObserversDisabled() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    persistence: false
+                    image: apachepulsar/pulsar:global
+                zookeeper:
+                    observers:
+                        replicas: 0
+                """;
+        MockKubernetesClient client = invokeController(spec);
+        Assert.assertEquals(client.getCreatedResources(StatefulSet.class).size(), 1);
+        Assert.assertFalse(client.getCreatedResource(StatefulSet.class).getResource().getSpec().getTemplate()
+                .getSpec().getContainers().get(0).getArgs().get(0).contains("observer"));
+        Assert.assertNotNull(client.getDeletedResource(StatefulSet.class, "pul-zookeeper-observer"));
+        Assert.assertNotNull(client.getDeletedResource(Service.class, "pul-zookeeper-observer-ca"));
+    }
+
+    @Test
+    public void testObserversValidation() throws Exception {
+        String spec = """
+                global:
+                    name: pul
+                    image: apachepulsar/pulsar:global
+                zookeeper:
+                    observers:
+                        replicas: 151
+                """;
+        invokeControllerAndAssertError(spec, "invalid configuration property \"zookeeper.observers.replicas\" "
+                + "for value \"151\": must be less than or equal to 150");
+    }
+
     @SneakyThrows
     private void invokeControllerAndAssertError(String spec, String expectedErrorMessage) {
         new ControllerTestUtil<ZooKeeperFullSpec, ZooKeeper>(NAMESPACE, CLUSTER_NAME)
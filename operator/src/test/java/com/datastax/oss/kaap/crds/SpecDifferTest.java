@@ -18,6 +18,7 @@ package com.datastax.oss.kaap.crds;
 import com.datastax.oss.kaap.common.json.JSONComparator;
 import com.datastax.oss.kaap.crds.configs.RackConfig;
 import java.util.Map;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 public class SpecDifferTest {
@@ -40,6 +41,26 @@ public class SpecDifferTest {
         assertDiffs(null, Map.of());
     }
 
+    @Test
+    public void testFingerprint() {
+        final GlobalSpec spec1 = GlobalSpec.builder()
+                .name("pulsar")
+                .racks(Map.of("rack1", RackConfig.builder().build(), "rack2", RackConfig.builder().build()))
+                .build();
+        final GlobalSpec spec2 = GlobalSpec.builder()
+                .name("pulsar")
+                .racks(Map.of("rack2", RackConfig.builder().build(), "rack1", RackConfig.builder().build()))
+                .build();
+        Assert.assertEquals(SpecDiffer.generateFingerprint(spec1), SpecDiffer.generateFingerprint(spec2));
+        Assert.assertTrue(SpecDiffer.isSameFingerprint(spec2, SpecDiffer.generateFingerprint(spec1)));
+
+        spec2.setName("pulsar2");
+        Assert.assertNotEquals(SpecDiffer.generateFingerprint(spec1), SpecDiffer.generateFingerprint(spec2));
+        Assert.assertFalse(SpecDiffer.isSameFingerprint(spec2, SpecDiffer.generateFingerprint(spec1)));
+        Assert.assertFalse(SpecDiffer.isSameFingerprint(spec1, null));
+        Assert.assertNull(SpecDiffer.generateFingerprint(null));
+    }
+
     private static void assertNoDiffs(Object spec1, Object spec2) {
         final JSONComparator.Result result = SpecDiffer.generateDiff(spec1, spec2);
         if (!result.areEquals()) {
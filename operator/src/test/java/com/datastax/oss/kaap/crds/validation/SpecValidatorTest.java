@@ -0,0 +1,95 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.crds.validation;
+
+import com.datastax.oss.kaap.crds.GlobalSpec;
+import com.datastax.oss.kaap.crds.configs.MemoryProfileConfig;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperFullSpec;
+import com.datastax.oss.kaap.crds.zookeeper.ZooKeeperSpec;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SpecValidatorTest {
+
+    @Test
+    public void testSharedValidator() {
+        Assert.assertSame(SpecValidator.getValidator(), SpecValidator.getValidator());
+    }
+
+    @Test
+    public void testValidate() {
+        Assert.assertNull(SpecValidator.validate(newSpec("pulsar")));
+        Assert.assertEquals(SpecValidator.validate(newSpec(null)),
+                "invalid configuration property \"global.name\" for value \"null\": must not be null");
+    }
+
+    @Test
+    public void testMemoryProfile() {
+        final ZooKeeperFullSpec spec = newSpec("pulsar");
+        spec.getZookeeper().setMemoryProfile(MemoryProfileConfig.builder()
+                .enabled(true)
+                .directMemoryRatio(0.25)
+                .build());
+        Assert.assertEquals(SpecValidator.validate(spec),
+                "invalid configuration property \"zookeeper\" for value \"%s\": ".formatted(spec.getZookeeper())
+                        + "memoryProfile.heapRatio (0.75) + memoryProfile.directMemoryRatio (0.25) must be lower "
+                        + "than 1, the JVM needs memory outside of the heap and the direct memory");
+
+        spec.getZookeeper().getMemoryProfile().setHeapRatio(0.5);
+        Assert.assertNull(SpecValidator.validate(spec));
+    }
+
+    @Test
+    public void testCacheByUidAndGeneration() {
+        final String uid = "validator-test-uid";
+        final String error = SpecValidator.validate(newMetadata(uid, 1L), newSpec(null));
+        Assert.assertNotNull(error);
+
+        // same generation: the spec is not validated again
+        Assert.assertEquals(SpecValidator.validate(newMetadata(uid, 1L), newSpec("pulsar")), error);
+
+        Assert.assertNull(SpecValidator.validate(newMetadata(uid, 2L), newSpec("pulsar")));
+        Assert.assertNull(SpecValidator.validate(newMetadata(uid, 2L), newSpec(null)));
+
+        // no uid or generation: never cached
+        Assert.assertNotNull(SpecValidator.validate(newMetadata(null, 2L), newSpec(null)));
+        Assert.assertNotNull(SpecValidator.validate(newMetadata(uid, null), newSpec(null)));
+        Assert.assertNotNull(SpecValidator.validate(null, newSpec(null)));
+    }
+
+    private static ObjectMeta newMetadata(String uid, Long generation) {
+        return new ObjectMetaBuilder()
+                .withName("pulsar-zookeeper")
+                .withUid(uid)
+                .withGeneration(generation)
+                .build();
+    }
+
+    private static ZooKeeperFullSpec newSpec(String name) {
+        final ZooKeeperFullSpec spec = ZooKeeperFullSpec.builder()
+                .global(GlobalSpec.builder()
+                        .name(name)
+                        .image("apachepulsar/pulsar:global")
+                        .build())
+                .zookeeper(ZooKeeperSpec.builder().build())
+                .build();
+        spec.getGlobal().applyDefaults(null);
+        spec.applyDefaults(spec.getGlobal());
+        return spec;
+    }
+}
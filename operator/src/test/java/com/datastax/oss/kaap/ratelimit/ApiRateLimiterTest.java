@@ -0,0 +1,147 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.ratelimit;
+
+import com.datastax.oss.kaap.OperatorMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ApiRateLimiterTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeMethod
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        ApiRateLimiter.uninstall();
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    public void testGlobalBurst() throws Exception {
+        final ApiRateLimiter limiter = new ApiRateLimiter(10, 2, Map.of());
+        Assert.assertTrue(limiter.acquire(ApiPriority.PATCH).toMillis() < 50);
+        Assert.assertTrue(limiter.acquire(ApiPriority.READINESS).toMillis() < 50);
+        Assert.assertTrue(limiter.acquire(ApiPriority.AUTOSCALER).toMillis() >= 50);
+    }
+
+    @Test
+    public void testPriorityBudget() throws Exception {
+        final ApiRateLimiter limiter = new ApiRateLimiter(0, 0, Map.of(ApiPriority.RACK_SYNC, 5));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(limiter.acquire(ApiPriority.RACK_SYNC).toMillis() < 50);
+        }
+        Assert.assertTrue(limiter.acquire(ApiPriority.RACK_SYNC).toMillis() >= 100);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(limiter.acquire(ApiPriority.PATCH).toMillis() < 50);
+        }
+    }
+
+    @Test
+    public void testHighestPriorityFirst() throws Exception {
+        final ApiRateLimiter limiter = new ApiRateLimiter(2, 1, Map.of());
+        limiter.acquire(ApiPriority.PATCH);
+
+        final ConcurrentLinkedQueue<ApiPriority> order = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Void> rackSync = acquireAsync(limiter, ApiPriority.RACK_SYNC, order);
+        awaitQueueDepth(limiter, ApiPriority.RACK_SYNC, 1);
+        final CompletableFuture<Void> patch = acquireAsync(limiter, ApiPriority.PATCH, order);
+        awaitQueueDepth(limiter, ApiPriority.PATCH, 1);
+
+        CompletableFuture.allOf(rackSync, patch).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(List.copyOf(order), List.of(ApiPriority.PATCH, ApiPriority.RACK_SYNC));
+        Assert.assertEquals(limiter.getQueueDepth(ApiPriority.PATCH), 0);
+        Assert.assertEquals(limiter.getQueueDepth(ApiPriority.RACK_SYNC), 0);
+    }
+
+    @Test
+    public void testExhaustedPriorityDoesNotBlockOthers() throws Exception {
+        final ApiRateLimiter limiter = new ApiRateLimiter(0, 0, Map.of(ApiPriority.PATCH, 1));
+        limiter.acquire(ApiPriority.PATCH);
+
+        final ConcurrentLinkedQueue<ApiPriority> order = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Void> patch = acquireAsync(limiter, ApiPriority.PATCH, order);
+        awaitQueueDepth(limiter, ApiPriority.PATCH, 1);
+        Assert.assertTrue(limiter.acquire(ApiPriority.AUTOSCALER).toMillis() < 500);
+        Assert.assertFalse(patch.isDone());
+        patch.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testMetrics() {
+        ApiRateLimiter.install(new ApiRateLimiter(100, 100, Map.of()));
+        Assert.assertEquals(ApiRateLimiter.call(ApiPriority.READINESS, () -> "ok"), "ok");
+        ApiRateLimiter.run(ApiPriority.READINESS, () -> {
+        });
+
+        final Timer timer = registry.find(OperatorMetrics.API_RATE_LIMIT_WAIT)
+                .tag(OperatorMetrics.TAG_PRIORITY, "readiness")
+                .timer();
+        Assert.assertNotNull(timer);
+        Assert.assertEquals(timer.count(), 2);
+        final Gauge gauge = registry.find(OperatorMetrics.API_RATE_LIMIT_QUEUE_DEPTH)
+                .tag(OperatorMetrics.TAG_PRIORITY, "rack_sync")
+                .gauge();
+        Assert.assertNotNull(gauge);
+        Assert.assertEquals(gauge.value(), 0.0d);
+    }
+
+    @Test
+    public void testNotInstalled() {
+        Assert.assertEquals(ApiRateLimiter.call(ApiPriority.PATCH, () -> "ok"), "ok");
+        Assert.assertEquals(registry.find(OperatorMetrics.API_RATE_LIMIT_WAIT).timers().stream()
+                .mapToLong(Timer::count).sum(), 0);
+    }
+
+    private static CompletableFuture<Void> acquireAsync(ApiRateLimiter limiter, ApiPriority priority,
+                                                        ConcurrentLinkedQueue<ApiPriority> order) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire(priority);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            order.add(priority);
+        });
+    }
+
+    @SneakyThrows
+    private static void awaitQueueDepth(ApiRateLimiter limiter, ApiPriority priority, int depth) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (limiter.getQueueDepth(priority) != depth) {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
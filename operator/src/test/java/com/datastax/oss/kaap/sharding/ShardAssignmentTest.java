@@ -0,0 +1,64 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.sharding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ShardAssignmentTest {
+
+    @Test
+    public void testGetShard() {
+        for (String key : List.of("ns1", "ns2", "ns1/pulsar", "")) {
+            final int shard = ShardAssignment.getShard(key, 16);
+            Assert.assertTrue(shard >= 0 && shard < 16);
+            Assert.assertEquals(ShardAssignment.getShard(key, 16), shard);
+        }
+    }
+
+    @Test
+    public void testBalanced() {
+        final Map<Integer, String> assignment = ShardAssignment.assign(List.of("c", "a", "b", "a"), 16);
+        Assert.assertEquals(assignment.size(), 16);
+        final Map<String, Integer> load = new HashMap<>();
+        assignment.values().forEach(member -> load.merge(member, 1, Integer::sum));
+        Assert.assertEquals(load.size(), 3);
+        load.values().forEach(count -> Assert.assertTrue(count == 5 || count == 6, "load " + load));
+        Assert.assertEquals(ShardAssignment.assign(List.of("b", "c", "a"), 16), assignment);
+    }
+
+    @Test
+    public void testMemberJoins() {
+        final Map<Integer, String> before = ShardAssignment.assign(List.of("a", "b", "c"), 16);
+        final Map<Integer, String> after = ShardAssignment.assign(List.of("a", "b", "c", "d"), 16);
+        int moved = 0;
+        for (int shard = 0; shard < 16; shard++) {
+            if (!before.get(shard).equals(after.get(shard))) {
+                moved++;
+            }
+        }
+        Assert.assertEquals(after.values().stream().filter("d"::equals).count(), 4);
+        Assert.assertTrue(moved <= 8, "moved " + moved);
+    }
+
+    @Test
+    public void testNoMembers() {
+        Assert.assertTrue(ShardAssignment.assign(List.of(), 16).isEmpty());
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.kaap.sharding;
+
+import com.datastax.oss.kaap.OperatorRuntimeConfiguration;
+import com.datastax.oss.kaap.controllers.ControllerTestUtil;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ShardManagerTest {
+
+    private static final String NAMESPACE = "kaap";
+    private static final Set<Integer> ALL_SHARDS = IntStream.range(0, 16).boxed().collect(Collectors.toSet());
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2023-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private KubernetesServer server;
+    private MutableClock clock;
+    private List<ShardManager.ShardsChanged> events;
+
+    @BeforeMethod
+    public void setup() {
+        server = new KubernetesServer(true, true);
+        server.before();
+        clock = new MutableClock();
+        events = new ArrayList<>();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        server.after();
+    }
+
+    private ShardManager newShardManager(String identity, String mode) {
+        final KubernetesClient client = server.getClient();
+        return new ShardManager(client, NAMESPACE, identity, new ControllerTestUtil.TestSharding(mode), clock,
+                events::add);
+    }
+
+    private ShardManager newShardManager(String identity) {
+        return newShardManager(identity, OperatorRuntimeConfiguration.SHARDING_MODE_NAMESPACE);
+    }
+
+    @Test
+    public void testDisabled() {
+        final ShardManager shardManager = newShardManager("m1", OperatorRuntimeConfiguration.SHARDING_MODE_DISABLED);
+        Assert.assertFalse(shardManager.isEnabled());
+        Assert.assertTrue(shardManager.isOwned("ns", "pulsar"));
+    }
+
+    @Test
+    public void testShardKey() {
+        Assert.assertEquals(newShardManager("m1").getShardKey("ns", "pulsar"), "ns");
+        Assert.assertEquals(newShardManager("m1", OperatorRuntimeConfiguration.SHARDING_MODE_CLUSTER)
+                .getShardKey("ns", "pulsar"), "ns/pulsar");
+        Assert.assertThrows(IllegalArgumentException.class, () -> newShardManager("m1", "unknown"));
+    }
+
+    @Test
+    public void testSingleMember() {
+        final ShardManager shardManager = newShardManager("m1");
+        Assert.assertFalse(shardManager.isOwned("ns", "pulsar"));
+        shardManager.renew();
+        Assert.assertEquals(shardManager.getOwnedShards(), ALL_SHARDS);
+        Assert.assertTrue(shardManager.isOwned("ns", "pulsar"));
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).ownedShards(), ALL_SHARDS);
+
+        shardManager.renew();
+        Assert.assertEquals(events.size(), 1);
+
+        // the leases can't be renewed, the ownership stops one renew interval before they expire
+        clock.advance(Duration.ofSeconds(9));
+        Assert.assertTrue(shardManager.isOwned("ns", "pulsar"));
+        clock.advance(Duration.ofSeconds(1));
+        Assert.assertFalse(shardManager.isOwned("ns", "pulsar"));
+        Assert.assertFalse(shardManager.startReconciliation("ns", "pulsar"));
+    }
+
+    @Test
+    public void testReleaseAfterReconciliations() {
+        final ShardManager m1 = newShardManager("m1");
+        final ShardManager m2 = newShardManager("m2");
+        final Map<Integer, String> assignment = ShardAssignment.assign(List.of("m1", "m2"), 16);
+        final String namespace = IntStream.range(0, 100)
+                .mapToObj(i -> "ns" + i)
+                .filter(ns -> "m2".equals(assignment.get(ShardAssignment.getShard(ns, 16))))
+                .findFirst()
+                .orElseThrow();
+        final int shard = ShardAssignment.getShard(namespace, 16);
+
+        m1.renew();
+        Assert.assertTrue(m1.startReconciliation(namespace, "pulsar"));
+        m2.renew();
+
+        // m1 stops reconciling the shard but keeps its lease until the reconciliation is completed
+        clock.advance(Duration.ofSeconds(5));
+        m1.renew();
+        Assert.assertFalse(m1.getOwnedShards().contains(shard));
+        Assert.assertFalse(m1.startReconciliation(namespace, "pulsar"));
+        clock.advance(Duration.ofSeconds(5));
+        m2.renew();
+        Assert.assertFalse(m2.getOwnedShards().contains(shard));
+        m1.renew();
+        clock.advance(Duration.ofSeconds(5));
+        m2.renew();
+        Assert.assertFalse(m2.getOwnedShards().contains(shard));
+
+        m1.endReconciliation(namespace, "pulsar");
+        m1.renew();
+        m2.renew();
+        Assert.assertTrue(m2.getOwnedShards().contains(shard));
+        Assert.assertTrue(m2.startReconciliation(namespace, "pulsar"));
+    }
+
+    @Test
+    public void testRenewInterval() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ShardManager(server.getClient(), NAMESPACE,
+                "m1", new ControllerTestUtil.TestSharding(OperatorRuntimeConfiguration.SHARDING_MODE_NAMESPACE) {
+                    @Override
+                    public Integer renewIntervalSeconds() {
+                        return 15;
+                    }
+                }, clock, events::add));
+    }
+
+    @Test
+    public void testRebalance() {
+        final ShardManager m1 = newShardManager("m1");
+        final ShardManager m2 = newShardManager("m2");
+        m1.renew();
+        Assert.assertEquals(m1.getOwnedShards(), ALL_SHARDS);
+
+        // m2 joins, its shards are still held by m1
+        m2.renew();
+        Assert.assertTrue(m2.getOwnedShards().isEmpty());
+
+        // m1 releases the shards assigned to m2
+        clock.advance(Duration.ofSeconds(5));
+        m1.renew();
+        Assert.assertEquals(m1.getOwnedShards().size(), 8);
+        m2.renew();
+        Assert.assertEquals(m2.getOwnedShards().size(), 8);
+        assertPartition(m1, m2);
+
+        // stable
+        clock.advance(Duration.ofSeconds(5));
+        m1.renew();
+        m2.renew();
+        assertPartition(m1, m2);
+
+        // m1 leaves without releasing its shards
+        clock.advance(Duration.ofSeconds(10));
+        m2.renew();
+        Assert.assertEquals(m2.getOwnedShards().size(), 8);
+        clock.advance(Duration.ofSeconds(6));
+        Assert.assertTrue(m1.getOwnedShards().isEmpty());
+        m2.renew();
+        Assert.assertEquals(m2.getOwnedShards(), ALL_SHARDS);
+    }
+
+    @Test
+    public void testClose() {
+        final ShardManager m1 = newShardManager("m1");
+        final ShardManager m2 = newShardManager("m2");
+        m1.renew();
+        m2.renew();
+        m1.renew();
+        m2.renew();
+        assertPartition(m1, m2);
+
+        m1.close();
+        Assert.assertTrue(m1.getOwnedShards().isEmpty());
+        // the shards are taken over without waiting for the leases to expire
+        m2.renew();
+        Assert.assertEquals(m2.getOwnedShards(), ALL_SHARDS);
+    }
+
+    private static void assertPartition(ShardManager m1, ShardManager m2) {
+        final Set<Integer> owned1 = m1.getOwnedShards();
+        final Set<Integer> owned2 = m2.getOwnedShards();
+        final Set<Integer> all = new HashSet<>(owned1);
+        all.addAll(owned2);
+        Assert.assertEquals(all, ALL_SHARDS);
+        Assert.assertEquals(owned1.size() + owned2.size(), ALL_SHARDS.size());
+    }
+}
@@ -27,6 +27,7 @@ import com.datastax.oss.kaap.crds.cluster.PulsarCluster;
 import com.datastax.oss.kaap.crds.function.FunctionsWorker;
 import com.datastax.oss.kaap.crds.proxy.Proxy;
 import com.datastax.oss.kaap.crds.zookeeper.ZooKeeper;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
 import com.datastax.oss.kaap.tests.env.ExistingK8sEnv;
 import com.datastax.oss.kaap.tests.env.K3sEnv;
 import com.datastax.oss.kaap.tests.env.K8sEnv;
@@ -574,7 +575,7 @@ public abstract class BaseK8sEnvTest {
                     cmd);
             try {
                 return AutoscalerUtils.execInPod(
-                        client, namespace, podName, containerName, cmd
+                        client, ApiPriority.READINESS, namespace, podName, containerName, cmd
                 ).get();
             } catch (ExecutionException e) {
                 log.error("Cmd failed with code: {}", e.getCause());
@@ -19,6 +19,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 import com.datastax.oss.kaap.autoscaler.AutoscalerUtils;
 import com.datastax.oss.kaap.crds.cluster.PulsarClusterSpec;
+import com.datastax.oss.kaap.ratelimit.ApiPriority;
 import io.fabric8.kubernetes.api.model.Pod;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -77,7 +78,7 @@ public class BkDownScalingTest extends BasePulsarClusterTest {
             log.info("SWITCHING bookies to r/o and waiting for the 3 extra added");
             client.pods().inNamespace(namespace)
                     .withLabel("component", "bookkeeper").resources().forEach(pod -> {
-                        AutoscalerUtils.execInPod(client, namespace,
+                        AutoscalerUtils.execInPod(client, ApiPriority.READINESS, namespace,
                                 pod.get().getMetadata().getName(),
                                 pod.get().getSpec().getContainers().get(0).getName(),
                                 "curl -s -X PUT -H \"Content-Type: application/json\" "
@@ -105,7 +106,8 @@ public class BkDownScalingTest extends BasePulsarClusterTest {
             log.info("SWITCHING bookies to r/w and waiting for the 3 extra removed");
             client.pods().inNamespace(namespace)
                     .withLabel("component", "bookkeeper").resources().forEach(pod -> {
-                        CompletableFuture<String> readonly = AutoscalerUtils.execInPod(client, namespace,
+                        CompletableFuture<String> readonly = AutoscalerUtils.execInPod(client,
+                                ApiPriority.READINESS, namespace,
                                 pod.get().getMetadata().getName(),
                                 pod.get().getSpec().getContainers().get(0).getName(),
                                 "curl -s -X PUT -H \"Content-Type: application/json\" "
@@ -161,7 +163,7 @@ public class BkDownScalingTest extends BasePulsarClusterTest {
     }
 
     private String listUnderReplicated(Pod bookiePod) throws InterruptedException, ExecutionException {
-        String urLedgersOut = AutoscalerUtils.execInPod(client, namespace,
+        String urLedgersOut = AutoscalerUtils.execInPod(client, ApiPriority.READINESS, namespace,
                 bookiePod.getMetadata().getName(),
                 bookiePod.getSpec().getContainers().get(0).getName(),
                 "curl -s localhost:8000/api/v1/autorecovery/list_under_replicated_ledger/").get();
@@ -169,7 +171,7 @@ public class BkDownScalingTest extends BasePulsarClusterTest {
     }
 
     private void triggerAudit(Pod bookiePod) throws InterruptedException, ExecutionException {
-        String res = AutoscalerUtils.execInPod(client, namespace,
+        String res = AutoscalerUtils.execInPod(client, ApiPriority.READINESS, namespace,
                 bookiePod.getMetadata().getName(),
                 bookiePod.getSpec().getContainers().get(0).getName(),
                 "curl -s -X PUT localhost:8000/api/v1/autorecovery/trigger_audit")
@@ -180,7 +182,7 @@ public class BkDownScalingTest extends BasePulsarClusterTest {
     private void generateLedgers(Pod bookiePod, int ledgerCount, int numEntries)
             throws ExecutionException, InterruptedException {
         for (int i = 0; i < ledgerCount; i++) {
-            String res = AutoscalerUtils.execInPod(client, namespace,
+            String res = AutoscalerUtils.execInPod(client, ApiPriority.READINESS, namespace,
                             bookiePod.getMetadata().getName(),
                             bookiePod.getSpec().getContainers().get(0).getName(),
                             "bin/bookkeeper shell simpletest "